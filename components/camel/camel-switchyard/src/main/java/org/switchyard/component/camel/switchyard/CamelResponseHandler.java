@@ -13,14 +13,20 @@
  */
 package org.switchyard.component.camel.switchyard;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.ExchangePattern;
 import org.apache.camel.Message;
 import org.switchyard.Exchange;
 import org.switchyard.ExchangeHandler;
 import org.switchyard.ExchangePhase;
+import org.switchyard.ExchangeState;
 import org.switchyard.HandlerException;
 import org.switchyard.ServiceReference;
 import org.switchyard.component.camel.common.composer.CamelBindingData;
+import org.switchyard.component.common.AsyncInOutHandler;
+import org.switchyard.component.common.ReplyListener;
 import org.switchyard.component.common.composer.MessageComposer;
 
 /**
@@ -30,21 +36,51 @@ import org.switchyard.component.common.composer.MessageComposer;
  * By given access to the CamelExchange this ExchangeHandler can extract the SwitchYard payload
  * and set in into the Camel Exchange.
  * 
+ * When created with an {@link AsyncCallback}, the callback is completed once the reply
+ * has been mapped, which lets {@link SwitchYardProducer} release the route thread
+ * while the SwitchYard exchange is in flight.  The producer then passes an
+ * {@link AsyncInOutHandler} as the reply handler, which hands the reply, or its
+ * expiry, on to this handler as a {@link ReplyListener}.
+ * 
  * @author Daniel Bevenius
  */
-public class CamelResponseHandler implements ExchangeHandler {
+public class CamelResponseHandler implements ExchangeHandler, ReplyListener {
+
+    // the exchange is being sent, a reply arriving now is completed by the producer
+    private static final int SENDING = 0;
+    // the reply arrived while the exchange was being sent
+    private static final int REPLIED = 1;
+    // the producer returned, the reply will be completed asynchronously
+    private static final int DETACHED = 2;
+    // the asynchronous reply has completed the callback
+    private static final int DONE = 3;
 
     private final org.apache.camel.Exchange _camelExchange;
     private final MessageComposer<CamelBindingData> _messageComposer;
+    private final AsyncCallback _callback;
+    private final AtomicInteger _state = new AtomicInteger(SENDING);
 
     /**
-     * Sole constructor.
+     * Create a new CamelResponseHandler for synchronous invocations.
      * 
      * @param camelExchange The Camel {@link org.apache.camel.Exchange}
      * @param reference The SwitchYard ServiceReference.
      * @param messageComposer the MessageComposer to use
      */
     public CamelResponseHandler(final org.apache.camel.Exchange camelExchange, final ServiceReference reference, final MessageComposer<CamelBindingData> messageComposer) {
+        this(camelExchange, reference, messageComposer, null);
+    }
+
+    /**
+     * Create a new CamelResponseHandler which completes the given callback on reply.
+     * 
+     * @param camelExchange The Camel {@link org.apache.camel.Exchange}
+     * @param reference The SwitchYard ServiceReference.
+     * @param messageComposer the MessageComposer to use
+     * @param callback the callback to complete once the reply has been mapped, may be null
+     */
+    public CamelResponseHandler(final org.apache.camel.Exchange camelExchange, final ServiceReference reference,
+            final MessageComposer<CamelBindingData> messageComposer, final AsyncCallback callback) {
         if (camelExchange ==  null) {
             throw SwitchYardCamelComponentMessages.MESSAGES.camelExchangeArgumentMustNotBeNull();
         }
@@ -53,6 +89,33 @@ public class CamelResponseHandler implements ExchangeHandler {
         }
         _camelExchange = camelExchange;
         _messageComposer = messageComposer;
+        _callback = callback;
+    }
+
+    /**
+     * Creates the reply handler for the SwitchYard exchange, which passes the
+     * reply on to this handler.
+     * 
+     * @return reply handler
+     */
+    AsyncInOutHandler createReplyHandler() {
+        return new AsyncInOutHandler().addListener(this);
+    }
+
+    /**
+     * Called by the producer once the SwitchYard exchange has been sent.
+     * 
+     * @return true if the reply is still outstanding and will complete the callback
+     * asynchronously, false if it has already arrived on the sending thread.
+     */
+    boolean detach() {
+        return _state.compareAndSet(SENDING, DETACHED);
+    }
+
+    private void replied() {
+        if (_callback != null && !_state.compareAndSet(SENDING, REPLIED) && _state.compareAndSet(DETACHED, DONE)) {
+            _callback.done(false);
+        }
     }
 
     /**
@@ -68,7 +131,34 @@ public class CamelResponseHandler implements ExchangeHandler {
         try {
             compose(switchYardExchange);
         } catch (Exception e) {
+            _camelExchange.setException(e);
             throw new HandlerException(e);
+        } finally {
+            replied();
+        }
+    }
+
+    @Override
+    public void onReply(final Exchange exchange) {
+        if (ExchangeState.FAULT.equals(exchange.getState())) {
+            handleFault(exchange);
+            return;
+        }
+        try {
+            compose(exchange);
+        } catch (Exception e) {
+            _camelExchange.setException(e);
+        } finally {
+            replied();
+        }
+    }
+
+    @Override
+    public void onFailure(final Throwable cause) {
+        try {
+            _camelExchange.setException(cause);
+        } finally {
+            replied();
         }
     }
 
@@ -82,6 +172,14 @@ public class CamelResponseHandler implements ExchangeHandler {
 
     @Override
     public void handleFault(final Exchange exchange) {
+        try {
+            mapFault(exchange);
+        } finally {
+            replied();
+        }
+    }
+
+    private void mapFault(final Exchange exchange) {
         final Object content = exchange.getMessage().getContent();
 
         if (content instanceof Throwable) {
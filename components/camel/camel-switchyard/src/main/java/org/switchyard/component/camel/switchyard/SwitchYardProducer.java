@@ -19,9 +19,12 @@ import java.util.Set;
 
 import javax.xml.namespace.QName;
 
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.Endpoint;
-import org.apache.camel.impl.DefaultProducer;
+import org.apache.camel.impl.DefaultAsyncProducer;
 import org.switchyard.Exchange;
+import org.switchyard.ExchangeHandler;
+import org.switchyard.ExchangePattern;
 import org.switchyard.ExchangePhase;
 import org.switchyard.Message;
 import org.switchyard.Scope;
@@ -33,6 +36,8 @@ import org.switchyard.component.camel.common.CamelConstants;
 import org.switchyard.component.camel.common.composer.BindingDataCreator;
 import org.switchyard.component.camel.common.composer.BindingDataCreatorResolver;
 import org.switchyard.component.camel.common.composer.CamelBindingData;
+import org.switchyard.component.common.AsyncInOutHandler;
+import org.switchyard.component.common.SynchronousInOutHandler;
 import org.switchyard.component.common.composer.MessageComposer;
 import org.switchyard.component.common.composer.SecurityBindingData;
 import org.switchyard.label.BehaviorLabel;
@@ -54,10 +59,15 @@ import org.switchyard.selector.OperationSelector;
  *    to("switchyard://serviceName?operationName=print");
  * </pre>
  * 
+ * The producer is asynchronous: when the target service replies on another thread,
+ * the route thread is released and routing resumes from the reply.  A reply which
+ * has not arrived within {@link SynchronousInOutHandler#DEFAULT_TIMEOUT} fails the
+ * Camel exchange with a DeliveryException.
+ * 
  * @author Daniel Bevenius
  *
  */
-public class SwitchYardProducer extends DefaultProducer {
+public class SwitchYardProducer extends DefaultAsyncProducer {
 
     private String _operationName;
     private final MessageComposer<CamelBindingData> _messageComposer;
@@ -76,7 +86,21 @@ public class SwitchYardProducer extends DefaultProducer {
     }
 
     @Override
-    public void process(final org.apache.camel.Exchange camelExchange) throws Exception {
+    public boolean process(final org.apache.camel.Exchange camelExchange, final AsyncCallback callback) {
+        try {
+            final CamelResponseHandler responseHandler = send(camelExchange, callback);
+            if (responseHandler != null && responseHandler.detach()) {
+                // the reply will arrive on another thread, which completes the callback
+                return false;
+            }
+        } catch (Exception e) {
+            camelExchange.setException(e);
+        }
+        callback.done(true);
+        return true;
+    }
+
+    private CamelResponseHandler send(final org.apache.camel.Exchange camelExchange, final AsyncCallback callback) throws Exception {
         final String namespace = camelExchange.getProperty(CamelConstants.APPLICATION_NAMESPACE, String.class);
         final String targetUri = getEndpoint().getEndpointUri();
         ServiceDomain domain = ((SwitchYardCamelContext) camelExchange.getContext()).getServiceDomain();
@@ -89,7 +113,9 @@ public class SwitchYardProducer extends DefaultProducer {
         // the composer is not used for switchyard:// endpoints invoked from service routes
         MessageComposer<CamelBindingData> composer = 
                 isGatewayRoute ? getMessageComposer(camelExchange) : null;
-        final Exchange switchyardExchange = createSwitchyardExchange(camelExchange, serviceRef, composer);
+        final CamelResponseHandler handler = new CamelResponseHandler(camelExchange, serviceRef, composer, callback);
+        final AsyncInOutHandler replyHandler = handler.createReplyHandler();
+        final Exchange switchyardExchange = createSwitchyardExchange(camelExchange, serviceRef, replyHandler);
 
         // Set appropriate policy based on Camel exchange properties
         if (camelExchange.isTransacted()) {
@@ -108,6 +134,12 @@ public class SwitchYardProducer extends DefaultProducer {
         }
         
         switchyardExchange.send(switchyardMessage);
+        // only IN_OUT exchanges call back into the handler
+        if (ExchangePattern.IN_OUT.equals(switchyardExchange.getPattern())) {
+            replyHandler.expireAfter(SynchronousInOutHandler.DEFAULT_TIMEOUT);
+            return handler;
+        }
+        return null;
     }
     
     private Message composeForGateway(MessageComposer<CamelBindingData> composer, 
@@ -181,10 +213,8 @@ public class SwitchYardProducer extends DefaultProducer {
     }
 
     private Exchange createSwitchyardExchange(final org.apache.camel.Exchange camelExchange, final ServiceReference serviceRef,
-        MessageComposer<CamelBindingData> messageComposer) {
+        ExchangeHandler handler) {
         String opName = lookupOperationNameFor(camelExchange, serviceRef);
-        CamelResponseHandler handler = new CamelResponseHandler(camelExchange, serviceRef, messageComposer);
-
 
         if (opName != null) {
             return serviceRef.createExchange(opName, handler);
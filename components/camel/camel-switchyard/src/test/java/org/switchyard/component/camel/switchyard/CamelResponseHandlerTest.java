@@ -16,13 +16,18 @@ package org.switchyard.component.camel.switchyard;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import javax.xml.namespace.QName;
 
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultExchange;
@@ -36,6 +41,8 @@ import org.switchyard.ServiceReference;
 import org.switchyard.component.camel.common.composer.CamelBindingData;
 import org.switchyard.component.camel.common.composer.CamelComposition;
 import org.switchyard.component.camel.switchyard.CamelResponseHandler;
+import org.switchyard.component.common.AsyncInOutHandler;
+import org.switchyard.component.common.DeliveryException;
 import org.switchyard.component.common.composer.MessageComposer;
 import org.switchyard.deploy.ServiceDomainManager;
 import org.switchyard.extensions.java.JavaService;
@@ -127,6 +134,61 @@ public class CamelResponseHandlerTest {
         assertSame(exception, camelExchange.getException());
     }
 
+    @Test
+    public void asyncReplyCompletesCallback() throws HandlerException {
+        final Exchange camelExchange = createCamelExchange();
+        final AsyncCallback callback = mock(AsyncCallback.class);
+        final org.switchyard.Exchange switchYardExchange = createMockExchangeWithBody(new MessageCreator() {
+            @Override
+            public Message create() {
+                Message message = mock(Message.class);
+                when(message.getContext()).thenReturn(new DefaultContext(Scope.MESSAGE));
+                when(message.getContent(Integer.class)).thenReturn(10);
+                return message;
+            }
+        });
+        final CamelResponseHandler responseHandler = new CamelResponseHandler(camelExchange, createMockServiceRef(), _messageComposer, callback);
+
+        assertTrue(responseHandler.detach());
+        verify(callback, never()).done(false);
+        responseHandler.handleMessage(switchYardExchange);
+        verify(callback).done(false);
+    }
+
+    @Test
+    public void syncReplyLeavesCallbackToProducer() throws HandlerException {
+        final Exchange camelExchange = createCamelExchange();
+        final AsyncCallback callback = mock(AsyncCallback.class);
+        final org.switchyard.Exchange switchYardExchange = createMockExchangeWithBody(new MessageCreator() {
+            @Override
+            public Message create() {
+                Message message = mock(Message.class);
+                when(message.getContext()).thenReturn(new DefaultContext(Scope.MESSAGE));
+                when(message.getContent()).thenReturn("some fault");
+                return message;
+            }
+        });
+        final CamelResponseHandler responseHandler = new CamelResponseHandler(camelExchange, createMockServiceRef(), _messageComposer, callback);
+
+        responseHandler.handleFault(switchYardExchange);
+        assertFalse(responseHandler.detach());
+        verify(callback, never()).done(false);
+    }
+
+    @Test
+    public void missingReplyExpires() {
+        final Exchange camelExchange = createCamelExchange();
+        final AsyncCallback callback = mock(AsyncCallback.class);
+        final CamelResponseHandler responseHandler = new CamelResponseHandler(camelExchange, createMockServiceRef(), _messageComposer, callback);
+        final AsyncInOutHandler replyHandler = responseHandler.createReplyHandler();
+
+        // the provider never replies
+        assertTrue(responseHandler.detach());
+        replyHandler.expireAfter(100);
+        verify(callback, timeout(1000)).done(false);
+        assertTrue(camelExchange.getException() instanceof DeliveryException);
+    }
+
     private Exchange createCamelExchange() {
         return new DefaultExchange((CamelContext) null);
     }
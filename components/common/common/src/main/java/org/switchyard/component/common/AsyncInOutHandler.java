@@ -0,0 +1,254 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.component.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.switchyard.Exchange;
+import org.switchyard.ExchangeHandler;
+import org.switchyard.HandlerException;
+import org.switchyard.common.lang.NamedThreadFactory;
+
+/**
+ * Asynchronous IN_OUT exchange handler.
+ * <p/>
+ * Unlike {@link SynchronousInOutHandler}, this does not require a thread to
+ * wait for the OUT exchange message.  Pass it as the reply handler when
+ * creating the exchange, send the exchange and register a
+ * {@link ReplyListener} to continue processing once the reply arrives:
+ * <pre>
+ * AsyncInOutHandler replyHandler = new AsyncInOutHandler().expireAfter(timeout);
+ * Exchange exchange = reference.createExchange(operation, replyHandler);
+ * exchange.send(message);
+ * replyHandler.addListener(listener);
+ * </pre>
+ * The handler is also a {@link Future}, so callers which do need to block
+ * can still do so via {@link #get(long, TimeUnit)} or {@link #waitForOut(long)}.
+ */
+public class AsyncInOutHandler implements ExchangeHandler, Future<Exchange> {
+
+    private static final ScheduledThreadPoolExecutor TIMER =
+            new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("SwitchYard reply timeout"));
+    static {
+        // replies mostly arrive long before they expire, don't keep the exchange reachable until then
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    private final CountDownLatch _done = new CountDownLatch(1);
+    private final List<ReplyListener> _listeners = new ArrayList<ReplyListener>(1);
+    private Exchange _reply;
+    private Throwable _failure;
+    private ScheduledFuture<?> _expiry;
+
+    /**
+     * Fail the reply with a {@link DeliveryException} if it has not arrived
+     * within the specified time.
+     *
+     * @param timeout The timeout in milliseconds.
+     * @return this handler (useful for chaining)
+     */
+    public AsyncInOutHandler expireAfter(long timeout) {
+        synchronized (this) {
+            if (isDone()) {
+                return this;
+            }
+            if (_expiry != null) {
+                _expiry.cancel(false);
+            }
+            _expiry = TIMER.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    fail(CommonCommonMessages.MESSAGES.timedOutWaitingOnOUTExchangeMessage());
+                }
+            }, timeout, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of expiries waiting in the timer, for testing.
+     * @return pending expiries
+     */
+    static int getPendingExpiries() {
+        return TIMER.getQueue().size();
+    }
+
+    /**
+     * Register a continuation for the reply.  If the reply has already
+     * arrived, the listener is invoked immediately on the calling thread.
+     *
+     * @param listener the listener
+     * @return this handler (useful for chaining)
+     */
+    public AsyncInOutHandler addListener(ReplyListener listener) {
+        synchronized (this) {
+            if (!isDone()) {
+                _listeners.add(listener);
+                return this;
+            }
+        }
+        notifyListener(listener);
+        return this;
+    }
+
+    /**
+     * Wait for an OUT Exchange message, in the same way as
+     * {@link SynchronousInOutHandler#waitForOut(long)}.
+     *
+     * @param timeout The timeout in milliseconds.
+     * @return The OUT Exchange instance.
+     * @throws DeliveryException Timeout or interrupt while waiting on OUT message.
+     */
+    public Exchange waitForOut(long timeout) throws DeliveryException {
+        try {
+            if (!_done.await(timeout, TimeUnit.MILLISECONDS)) {
+                // give up, unless the reply arrives in the meantime
+                fail(CommonCommonMessages.MESSAGES.timedOutWaitingOnOUTExchangeMessage());
+            }
+            return getResult();
+        } catch (InterruptedException e) {
+            DeliveryException interrupted = CommonCommonMessages.MESSAGES.unexpectedInterruptWhileWaitingOnOUTExchangeMessage(e);
+            fail(interrupted);
+            throw interrupted;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DeliveryException) {
+                throw (DeliveryException) e.getCause();
+            }
+            throw new DeliveryException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    @Override
+    public void handleMessage(Exchange exchange) throws HandlerException {
+        if (!complete(exchange)) {
+            CommonCommonLogger.ROOT_LOGGER.replyArrivedAfterTimeout(exchange.getConsumer().getName().toString());
+        }
+    }
+
+    @Override
+    public void handleFault(Exchange exchange) {
+        if (!complete(exchange)) {
+            CommonCommonLogger.ROOT_LOGGER.faultArrivedAfterTimeout(exchange.getConsumer().getName().toString());
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return fail(new CancellationException());
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return _failure instanceof CancellationException;
+    }
+
+    @Override
+    public boolean isDone() {
+        return _done.getCount() == 0;
+    }
+
+    @Override
+    public Exchange get() throws InterruptedException, ExecutionException {
+        _done.await();
+        return getResult();
+    }
+
+    @Override
+    public Exchange get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!_done.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return getResult();
+    }
+
+    private synchronized Exchange getResult() throws ExecutionException {
+        if (_failure instanceof CancellationException) {
+            throw (CancellationException) _failure;
+        } else if (_failure != null) {
+            throw new ExecutionException(_failure);
+        }
+        return _reply;
+    }
+
+    private boolean complete(Exchange reply) {
+        List<ReplyListener> listeners;
+        synchronized (this) {
+            if (isDone()) {
+                return false;
+            }
+            _reply = reply;
+            listeners = finish();
+        }
+        for (ReplyListener listener : listeners) {
+            notifyListener(listener);
+        }
+        return true;
+    }
+
+    private boolean fail(Throwable failure) {
+        List<ReplyListener> listeners;
+        synchronized (this) {
+            if (isDone()) {
+                return false;
+            }
+            _failure = failure;
+            listeners = finish();
+        }
+        for (ReplyListener listener : listeners) {
+            notifyListener(listener);
+        }
+        return true;
+    }
+
+    // must be called holding the lock on this
+    private List<ReplyListener> finish() {
+        _done.countDown();
+        if (_expiry != null) {
+            _expiry.cancel(false);
+            _expiry = null;
+        }
+        List<ReplyListener> listeners = new ArrayList<ReplyListener>(_listeners);
+        _listeners.clear();
+        return listeners;
+    }
+
+    private void notifyListener(ReplyListener listener) {
+        Exchange reply;
+        Throwable failure;
+        synchronized (this) {
+            reply = _reply;
+            failure = _failure;
+        }
+        try {
+            if (failure != null) {
+                listener.onFailure(failure);
+            } else {
+                listener.onReply(reply);
+            }
+        } catch (RuntimeException e) {
+            String serviceName = reply != null && reply.getConsumer() != null
+                    ? reply.getConsumer().getName().toString() : null;
+            CommonCommonLogger.ROOT_LOGGER.replyListenerFailed(serviceName, e);
+        }
+    }
+}
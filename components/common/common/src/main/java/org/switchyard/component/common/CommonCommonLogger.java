@@ -1,5 +1,6 @@
 package org.switchyard.component.common;
 
+import org.jboss.logging.Cause;
 import org.jboss.logging.Logger;
 import org.jboss.logging.Logger.Level;
 import org.jboss.logging.annotations.LogMessage;
@@ -61,5 +62,22 @@ public interface CommonCommonLogger {
     @Message(id = 34404, value = "Fault message arrived after timeout has elapsed for service: %s")
     void faultArrivedAfterTimeout(String serviceName);
 
-}
+    /**
+     * unableToRegisterWorkerPoolMBean method definition.
+     * @param name name
+     * @param t t
+     */
+    @LogMessage(level = Level.WARN)
+    @Message(id = 34405, value = "Unable to register management bean for worker pool: %s")
+    void unableToRegisterWorkerPoolMBean(String name, @Cause Throwable t);
+
+    /**
+     * replyListenerFailed method definition.
+     * @param serviceName serviceName
+     * @param t t
+     */
+    @LogMessage(level = Level.ERROR)
+    @Message(id = 34406, value = "Reply listener failed while handling reply for service: %s")
+    void replyListenerFailed(String serviceName, @Cause Throwable t);
 
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.component.common;
+
+import org.switchyard.Exchange;
+
+/**
+ * Continuation registered on an {@link AsyncInOutHandler}, invoked once the
+ * reply for an IN_OUT exchange is available.
+ */
+public interface ReplyListener {
+
+    /**
+     * Invoked with the exchange carrying the OUT message or fault.  Check
+     * {@link Exchange#getState()} to tell them apart.
+     * <p/>
+     * This is called on the thread delivering the reply, so implementations
+     * should not block.
+     *
+     * @param exchange the replied exchange
+     */
+    void onReply(Exchange exchange);
+
+    /**
+     * Invoked if no reply will be delivered, because the wait timed out or
+     * was cancelled.
+     *
+     * @param cause the reason no reply was delivered
+     */
+    void onFailure(Throwable cause);
+}
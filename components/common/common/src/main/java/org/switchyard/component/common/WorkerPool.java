@@ -0,0 +1,209 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.component.common;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.switchyard.common.lang.NamedThreadFactory;
+
+/**
+ * A bounded pool of worker threads used by gateways which run their own
+ * HTTP server outside of a container (e.g. standalone HTTP and SOAP endpoints).
+ * <p/>
+ * The pool is configured using system properties sharing a common prefix:
+ * <ul>
+ * <li>&lt;prefix&gt;.maxThreads - upper bound on worker threads (default {@value #DEFAULT_MAX_THREADS})</li>
+ * <li>&lt;prefix&gt;.queueSize - requests queued once all threads are busy (default {@value #DEFAULT_QUEUE_SIZE})</li>
+ * <li>&lt;prefix&gt;.keepAlive - seconds an idle thread is kept (default {@value #DEFAULT_KEEP_ALIVE})</li>
+ * <li>&lt;prefix&gt;.rejectionPolicy - one of abort, callerRuns or discard (default abort)</li>
+ * </ul>
+ * A new thread is started for each request until the maximum is reached, only then are requests queued;
+ * idle threads time out, so a quiet pool holds no threads.
+ * <p/>
+ * Each pool registers a {@link WorkerPoolMXBean} with the platform MBeanServer.
+ */
+public class WorkerPool extends ThreadPoolExecutor implements WorkerPoolMXBean {
+
+    /** Default maximum number of threads. */
+    public static final int DEFAULT_MAX_THREADS = 50;
+    /** Default bound of the request queue. */
+    public static final int DEFAULT_QUEUE_SIZE = 100;
+    /** Default keep alive, in seconds, of idle threads. */
+    public static final long DEFAULT_KEEP_ALIVE = 60;
+
+    private static final String OBJECT_NAME_PREFIX = "org.switchyard.component:type=WorkerPool,name=";
+
+    /**
+     * What to do with requests once all threads are busy and the queue is full.
+     */
+    public enum RejectionPolicy {
+        /** Refuse the request, e.g. answering it with 503 Service Unavailable. */
+        abort,
+        /** Run the request on the submitting (e.g. dispatcher) thread, which stops accepting requests meanwhile. */
+        callerRuns,
+        /** Silently drop the request. */
+        discard;
+    }
+
+    private final String _name;
+    private final RejectionPolicy _rejectionPolicy;
+    private final AtomicLong _rejectedCount = new AtomicLong();
+    private ObjectName _objectName;
+
+    /**
+     * Create a new WorkerPool.
+     * @param name the name of the pool, used for thread and MBean names
+     * @param maxThreads maximum number of threads
+     * @param queueSize bound of the request queue
+     * @param keepAlive keep alive, in seconds, of idle threads
+     * @param rejectionPolicy what to do with requests which cannot be queued
+     */
+    public WorkerPool(String name, int maxThreads, int queueSize, long keepAlive, RejectionPolicy rejectionPolicy) {
+        // a ThreadPoolExecutor only grows past its core threads once the queue is full,
+        // so all threads are core threads, allowed to time out
+        super(maxThreads, maxThreads, keepAlive, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(queueSize), new NamedThreadFactory(name));
+        _name = name;
+        _rejectionPolicy = rejectionPolicy;
+        allowCoreThreadTimeOut(true);
+        setRejectedExecutionHandler(new CountingRejectedExecutionHandler(toHandler(rejectionPolicy)));
+    }
+
+    /**
+     * Create a WorkerPool configured from system properties and register it for management.
+     * @param name the name of the pool
+     * @param propertyPrefix the prefix of the system properties used to configure the pool
+     * @return the pool
+     */
+    public static WorkerPool create(String name, String propertyPrefix) {
+        return create(name, propertyPrefix, RejectionPolicy.abort);
+    }
+
+    /**
+     * Create a WorkerPool configured from system properties and register it for management.
+     * @param name the name of the pool
+     * @param propertyPrefix the prefix of the system properties used to configure the pool
+     * @param defaultPolicy the rejection policy used unless one is configured
+     * @return the pool
+     */
+    public static WorkerPool create(String name, String propertyPrefix, RejectionPolicy defaultPolicy) {
+        int maxThreads = Integer.getInteger(propertyPrefix + ".maxThreads", DEFAULT_MAX_THREADS);
+        int queueSize = Integer.getInteger(propertyPrefix + ".queueSize", DEFAULT_QUEUE_SIZE);
+        long keepAlive = Long.getLong(propertyPrefix + ".keepAlive", DEFAULT_KEEP_ALIVE);
+        RejectionPolicy rejectionPolicy = defaultPolicy;
+        String policy = System.getProperty(propertyPrefix + ".rejectionPolicy");
+        if (policy != null) {
+            for (RejectionPolicy rp : RejectionPolicy.values()) {
+                if (rp.name().equalsIgnoreCase(policy.trim())) {
+                    rejectionPolicy = rp;
+                }
+            }
+        }
+        WorkerPool pool = new WorkerPool(name, maxThreads, queueSize, keepAlive, rejectionPolicy);
+        pool.register();
+        return pool;
+    }
+
+    /**
+     * Register this pool with the platform MBeanServer.
+     */
+    public void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(_name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+                _objectName = objectName;
+            }
+        } catch (Exception e) {
+            CommonCommonLogger.ROOT_LOGGER.unableToRegisterWorkerPoolMBean(_name, e);
+        }
+    }
+
+    @Override
+    protected void terminated() {
+        if (_objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(_objectName);
+            } catch (Exception e) {
+                // already gone
+                e.getMessage();
+            }
+            _objectName = null;
+        }
+        super.terminated();
+    }
+
+    @Override
+    public String getName() {
+        return _name;
+    }
+
+    /**
+     * Returns what is done with requests once all threads are busy and the queue is full.
+     * @return the rejection policy
+     */
+    public RejectionPolicy getRejectionPolicy() {
+        return _rejectionPolicy;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    @Override
+    public int getQueueRemainingCapacity() {
+        return getQueue().remainingCapacity();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return _rejectedCount.get();
+    }
+
+    private static RejectedExecutionHandler toHandler(RejectionPolicy policy) {
+        switch (policy) {
+        case callerRuns:
+            return new ThreadPoolExecutor.CallerRunsPolicy();
+        case discard:
+            return new ThreadPoolExecutor.DiscardPolicy();
+        default:
+            return new ThreadPoolExecutor.AbortPolicy();
+        }
+    }
+
+    private final class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+        private final RejectedExecutionHandler _delegate;
+
+        private CountingRejectedExecutionHandler(RejectedExecutionHandler delegate) {
+            _delegate = delegate;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            _rejectedCount.incrementAndGet();
+            _delegate.rejectedExecution(r, executor);
+        }
+    }
+}
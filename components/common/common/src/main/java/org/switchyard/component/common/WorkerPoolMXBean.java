@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.component.common;
+
+/**
+ * Management interface for a {@link WorkerPool}.
+ */
+public interface WorkerPoolMXBean {
+
+    /**
+     * @return the name of the pool.
+     */
+    String getName();
+
+    /**
+     * @return the number of workers currently processing requests.
+     */
+    int getActiveCount();
+
+    /**
+     * @return the current number of worker threads.
+     */
+    int getPoolSize();
+
+    /**
+     * @return the largest number of worker threads the pool has had.
+     */
+    int getLargestPoolSize();
+
+    /**
+     * @return the configured maximum number of threads.
+     */
+    int getMaximumPoolSize();
+
+    /**
+     * @return the number of requests waiting for a worker.
+     */
+    int getQueueDepth();
+
+    /**
+     * @return the number of requests which can still be queued.
+     */
+    int getQueueRemainingCapacity();
+
+    /**
+     * @return the number of requests completed by the pool.
+     */
+    long getCompletedTaskCount();
+
+    /**
+     * @return the number of requests which could not be queued.
+     */
+    long getRejectedCount();
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.component.common;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.switchyard.Exchange;
+
+public class AsyncInOutHandlerTest {
+
+    @Test
+    public void listenerAddedBeforeReply() throws Exception {
+        AsyncInOutHandler handler = new AsyncInOutHandler();
+        RecordingListener listener = new RecordingListener();
+        handler.addListener(listener);
+        Assert.assertFalse(handler.isDone());
+
+        Exchange reply = newExchange();
+        handler.handleMessage(reply);
+        Assert.assertTrue(handler.isDone());
+        Assert.assertSame(reply, listener._reply.get());
+        Assert.assertSame(reply, handler.get());
+    }
+
+    @Test
+    public void listenerAddedAfterReply() throws Exception {
+        AsyncInOutHandler handler = new AsyncInOutHandler();
+        Exchange reply = newExchange();
+        handler.handleFault(reply);
+
+        RecordingListener listener = new RecordingListener();
+        handler.addListener(listener);
+        Assert.assertSame(reply, listener._reply.get());
+        Assert.assertSame(reply, handler.waitForOut(10));
+    }
+
+    @Test
+    public void replyFromAnotherThread() throws Exception {
+        final AsyncInOutHandler handler = new AsyncInOutHandler();
+        final Exchange reply = newExchange();
+        new Thread() {
+            public void run() {
+                try {
+                    handler.handleMessage(reply);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }.start();
+        Assert.assertSame(reply, handler.waitForOut(5000));
+    }
+
+    @Test
+    public void expiry() throws Exception {
+        AsyncInOutHandler handler = new AsyncInOutHandler().expireAfter(50);
+        RecordingListener listener = new RecordingListener();
+        handler.addListener(listener);
+        Assert.assertTrue(listener._called.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(listener._failure.get() instanceof DeliveryException);
+        try {
+            handler.get();
+            Assert.fail("Expected the reply to have timed out");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof DeliveryException);
+        }
+        Assert.assertNull(listener._reply.get());
+    }
+
+    @Test
+    public void completedHandlersLeaveNoExpiryBehind() throws Exception {
+        int pending = AsyncInOutHandler.getPendingExpiries();
+        for (int i = 0; i < 1000; i++) {
+            AsyncInOutHandler handler = new AsyncInOutHandler().expireAfter(TimeUnit.MINUTES.toMillis(5));
+            handler.handleMessage(newExchange());
+            handler.expireAfter(TimeUnit.MINUTES.toMillis(5));
+        }
+        Assert.assertTrue(AsyncInOutHandler.getPendingExpiries() <= pending);
+    }
+
+    @Test(expected = DeliveryException.class)
+    public void waitForOutTimeout() throws Exception {
+        new AsyncInOutHandler().waitForOut(10);
+    }
+
+    @Test(expected = CancellationException.class)
+    public void cancel() throws Exception {
+        AsyncInOutHandler handler = new AsyncInOutHandler();
+        Assert.assertTrue(handler.cancel(false));
+        Assert.assertTrue(handler.isCancelled());
+        handler.get();
+    }
+
+    private static Exchange newExchange() {
+        return (Exchange) Proxy.newProxyInstance(Exchange.class.getClassLoader(), new Class<?>[] {Exchange.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if ("equals".equals(method.getName())) {
+                            return proxy == args[0];
+                        } else if ("hashCode".equals(method.getName())) {
+                            return System.identityHashCode(proxy);
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    private static class RecordingListener implements ReplyListener {
+
+        private final AtomicReference<Exchange> _reply = new AtomicReference<Exchange>();
+        private final AtomicReference<Throwable> _failure = new AtomicReference<Throwable>();
+        private final CountDownLatch _called = new CountDownLatch(1);
+
+        @Override
+        public void onReply(Exchange exchange) {
+            _reply.set(exchange);
+            _called.countDown();
+        }
+
+        @Override
+        public void onFailure(Throwable cause) {
+            _failure.set(cause);
+            _called.countDown();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.component.common;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.switchyard.component.common.WorkerPool.RejectionPolicy;
+
+public class WorkerPoolTest {
+
+    private static final String PREFIX = "org.switchyard.component.common.test.workers";
+
+    @Test
+    public void configuredFromSystemProperties() throws Exception {
+        System.setProperty(PREFIX + ".maxThreads", "4");
+        System.setProperty(PREFIX + ".queueSize", "8");
+        System.setProperty(PREFIX + ".rejectionPolicy", "CALLERRUNS");
+        WorkerPool pool = WorkerPool.create("WorkerPoolTest", PREFIX);
+        try {
+            Assert.assertEquals(4, pool.getMaximumPoolSize());
+            Assert.assertTrue(pool.allowsCoreThreadTimeOut());
+            Assert.assertEquals(RejectionPolicy.callerRuns, pool.getRejectionPolicy());
+            Assert.assertEquals(8, pool.getQueueRemainingCapacity());
+            Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                    new ObjectName("org.switchyard.component:type=WorkerPool,name=\"WorkerPoolTest\"")));
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+            System.clearProperty(PREFIX + ".maxThreads");
+            System.clearProperty(PREFIX + ".queueSize");
+            System.clearProperty(PREFIX + ".rejectionPolicy");
+        }
+        Assert.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                new ObjectName("org.switchyard.component:type=WorkerPool,name=\"WorkerPoolTest\"")));
+    }
+
+    @Test
+    public void queueDepthAndRejections() throws Exception {
+        WorkerPool pool = new WorkerPool("WorkerPoolTest-rejections", 1, 1, 1, RejectionPolicy.abort);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        Runnable blocker = new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        try {
+            pool.execute(blocker);
+            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+            pool.execute(blocker);
+            Assert.assertEquals(1, pool.getActiveCount());
+            Assert.assertEquals(1, pool.getQueueDepth());
+            try {
+                pool.execute(blocker);
+                Assert.fail("Expected the request to be rejected");
+            } catch (RejectedExecutionException ree) {
+                Assert.assertEquals(1, pool.getRejectedCount());
+            }
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void threadsStartedBeforeQueueing() throws Exception {
+        WorkerPool pool = new WorkerPool("WorkerPoolTest-growth", 3, 10, 1, RejectionPolicy.abort);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(3);
+        Runnable blocker = new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        try {
+            for (int i = 0; i < 3; i++) {
+                pool.execute(blocker);
+            }
+            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(3, pool.getPoolSize());
+            Assert.assertEquals(0, pool.getQueueDepth());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void rejectsByDefault() throws Exception {
+        WorkerPool pool = WorkerPool.create("WorkerPoolTest-defaults", PREFIX);
+        try {
+            Assert.assertEquals(WorkerPool.DEFAULT_MAX_THREADS, pool.getMaximumPoolSize());
+            Assert.assertEquals(RejectionPolicy.abort, pool.getRejectionPolicy());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -24,6 +24,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
@@ -36,7 +39,7 @@ import org.apache.http.auth.NTCredentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.auth.params.AuthPNames;
 import org.apache.http.client.AuthCache;
-import org.apache.http.client.HttpClient;
+import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
@@ -45,6 +48,7 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.params.AuthPolicy;
+import org.apache.http.client.params.HttpClientParams;
 import org.apache.http.client.protocol.ClientContext;
 import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.conn.params.ConnRoutePNames;
@@ -52,9 +56,12 @@ import org.apache.http.entity.BufferedHttpEntity;
 import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.client.BasicAuthCache;
+import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
 import org.apache.http.params.HttpConnectionParams;
 import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.protocol.HTTP;
 import org.jboss.logging.Logger;
@@ -65,6 +72,7 @@ import org.switchyard.Message;
 import org.switchyard.Property;
 import org.switchyard.Scope;
 import org.switchyard.ServiceDomain;
+import org.switchyard.common.lang.NamedThreadFactory;
 import org.switchyard.component.common.composer.MessageComposer;
 import org.switchyard.component.http.composer.HttpBindingData;
 import org.switchyard.component.http.composer.HttpComposition;
@@ -72,6 +80,7 @@ import org.switchyard.component.http.composer.HttpRequestBindingData;
 import org.switchyard.component.http.composer.HttpResponseBindingData;
 import org.switchyard.component.http.config.model.HttpBindingModel;
 import org.switchyard.deploy.BaseServiceHandler;
+import org.switchyard.deploy.ConnectionPoolAware;
 import org.switchyard.label.BehaviorLabel;
 import org.switchyard.runtime.event.ExchangeCompletionEvent;
 
@@ -80,7 +89,7 @@ import org.switchyard.runtime.event.ExchangeCompletionEvent;
  *
  * @author Magesh Kumar B <mageshbk@jboss.com> (C) 2012 Red Hat Inc.
  */
-public class OutboundHandler extends BaseServiceHandler {
+public class OutboundHandler extends BaseServiceHandler implements ConnectionPoolAware {
 
     private static final Logger LOGGER = Logger.getLogger(OutboundHandler.class);
 
@@ -96,6 +105,9 @@ public class OutboundHandler extends BaseServiceHandler {
     private static final String MAP_AUTH_SCOPE_KEY = "auth_scope";
     private static final String MAP_AUTH_CACHE_KEY = "auth_cache";
 
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    private static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 200;
+
     private final HttpBindingModel _config;
     private final String _bindingName;
     private final String _referenceName;
@@ -106,8 +118,12 @@ public class OutboundHandler extends BaseServiceHandler {
     private AuthScope _authScope;
     private AuthCache _authCache;
     private Credentials _credentials;
+    private CredentialsProvider _credentialsProvider;
     private HttpHost _proxyHost;
     private Integer _timeout;
+    private PoolingClientConnectionManager _connectionManager;
+    private DefaultHttpClient _httpClient;
+    private ScheduledExecutorService _idleConnectionReaper;
 
     /**
      * Constructor.
@@ -178,6 +194,107 @@ public class OutboundHandler extends BaseServiceHandler {
             }
         }
         _timeout = _config.getTimeout();
+        if (_credentials != null) {
+            _credentialsProvider = createCredentialsProvider(_authScope);
+        }
+        createHttpClient();
+    }
+
+    /**
+     * Stop lifecycle.
+     */
+    @Override
+    protected void doStop() {
+        if (_idleConnectionReaper != null) {
+            _idleConnectionReaper.shutdownNow();
+            _idleConnectionReaper = null;
+        }
+        if (_connectionManager != null) {
+            _connectionManager.shutdown();
+            _connectionManager = null;
+        }
+        _httpClient = null;
+    }
+
+    /**
+     * Creates the pooled client shared by all exchanges passing through this
+     * reference binding, so connections are kept alive and reused.
+     */
+    private void createHttpClient() {
+        _connectionManager = new PoolingClientConnectionManager();
+        Integer maxPerRoute = _config.getMaxConnectionsPerRoute();
+        Integer maxTotal = _config.getMaxConnectionsTotal();
+        _connectionManager.setDefaultMaxPerRoute(maxPerRoute != null ? maxPerRoute : DEFAULT_MAX_CONNECTIONS_PER_ROUTE);
+        _connectionManager.setMaxTotal(maxTotal != null ? maxTotal : DEFAULT_MAX_CONNECTIONS_TOTAL);
+
+        _httpClient = new DefaultHttpClient(_connectionManager);
+        HttpParams httpParams = _httpClient.getParams();
+        if (_timeout != null) {
+            HttpConnectionParams.setConnectionTimeout(httpParams, _timeout);
+            HttpConnectionParams.setSoTimeout(httpParams, _timeout);
+        }
+        Integer leaseTimeout = _config.getConnectionLeaseTimeout();
+        if (leaseTimeout != null) {
+            HttpClientParams.setConnectionManagerTimeout(httpParams, leaseTimeout);
+        }
+        if (_credentials != null) {
+            List<String> authpref = new ArrayList<String>();
+            authpref.add(AuthPolicy.NTLM);
+            authpref.add(AuthPolicy.BASIC);
+            httpParams.setParameter(AuthPNames.TARGET_AUTH_PREF, authpref);
+        }
+        if (_proxyHost != null) {
+            httpParams.setParameter(ConnRoutePNames.DEFAULT_PROXY, _proxyHost);
+        }
+
+        final Integer idleTimeout = _config.getConnectionIdleTimeout();
+        if (idleTimeout != null && idleTimeout > 0) {
+            final PoolingClientConnectionManager connectionManager = _connectionManager;
+            _idleConnectionReaper = Executors.newSingleThreadScheduledExecutor(
+                    new NamedThreadFactory("HTTP idle connection reaper - " + _referenceName + "/" + _bindingName));
+            _idleConnectionReaper.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    connectionManager.closeExpiredConnections();
+                    connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+                }
+            }, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private CredentialsProvider createCredentialsProvider(AuthScope authScope) {
+        CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+        credentialsProvider.setCredentials(authScope, _credentials);
+        return credentialsProvider;
+    }
+
+    @Override
+    public int getLeasedConnections() {
+        PoolStats stats = getPoolStats();
+        return stats != null ? stats.getLeased() : 0;
+    }
+
+    @Override
+    public int getAvailableConnections() {
+        PoolStats stats = getPoolStats();
+        return stats != null ? stats.getAvailable() : 0;
+    }
+
+    @Override
+    public int getPendingConnections() {
+        PoolStats stats = getPoolStats();
+        return stats != null ? stats.getPending() : 0;
+    }
+
+    @Override
+    public int getMaxConnections() {
+        PoolStats stats = getPoolStats();
+        return stats != null ? stats.getMax() : 0;
+    }
+
+    private PoolStats getPoolStats() {
+        PoolingClientConnectionManager connectionManager = _connectionManager;
+        return connectionManager != null ? connectionManager.getTotalStats() : null;
     }
 
 
@@ -320,36 +437,27 @@ public class OutboundHandler extends BaseServiceHandler {
             throw new HandlerException(m);
         }
 
-        HttpClient httpclient = new DefaultHttpClient();
-        if (_timeout != null) {
-            HttpParams httpParams = httpclient.getParams();
-            HttpConnectionParams.setConnectionTimeout(httpParams, _timeout);
-            HttpConnectionParams.setSoTimeout(httpParams, _timeout);
-        }
+        HttpResponse response = null;
         try {
             String address = composeAddress(exchange.getMessage().getContext());
-            AuthScope authScope;
             AuthCache authCache;
+            CredentialsProvider credentialsProvider;
             if (address.equals(_baseAddress)) {
-                authScope = _authScope;
                 authCache = _authCache;
-
+                credentialsProvider = _credentialsProvider;
             } else {
                 Map<String, Object> authValues = composeAuthScope(address);
                 authCache = (AuthCache)authValues.get(MAP_AUTH_CACHE_KEY);
-                authScope = (AuthScope)authValues.get(MAP_AUTH_SCOPE_KEY);
+                AuthScope authScope = (AuthScope)authValues.get(MAP_AUTH_SCOPE_KEY);
+                credentialsProvider = _credentials != null ? createCredentialsProvider(authScope) : null;
             }
-            if (_credentials != null) {
-
-                ((DefaultHttpClient)httpclient).getCredentialsProvider().setCredentials(authScope,
-                                                                                        _credentials);
-                List<String> authpref = new ArrayList<String>();
-                authpref.add(AuthPolicy.NTLM);
-                authpref.add(AuthPolicy.BASIC);
-                httpclient.getParams().setParameter(AuthPNames.TARGET_AUTH_PREF, authpref);
+            // the client is shared, so credentials and auth cache travel with the request context
+            BasicHttpContext context = new BasicHttpContext();
+            if (credentialsProvider != null) {
+                context.setAttribute(ClientContext.CREDS_PROVIDER, credentialsProvider);
             }
-            if (_proxyHost != null) {
-                httpclient.getParams().setParameter(ConnRoutePNames.DEFAULT_PROXY, _proxyHost);
+            if (authCache != null) {
+                context.setAttribute(ClientContext.AUTH_CACHE, authCache);
             }
             HttpBindingData httpRequest = _messageComposer.decompose(exchange, new HttpRequestBindingData());
             HttpRequestBase request = null;
@@ -411,19 +519,12 @@ public class OutboundHandler extends BaseServiceHandler {
                 request.addHeader("Content-Type", _contentType);
             }
 
-            HttpResponse response = null;
             if ((_credentials != null) && (_credentials instanceof NTCredentials)) {
                 // Send a request for the Negotiation
-                response = httpclient.execute(new HttpGet(address));
+                response = _httpClient.execute(new HttpGet(address), context);
                 HttpClientUtils.closeQuietly(response);
             }
-            if (authCache != null) {
-                BasicHttpContext context = new BasicHttpContext();
-                context.setAttribute(ClientContext.AUTH_CACHE, authCache);
-                response = httpclient.execute(request, context);
-            } else {
-                response = httpclient.execute(request);
-            }
+            response = _httpClient.execute(request, context);
             int status = response.getStatusLine().getStatusCode();
 
             HttpEntity entity = response.getEntity();
@@ -452,10 +553,9 @@ public class OutboundHandler extends BaseServiceHandler {
             LOGGER.error(m, e);
             throw new HandlerException(m, e);
         } finally {
-            // When HttpClient instance is no longer needed,
-            // shut down the connection manager to ensure
-            // immediate deallocation of all system resources
-            httpclient.getConnectionManager().shutdown();
+            // Make sure the response is fully consumed so that
+            // the connection is released back to the pool
+            HttpClientUtils.closeQuietly(response);
         }
     }
 }
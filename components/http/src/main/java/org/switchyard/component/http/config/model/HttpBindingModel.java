@@ -121,6 +121,66 @@ public interface HttpBindingModel extends BindingModel {
      */
     public HttpBindingModel setTimeout(Integer timeout);
 
+    /**
+     * Gets the maximum number of pooled connections per route.
+     * 
+     * @return the maximum number of connections per route
+     */
+    public Integer getMaxConnectionsPerRoute();
+
+    /**
+     * Sets the maximum number of pooled connections per route.
+     * 
+     * @param maxConnectionsPerRoute the maximum number of connections per route
+     * @return this HttpBindingModel
+     */
+    public HttpBindingModel setMaxConnectionsPerRoute(Integer maxConnectionsPerRoute);
+
+    /**
+     * Gets the maximum number of pooled connections in total.
+     * 
+     * @return the maximum number of connections
+     */
+    public Integer getMaxConnectionsTotal();
+
+    /**
+     * Sets the maximum number of pooled connections in total.
+     * 
+     * @param maxConnectionsTotal the maximum number of connections
+     * @return this HttpBindingModel
+     */
+    public HttpBindingModel setMaxConnectionsTotal(Integer maxConnectionsTotal);
+
+    /**
+     * Gets the time in milliseconds after which idle pooled connections are closed.
+     * 
+     * @return the idle time-out value
+     */
+    public Integer getConnectionIdleTimeout();
+
+    /**
+     * Sets the time in milliseconds after which idle pooled connections are closed.
+     * 
+     * @param connectionIdleTimeout the idle time-out value
+     * @return this HttpBindingModel
+     */
+    public HttpBindingModel setConnectionIdleTimeout(Integer connectionIdleTimeout);
+
+    /**
+     * Gets the time in milliseconds to wait for a pooled connection.
+     * 
+     * @return the lease time-out value
+     */
+    public Integer getConnectionLeaseTimeout();
+
+    /**
+     * Sets the time in milliseconds to wait for a pooled connection.
+     * 
+     * @param connectionLeaseTimeout the lease time-out value
+     * @return this HttpBindingModel
+     */
+    public HttpBindingModel setConnectionLeaseTimeout(Integer connectionLeaseTimeout);
+
     /**
      * Sets the global configuration.
      * 
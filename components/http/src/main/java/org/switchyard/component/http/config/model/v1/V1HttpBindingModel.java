@@ -41,7 +41,11 @@ public class V1HttpBindingModel extends V1BindingModel implements HttpBindingMod
         HttpName.timeout.name(),
         HttpName.basic.name(),
         HttpName.ntlm.name(),
-        HttpName.proxy.name()
+        HttpName.proxy.name(),
+        HttpName.maxConnectionsPerRoute.name(),
+        HttpName.maxConnectionsTotal.name(),
+        HttpName.connectionIdleTimeout.name(),
+        HttpName.connectionLeaseTimeout.name()
     };
 
     private Configuration _environment;
@@ -53,6 +57,10 @@ public class V1HttpBindingModel extends V1BindingModel implements HttpBindingMod
     private HttpNameValueModel _method;
     private HttpNameValueModel _contentType;
     private HttpNameValueModel _timeout;
+    private HttpNameValueModel _maxConnectionsPerRoute;
+    private HttpNameValueModel _maxConnectionsTotal;
+    private HttpNameValueModel _connectionIdleTimeout;
+    private HttpNameValueModel _connectionLeaseTimeout;
     private BasicAuthModel _basicAuth;
     private NtlmAuthModel _ntlmAuth;
     private ProxyModel _proxyConfig;
@@ -185,6 +193,78 @@ public class V1HttpBindingModel extends V1BindingModel implements HttpBindingMod
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public Integer getMaxConnectionsPerRoute() {
+        if (_maxConnectionsPerRoute == null) {
+            _maxConnectionsPerRoute = getNameValue(HttpName.maxConnectionsPerRoute);
+        }
+        return _maxConnectionsPerRoute != null ? Integer.valueOf(_maxConnectionsPerRoute.getValue()) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public HttpBindingModel setMaxConnectionsPerRoute(Integer maxConnectionsPerRoute) {
+        _maxConnectionsPerRoute = setNameValue(_maxConnectionsPerRoute, HttpName.maxConnectionsPerRoute, maxConnectionsPerRoute != null ? String.valueOf(maxConnectionsPerRoute) : null);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Integer getMaxConnectionsTotal() {
+        if (_maxConnectionsTotal == null) {
+            _maxConnectionsTotal = getNameValue(HttpName.maxConnectionsTotal);
+        }
+        return _maxConnectionsTotal != null ? Integer.valueOf(_maxConnectionsTotal.getValue()) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public HttpBindingModel setMaxConnectionsTotal(Integer maxConnectionsTotal) {
+        _maxConnectionsTotal = setNameValue(_maxConnectionsTotal, HttpName.maxConnectionsTotal, maxConnectionsTotal != null ? String.valueOf(maxConnectionsTotal) : null);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Integer getConnectionIdleTimeout() {
+        if (_connectionIdleTimeout == null) {
+            _connectionIdleTimeout = getNameValue(HttpName.connectionIdleTimeout);
+        }
+        return _connectionIdleTimeout != null ? Integer.valueOf(_connectionIdleTimeout.getValue()) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public HttpBindingModel setConnectionIdleTimeout(Integer connectionIdleTimeout) {
+        _connectionIdleTimeout = setNameValue(_connectionIdleTimeout, HttpName.connectionIdleTimeout, connectionIdleTimeout != null ? String.valueOf(connectionIdleTimeout) : null);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Integer getConnectionLeaseTimeout() {
+        if (_connectionLeaseTimeout == null) {
+            _connectionLeaseTimeout = getNameValue(HttpName.connectionLeaseTimeout);
+        }
+        return _connectionLeaseTimeout != null ? Integer.valueOf(_connectionLeaseTimeout.getValue()) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public HttpBindingModel setConnectionLeaseTimeout(Integer connectionLeaseTimeout) {
+        _connectionLeaseTimeout = setNameValue(_connectionLeaseTimeout, HttpName.connectionLeaseTimeout, connectionLeaseTimeout != null ? String.valueOf(connectionLeaseTimeout) : null);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -19,6 +19,8 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -33,6 +35,7 @@ import org.jboss.com.sun.net.httpserver.HttpHandler;
 import org.jboss.com.sun.net.httpserver.HttpServer;
 import org.switchyard.ServiceDomain;
 import org.switchyard.component.common.Endpoint;
+import org.switchyard.component.common.WorkerPool;
 import org.switchyard.component.http.ContentType;
 import org.switchyard.component.http.HttpLogger;
 import org.switchyard.component.http.InboundHandler;
@@ -47,6 +50,11 @@ import org.switchyard.security.jboss.credential.extractor.HttpExchangeCredential
  *     By default it will be published in port {@value #DEFAULT_PORT}. This can be configured making use of
  *     <i>{@value #DEFAULT_PORT_PROPERTY}</i> system property.
  * </p>
+ * <p>
+ *     Requests are handled by a {@link WorkerPool} configured with system properties prefixed by
+ *     <i>{@value #WORKER_POOL_PROPERTY_PREFIX}</i>. The listen backlog defaults to {@value #DEFAULT_BACKLOG} and
+ *     can be adjusted with the <i>{@value #BACKLOG_PROPERTY}</i> system property.
+ * </p>
  *
  * @author Magesh Kumar B <mageshbk@jboss.com> (C) 2012 Red Hat Inc.
  */
@@ -62,6 +70,21 @@ public class StandaloneEndpointPublisher implements EndpointPublisher {
      */
     public static final String DEFAULT_PORT_PROPERTY = "org.switchyard.component.http.standalone.port";
 
+    /**
+     * Default listen backlog of the standalone publisher.
+     */
+    public static final int DEFAULT_BACKLOG = 10;
+
+    /**
+     * System property to adjust the listen backlog of the standalone publisher.
+     */
+    public static final String BACKLOG_PROPERTY = "org.switchyard.component.http.standalone.backlog";
+
+    /**
+     * Prefix of the system properties used to configure the worker pool.
+     */
+    public static final String WORKER_POOL_PROPERTY_PREFIX = "org.switchyard.component.http.standalone.workers";
+
     private static final Logger LOGGER = Logger.getLogger(StandaloneEndpointPublisher.class);
 
     private static final String CONTENT_TYPE = "Content-Type";
@@ -69,10 +92,17 @@ public class StandaloneEndpointPublisher implements EndpointPublisher {
     // The global standalone HttpServer
     private static HttpServer _httpServer;
 
+    // Workers handling the requests accepted by the global HttpServer
+    private static WorkerPool _workerPool;
+
+    // Set while a request the workers could not take is answered on the server's dispatcher thread
+    private static final ThreadLocal<Boolean> REJECTED = new ThreadLocal<Boolean>();
+
     static {
         try {
-            _httpServer = HttpServer.create(new InetSocketAddress(getPort()), 10);
-            _httpServer.setExecutor(null); // creates a default executor
+            _httpServer = HttpServer.create(new InetSocketAddress(getPort()), Integer.getInteger(BACKLOG_PROPERTY, DEFAULT_BACKLOG));
+            _workerPool = WorkerPool.create("SwitchYard HTTP standalone", WORKER_POOL_PROPERTY_PREFIX);
+            _httpServer.setExecutor(new RejectingExecutor(_workerPool));
             _httpServer.start();
         } catch (IOException ioe) {
             HttpLogger.ROOT_LOGGER.unableToLaunchStandaloneHttpServer(ioe);
@@ -102,6 +132,16 @@ public class StandaloneEndpointPublisher implements EndpointPublisher {
         }
 
         public void handle(HttpExchange exchange) {
+            if (isRejected()) {
+                try {
+                    exchange.sendResponseHeaders(HttpServletResponse.SC_SERVICE_UNAVAILABLE, -1);
+                } catch (IOException e) {
+                    HttpLogger.ROOT_LOGGER.unexpectedExceptionWhileWritingResponse(e);
+                } finally {
+                    exchange.close();
+                }
+                return;
+            }
             try {
                 HttpRequestBindingData httpRequest = new HttpRequestBindingData();
                 byte[] responseBody = null;
@@ -210,6 +250,49 @@ public class StandaloneEndpointPublisher implements EndpointPublisher {
         return requestInfo;
     }
 
+    /**
+     * Hands requests to the worker pool. The HttpServer does not answer requests its executor
+     * rejects, so these are run on the dispatcher thread, only to be answered with 503.
+     */
+    static class RejectingExecutor implements Executor {
+
+        private final Executor _workers;
+
+        RejectingExecutor(Executor workers) {
+            _workers = workers;
+        }
+
+        @Override
+        public void execute(Runnable request) {
+            try {
+                _workers.execute(request);
+            } catch (RejectedExecutionException ree) {
+                REJECTED.set(Boolean.TRUE);
+                try {
+                    request.run();
+                } finally {
+                    REJECTED.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the request being handled on this thread was rejected by the worker pool.
+     * @return true if the request has to be refused
+     */
+    static boolean isRejected() {
+        return REJECTED.get() != null;
+    }
+
+    /**
+     * Returns the pool of workers handling requests for the standalone publisher.
+     * @return the worker pool
+     */
+    static WorkerPool getWorkerPool() {
+        return _workerPool;
+    }
+
     /**
      * Returns the port where the standalone publisher will be started
      * @return the port
@@ -32,6 +32,7 @@ public class HttpConfigModelTest {
     private static final String HTTP_BINDING2 = "http-binding2.xml";
     private static final String HTTP_BINDING_AUTH = "http-binding-auth.xml";
     private static final String HTTP_BINDING_PROXY = "http-binding-proxy.xml";
+    private static final String HTTP_BINDING_POOL = "http-binding-pool.xml";
 
     @Test
     public void testReadConfigBinding() throws Exception {
@@ -68,4 +69,15 @@ public class HttpConfigModelTest {
         Assert.assertEquals("Beal", proxyConfig.getUser());
         Assert.assertEquals("conjecture", proxyConfig.getPassword());
     }
+
+    @Test
+    public void connectionPoolConfigBinding() throws Exception {
+        ModelPuller<HttpBindingModel> puller = new ModelPuller<HttpBindingModel>();
+        HttpBindingModel model = puller.pull(HTTP_BINDING_POOL, getClass());
+        Assert.assertTrue(model.isModelValid());
+        Assert.assertEquals(new Integer(50), model.getMaxConnectionsPerRoute());
+        Assert.assertEquals(new Integer(100), model.getMaxConnectionsTotal());
+        Assert.assertEquals(new Integer(30000), model.getConnectionIdleTimeout());
+        Assert.assertEquals(new Integer(2000), model.getConnectionLeaseTimeout());
+    }
 }
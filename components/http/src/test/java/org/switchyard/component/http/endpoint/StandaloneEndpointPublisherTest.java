@@ -1,5 +1,9 @@
 package org.switchyard.component.http.endpoint;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -33,4 +37,23 @@ public class StandaloneEndpointPublisherTest {
         final int port = StandaloneEndpointPublisher.getPort();
         assertThat(port, is(equalTo(TEST_PORT)));
     }
+
+    @Test
+    public void rejectedRequestIsRefusedOnCaller() {
+        Executor busy = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        };
+        final AtomicBoolean rejected = new AtomicBoolean();
+        new StandaloneEndpointPublisher.RejectingExecutor(busy).execute(new Runnable() {
+            @Override
+            public void run() {
+                rejected.set(StandaloneEndpointPublisher.isRejected());
+            }
+        });
+        assertThat(rejected.get(), is(true));
+        assertThat(StandaloneEndpointPublisher.isRejected(), is(false));
+    }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.component.jca;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.switchyard.common.lang.NamedThreadFactory;
+
+/**
+ * Single timer thread which drives the batch commit timeouts of all message endpoint
+ * proxies created by a {@link org.switchyard.component.jca.deploy.JCAActivator}, and
+ * collects batch size and commit latency statistics.
+ * <p/>
+ * The scheduler registers a {@link BatchCommitSchedulerMXBean} with the platform MBeanServer.
+ */
+public class BatchCommitScheduler implements BatchCommitSchedulerMXBean {
+
+    private static final String OBJECT_NAME_PREFIX = "org.switchyard.component:type=JCABatchCommit,name=";
+
+    private final String _name;
+    private final ScheduledThreadPoolExecutor _executor;
+    private final AtomicLong _batchCount = new AtomicLong();
+    private final AtomicLong _timedOutBatchCount = new AtomicLong();
+    private final AtomicLong _messageCount = new AtomicLong();
+    private final AtomicLong _maxBatchSize = new AtomicLong();
+    private final AtomicLong _totalCommitTime = new AtomicLong();
+    private final AtomicLong _maxCommitTime = new AtomicLong();
+    private ObjectName _objectName;
+
+    /**
+     * Create a new BatchCommitScheduler.
+     * @param name the name of the scheduler, used for thread and MBean names
+     */
+    public BatchCommitScheduler(String name) {
+        _name = name;
+        _executor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("SwitchYard JCA batch commit " + name));
+        // batches which fill up before the timeout cancel their task, don't keep it in the queue
+        _executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Register this scheduler with the platform MBeanServer.
+     */
+    public void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(_name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+                _objectName = objectName;
+            }
+        } catch (Exception e) {
+            JCALogger.ROOT_LOGGER.unableToRegisterBatchCommitMBean(_name, e);
+        }
+    }
+
+    /**
+     * Schedule a batch timeout.
+     * @param task the task committing the batch
+     * @param delay the batch timeout
+     * @param unit the unit of the timeout
+     * @return the scheduled task
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return _executor.schedule(task, delay, unit);
+    }
+
+    /**
+     * Record a committed batch.
+     * @param batchSize the number of messages in the batch
+     * @param commitTime the time, in nanoseconds, taken to commit
+     * @param timedOut true if the batch was committed because its timeout expired
+     */
+    public void batchCommitted(int batchSize, long commitTime, boolean timedOut) {
+        _batchCount.incrementAndGet();
+        if (timedOut) {
+            _timedOutBatchCount.incrementAndGet();
+        }
+        _messageCount.addAndGet(batchSize);
+        _totalCommitTime.addAndGet(commitTime);
+        updateMax(_maxBatchSize, batchSize);
+        updateMax(_maxCommitTime, commitTime);
+    }
+
+    /**
+     * Cancel all scheduled timeouts, stop the timer thread and unregister the MBean.
+     */
+    public void shutdown() {
+        _executor.shutdownNow();
+        if (_objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(_objectName);
+            } catch (Exception e) {
+                // already gone
+                e.getMessage();
+            }
+            _objectName = null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return _name;
+    }
+
+    @Override
+    public int getScheduledCount() {
+        return _executor.getQueue().size();
+    }
+
+    @Override
+    public long getBatchCount() {
+        return _batchCount.get();
+    }
+
+    @Override
+    public long getTimedOutBatchCount() {
+        return _timedOutBatchCount.get();
+    }
+
+    @Override
+    public long getMessageCount() {
+        return _messageCount.get();
+    }
+
+    @Override
+    public double getAverageBatchSize() {
+        long batches = _batchCount.get();
+        return batches > 0 ? (double) _messageCount.get() / batches : 0;
+    }
+
+    @Override
+    public long getMaxBatchSize() {
+        return _maxBatchSize.get();
+    }
+
+    @Override
+    public double getAverageCommitTime() {
+        long batches = _batchCount.get();
+        return batches > 0 ? toMillis(_totalCommitTime.get()) / batches : 0;
+    }
+
+    @Override
+    public double getMaxCommitTime() {
+        return toMillis(_maxCommitTime.get());
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.component.jca;
+
+/**
+ * Management interface for a {@link BatchCommitScheduler}.
+ */
+public interface BatchCommitSchedulerMXBean {
+
+    /**
+     * @return the name of the scheduler.
+     */
+    String getName();
+
+    /**
+     * @return the number of batch timeouts currently scheduled.
+     */
+    int getScheduledCount();
+
+    /**
+     * @return the number of committed batches.
+     */
+    long getBatchCount();
+
+    /**
+     * @return the number of batches committed because the batch timeout expired.
+     */
+    long getTimedOutBatchCount();
+
+    /**
+     * @return the number of messages in committed batches.
+     */
+    long getMessageCount();
+
+    /**
+     * @return the average number of messages per committed batch.
+     */
+    double getAverageBatchSize();
+
+    /**
+     * @return the largest number of messages in a committed batch.
+     */
+    long getMaxBatchSize();
+
+    /**
+     * @return the average time, in milliseconds, taken to commit a batch.
+     */
+    double getAverageCommitTime();
+
+    /**
+     * @return the longest time, in milliseconds, taken to commit a batch.
+     */
+    double getMaxCommitTime();
+}
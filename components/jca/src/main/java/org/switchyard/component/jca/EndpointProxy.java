@@ -15,8 +15,6 @@ package org.switchyard.component.jca;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.InvocationHandler;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
@@ -66,7 +64,7 @@ public class EndpointProxy implements InvocationHandler, MessageEndpoint {
     private static ThreadLocal<BatchTransactionHelper> _batchHelper = new ThreadLocal<BatchTransactionHelper>();
         
     private ReentrantLock _deliveryThreadLock = new ReentrantLock();
-    private ScheduledExecutorService _scheduler = Executors.newScheduledThreadPool(1);
+    private BatchCommitScheduler _scheduler;
 
     /**
      * Constructor.
@@ -84,6 +82,7 @@ public class EndpointProxy implements InvocationHandler, MessageEndpoint {
         _useBatchCommit = metadata.useBatchCommit();
         _batchSize = metadata.getBatchSize();
         _batchTimeout = metadata.getBatchTimeout();
+        _scheduler = metadata.getBatchCommitScheduler();
     }
     
     @Override
@@ -375,7 +374,9 @@ public class EndpointProxy implements InvocationHandler, MessageEndpoint {
                             // keep the transaction active for next message
                             helper.setCounter(helper.getCounter()+1);
                         } else {
+                            long start = System.nanoTime();
                             _transactionManager.commit();
+                            _scheduler.batchCommitted(helper.getCounter() + 1, System.nanoTime() - start, false);
                             helper.cancelScheduledReaperThread();
                         }
                         _startedTx = null;
@@ -432,7 +433,7 @@ public class EndpointProxy implements InvocationHandler, MessageEndpoint {
         }
     }
         
-    private class BatchTransactionHelper extends Thread {
+    private class BatchTransactionHelper implements Runnable {
         private Transaction _transaction;
         private int _counter = 0;
         private ScheduledFuture<?> _future;
@@ -462,8 +463,8 @@ public class EndpointProxy implements InvocationHandler, MessageEndpoint {
             return _transaction;
         }
         
-        public void scheduleReaperThread(ScheduledExecutorService service, long delay, TimeUnit unit) {
-            _future = service.schedule(this, delay, unit);
+        public void scheduleReaperThread(BatchCommitScheduler scheduler, long delay, TimeUnit unit) {
+            _future = scheduler.schedule(this, delay, unit);
         }
         
         public void cancelScheduledReaperThread() {
@@ -477,7 +478,9 @@ public class EndpointProxy implements InvocationHandler, MessageEndpoint {
              try {
                  if (_transaction.getStatus() == Status.STATUS_ACTIVE) {
                      _transactionManager.resume(_transaction);
+                     long start = System.nanoTime();
                      _transactionManager.commit();
+                     _scheduler.batchCommitted(_counter, System.nanoTime() - start, true);
                      JCALogger.ROOT_LOGGER.transactionHasBeenCommittedByReaperThread(_counter);
                      _counter = 0;
                  }
@@ -90,6 +90,9 @@ public final class JCAConstants {
     /** type. */
     public static final String TYPE = "type";
 
+    /** JNDI name of the JBoss TransactionManager. */
+    public static final String JBOSS_TRANSACTION_MANAGER = "java:jboss/TransactionManager";
+
 
     private JCAConstants() {}
 
@@ -147,5 +147,21 @@ public interface JCALogger {
     @Message(id = 36814, value = "The existing transcation is marked as rollback only - rolling back before create new one.")
     void rollingBackExistingTransactionWhichIsMarkedAsRollbackOnly();
 
-}
+    /**
+     * cachedJMSConnectionFailed method definition.
+     * @param eMessage eMessage
+     */
+    @LogMessage(level = Level.WARN)
+    @Message(id = 36815, value = "Cached JMS connection failed and will be reopened on next use: %s")
+    void cachedJMSConnectionFailed(String eMessage);
 
+    /**
+     * unableToRegisterBatchCommitMBean method definition.
+     * @param name the scheduler name
+     * @param t the cause
+     */
+    @LogMessage(level = Level.WARN)
+    @Message(id = 36816, value = "Unable to register management bean for JCA batch commit scheduler '%s'")
+    void unableToRegisterBatchCommitMBean(String name, @Cause Throwable t);
+
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.component.jca;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import javax.naming.InitialContext;
+import javax.transaction.Status;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Keeps JMS Connection/Session pairs and their MessageProducers open between messages,
+ * so that the JMS reply and outbound paths don't create a Connection per message.
+ * <p/>
+ * Each cached Session owns its Connection, since a managed ConnectionFactory allows only one
+ * Session per Connection. At most <code>maxSessions</code> idle Sessions are kept; extra
+ * Sessions are closed on release, and idle Sessions older than <code>idleTimeout</code> are
+ * closed on the next lease. While a JTA transaction is active, leases bypass the cache so that
+ * the Connection is enlisted in the transaction by the JCA connection manager.
+ */
+public class JMSSessionCache {
+
+    /** default maximum number of idle sessions. */
+    public static final int DEFAULT_MAX_SESSIONS = 10;
+    /** default idle timeout in milliseconds. */
+    public static final long DEFAULT_IDLE_TIMEOUT = 60000L;
+
+    private static final int MAX_PRODUCERS_PER_SESSION = 32;
+
+    private Logger _logger = Logger.getLogger(JMSSessionCache.class);
+    private final ConnectionFactory _connectionFactory;
+    private final String _userName;
+    private final String _password;
+    private final TransactionManager _transactionManager;
+    private final int _maxSessions;
+    private final long _idleTimeout;
+    private final Deque<CachedSession> _idle = new ArrayDeque<CachedSession>();
+    private boolean _closed;
+
+    /**
+     * Constructor.
+     *
+     * @param connectionFactory ConnectionFactory to create connections from
+     * @param userName user name, or null to use the default credentials
+     * @param password password
+     * @param transactionManager TransactionManager used to detect JTA transactions, may be null
+     * @param maxSessions maximum number of idle sessions to keep, 0 disables caching
+     * @param idleTimeout time in milliseconds after which an idle session is closed
+     */
+    public JMSSessionCache(ConnectionFactory connectionFactory, String userName, String password,
+            TransactionManager transactionManager, int maxSessions, long idleTimeout) {
+        _connectionFactory = connectionFactory;
+        _userName = userName;
+        _password = password;
+        _transactionManager = transactionManager;
+        _maxSessions = maxSessions;
+        _idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Lease a session, reusing an idle one with the same transacted flag and acknowledge mode if available.
+     *
+     * @param transacted whether the session is transacted
+     * @param ackMode acknowledge mode
+     * @return the leased session, to be handed back with {@link #release(CachedSession)}
+     * @throws JMSException failed to create a connection or session
+     */
+    public CachedSession lease(boolean transacted, int ackMode) throws JMSException {
+        boolean cacheable = _maxSessions > 0 && !isTransactionActive();
+        if (cacheable) {
+            CachedSession idle = pollIdle(transacted, ackMode);
+            if (idle != null) {
+                return idle;
+            }
+        }
+
+        Connection connection;
+        if (_userName != null) {
+            connection = _connectionFactory.createConnection(_userName, _password);
+        } else {
+            connection = _connectionFactory.createConnection();
+        }
+        try {
+            connection.start();
+            return new CachedSession(connection, connection.createSession(transacted, ackMode), transacted, ackMode, cacheable);
+        } catch (JMSException e) {
+            closeQuietly(connection);
+            throw e;
+        }
+    }
+
+    /**
+     * Hand back a leased session. It is kept for reuse unless it was invalidated,
+     * leased within a JTA transaction, or the cache is full.
+     *
+     * @param session the leased session
+     */
+    public void release(CachedSession session) {
+        if (session._cacheable && !session._invalid) {
+            synchronized (this) {
+                if (!_closed && _idle.size() < _maxSessions) {
+                    session._lastUsed = System.currentTimeMillis();
+                    _idle.addFirst(session);
+                    return;
+                }
+            }
+        }
+        session.close();
+    }
+
+    /**
+     * Close all idle sessions. Sessions leased at this point are closed on release.
+     */
+    public void close() {
+        List<CachedSession> sessions;
+        synchronized (this) {
+            _closed = true;
+            sessions = new ArrayList<CachedSession>(_idle);
+            _idle.clear();
+        }
+        for (CachedSession session : sessions) {
+            session.close();
+        }
+    }
+
+    /**
+     * Returns the number of idle sessions.
+     * @return the number of idle sessions
+     */
+    public synchronized int getIdleCount() {
+        return _idle.size();
+    }
+
+    private CachedSession pollIdle(boolean transacted, int ackMode) {
+        List<CachedSession> expired = new ArrayList<CachedSession>();
+        CachedSession found = null;
+        synchronized (this) {
+            // most recently used sessions are at the head, so expired ones collect at the tail
+            long expiry = System.currentTimeMillis() - _idleTimeout;
+            while (!_idle.isEmpty() && _idle.peekLast()._lastUsed < expiry) {
+                expired.add(_idle.pollLast());
+            }
+            Iterator<CachedSession> it = _idle.iterator();
+            while (it.hasNext()) {
+                CachedSession session = it.next();
+                if (session._transacted == transacted && session._ackMode == ackMode) {
+                    it.remove();
+                    found = session;
+                    break;
+                }
+            }
+        }
+        for (CachedSession session : expired) {
+            session.close();
+        }
+        return found;
+    }
+
+    private boolean isTransactionActive() {
+        if (_transactionManager == null) {
+            return false;
+        }
+        try {
+            Transaction tx = _transactionManager.getTransaction();
+            return tx != null && tx.getStatus() != Status.STATUS_NO_TRANSACTION;
+        } catch (Exception e) {
+            // can't tell - don't risk sending outside of the transaction
+            if (_logger.isDebugEnabled()) {
+                _logger.debug(e);
+            }
+            return true;
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (JMSException e) {
+            JCALogger.ROOT_LOGGER.failedToCloseJMSSessionconnection(e.getMessage());
+        }
+    }
+
+    /**
+     * Look up the TransactionManager used to detect JTA transactions.
+     *
+     * @return the TransactionManager, or null if it is not available
+     */
+    public static TransactionManager lookupTransactionManager() {
+        try {
+            return (TransactionManager) new InitialContext().lookup(JCAConstants.JBOSS_TRANSACTION_MANAGER);
+        } catch (Exception e) {
+            Logger.getLogger(JMSSessionCache.class).debug("TransactionManager is not available at " + JCAConstants.JBOSS_TRANSACTION_MANAGER);
+            return null;
+        }
+    }
+
+    /**
+     * A Session leased from the cache along with its Connection and MessageProducers.
+     */
+    public final class CachedSession {
+        private final Connection _connection;
+        private final Session _session;
+        private final boolean _transacted;
+        private final int _ackMode;
+        private final boolean _cacheable;
+        private final Map<Destination, MessageProducer> _producers;
+        private long _lastUsed;
+        private boolean _invalid;
+
+        private CachedSession(Connection connection, Session session, boolean transacted, int ackMode, boolean cacheable) {
+            _connection = connection;
+            _session = session;
+            _transacted = transacted;
+            _ackMode = ackMode;
+            _cacheable = cacheable;
+            _producers = new LinkedHashMap<Destination, MessageProducer>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Destination, MessageProducer> eldest) {
+                    if (size() > MAX_PRODUCERS_PER_SESSION) {
+                        closeProducer(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        /**
+         * Returns the JMS Session.
+         * @return the session
+         */
+        public Session getSession() {
+            return _session;
+        }
+
+        /**
+         * Returns a MessageProducer for the destination, creating it on first use.
+         *
+         * @param destination the destination
+         * @return the producer
+         * @throws JMSException failed to create the producer
+         */
+        public MessageProducer getProducer(Destination destination) throws JMSException {
+            MessageProducer producer = _producers.get(destination);
+            if (producer == null) {
+                producer = _session.createProducer(destination);
+                _producers.put(destination, producer);
+            }
+            return producer;
+        }
+
+        /**
+         * Mark this session as unusable so that it is closed rather than cached on release.
+         */
+        public void invalidate() {
+            _invalid = true;
+        }
+
+        private void closeProducer(MessageProducer producer) {
+            try {
+                producer.close();
+            } catch (JMSException e) {
+                if (_logger.isDebugEnabled()) {
+                    _logger.debug(e);
+                }
+            }
+        }
+
+        private void close() {
+            try {
+                _session.close();
+            } catch (JMSException e) {
+                JCALogger.ROOT_LOGGER.failedToCloseJMSSessionconnection(e.getMessage());
+            }
+            closeQuietly(_connection);
+        }
+    }
+}
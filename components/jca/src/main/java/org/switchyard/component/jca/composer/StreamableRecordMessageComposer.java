@@ -13,12 +13,11 @@
  */
 package org.switchyard.component.jca.composer;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 
 import org.switchyard.Exchange;
 import org.switchyard.Message;
+import org.switchyard.common.io.RepeatableContent;
 import org.switchyard.component.common.composer.BaseMessageComposer;
 
 /**
@@ -38,9 +37,10 @@ public class StreamableRecordMessageComposer extends BaseMessageComposer<Streama
         final org.switchyard.Message message = exchange.createMessage();
         getContextMapper().mapFrom(source, exchange.getContext(message));
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream(); 
-        source.getRecord().write(baos);
-        message.setContent(new ByteArrayInputStream(baos.toByteArray()));
+        RepeatableContent.Builder content = new RepeatableContent.Builder();
+        source.getRecord().write(content);
+        // the spilled record, if any, is released once the message content has been read
+        message.setContent(content.build().getReleasingInputStream());
         return message;
     }
 
@@ -67,6 +67,14 @@ public class InboundHandler extends BaseServiceHandler implements MessageEndpoin
         _metadata.getMessageEndpoint().uninitialize();
     }
 
+    /**
+     * Whether the endpoint commits its deliveries in batches.
+     * @return true if batch commit is enabled
+     */
+    boolean useBatchCommit() {
+        return _metadata.useBatchCommit();
+    }
+
     @Override
     public MessageEndpoint createEndpoint(XAResource xaResource, long timeout)
             throws UnavailableException {
@@ -23,6 +23,7 @@ import javax.resource.spi.ActivationSpec;
 import javax.resource.spi.ResourceAdapter;
 import javax.transaction.TransactionManager;
 
+import org.switchyard.component.jca.BatchCommitScheduler;
 import org.switchyard.component.jca.JCAMessages;
 import org.switchyard.component.jca.JCAConstants;
 import org.switchyard.component.jca.config.model.ActivationSpecModel;
@@ -59,8 +60,6 @@ import org.jboss.as.connector.util.ConnectorServices;
  */
 public class JCAActivator extends BaseActivator {
 
-    private static final String JBOSS_TRANSACTION_MANAGER = "java:jboss/TransactionManager";
-
     static final String[] TYPES = new String[] {"jca"};
     
     private final ClassLoader _appClassLoader;
@@ -69,6 +68,10 @@ public class JCAActivator extends BaseActivator {
     
     private ResourceAdapterRepository _raRepository;
 
+    private BatchCommitScheduler _batchCommitScheduler;
+
+    private int _batchCommitBindings;
+
     /**
      * Sole constructor .
      */
@@ -85,9 +88,9 @@ public class JCAActivator extends BaseActivator {
 
         if (_transactionManager == null) {
             try {
-                _transactionManager = (TransactionManager)new InitialContext().lookup(JBOSS_TRANSACTION_MANAGER);
+                _transactionManager = (TransactionManager)new InitialContext().lookup(JCAConstants.JBOSS_TRANSACTION_MANAGER);
             } catch (NamingException e) {
-                throw JCAMessages.MESSAGES.unableToFindTransactionManagerInJNDIAt(JBOSS_TRANSACTION_MANAGER, e);
+                throw JCAMessages.MESSAGES.unableToFindTransactionManagerInJNDIAt(JCAConstants.JBOSS_TRANSACTION_MANAGER, e);
             }
         }
 
@@ -100,7 +103,18 @@ public class JCAActivator extends BaseActivator {
 
     @Override
     public void deactivateBinding(QName name, ServiceHandler handler) {
-        // Nothing to do here
+        if (handler instanceof InboundHandler && ((InboundHandler)handler).useBatchCommit()) {
+            releaseBatchCommitScheduler();
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (_batchCommitScheduler != null) {
+            _batchCommitScheduler.shutdown();
+            _batchCommitScheduler = null;
+        }
+        _batchCommitBindings = 0;
     }
     
     /**
@@ -227,12 +241,33 @@ public class JCAActivator extends BaseActivator {
             inflowMetaData.setUseBatchCommit(true);
             inflowMetaData.setBatchTimeout(batchCommit.getBatchTimeout());
             inflowMetaData.setBatchSize(batchCommit.getBatchSize());
+            inflowMetaData.setBatchCommitScheduler(getBatchCommitScheduler());
         }
 
         return new InboundHandler(inflowMetaData, getServiceDomain());
         
     }
     
+    private synchronized BatchCommitScheduler getBatchCommitScheduler() {
+        // one timer thread drives the batch timeouts of every endpoint in the domain,
+        // for as long as a binding using batch commit is active
+        if (_batchCommitScheduler == null) {
+            _batchCommitScheduler = new BatchCommitScheduler(getServiceDomain().getName().toString());
+            _batchCommitScheduler.register();
+        }
+        _batchCommitBindings++;
+        return _batchCommitScheduler;
+    }
+
+    private synchronized void releaseBatchCommitScheduler() {
+        // undeploying the last batch commit binding stops the timer thread and unregisters its MBean,
+        // the activator itself is not destroyed on undeploy
+        if (_batchCommitBindings > 0 && --_batchCommitBindings == 0 && _batchCommitScheduler != null) {
+            _batchCommitScheduler.shutdown();
+            _batchCommitScheduler = null;
+        }
+    }
+
     private OutboundHandler handleReferenceBinding(JCABindingModel config, QName name) {
         JCABindingModel jcaconfig = (JCABindingModel)config;
         OutboundConnectionModel outboundConnectionModel = jcaconfig.getOutboundConnection();
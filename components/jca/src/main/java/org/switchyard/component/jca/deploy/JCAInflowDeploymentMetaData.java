@@ -17,6 +17,7 @@ import javax.resource.spi.ActivationSpec;
 import javax.resource.spi.ResourceAdapter;
 import javax.transaction.TransactionManager;
 
+import org.switchyard.component.jca.BatchCommitScheduler;
 import org.switchyard.component.jca.endpoint.AbstractInflowEndpoint;
 
 /**
@@ -46,6 +47,8 @@ public class JCAInflowDeploymentMetaData {
     
     private long _batchTimeout = 0;
     
+    private BatchCommitScheduler _batchCommitScheduler;
+    
     /**
      * get listener interface.
      * 
@@ -234,4 +237,20 @@ public class JCAInflowDeploymentMetaData {
         this._batchTimeout = batchTimeout;
     }
 
+    /**
+     * get batch commit scheduler.
+     * @return scheduler which drives the batch timeouts
+     */
+    public BatchCommitScheduler getBatchCommitScheduler() {
+        return _batchCommitScheduler;
+    }
+
+    /**
+     * set batch commit scheduler.
+     * @param batchCommitScheduler scheduler which drives the batch timeouts
+     */
+    public void setBatchCommitScheduler(BatchCommitScheduler batchCommitScheduler) {
+        this._batchCommitScheduler = batchCommitScheduler;
+    }
+
 }
@@ -15,8 +15,9 @@ package org.switchyard.component.jca.endpoint;
 
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.Destination;
 import javax.jms.Message;
@@ -35,6 +36,8 @@ import org.switchyard.component.common.SynchronousInOutHandler;
 import org.switchyard.component.common.composer.MessageComposer;
 import org.switchyard.component.jca.JCALogger;
 import org.switchyard.component.jca.JCAMessages;
+import org.switchyard.component.jca.JMSSessionCache;
+import org.switchyard.component.jca.JMSSessionCache.CachedSession;
 import org.switchyard.component.jca.composer.JMSBindingData;
 import org.switchyard.SwitchYardException;
 import org.switchyard.selector.OperationSelector;
@@ -73,6 +76,10 @@ public class JMSEndpoint extends AbstractInflowEndpoint implements MessageListen
     public static final String KEY_PRIORITY = "priority";
     /** key for Time-to-Live. */
     public static final String KEY_TIME_TO_LIVE = "timeToLive";
+    /** key for the maximum number of idle JMS sessions to cache. */
+    public static final String KEY_SESSION_CACHE_SIZE = "sessionCacheSize";
+    /** key for the idle timeout of cached JMS sessions in milliseconds. */
+    public static final String KEY_SESSION_IDLE_TIMEOUT = "sessionIdleTimeout";
 
     private Logger _logger = Logger.getLogger(JMSEndpoint.class);
     private MessageComposer<JMSBindingData> _composer;
@@ -92,6 +99,10 @@ public class JMSEndpoint extends AbstractInflowEndpoint implements MessageListen
     private Destination _defaultFaultToJMSDestination;
     private Destination _defaultReplyToJMSDestination;
     private MessageType _defaultOutMessageType = MessageType.Object;
+    private String _sessionCacheSize;
+    private String _sessionIdleTimeout;
+    private JMSSessionCache _sessionCache;
+    private final ConcurrentMap<String, Destination> _jndiDestinations = new ConcurrentHashMap<String, Destination>();
 
     private enum DestinationType {
         Queue, Topic, JNDI
@@ -147,6 +158,13 @@ public class JMSEndpoint extends AbstractInflowEndpoint implements MessageListen
         } catch (Exception e) {
             throw JCAMessages.MESSAGES.failedToInitialize(this.getClass().getName(), e);
         }
+
+        if (_connectionFactory != null) {
+            int cacheSize = _sessionCacheSize != null ? Integer.parseInt(_sessionCacheSize) : JMSSessionCache.DEFAULT_MAX_SESSIONS;
+            long idleTimeout = _sessionIdleTimeout != null ? Long.parseLong(_sessionIdleTimeout) : JMSSessionCache.DEFAULT_IDLE_TIMEOUT;
+            _sessionCache = new JMSSessionCache(_connectionFactory, _userName, _password,
+                    JMSSessionCache.lookupTransactionManager(), cacheSize, idleTimeout);
+        }
         
         if (_logger.isDebugEnabled()) {
             StringBuilder msg = new StringBuilder()
@@ -164,6 +182,16 @@ public class JMSEndpoint extends AbstractInflowEndpoint implements MessageListen
         }
     }
 
+    @Override
+    public void uninitialize() {
+        if (_sessionCache != null) {
+            _sessionCache.close();
+            _sessionCache = null;
+        }
+        _jndiDestinations.clear();
+        super.uninitialize();
+    }
+
     @Override
     public void onMessage(Message message) {
 
@@ -174,47 +202,41 @@ public class JMSEndpoint extends AbstractInflowEndpoint implements MessageListen
             Exchange exchange = createExchange(operation, replyHandler);
             exchange.send(_composer.compose(bindingData, exchange));
 
-            if (_connectionFactory == null) {
+            if (_sessionCache == null) {
                 return;
             }
             
             // Process replyTo and faultTo if ConnectionFactory is available 
             Context context = exchange.getContext();
-            Connection connection = null;
+            CachedSession cached = _sessionCache.lease(false, Session.AUTO_ACKNOWLEDGE);
             
             try {
-                if (_userName != null) {
-                    connection = _connectionFactory.createConnection(_userName, _password);
-                } else {
-                    connection = _connectionFactory.createConnection();
-                }
-                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+                Session session = cached.getSession();
                 
                 Destination faultTo = getFaultToDestinationFromContext(session, context);
                 Destination replyTo = getReplyToDestinationFromContext(session, context);
                 if (faultTo != null && ExchangeState.FAULT.equals(exchange.getState())) {
                     if (exchange.getMessage() != null) {
-                        sendJMSMessage(session, faultTo, exchange, getOutputMessageTypeFromContext(context));
+                        sendJMSMessage(cached, faultTo, exchange, getOutputMessageTypeFromContext(context));
                     }
                 } else if (replyTo != null && ExchangePattern.IN_OUT.equals(exchange.getPattern())) {
                         exchange = replyHandler.waitForOut();
                         if (exchange.getMessage() != null) {
-                            sendJMSMessage(session, replyTo, exchange, getOutputMessageTypeFromContext(context));
+                            sendJMSMessage(cached, replyTo, exchange, getOutputMessageTypeFromContext(context));
                         }
                 }
             } finally {
-                if (connection != null) {
-                    connection.close();
-                }
+                _sessionCache.release(cached);
             }
         } catch (Exception e) {
             throw new SwitchYardException(e);
         }
     }
 
-    protected void sendJMSMessage(Session session, Destination destination, Exchange exchange, MessageType type) {
+    protected void sendJMSMessage(CachedSession cached, Destination destination, Exchange exchange, MessageType type) {
         try {
-            MessageProducer producer = session.createProducer(destination);
+            Session session = cached.getSession();
+            MessageProducer producer = cached.getProducer(destination);
             Context context = exchange.getContext();
 
             Message msg;
@@ -242,6 +264,7 @@ public class JMSEndpoint extends AbstractInflowEndpoint implements MessageListen
                     getPriorityFromContext(context, producer),
                     getTimeToLiveFromContext(context, producer));
         } catch (Exception e) {
+            cached.invalidate();
             JCALogger.ROOT_LOGGER.failedToSendMessage(destination.toString(), e.getMessage());
             if (_logger.isDebugEnabled()) {
                 _logger.debug(e);
@@ -389,6 +412,10 @@ public class JMSEndpoint extends AbstractInflowEndpoint implements MessageListen
     }
 
     protected Destination lookupDestinationFromJNDI(String destName) throws Exception {
+        Destination destination = _jndiDestinations.get(destName);
+        if (destination != null) {
+            return destination;
+        }
         InitialContext ic = null;
         try {
             if (getDestinationJndiProperties() != null) {
@@ -398,7 +425,9 @@ public class JMSEndpoint extends AbstractInflowEndpoint implements MessageListen
             } else {
                 ic = new InitialContext();
             }
-            return (Destination) ic.lookup(destName);
+            destination = (Destination) ic.lookup(destName);
+            _jndiDestinations.put(destName, destination);
+            return destination;
         } finally {
             if (ic != null) {
                 try {
@@ -538,6 +567,22 @@ public class JMSEndpoint extends AbstractInflowEndpoint implements MessageListen
         _defaultOutMessageType = MessageType.valueOf(type);
     }
 
+    /**
+     * set the maximum number of idle JMS sessions to cache, 0 disables caching.
+     * @param size cache size
+     */
+    public void setSessionCacheSize(String size) {
+        _sessionCacheSize = size;
+    }
+
+    /**
+     * set the idle timeout of cached JMS sessions.
+     * @param timeout timeout in milliseconds
+     */
+    public void setSessionIdleTimeout(String timeout) {
+        _sessionIdleTimeout = timeout;
+    }
+
     /**
      * set JNDI properties file name.
      * @param name file name
@@ -15,8 +15,9 @@ package org.switchyard.component.jca.processor;
 
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.Destination;
 import javax.jms.JMSException;
@@ -33,6 +34,8 @@ import org.switchyard.common.type.Classes;
 import org.switchyard.component.common.composer.MessageComposer;
 import org.switchyard.component.jca.JCALogger;
 import org.switchyard.component.jca.JCAMessages;
+import org.switchyard.component.jca.JMSSessionCache;
+import org.switchyard.component.jca.JMSSessionCache.CachedSession;
 import org.switchyard.component.jca.composer.JMSBindingData;
 
 /**
@@ -66,6 +69,10 @@ public class JMSProcessor extends AbstractOutboundProcessor {
     public static final String KEY_TIME_TO_LIVE = "timeToLive";
     /** key for JNDI properties file to look up the JMS destination. */
     public static final String KEY_DESTINATION_JNDI_PROPERTIES_FILE = "destinationJndiPropertiesFileName";
+    /** key for the maximum number of idle JMS sessions to cache. */
+    public static final String KEY_SESSION_CACHE_SIZE = "sessionCacheSize";
+    /** key for the idle timeout of cached JMS sessions in milliseconds. */
+    public static final String KEY_SESSION_IDLE_TIMEOUT = "sessionIdleTimeout";
 
     private Logger _logger = Logger.getLogger(JMSProcessor.class);
     private String _userName;
@@ -82,6 +89,10 @@ public class JMSProcessor extends AbstractOutboundProcessor {
     private MessageType _defaultOutMessageType = MessageType.Object;
     private String _destinationJndiPropertiesFileName;
     private Properties _destinationJndiProperties;
+    private String _sessionCacheSize;
+    private String _sessionIdleTimeout;
+    private JMSSessionCache _sessionCache;
+    private final ConcurrentMap<String, Destination> _jndiDestinations = new ConcurrentHashMap<String, Destination>();
     
     private enum DestinationType {
         Queue, Topic, JNDI
@@ -143,6 +154,11 @@ public class JMSProcessor extends AbstractOutboundProcessor {
         } catch (Exception e) {
             throw JCAMessages.MESSAGES.failedToInitialize(this.getClass().getName(), e);
         }
+
+        int cacheSize = _sessionCacheSize != null ? Integer.parseInt(_sessionCacheSize) : JMSSessionCache.DEFAULT_MAX_SESSIONS;
+        long idleTimeout = _sessionIdleTimeout != null ? Long.parseLong(_sessionIdleTimeout) : JMSSessionCache.DEFAULT_IDLE_TIMEOUT;
+        _sessionCache = new JMSSessionCache(_connectionFactory, _userName, _password,
+                JMSSessionCache.lookupTransactionManager(), cacheSize, idleTimeout);
         
         if (_logger.isDebugEnabled()) {
             StringBuilder msg = new StringBuilder()
@@ -154,6 +170,7 @@ public class JMSProcessor extends AbstractOutboundProcessor {
                 .append(", Output Message Type:").append(_defaultOutMessageType)
                 .append(", JNDI Properties File:").append(getJndiPropertiesFileName())
                 .append(", Destination JNDI Properties File:").append(_destinationJndiPropertiesFileName)
+                .append(", Session Cache Size:").append(cacheSize)
                 .append("}");
             _logger.debug(msg.toString());
         }
@@ -162,24 +179,23 @@ public class JMSProcessor extends AbstractOutboundProcessor {
 
     @Override
     public void uninitialize() {
+        if (_sessionCache != null) {
+            _sessionCache.close();
+            _sessionCache = null;
+        }
+        _jndiDestinations.clear();
         _connectionFactory = null;
     }
 
     @Override
     public org.switchyard.Message process(Exchange exchange) throws HandlerException {
-        Connection connection = null;
+        CachedSession cached = null;
         Session session = null;
         try {
-            if (_userName != null) {
-                connection = _connectionFactory.createConnection(_userName, _password);
-            } else {
-                connection = _connectionFactory.createConnection();
-            }
-            connection.start();
-            
             Context context = exchange.getContext();
-            session = connection.createSession(getTxEnabledFromContext(context), getAcknowledgeModeFromContext(context));
-            MessageProducer producer = session.createProducer(getDestinationFromContext(session, context));
+            cached = _sessionCache.lease(getTxEnabledFromContext(context), getAcknowledgeModeFromContext(context));
+            session = cached.getSession();
+            MessageProducer producer = cached.getProducer(getDestinationFromContext(session, context));
             
             Message msg;
             switch (getOutputMessageTypeFromContext(context)) {
@@ -229,20 +245,13 @@ public class JMSProcessor extends AbstractOutboundProcessor {
                     e2.printStackTrace();
                 }
             }
+            if (cached != null) {
+                cached.invalidate();
+            }
             throw JCAMessages.MESSAGES.failedToProcessJMSOutboundInteraction(e);
         } finally {
-            try {
-                if (session != null) {
-                    session.close();
-                }
-                if (connection != null) {
-                    connection.close();
-                }
-            } catch (JMSException e) {
-                JCALogger.ROOT_LOGGER.failedToCloseJMSSessionconnection(e.getMessage());
-                if (_logger.isDebugEnabled()) {
-                    e.printStackTrace();
-                }
+            if (cached != null) {
+                _sessionCache.release(cached);
             }
         }
     }
@@ -320,6 +329,10 @@ public class JMSProcessor extends AbstractOutboundProcessor {
     }
 
     protected Destination lookupDestinationFromJNDI(String destName) throws Exception {
+        Destination destination = _jndiDestinations.get(destName);
+        if (destination != null) {
+            return destination;
+        }
         InitialContext ic = null;
         try {
             if (getDestinationJndiProperties() != null) {
@@ -329,7 +342,9 @@ public class JMSProcessor extends AbstractOutboundProcessor {
             } else {
                 ic = new InitialContext();
             }
-            return (Destination) ic.lookup(destName);
+            destination = (Destination) ic.lookup(destName);
+            _jndiDestinations.put(destName, destination);
+            return destination;
         } finally {
             if (ic != null) {
                 try {
@@ -485,6 +500,22 @@ public class JMSProcessor extends AbstractOutboundProcessor {
         _defaultOutMessageType = MessageType.valueOf(type);
     }
     
+    /**
+     * set the maximum number of idle JMS sessions to cache, 0 disables caching.
+     * @param size cache size
+     */
+    public void setSessionCacheSize(String size) {
+        _sessionCacheSize = size;
+    }
+    
+    /**
+     * set the idle timeout of cached JMS sessions.
+     * @param timeout timeout in milliseconds
+     */
+    public void setSessionIdleTimeout(String timeout) {
+        _sessionIdleTimeout = timeout;
+    }
+    
     /**
      * set JNDI properties file name for destination lookup.
      * @param name filename
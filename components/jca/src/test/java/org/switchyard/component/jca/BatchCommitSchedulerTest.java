@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.component.jca;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for {@link BatchCommitScheduler}.
+ */
+public class BatchCommitSchedulerTest {
+
+    private BatchCommitScheduler _scheduler;
+
+    @Before
+    public void setUp() {
+        _scheduler = new BatchCommitScheduler("test");
+    }
+
+    @After
+    public void tearDown() {
+        _scheduler.shutdown();
+    }
+
+    @Test
+    public void recordsBatchStatistics() {
+        _scheduler.batchCommitted(10, TimeUnit.MILLISECONDS.toNanos(4), false);
+        _scheduler.batchCommitted(2, TimeUnit.MILLISECONDS.toNanos(2), true);
+
+        Assert.assertEquals(2, _scheduler.getBatchCount());
+        Assert.assertEquals(1, _scheduler.getTimedOutBatchCount());
+        Assert.assertEquals(12, _scheduler.getMessageCount());
+        Assert.assertEquals(6.0, _scheduler.getAverageBatchSize(), 0.001);
+        Assert.assertEquals(10, _scheduler.getMaxBatchSize());
+        Assert.assertEquals(3.0, _scheduler.getAverageCommitTime(), 0.001);
+        Assert.assertEquals(4.0, _scheduler.getMaxCommitTime(), 0.001);
+    }
+
+    @Test
+    public void runsScheduledTimeout() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        _scheduler.schedule(new Runnable() {
+            public void run() {
+                latch.countDown();
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancelledTimeoutIsRemoved() {
+        ScheduledFuture<?> future = _scheduler.schedule(new Runnable() {
+            public void run() {
+            }
+        }, 1, TimeUnit.HOURS);
+        Assert.assertEquals(1, _scheduler.getScheduledCount());
+
+        future.cancel(true);
+        Assert.assertEquals(0, _scheduler.getScheduledCount());
+    }
+
+    @Test
+    public void shutdownUnregistersMBean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("org.switchyard.component:type=JCABatchCommit,name=" + ObjectName.quote("test"));
+        _scheduler.register();
+        Assert.assertTrue(server.isRegistered(objectName));
+
+        _scheduler.shutdown();
+        Assert.assertFalse(server.isRegistered(objectName));
+    }
+}
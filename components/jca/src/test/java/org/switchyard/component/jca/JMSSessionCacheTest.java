@@ -0,0 +1,189 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.component.jca;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.Destination;
+import javax.jms.MessageProducer;
+import javax.jms.Queue;
+import javax.jms.Session;
+
+import junit.framework.Assert;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.switchyard.component.jca.JMSSessionCache.CachedSession;
+
+/**
+ * Test for {@link JMSSessionCache}.
+ */
+public class JMSSessionCacheTest {
+
+    private AtomicInteger _connectionsCreated;
+    private AtomicInteger _connectionsClosed;
+    private AtomicInteger _producersCreated;
+    private ConnectionFactory _connectionFactory;
+
+    @Before
+    public void setUp() {
+        _connectionsCreated = new AtomicInteger();
+        _connectionsClosed = new AtomicInteger();
+        _producersCreated = new AtomicInteger();
+        _connectionFactory = stub(ConnectionFactory.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if (method.getName().equals("createConnection")) {
+                    _connectionsCreated.incrementAndGet();
+                    return createConnection();
+                }
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void reusesReleasedSession() throws Exception {
+        JMSSessionCache cache = new JMSSessionCache(_connectionFactory, null, null, null, 2, 60000L);
+        Destination queue = stub(Queue.class, null);
+
+        CachedSession first = cache.lease(false, Session.AUTO_ACKNOWLEDGE);
+        MessageProducer producer = first.getProducer(queue);
+        cache.release(first);
+        CachedSession second = cache.lease(false, Session.AUTO_ACKNOWLEDGE);
+
+        Assert.assertSame(first, second);
+        Assert.assertSame(producer, second.getProducer(queue));
+        Assert.assertEquals(1, _connectionsCreated.get());
+        Assert.assertEquals(1, _producersCreated.get());
+    }
+
+    @Test
+    public void keysSessionsByMode() throws Exception {
+        JMSSessionCache cache = new JMSSessionCache(_connectionFactory, null, null, null, 2, 60000L);
+
+        cache.release(cache.lease(false, Session.AUTO_ACKNOWLEDGE));
+        CachedSession transacted = cache.lease(true, Session.SESSION_TRANSACTED);
+
+        Assert.assertEquals(2, _connectionsCreated.get());
+        Assert.assertEquals(1, cache.getIdleCount());
+        cache.release(transacted);
+        Assert.assertEquals(2, cache.getIdleCount());
+    }
+
+    @Test
+    public void closesSessionsBeyondCacheSize() throws Exception {
+        JMSSessionCache cache = new JMSSessionCache(_connectionFactory, null, null, null, 1, 60000L);
+
+        CachedSession first = cache.lease(false, Session.AUTO_ACKNOWLEDGE);
+        CachedSession second = cache.lease(false, Session.AUTO_ACKNOWLEDGE);
+        cache.release(first);
+        cache.release(second);
+
+        Assert.assertEquals(1, cache.getIdleCount());
+        Assert.assertEquals(1, _connectionsClosed.get());
+    }
+
+    @Test
+    public void closesInvalidatedSession() throws Exception {
+        JMSSessionCache cache = new JMSSessionCache(_connectionFactory, null, null, null, 1, 60000L);
+
+        CachedSession session = cache.lease(false, Session.AUTO_ACKNOWLEDGE);
+        session.invalidate();
+        cache.release(session);
+
+        Assert.assertEquals(0, cache.getIdleCount());
+        Assert.assertEquals(1, _connectionsClosed.get());
+    }
+
+    @Test
+    public void evictsIdleSessions() throws Exception {
+        JMSSessionCache cache = new JMSSessionCache(_connectionFactory, null, null, null, 1, 10L);
+
+        cache.release(cache.lease(false, Session.AUTO_ACKNOWLEDGE));
+        Thread.sleep(50);
+        cache.lease(false, Session.AUTO_ACKNOWLEDGE);
+
+        Assert.assertEquals(2, _connectionsCreated.get());
+        Assert.assertEquals(1, _connectionsClosed.get());
+    }
+
+    @Test
+    public void disabledCacheClosesOnRelease() throws Exception {
+        JMSSessionCache cache = new JMSSessionCache(_connectionFactory, null, null, null, 0, 60000L);
+
+        cache.release(cache.lease(false, Session.AUTO_ACKNOWLEDGE));
+
+        Assert.assertEquals(0, cache.getIdleCount());
+        Assert.assertEquals(1, _connectionsClosed.get());
+    }
+
+    @Test
+    public void closeClosesIdleSessions() throws Exception {
+        JMSSessionCache cache = new JMSSessionCache(_connectionFactory, null, null, null, 2, 60000L);
+
+        CachedSession leased = cache.lease(false, Session.AUTO_ACKNOWLEDGE);
+        cache.release(cache.lease(false, Session.AUTO_ACKNOWLEDGE));
+        cache.close();
+        Assert.assertEquals(1, _connectionsClosed.get());
+
+        cache.release(leased);
+        Assert.assertEquals(2, _connectionsClosed.get());
+        Assert.assertEquals(0, cache.getIdleCount());
+    }
+
+    private Connection createConnection() {
+        return stub(Connection.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if (method.getName().equals("createSession")) {
+                    return createSession();
+                } else if (method.getName().equals("close")) {
+                    _connectionsClosed.incrementAndGet();
+                }
+                return null;
+            }
+        });
+    }
+
+    private Session createSession() {
+        return stub(Session.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if (method.getName().equals("createProducer")) {
+                    _producersCreated.incrementAndGet();
+                    return stub(MessageProducer.class, null);
+                }
+                return null;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, final InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(JMSSessionCacheTest.class.getClassLoader(), new Class<?>[] {type},
+            new InvocationHandler() {
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    } else if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    return handler != null ? handler.invoke(proxy, method, args) : null;
+                }
+            });
+    }
+}
@@ -13,6 +13,11 @@
  */
 package org.switchyard.component.sca;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 import javax.transaction.Transaction;
 import javax.xml.namespace.QName;
 
@@ -33,12 +38,18 @@ import org.switchyard.common.type.Classes;
 import org.switchyard.component.common.SynchronousInOutHandler;
 import org.switchyard.config.model.composite.SCABindingModel;
 import org.switchyard.deploy.BaseServiceHandler;
+import org.switchyard.deploy.LoadBalanceAware;
 import org.switchyard.deploy.internal.Deployment;
 import org.switchyard.label.BehaviorLabel;
 import org.switchyard.remote.RemoteMessage;
 import org.switchyard.remote.RemoteRegistry;
+import org.switchyard.remote.cluster.BaseStrategy;
 import org.switchyard.remote.cluster.ClusteredInvoker;
+import org.switchyard.remote.cluster.EndpointStatistics;
+import org.switchyard.remote.cluster.LeastInFlightStrategy;
 import org.switchyard.remote.cluster.LoadBalanceStrategy;
+import org.switchyard.remote.cluster.PeakEwmaStrategy;
+import org.switchyard.remote.cluster.PowerOfTwoChoicesStrategy;
 import org.switchyard.remote.cluster.RandomStrategy;
 import org.switchyard.remote.cluster.RoundRobinStrategy;
 import org.switchyard.remote.http.HttpInvokerLabel;
@@ -50,7 +61,7 @@ import com.arjuna.mwlabs.wst11.at.context.TxContextImple;
 /**
  * Handles outbound communication to an SCA service endpoint.
  */
-public class SCAInvoker extends BaseServiceHandler {
+public class SCAInvoker extends BaseServiceHandler implements LoadBalanceAware {
     
     /** prefix for the context property. */
     public static final String CONTEXT_PROPERTY_PREFIX = "org.switchyard.component.sca.";
@@ -142,6 +153,62 @@ public class SCAInvoker extends BaseServiceHandler {
         return this;
     }
     
+    @Override
+    public List<String> getBalancedEndpoints() {
+        List<String> endpoints = new ArrayList<String>();
+        for (EndpointStatistics statistics : getEndpointStatistics()) {
+            endpoints.add(statistics.getEndpoint());
+        }
+        return endpoints;
+    }
+
+    @Override
+    public int getInFlightCount(String endpoint) {
+        EndpointStatistics statistics = getEndpointStatistics(endpoint);
+        return statistics == null ? 0 : statistics.getInFlightCount();
+    }
+
+    @Override
+    public long getRequestCount(String endpoint) {
+        EndpointStatistics statistics = getEndpointStatistics(endpoint);
+        return statistics == null ? 0 : statistics.getRequestCount();
+    }
+
+    @Override
+    public long getFailureCount(String endpoint) {
+        EndpointStatistics statistics = getEndpointStatistics(endpoint);
+        return statistics == null ? 0 : statistics.getFailureCount();
+    }
+
+    @Override
+    public double getLatency(String endpoint) {
+        EndpointStatistics statistics = getEndpointStatistics(endpoint);
+        return statistics == null ? 0 : statistics.getLatency();
+    }
+
+    @Override
+    public boolean isEjected(String endpoint) {
+        EndpointStatistics statistics = getEndpointStatistics(endpoint);
+        return statistics != null && statistics.isEjected();
+    }
+
+    private Collection<EndpointStatistics> getEndpointStatistics() {
+        LoadBalanceStrategy loadBalancer = _invoker == null ? null : _invoker.getLoadBalancer();
+        if (loadBalancer instanceof BaseStrategy) {
+            return ((BaseStrategy)loadBalancer).getStatistics();
+        }
+        return Collections.emptyList();
+    }
+
+    private EndpointStatistics getEndpointStatistics(String endpoint) {
+        for (EndpointStatistics statistics : getEndpointStatistics()) {
+            if (statistics.getEndpoint().equals(endpoint)) {
+                return statistics;
+            }
+        }
+        return null;
+    }
+    
     // This method exists for test purposes and should not be used at runtime.  Initialization
     // of the invoker instance occurs in the constructor for SCAInvoker.
     void setInvoker(ClusteredInvoker invoker) {
@@ -332,6 +399,12 @@ public class SCAInvoker extends BaseServiceHandler {
             return new RoundRobinStrategy();
         } else if (RandomStrategy.class.getSimpleName().equals(strategy)) {
             return new RandomStrategy();
+        } else if (LeastInFlightStrategy.class.getSimpleName().equals(strategy)) {
+            return new LeastInFlightStrategy();
+        } else if (PeakEwmaStrategy.class.getSimpleName().equals(strategy)) {
+            return new PeakEwmaStrategy();
+        } else if (PowerOfTwoChoicesStrategy.class.getSimpleName().equals(strategy)) {
+            return new PowerOfTwoChoicesStrategy();
         } else {
             try {
                 Class<?> strategyClass = Class.forName(strategy);
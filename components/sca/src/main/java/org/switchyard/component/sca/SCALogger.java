@@ -82,4 +82,3 @@ public interface SCALogger {
     void ignoringReceivedWebServiceSecurityHeader(String cause);
 
 }
-
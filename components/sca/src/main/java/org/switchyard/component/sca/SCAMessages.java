@@ -91,5 +91,12 @@ public interface SCAMessages {
      */
     @Message(id = 39609, value = "Runtime fault occurred without exception details!")
     HandlerException runtimeFaultOccurredWithoutExceptionDetails();
-}
 
+    /**
+     * timedOutWaitingForReply method definition.
+     * @param service service
+     * @return SwitchYardException
+     */
+    @Message(id = 39610, value = "Timed out waiting for the reply of service %s to a remote invocation")
+    SwitchYardException timedOutWaitingForReply(String service);
+}
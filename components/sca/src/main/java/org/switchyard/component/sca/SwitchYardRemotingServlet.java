@@ -16,17 +16,21 @@ package org.switchyard.component.sca;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.StringReader;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.soap.MessageFactory;
+import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
 
 import org.jboss.logging.Logger;
@@ -34,6 +38,7 @@ import org.jboss.jbossts.txbridge.inbound.InboundBridge;
 import org.jboss.jbossts.txbridge.inbound.InboundBridgeManager;
 import org.oasis_open.docs.ws_tx.wscoor._2006._06.CoordinationContextType;
 import org.switchyard.Exchange;
+import org.switchyard.ExchangeHandler;
 import org.switchyard.ExchangePattern;
 import org.switchyard.ExchangeState;
 import org.switchyard.Message;
@@ -42,21 +47,22 @@ import org.switchyard.ServiceReference;
 import org.switchyard.SwitchYardException;
 import org.switchyard.common.codec.Base64;
 import org.switchyard.common.type.Classes;
+import org.switchyard.common.xml.XMLHelper;
+import org.switchyard.component.common.AsyncInOutHandler;
+import org.switchyard.component.common.ReplyListener;
 import org.switchyard.component.common.SynchronousInOutHandler;
 import org.switchyard.deploy.internal.Deployment;
 import org.switchyard.remote.RemoteMessage;
 import org.switchyard.remote.http.HttpInvoker;
+import org.switchyard.remote.http.WireFormat;
 import org.switchyard.security.SecurityServices;
 import org.switchyard.security.context.SecurityContextManager;
 import org.switchyard.security.credential.Credential;
 import org.switchyard.security.credential.extractor.ServletRequestCredentialExtractor;
 import org.switchyard.security.credential.extractor.SOAPMessageCredentialExtractor;
-import org.switchyard.serial.FormatType;
 import org.switchyard.serial.Serializer;
-import org.switchyard.serial.SerializerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
-import org.xml.sax.InputSource;
 
 import com.arjuna.mw.wst.TxContext;
 import com.arjuna.mw.wst11.TransactionManagerFactory;
@@ -64,16 +70,45 @@ import com.arjuna.mwlabs.wst11.at.context.TxContextImple;
 
 /**
  * HTTP servlet which handles inbound remote communication for remote service endpoints.
+ * <p/>
+ * Requests are read in the {@link WireFormat} named by their content type,
+ * JSON if there is none, and replies are written in the binary format if the
+ * client accepts it, otherwise in JSON, so that clients of any version can
+ * invoke services through it.
+ * <p/>
+ * Where the container supports it, in-out invocations are processed
+ * asynchronously: the request thread is released once the exchange has been
+ * sent and the response is completed by the reply handler.  Invocations
+ * propagating a transaction are processed synchronously, as the transaction
+ * bridge is bound to the request thread.
  */
 public class SwitchYardRemotingServlet extends HttpServlet {
 
+    /**
+     * System property providing the maximum number of remote invocations in flight, unlimited if not positive.
+     */
+    public static final String MAX_IN_FLIGHT_PROPERTY = "org.switchyard.component.sca.maxInFlight";
+
     private static final long serialVersionUID = 1L;
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    private static final String ACCEPT_HEADER = "Accept";
     private static ServletRequestCredentialExtractor srce = SecurityServices.getServletRequestCredentialExtractor();
     private static Logger _log = Logger.getLogger(SwitchYardRemotingServlet.class);
     
-    private Serializer _serializer = SerializerFactory.create(FormatType.JSON, null, true);
+    private static volatile MessageFactory _messageFactory;
+    
     private TransactionContextSerializer _txSerializer = new TransactionContextSerializer();
     private RemoteEndpointPublisher _endpointPublisher;
+    private volatile int _maxInFlight;
+    private volatile Semaphore _inFlight;
+
+    /**
+     * Creates a servlet limiting the invocations in flight to the value of
+     * the {@link #MAX_IN_FLIGHT_PROPERTY} system property, if set.
+     */
+    public SwitchYardRemotingServlet() {
+        setMaxInFlight(Integer.getInteger(MAX_IN_FLIGHT_PROPERTY, 0));
+    }
 
     /**
      * {@inheritDoc}
@@ -82,6 +117,29 @@ public class SwitchYardRemotingServlet extends HttpServlet {
         ClassLoader setTCCL = null;
         boolean transactionPropagated = false;
         
+        WireFormat requestFormat = WireFormat.fromContentType(request.getContentType());
+        if (!requestFormat.isAvailable()) {
+            response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE);
+            return;
+        }
+        Semaphore inFlight = _inFlight;
+        if (inFlight != null && !inFlight.tryAcquire()) {
+            if (_log.isDebugEnabled()) {
+                _log.debug("Rejecting remote invocation, " + _maxInFlight + " invocations are already in flight");
+            }
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        boolean compressed = WireFormat.GZIP_ENCODING.equalsIgnoreCase(request.getHeader(CONTENT_ENCODING_HEADER));
+        WireFormat replyFormat = WireFormat.fromAccept(request.getHeader(ACCEPT_HEADER));
+        // compress replies only if the client compresses requests, and in binary only
+        Serializer replySerializer = replyFormat.getSerializer(compressed && replyFormat != WireFormat.JSON);
+        response.setContentType(replyFormat.getContentType());
+        if (compressed && replyFormat != WireFormat.JSON) {
+            response.setHeader(CONTENT_ENCODING_HEADER, WireFormat.GZIP_ENCODING);
+        }
+
+        AsyncReply asyncReply = null;
         try {
             // Grab the right service domain based on the service header
             ServiceDomain domain = findDomain(request);
@@ -91,13 +149,20 @@ public class SwitchYardRemotingServlet extends HttpServlet {
             
             transactionPropagated = bridgeIncomingTransaction(request);
 
-            RemoteMessage msg = _serializer.deserialize(request.getInputStream(), RemoteMessage.class);
+            RemoteMessage msg = requestFormat.getSerializer(compressed).deserialize(request.getInputStream(), RemoteMessage.class);
             if (_log.isDebugEnabled()) {
                 _log.debug("Remote servlet received request for service " + msg.getService());
             }
             
+            // The transaction bridge is bound to this thread, so invocations
+            // carrying a transaction have to wait for their reply right here
             ServiceReference service = domain.getServiceReference(msg.getService());
-            SynchronousInOutHandler replyHandler = new SynchronousInOutHandler();
+            ExchangeHandler replyHandler;
+            if (!transactionPropagated && request.isAsyncSupported()) {
+                replyHandler = new AsyncInOutHandler();
+            } else {
+                replyHandler = new SynchronousInOutHandler();
+            }
             Exchange ex = msg.getOperation() == null
                     ? service.createExchange(replyHandler)
                     : service.createExchange(msg.getOperation(), replyHandler);
@@ -115,15 +180,24 @@ public class SwitchYardRemotingServlet extends HttpServlet {
             }
             m.setContent(msg.getContent());
             
+            boolean inOut = ExchangePattern.IN_OUT.equals(ex.getPattern());
+            if (inOut && replyHandler instanceof AsyncInOutHandler) {
+                // release the request thread, the reply completes the response
+                asyncReply = new AsyncReply(response, replySerializer, loader, inFlight);
+                asyncReply.start(request, msg.getService(), (AsyncInOutHandler) replyHandler);
+            }
             if (_log.isDebugEnabled()) {
                 _log.debug("Invoking service " + msg.getService());
             }
             ex.send(m);
+            if (asyncReply != null) {
+                return;
+            }
             
             // handle reply or fault
             RemoteMessage reply = null;
-            if (ExchangePattern.IN_OUT.equals(ex.getPattern())) {
-                replyHandler.waitForOut();
+            if (inOut) {
+                ((SynchronousInOutHandler) replyHandler).waitForOut();
                 reply = createReplyMessage(ex);
             } else if (ExchangeState.FAULT.equals(ex.getState())) {
                 // Even though this is in-only, we need to report a runtime fault on send
@@ -136,12 +210,10 @@ public class SwitchYardRemotingServlet extends HttpServlet {
 
             // If there's a reply, send it back
             if (reply != null) {
-                OutputStream out = response.getOutputStream();
                 if (_log.isDebugEnabled()) {
                     _log.debug("Writing reply message to HTTP response stream " + msg.getService());
                 }
-                _serializer.serialize(reply, RemoteMessage.class, out);
-                out.flush();
+                writeReply(response, replySerializer, reply);
             } else {
                 response.setStatus(HttpServletResponse.SC_NO_CONTENT);
                 if (_log.isDebugEnabled()) {
@@ -152,12 +224,12 @@ public class SwitchYardRemotingServlet extends HttpServlet {
             if (_log.isDebugEnabled()) {
                 _log.debug("Failed to process remote invocation", syEx);
             }
-
-            RemoteMessage reply = new RemoteMessage();
-            reply.setFault(true);
-            reply.setContent(syEx);
-            _serializer.serialize(reply, RemoteMessage.class, response.getOutputStream());
-            response.getOutputStream().flush();
+            if (asyncReply != null && asyncReply.isStarted()) {
+                // the send failed after the request went async
+                asyncReply.onFailure(syEx);
+            } else {
+                writeReply(response, replySerializer, faultMessage(syEx));
+            }
         } finally {
             if (transactionPropagated) {
                 bridgeOutgoingTransaction();
@@ -166,8 +238,44 @@ public class SwitchYardRemotingServlet extends HttpServlet {
             if (setTCCL != null) {
                 Classes.setTCCL(setTCCL);
             }
+            // requests which went async hand the permit back once they complete
+            if (inFlight != null && (asyncReply == null || !asyncReply.isStarted())) {
+                inFlight.release();
+            }
         }
     }
+
+    /**
+     * Sets the maximum number of remote invocations processed at the same
+     * time; further requests are turned away with a 503 status until one of
+     * them completes.
+     * @param maxInFlight maximum number of invocations in flight, unlimited if not positive
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        _maxInFlight = maxInFlight;
+        _inFlight = maxInFlight > 0 ? new Semaphore(maxInFlight) : null;
+    }
+
+    /**
+     * The maximum number of remote invocations processed at the same time.
+     * @return maximum number of invocations in flight, unlimited if not positive
+     */
+    public int getMaxInFlight() {
+        return _maxInFlight;
+    }
+
+    private static void writeReply(HttpServletResponse response, Serializer serializer, RemoteMessage reply) throws IOException {
+        OutputStream out = response.getOutputStream();
+        serializer.serialize(reply, RemoteMessage.class, out);
+        out.flush();
+    }
+
+    private static RemoteMessage faultMessage(Throwable cause) {
+        RemoteMessage reply = new RemoteMessage();
+        reply.setFault(true);
+        reply.setContent(cause);
+        return reply;
+    }
     
     private Set<Credential> extractWebServiceSecurityCredentials(HttpServletRequest request, RemoteMessage msg) {
         Set<Credential> credentials = new HashSet<Credential>();
@@ -184,11 +292,9 @@ public class SwitchYardRemotingServlet extends HttpServlet {
             }
             
             try {
-                DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-                factory.setNamespaceAware(true);
-                Document doc = factory.newDocumentBuilder().parse(new InputSource(new StringReader(wsseHeader)));
+                Document doc = XMLHelper.getDocumentFromString(wsseHeader);
                 
-                SOAPMessage soapmsg = MessageFactory.newInstance().createMessage();
+                SOAPMessage soapmsg = getMessageFactory().createMessage();
                 Node wsseNode = soapmsg.getSOAPHeader().getOwnerDocument().importNode(doc.getDocumentElement(), true);
                 soapmsg.getSOAPHeader().appendChild(wsseNode);
                 credentials.addAll(new SOAPMessageCredentialExtractor().extract(soapmsg));
@@ -201,6 +307,16 @@ public class SwitchYardRemotingServlet extends HttpServlet {
         }
         return credentials;
     }
+
+    private static MessageFactory getMessageFactory() throws SOAPException {
+        MessageFactory factory = _messageFactory;
+        if (factory == null) {
+            // racing threads may each create one, any of them will do
+            factory = MessageFactory.newInstance();
+            _messageFactory = factory;
+        }
+        return factory;
+    }
     
     private boolean bridgeIncomingTransaction(HttpServletRequest request) {
         try {
@@ -294,4 +410,92 @@ public class SwitchYardRemotingServlet extends HttpServlet {
         return reply;
     }
 
+    /**
+     * Completes an asynchronous request once the reply to its exchange
+     * arrives, or once waiting for it has expired, whichever comes first.
+     */
+    private final class AsyncReply implements ReplyListener, AsyncListener {
+
+        private final HttpServletResponse _response;
+        private final Serializer _serializer;
+        private final ClassLoader _loader;
+        private final Semaphore _permits;
+        private final AtomicBoolean _replied = new AtomicBoolean();
+        private volatile AsyncContext _asyncContext;
+        private QName _service;
+
+        AsyncReply(HttpServletResponse response, Serializer serializer, ClassLoader loader, Semaphore permits) {
+            _response = response;
+            _serializer = serializer;
+            _loader = loader;
+            _permits = permits;
+        }
+
+        void start(HttpServletRequest request, QName service, AsyncInOutHandler replyHandler) {
+            _service = service;
+            AsyncContext asyncContext = request.startAsync();
+            // the reply handler expires the wait, not the container
+            asyncContext.setTimeout(0);
+            asyncContext.addListener(this);
+            _asyncContext = asyncContext;
+            replyHandler.expireAfter(SynchronousInOutHandler.DEFAULT_TIMEOUT).addListener(this);
+        }
+
+        boolean isStarted() {
+            return _asyncContext != null;
+        }
+
+        @Override
+        public void onReply(Exchange exchange) {
+            complete(createReplyMessage(exchange));
+        }
+
+        @Override
+        public void onFailure(Throwable cause) {
+            complete(faultMessage(cause));
+        }
+
+        private void complete(RemoteMessage reply) {
+            if (!_replied.compareAndSet(false, true)) {
+                return;
+            }
+            ClassLoader setTCCL = Classes.setTCCL(_loader);
+            try {
+                if (_log.isDebugEnabled()) {
+                    _log.debug("Writing reply message to HTTP response stream " + _service);
+                }
+                writeReply(_response, _serializer, reply);
+            } catch (Exception e) {
+                _log.debug("Failed to write reply of remote invocation", e);
+            } finally {
+                Classes.setTCCL(setTCCL);
+                _asyncContext.complete();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // only reached if the container does not honour the disabled timeout
+            onFailure(SCAMessages.MESSAGES.timedOutWaitingForReply(String.valueOf(_service)));
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (_replied.compareAndSet(false, true)) {
+                _asyncContext.complete();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (_permits != null) {
+                _permits.release();
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // not restarted
+        }
+    }
 }
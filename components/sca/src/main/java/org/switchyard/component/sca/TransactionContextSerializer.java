@@ -14,10 +14,8 @@
  
 package org.switchyard.component.sca;
 
-import java.io.StringReader;
 import java.io.StringWriter;
 
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.soap.MessageFactory;
 import javax.xml.soap.Name;
 import javax.xml.soap.SOAPEnvelope;
@@ -29,8 +27,8 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
 import org.oasis_open.docs.ws_tx.wscoor._2006._06.CoordinationContextType;
+import org.switchyard.common.xml.XMLHelper;
 import org.w3c.dom.Document;
-import org.xml.sax.InputSource;
 
 import com.arjuna.mw.wst11.common.CoordinationContextHelper;
 import com.arjuna.webservices11.wscoor.CoordinationConstants;
@@ -86,9 +84,7 @@ public class TransactionContextSerializer {
      * @throws Exception if it fails to deserialise
      */
     public CoordinationContextType deserialise(String header) throws Exception {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-        Document doc = factory.newDocumentBuilder().parse(new InputSource(new StringReader(header)));
+        Document doc = XMLHelper.getDocumentFromString(header);
         return CoordinationContextHelper.deserialise(doc.getDocumentElement());
     }
 }
@@ -14,6 +14,8 @@
 package org.switchyard.component.sca;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Collections;
 import java.util.LinkedList;
 
 import javax.xml.namespace.QName;
@@ -23,6 +25,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.switchyard.Exchange;
+import org.switchyard.ExchangePattern;
 import org.switchyard.HandlerException;
 import org.switchyard.Message;
 import org.switchyard.MockDomain;
@@ -40,11 +43,18 @@ import org.switchyard.remote.RemoteEndpoint;
 import org.switchyard.remote.RemoteMessage;
 import org.switchyard.remote.RemoteRegistry;
 import org.switchyard.remote.cluster.ClusteredInvoker;
+import org.switchyard.remote.cluster.LeastInFlightStrategy;
 import org.switchyard.remote.cluster.LoadBalanceStrategy;
+import org.switchyard.remote.cluster.PeakEwmaStrategy;
+import org.switchyard.remote.cluster.PowerOfTwoChoicesStrategy;
 import org.switchyard.remote.cluster.RandomStrategy;
 import org.switchyard.remote.cluster.RoundRobinStrategy;
 import org.switchyard.test.MockHandler;
 
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
 public class SCAInvokerTest {
     
     private MockDomain _domain;
@@ -250,6 +260,9 @@ public class SCAInvokerTest {
         Assert.assertTrue(roundRobin instanceof RoundRobinStrategy);
         LoadBalanceStrategy random = invoker.createLoadBalancer("RandomStrategy");
         Assert.assertTrue(random instanceof RandomStrategy);
+        Assert.assertTrue(invoker.createLoadBalancer("LeastInFlightStrategy") instanceof LeastInFlightStrategy);
+        Assert.assertTrue(invoker.createLoadBalancer("PeakEwmaStrategy") instanceof PeakEwmaStrategy);
+        Assert.assertTrue(invoker.createLoadBalancer("PowerOfTwoChoicesStrategy") instanceof PowerOfTwoChoicesStrategy);
     }
     
     @Test
@@ -372,6 +385,60 @@ public class SCAInvokerTest {
         Assert.assertEquals(new QName("modified-test-namespace", "modified-test-target"), remoteMsg.getService());
         
     }
+    
+    @Test
+    public void rejectedRemoteInvocationFaults() throws Exception {
+        V1SCABindingModel config = new V1SCABindingModel(SwitchYardNamespace.DEFAULT.uri()) {
+            @Override
+            public String getName() {
+                return "rejectedRemoteInvocationFaults";
+            }
+            @Override
+            public boolean isClustered() {
+                return true;
+            }
+            public CompositeReferenceModel getReference() {
+                return new V1CompositeReferenceModel();
+            };
+        };
+        
+        // an endpoint over its in-flight limit rejects every invocation with 503
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/sca", new HttpHandler() {
+            public void handle(HttpExchange exchange) throws IOException {
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+            }
+        });
+        server.start();
+        try {
+            final QName TEST_SERVICE = new QName("urn:test", "SCAInvokerTest");
+            RemoteEndpoint endpoint = new RemoteEndpoint().setServiceName(TEST_SERVICE)
+                    .setEndpoint("http://localhost:" + server.getAddress().getPort() + "/sca");
+            RemoteRegistry registry = Mockito.mock(RemoteRegistry.class);
+            Mockito.when(registry.getEndpoints(TEST_SERVICE)).thenReturn(Collections.singletonList(endpoint));
+            
+            SCAInvoker scaInvoker = new SCAInvoker(config);
+            scaInvoker.setInvoker(new ClusteredInvoker(registry));
+            scaInvoker.start();
+            
+            Exchange mockEx = Mockito.mock(Exchange.class, Mockito.RETURNS_DEEP_STUBS);
+            Mockito.when(mockEx.getPattern()).thenReturn(ExchangePattern.IN_OUT);
+            Mockito.when(mockEx.getContract().getConsumerOperation().getName()).thenReturn("test-operation");
+            Mockito.when(mockEx.getProvider().getDomain().getName()).thenReturn(new QName("test-domain"));
+            Mockito.when(mockEx.getProvider().getDomain().getServiceReference(TEST_SERVICE)).thenReturn(null);
+            Mockito.when(mockEx.getProvider().getName()).thenReturn(TEST_SERVICE);
+            Mockito.when(mockEx.getMessage().getContent()).thenReturn("test-content");
+            Mockito.when(mockEx.getContext().getPropertyValue(SCAInvoker.CONTEXT_PROPERTY_PREFIX + SCAInvoker.KEY_TARGET_SERVICE)).thenReturn(null);
+            Mockito.when(mockEx.getContext().getPropertyValue(SCAInvoker.CONTEXT_PROPERTY_PREFIX + SCAInvoker.KEY_TARGET_NAMESPACE)).thenReturn(null);
+            scaInvoker.handleMessage(mockEx);
+            
+            Mockito.verify(mockEx).sendFault(Mockito.any(Message.class));
+            Mockito.verify(mockEx, Mockito.never()).send(Mockito.any(Message.class));
+        } finally {
+            server.stop(0);
+        }
+    }
 }
 
 class MyLoadBalancer implements LoadBalanceStrategy {
@@ -1,6 +1,10 @@
 package org.switchyard.component.sca;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
@@ -9,7 +13,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.concurrent.TimeUnit;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.xml.namespace.QName;
@@ -18,14 +24,18 @@ import junit.framework.Assert;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.switchyard.BaseHandler;
 import org.switchyard.Exchange;
+import org.switchyard.HandlerException;
 import org.switchyard.MockDomain;
 import org.switchyard.ServiceDomain;
 import org.switchyard.deploy.internal.Deployment;
 import org.switchyard.extensions.java.JavaService;
 import org.switchyard.metadata.InOnlyService;
+import org.switchyard.metadata.InOutService;
 import org.switchyard.remote.RemoteMessage;
 import org.switchyard.remote.http.HttpInvoker;
+import org.switchyard.remote.http.WireFormat;
 import org.switchyard.serial.FormatType;
 import org.switchyard.serial.Serializer;
 import org.switchyard.serial.SerializerFactory;
@@ -120,6 +130,92 @@ public class SwitchYardRemotingServletTest {
         Assert.assertEquals("bar", ex.getContract().getConsumerOperation().getName());
     }
     
+    @Test
+    public void jsonReplyForLegacyClient() throws Exception {
+        domain.registerServiceReference(TEST_SERVICE, new InOnlyService());
+        domain.registerService(TEST_SERVICE, new InOnlyService(), new MockHandler());
+        setRequestMessage(new RemoteMessage().setService(TEST_SERVICE));
+        // older clients send neither a content type of ours nor an accept header
+        when(request.getContentType()).thenReturn("application/x-www-form-urlencoded");
+        servlet.doPost(request, response);
+        verify(response).setContentType(WireFormat.JSON.getContentType());
+    }
+
+    @Test
+    public void unavailableFormatRejected() throws Exception {
+        if (WireFormat.PROTOSTUFF.isAvailable()) {
+            return;
+        }
+        when(request.getContentType()).thenReturn(WireFormat.PROTOSTUFF.getContentType());
+        servlet.doPost(request, response);
+        verify(response).sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE);
+    }
+    
+    @Test
+    public void asyncInOutReply() throws Exception {
+        domain.registerServiceReference(TEST_SERVICE, new InOutService());
+        domain.registerService(TEST_SERVICE, new InOutService(), new MockHandler().forwardInToOut());
+        setRequestMessage(new RemoteMessage().setService(TEST_SERVICE).setContent("hello"));
+        AsyncContext asyncContext = startAsync();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            public void write(int b) throws IOException {
+                output.write(b);
+            }
+        });
+        servlet.doPost(request, response);
+        verify(asyncContext, timeout(1000)).complete();
+        RemoteMessage reply = serializer.deserialize(output.toByteArray(), RemoteMessage.class);
+        Assert.assertEquals("hello", reply.getContent());
+    }
+
+    @Test
+    public void inOnlyFaultStaysSynchronous() throws Exception {
+        domain.registerServiceReference(TEST_SERVICE, new InOnlyService());
+        domain.registerService(TEST_SERVICE, new InOnlyService(), new BaseHandler() {
+            public void handleMessage(Exchange exchange) throws HandlerException {
+                throw new HandlerException("in-only failure");
+            }
+        });
+        setRequestMessage(new RemoteMessage().setService(TEST_SERVICE));
+        startAsync();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            public void write(int b) throws IOException {
+                output.write(b);
+            }
+        });
+        servlet.doPost(request, response);
+        verify(request, never()).startAsync();
+        // the fault is written once, by the request thread
+        verify(response, times(1)).getOutputStream();
+        RemoteMessage reply = serializer.deserialize(output.toByteArray(), RemoteMessage.class);
+        Assert.assertTrue(reply.isFault());
+    }
+
+    @Test
+    public void maxInFlightRejected() throws Exception {
+        MockHandler provider = new MockHandler();
+        domain.registerServiceReference(TEST_SERVICE, new InOutService());
+        domain.registerService(TEST_SERVICE, new InOutService(), provider);
+        servlet.setMaxInFlight(1);
+        startAsync();
+        // the first invocation never gets a reply and stays in flight
+        setRequestMessage(new RemoteMessage().setService(TEST_SERVICE));
+        servlet.doPost(request, response);
+        Assert.assertNotNull(provider.getMessages().poll(1000, TimeUnit.MILLISECONDS));
+        setRequestMessage(new RemoteMessage().setService(TEST_SERVICE));
+        servlet.doPost(request, response);
+        verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
+
+    private AsyncContext startAsync() {
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        when(request.isAsyncSupported()).thenReturn(true);
+        when(request.startAsync()).thenReturn(asyncContext);
+        return asyncContext;
+    }
+    
     private void setRequestMessage(RemoteMessage message) throws Exception {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         serializer.serialize(message, RemoteMessage.class, bos);
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.switchyard.component.soap;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.soap.SOAPException;
+
+/**
+ * Bounded pool of Dispatch instances for a single reference.
+ * <p/>
+ * Instances are created on demand up to the pool size; once all of them are leased, callers
+ * wait up to the lease timeout for one to be released before giving up.
+ *
+ * @param <T> the pooled type
+ */
+abstract class DispatchPool<T> {
+
+    private final String _referenceName;
+    private final int _size;
+    private final long _timeout;
+    private final BlockingQueue<T> _idle;
+    private final AtomicInteger _count = new AtomicInteger();
+
+    /**
+     * Constructor.
+     * @param referenceName the reference the pool serves, used in error messages
+     * @param size the maximum number of instances
+     * @param timeout how long a lease waits for a free instance, in milliseconds
+     */
+    DispatchPool(String referenceName, int size, long timeout) {
+        _referenceName = referenceName;
+        _size = size;
+        _timeout = timeout;
+        _idle = new ArrayBlockingQueue<T>(size);
+    }
+
+    /**
+     * Creates a new pooled instance.
+     * @return the instance
+     */
+    protected abstract T create();
+
+    /**
+     * Creates the first instance eagerly so configuration errors surface on start.
+     */
+    void prime() {
+        if (_count.incrementAndGet() <= _size) {
+            try {
+                _idle.offer(create());
+            } catch (RuntimeException re) {
+                _count.decrementAndGet();
+                throw re;
+            }
+        } else {
+            _count.decrementAndGet();
+        }
+    }
+
+    /**
+     * Leases an instance, creating one if the pool has not reached its size yet.
+     * @return the instance
+     * @throws SOAPException if no instance was released within the timeout, or the wait was interrupted
+     */
+    T lease() throws SOAPException {
+        T instance = _idle.poll();
+        if (instance != null) {
+            return instance;
+        }
+        if (_count.incrementAndGet() <= _size) {
+            try {
+                return create();
+            } catch (RuntimeException re) {
+                _count.decrementAndGet();
+                throw re;
+            }
+        }
+        _count.decrementAndGet();
+        try {
+            instance = _idle.poll(_timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw SOAPMessages.MESSAGES.interruptedWaitingForDispatch(_referenceName, ie);
+        }
+        if (instance == null) {
+            throw SOAPMessages.MESSAGES.timedOutWaitingForDispatch(_referenceName, _size, _timeout);
+        }
+        return instance;
+    }
+
+    /**
+     * Returns a leased instance to the pool.
+     * @param instance the instance
+     */
+    void release(T instance) {
+        _idle.offer(instance);
+    }
+
+}
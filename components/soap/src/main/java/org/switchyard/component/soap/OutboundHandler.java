@@ -44,7 +44,6 @@ import org.apache.cxf.transport.http.HTTPConduit;
 import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
 import org.apache.cxf.transports.http.configuration.ProxyServerType;
 import org.jboss.logging.Logger;
-import org.switchyard.Context;
 import org.switchyard.Exchange;
 import org.switchyard.HandlerException;
 import org.switchyard.Message;
@@ -64,6 +63,11 @@ import org.switchyard.runtime.event.ExchangeCompletionEvent;
 
 /**
  * Handles invoking external Webservice endpoints.
+ * <p/>
+ * Dispatch instances are not safe for concurrent use, so each invocation leases one from a
+ * bounded pool created from a single cached {@link Service}. The pool grows on demand up to
+ * the configured <code>dispatchPoolSize</code>; further invocations wait for a free Dispatch
+ * for at most the reference's <code>timeout</code>.
  *
  * @author Magesh Kumar B <mageshbk@jboss.com> (C) 2011 Red Hat Inc.
  */
@@ -73,11 +77,19 @@ public class OutboundHandler extends BaseServiceHandler {
 
     private static final String NO_RESPONSE = "No response returned.";
 
+    private static final int DEFAULT_DISPATCH_POOL_SIZE = 10;
+
+    // matches the CXF default receive timeout, which bounds how long a leased Dispatch is held
+    private static final long DEFAULT_DISPATCH_TIMEOUT = 60000;
+
     private final SOAPBindingModel _config;
     private final String _bindingName;
     private final String _referenceName;
     private MessageComposer<SOAPBindingData> _messageComposer;
-    private Dispatch<SOAPMessage> _dispatcher;
+    private Service _service;
+    private PortName _portName;
+    private MTOMFeature _mtom;
+    private DispatchPool<Dispatch<SOAPMessage>> _dispatchers;
     private Port _wsdlPort;
     private String _bindingId;
     private Boolean _documentStyle;
@@ -100,11 +112,12 @@ public class OutboundHandler extends BaseServiceHandler {
      */
     @Override
     protected void doStart() throws WebServiceConsumeException {
-        if (_dispatcher == null) {
+        if (_service == null) {
             try {
                 Definition definition = WSDLUtil.readWSDL(_config.getWsdl());
                 WSDLUtil.filterWSDL(definition, _config.getModelConfiguration().getPropertyResolver());
                 PortName portName = _config.getPort();
+                _portName = portName;
                 javax.wsdl.Service wsdlService = WSDLUtil.getService(definition, portName);
                 _wsdlPort = WSDLUtil.getPort(wsdlService, portName);
                 // Update the portName
@@ -117,6 +130,7 @@ public class OutboundHandler extends BaseServiceHandler {
 
                 // Config feature setting overrides WSDL
                 MTOMFeature mtom = _feature.getMtom(_config);
+                _mtom = mtom;
                 _bindingId = WSDLUtil.getBindingId(_wsdlPort, mtom.isEnabled());
 
                 _messageComposer = SOAPComposition.getMessageComposer(_config);
@@ -130,90 +144,131 @@ public class OutboundHandler extends BaseServiceHandler {
                 URL wsdlUrl = WSDLUtil.getURL(_config.getWsdl());
                 SOAPLogger.ROOT_LOGGER.creatingDispatchWithWSDL(wsdlUrl.toString());
 
-                Service service = Service.create(wsdlUrl, portName.getServiceQName());
+                _service = Service.create(wsdlUrl, portName.getServiceQName());
 
-                _dispatcher = service.createDispatch(portName.getPortQName(),
-                                    SOAPMessage.class,
-                                    Service.Mode.MESSAGE,
-                                    _feature.getAddressing(),
-                                    mtom);
+                Integer poolSize = _config.getDispatchPoolSize();
+                Integer timeout = _config.getTimeout();
+                _dispatchers = new DispatchPool<Dispatch<SOAPMessage>>(_referenceName,
+                        poolSize != null && poolSize > 0 ? poolSize : DEFAULT_DISPATCH_POOL_SIZE,
+                        timeout != null && timeout > 0 ? timeout : DEFAULT_DISPATCH_TIMEOUT) {
+                    @Override
+                    protected Dispatch<SOAPMessage> create() {
+                        return createDispatch();
+                    }
+                };
+                // create the first Dispatch eagerly so configuration errors surface on start
+                _dispatchers.prime();
+            } catch (MalformedURLException e) {
+                throw new WebServiceConsumeException(e);
+            } catch (WSDLException wsdle) {
+                throw new WebServiceConsumeException(wsdle);
+            }
+        }
+    }
 
-                // this does not return a proper qualified Fault element and has no Detail so deferring for now
-                // _dispatcher.getRequestContext().put("jaxws.response.throwExceptionIfSOAPFault", Boolean.FALSE);
+    /**
+     * Creates and configures a new Dispatch from the cached Service.
+     * @return the Dispatch
+     */
+    private Dispatch<SOAPMessage> createDispatch() {
+        Dispatch<SOAPMessage> dispatcher;
+        synchronized (_service) {
+            dispatcher = _service.createDispatch(_portName.getPortQName(),
+                        SOAPMessage.class,
+                        Service.Mode.MESSAGE,
+                        _feature.getAddressing(),
+                        _mtom);
+        }
 
-                Client client = ((DispatchImpl)_dispatcher).getClient();
-                client.setThreadLocalRequestContext(true);
-                if (_feature.isAddressingEnabled()) {
-                    // Add handler to process WS-A headers
-                    Interceptor<? extends org.apache.cxf.message.Message> addressingInterceptor = EndpointPublisherFactory.getEndpointPublisher().createAddressingInterceptor();
-                    client.getOutInterceptors().add(addressingInterceptor);
-                    client.getOutFaultInterceptors().add(addressingInterceptor);
-                } else {
-                    // Defaulting to use soapAction property in request header
-                    _dispatcher.getRequestContext().put(BindingProvider.SOAPACTION_USE_PROPERTY, Boolean.TRUE);
-                }
+        // this does not return a proper qualified Fault element and has no Detail so deferring for now
+        // dispatcher.getRequestContext().put("jaxws.response.throwExceptionIfSOAPFault", Boolean.FALSE);
+
+        Client client = ((DispatchImpl)dispatcher).getClient();
+        // a leased Dispatch is used by one invocation at a time, so the shared request context is safe
+        client.setThreadLocalRequestContext(false);
+        if (_feature.isAddressingEnabled()) {
+            // Add handler to process WS-A headers
+            Interceptor<? extends org.apache.cxf.message.Message> addressingInterceptor = EndpointPublisherFactory.getEndpointPublisher().createAddressingInterceptor();
+            client.getOutInterceptors().add(addressingInterceptor);
+            client.getOutFaultInterceptors().add(addressingInterceptor);
+        } else {
+            // Defaulting to use soapAction property in request header
+            dispatcher.getRequestContext().put(BindingProvider.SOAPACTION_USE_PROPERTY, Boolean.TRUE);
+        }
 
-                if (_config.getEndpointAddress() != null) {
-                    _dispatcher.getRequestContext().put(BindingProvider.ENDPOINT_ADDRESS_PROPERTY, _config.getEndpointAddress());
-                }
+        if (_config.getEndpointAddress() != null) {
+            dispatcher.getRequestContext().put(BindingProvider.ENDPOINT_ADDRESS_PROPERTY, _config.getEndpointAddress());
+        }
 
-                Integer timeout = _config.getTimeout();
-                HTTPConduit conduit = (HTTPConduit)client.getConduit();
-                // Proxy authentication
-                if (_config.getProxyConfig() != null) {
-                    HTTPClientPolicy httpClientPolicy = new HTTPClientPolicy();
-                    httpClientPolicy.setProxyServerType(ProxyServerType.fromValue(_config.getProxyConfig().getType()));
-                    httpClientPolicy.setProxyServer(_config.getProxyConfig().getHost());
-                    if (_config.getProxyConfig().getPort() != null) {
-                        httpClientPolicy.setProxyServerPort(Integer.valueOf(_config.getProxyConfig().getPort()).intValue());
-                    }
-                    conduit.setClient(httpClientPolicy);
-                    if (_config.getProxyConfig().getUser() != null) {
-                        ProxyAuthorizationPolicy policy = new ProxyAuthorizationPolicy();
-                        policy.setUserName(_config.getProxyConfig().getUser());
-                        policy.setPassword(_config.getProxyConfig().getPassword());
-                        conduit.setProxyAuthorization(policy);
-                    }
-                }
-                if (_config.hasAuthentication()) {
-                    AuthorizationPolicy policy = new AuthorizationPolicy();
-                    // Set authentication
-                    if (_config.isBasicAuth()) {
-                        policy.setUserName(_config.getBasicAuthConfig().getUser());
-                        policy.setPassword(_config.getBasicAuthConfig().getPassword());
-                        policy.setAuthorizationType("Basic");
-                    } else {
-                        policy.setUserName(_config.getNtlmAuthConfig().getDomain() + "\\" + _config.getNtlmAuthConfig().getUser());
-                        policy.setPassword(_config.getNtlmAuthConfig().getPassword());
-                        HTTPClientPolicy httpClientPolicy = new HTTPClientPolicy();
-                        if (timeout != null) {
-                            httpClientPolicy.setConnectionTimeout(timeout);
-                        } else {
-                            httpClientPolicy.setConnectionTimeout(36000);
-                        }
-                        httpClientPolicy.setAllowChunking(false);
-                        conduit.setClient(httpClientPolicy);
-                    }
-                    conduit.setAuthorization(policy);
-                }
+        Integer timeout = _config.getTimeout();
+        HTTPConduit conduit = (HTTPConduit)client.getConduit();
+        // Proxy authentication
+        if (_config.getProxyConfig() != null) {
+            HTTPClientPolicy httpClientPolicy = new HTTPClientPolicy();
+            httpClientPolicy.setProxyServerType(ProxyServerType.fromValue(_config.getProxyConfig().getType()));
+            httpClientPolicy.setProxyServer(_config.getProxyConfig().getHost());
+            if (_config.getProxyConfig().getPort() != null) {
+                httpClientPolicy.setProxyServerPort(Integer.valueOf(_config.getProxyConfig().getPort()).intValue());
+            }
+            conduit.setClient(httpClientPolicy);
+            if (_config.getProxyConfig().getUser() != null) {
+                ProxyAuthorizationPolicy policy = new ProxyAuthorizationPolicy();
+                policy.setUserName(_config.getProxyConfig().getUser());
+                policy.setPassword(_config.getProxyConfig().getPassword());
+                conduit.setProxyAuthorization(policy);
+            }
+        }
+        if (_config.hasAuthentication()) {
+            AuthorizationPolicy policy = new AuthorizationPolicy();
+            // Set authentication
+            if (_config.isBasicAuth()) {
+                policy.setUserName(_config.getBasicAuthConfig().getUser());
+                policy.setPassword(_config.getBasicAuthConfig().getPassword());
+                policy.setAuthorizationType("Basic");
+            } else {
+                policy.setUserName(_config.getNtlmAuthConfig().getDomain() + "\\" + _config.getNtlmAuthConfig().getUser());
+                policy.setPassword(_config.getNtlmAuthConfig().getPassword());
+                HTTPClientPolicy httpClientPolicy = new HTTPClientPolicy();
                 if (timeout != null) {
-                    if (conduit.getClient() != null) {
-                        conduit.getClient().setConnectionTimeout(timeout);
-                        conduit.getClient().setReceiveTimeout(timeout);
-                    } else {
-                        HTTPClientPolicy httpClientPolicy = new HTTPClientPolicy();
-                        httpClientPolicy.setConnectionTimeout(timeout);
-                        httpClientPolicy.setReceiveTimeout(timeout);
-                        conduit.setClient(httpClientPolicy);
-                    }
+                    httpClientPolicy.setConnectionTimeout(timeout);
+                } else {
+                    httpClientPolicy.setConnectionTimeout(36000);
                 }
+                httpClientPolicy.setAllowChunking(false);
+                conduit.setClient(httpClientPolicy);
+            }
+            conduit.setAuthorization(policy);
+        }
+        if (timeout != null) {
+            if (conduit.getClient() != null) {
+                conduit.getClient().setConnectionTimeout(timeout);
+                conduit.getClient().setReceiveTimeout(timeout);
+            } else {
+                HTTPClientPolicy httpClientPolicy = new HTTPClientPolicy();
+                httpClientPolicy.setConnectionTimeout(timeout);
+                httpClientPolicy.setReceiveTimeout(timeout);
+                conduit.setClient(httpClientPolicy);
+            }
+        }
 
-            } catch (MalformedURLException e) {
-                throw new WebServiceConsumeException(e);
-            } catch (WSDLException wsdle) {
-                throw new WebServiceConsumeException(wsdle);
+        return dispatcher;
+    }
+
+    private void releaseDispatch(final Dispatch<SOAPMessage> dispatcher) {
+        // drop everything that was set for the last invocation
+        Map<String, Object> requestContext = dispatcher.getRequestContext();
+        requestContext.remove(MessageContext.HTTP_REQUEST_HEADERS);
+        requestContext.remove(org.apache.cxf.message.Message.PROTOCOL_HEADERS);
+        requestContext.remove(BindingProvider.SOAPACTION_URI_PROPERTY);
+        if (_feature.isAddressingEnabled()) {
+            requestContext.remove(SOAPUtil.SWITCHYARD_CONTEXT);
+            if (_config.getEndpointAddress() != null) {
+                requestContext.put(BindingProvider.ENDPOINT_ADDRESS_PROPERTY, _config.getEndpointAddress());
+            } else {
+                requestContext.remove(BindingProvider.ENDPOINT_ADDRESS_PROPERTY);
             }
         }
+        _dispatchers.release(dispatcher);
     }
 
     /**
@@ -245,6 +300,7 @@ public class OutboundHandler extends BaseServiceHandler {
             SOAPBindingData request;
             Boolean oneWay = false;
             String action = null;
+            String toAddress = null;
             try {
                 request = _messageComposer.decompose(exchange, new SOAPBindingData(SOAPUtil.createMessage(_bindingId)));
 
@@ -253,13 +309,8 @@ public class OutboundHandler extends BaseServiceHandler {
                 oneWay = WSDLUtil.isOneWay(_wsdlPort, firstBodyElement, _documentStyle);
 
                 if (_feature.isAddressingEnabled()) {
-                    Context context = exchange.getContext();
-                    _dispatcher.getRequestContext().put(SOAPUtil.SWITCHYARD_CONTEXT, context);
                     // It is a one way if a replyto address is set
-                    String toAddress = SOAPUtil.getToAddress(exchange.getContext());
-                    if (toAddress != null) {
-                        _dispatcher.getRequestContext().put(BindingProvider.ENDPOINT_ADDRESS_PROPERTY, toAddress);
-                    }
+                    toAddress = SOAPUtil.getToAddress(exchange.getContext());
                 }
             } catch (Exception e) {
                 throw e instanceof SOAPException ? (SOAPException)e : new SOAPException(e);
@@ -267,7 +318,25 @@ public class OutboundHandler extends BaseServiceHandler {
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.trace("Outbound ---> Request:[" + _referenceName + "][" + SOAPUtil.soapMessageToString(request.getSOAPMessage()) + "]" + (oneWay ? " oneWay " : ""));
             }
-            SOAPMessage response = invokeService(request, oneWay, action);
+            SOAPMessage response;
+            Integer status = null;
+            Map<String, List<String>> httpHeaders = null;
+            Dispatch<SOAPMessage> dispatcher = _dispatchers.lease();
+            try {
+                if (_feature.isAddressingEnabled()) {
+                    dispatcher.getRequestContext().put(SOAPUtil.SWITCHYARD_CONTEXT, exchange.getContext());
+                    if (toAddress != null) {
+                        dispatcher.getRequestContext().put(BindingProvider.ENDPOINT_ADDRESS_PROPERTY, toAddress);
+                    }
+                }
+                response = invokeService(dispatcher, request, oneWay, action);
+                if (response != null) {
+                    status = (Integer)dispatcher.getResponseContext().get(MessageContext.HTTP_RESPONSE_CODE);
+                    httpHeaders = CastUtils.cast((Map<?, ?>)dispatcher.getResponseContext().get(MessageContext.HTTP_RESPONSE_HEADERS));
+                }
+            } finally {
+                releaseDispatch(dispatcher);
+            }
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.trace("Outbound <--- Response:[" + _referenceName + "][" + SOAPUtil.soapMessageToString(response) + "]");
             }
@@ -283,13 +352,9 @@ public class OutboundHandler extends BaseServiceHandler {
                         faultInfo.copyFaultInfo(response);
                         bindingData.setSOAPFaultInfo(faultInfo);
                     }
-                    Integer status = (Integer)_dispatcher.getResponseContext().get(MessageContext.HTTP_RESPONSE_CODE);
                     if (status != null) {
                         bindingData.setStatus(status);
                     }
-                    @SuppressWarnings("unchecked")
-                    Map<String, List<String>> httpHeaders =
-                            (Map<String, List<String>>) _dispatcher.getResponseContext().get(MessageContext.HTTP_RESPONSE_HEADERS);
                     if (httpHeaders != null) {
                         bindingData.setHttpHeaders(httpHeaders);
                     }
@@ -313,43 +378,38 @@ public class OutboundHandler extends BaseServiceHandler {
 
     /**
      * Invoke Webservice via Dispatch API
+     * @param dispatcher the leased Dispatch
      * @param soapMessage the SOAP request
      * @param oneWay if it is request only operation
      * @param action the SOAP Action
      * @return the SOAP response
      * @throws SOAPException If a Dispatch could not be created based on the SOAP message.
      */
-    private SOAPMessage invokeService(final SOAPBindingData bindingData, final Boolean oneWay, final String action) throws SOAPException {
+    private SOAPMessage invokeService(final Dispatch<SOAPMessage> dispatcher, final SOAPBindingData bindingData, final Boolean oneWay, final String action) throws SOAPException {
 
         SOAPMessage soapMessage = bindingData.getSOAPMessage();
         SOAPMessage response = null;
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, List<String>> httpHeaders =
-                (Map<String, List<String>>) _dispatcher.getRequestContext().get(MessageContext.HTTP_REQUEST_HEADERS);
-           if (httpHeaders == null) {
-               httpHeaders = new HashMap<String, List<String>>();
-               _dispatcher.getRequestContext()
-                          .put(MessageContext.HTTP_REQUEST_HEADERS, httpHeaders);
-           }
-            httpHeaders.putAll(bindingData.getHttpHeaders());
+            Map<String, Object> requestContext = dispatcher.getRequestContext();
+            Map<String, List<String>> httpHeaders = new HashMap<String, List<String>>(bindingData.getHttpHeaders());
+            requestContext.put(MessageContext.HTTP_REQUEST_HEADERS, httpHeaders);
 
             if (!_feature.isAddressingEnabled() && (action != null)) {
                 // SWITCHYARD-2942 - CXF keeps SOAPAction in PROTOCOL_HEADERS and ignore SOAP_ACTION_URI_PROPERTY if SOAPAction is
                 // already in PROTOCOL_HEADERS. It needs to be removed to reflect SOAPACTION_URI_PROPERTY specified here.
                 Map<String, List<String>> reqHeaders =
-                        CastUtils.cast((Map<?, ?>)_dispatcher.getRequestContext().get(org.apache.cxf.message.Message.PROTOCOL_HEADERS));
-                if (reqHeaders.containsKey(org.apache.cxf.binding.soap.SoapBindingConstants.SOAP_ACTION)) {
+                        CastUtils.cast((Map<?, ?>)requestContext.get(org.apache.cxf.message.Message.PROTOCOL_HEADERS));
+                if (reqHeaders != null) {
                     reqHeaders.remove(org.apache.cxf.binding.soap.SoapBindingConstants.SOAP_ACTION);
                 }
-                _dispatcher.getRequestContext().put(BindingProvider.SOAPACTION_URI_PROPERTY, "\"" + action + "\"");
+                requestContext.put(BindingProvider.SOAPACTION_URI_PROPERTY, "\"" + action + "\"");
             }
 
             if (oneWay) {
-                _dispatcher.invokeOneWay(soapMessage);
+                dispatcher.invokeOneWay(soapMessage);
                 //return empty response
             }  else {
-                response = _dispatcher.invoke(soapMessage);
+                response = dispatcher.invoke(soapMessage);
             }
         } catch (SOAPFaultException sfex) {
             response = SOAPUtil.generateFault(sfex, _bindingId);
@@ -350,5 +350,23 @@ public interface SOAPMessages {
     @Message(id = 35454, value = "Could not instantiate interceptor class: %s")
     SwitchYardException couldNotInstantiateInterceptor(String interceptorClassName, @Cause Throwable t);
 
-}
+    /**
+     * interruptedWaitingForDispatch method definition.
+     * @param referenceName referenceName
+     * @param t cause
+     * @return SOAPException
+     */
+    @Message(id = 35455, value = "Interrupted while waiting for a free Dispatch for reference '%s'.")
+    SOAPException interruptedWaitingForDispatch(String referenceName, @Cause Throwable t);
 
+    /**
+     * timedOutWaitingForDispatch method definition.
+     * @param referenceName referenceName
+     * @param poolSize poolSize
+     * @param timeout timeout
+     * @return SOAPException
+     */
+    @Message(id = 35456, value = "Timed out waiting for a free Dispatch for reference '%s'; all %d pooled Dispatches stayed in use for %d ms.")
+    SOAPException timedOutWaitingForDispatch(String referenceName, int poolSize, long timeout);
+
+}
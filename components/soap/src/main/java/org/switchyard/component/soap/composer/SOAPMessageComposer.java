@@ -33,15 +33,21 @@ import javax.xml.soap.SOAPEnvelope;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPFault;
 import javax.xml.soap.SOAPMessage;
+import javax.xml.transform.Source;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamSource;
 
 import org.jboss.logging.Logger;
 import org.switchyard.Exchange;
 import org.switchyard.ExchangeState;
 import org.switchyard.Message;
+import org.switchyard.common.io.RepeatableContent;
+import org.switchyard.common.xml.XMLHelper;
 import org.switchyard.component.common.composer.BaseMessageComposer;
 import org.switchyard.component.soap.SOAPMessages;
 import org.switchyard.component.soap.util.SOAPUtil;
 import org.switchyard.component.soap.util.WSDLUtil;
+import org.w3c.dom.DocumentFragment;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -216,10 +222,9 @@ public class SOAPMessageComposer extends BaseMessageComposer<SOAPBindingData> {
             
             try {
                 // convert the message content to a form we can work with
-                Node messageNode = message.getContent(Node.class);
-                if (messageNode != null) {
-                    Node messageNodeImport = soapMessage.getSOAPBody().getOwnerDocument().importNode(messageNode, true);
-                    if (exchange.getState() != ExchangeState.FAULT || isSOAPFaultPayload(messageNode)) {
+                Node messageNodeImport = importContent(message, soapMessage.getSOAPBody());
+                if (messageNodeImport != null) {
+                    if (exchange.getState() != ExchangeState.FAULT || isSOAPFaultPayload(messageNodeImport)) {
                         if (_documentStyle) {
                             String opName = exchange.getContract().getProviderOperation().getName();
                             if (_unwrapped) {
@@ -266,6 +271,21 @@ public class SOAPMessageComposer extends BaseMessageComposer<SOAPBindingData> {
         return target;
     }
 
+    private Node importContent(Message message, SOAPBody soapBody) throws Exception {
+        Object content = message.getContent();
+        if (content instanceof RepeatableContent) {
+            content = new StreamSource(((RepeatableContent)content).getInputStream());
+        }
+        if (content instanceof StAXSource || content instanceof StreamSource) {
+            // build streamed content directly in the SOAP message, rather than parsing it into a DOM of its own and copying that
+            DocumentFragment fragment = soapBody.getOwnerDocument().createDocumentFragment();
+            XMLHelper.readSource((Source)content, fragment);
+            return XMLHelper.getFirstChildElement(fragment);
+        }
+        Node messageNode = message.getContent(Node.class);
+        return messageNode != null ? soapBody.getOwnerDocument().importNode(messageNode, true) : null;
+    }
+
     private boolean isSOAPFaultPayload(org.w3c.dom.Node messageNode) {
         String rootName = messageNode.getLocalName().toLowerCase();
 
@@ -152,6 +152,21 @@ public interface SOAPBindingModel extends BindingModel {
      */
     public SOAPBindingModel setTimeout(Integer timeout);
 
+    /**
+     * Gets the maximum number of Dispatch clients used concurrently by a reference.
+     * 
+     * @return the pool size, or null if not set
+     */
+    public Integer getDispatchPoolSize();
+
+    /**
+     * Sets the maximum number of Dispatch clients used concurrently by a reference.
+     * 
+     * @param dispatchPoolSize the pool size
+     * @return this SOAPBindingModel
+     */
+    public SOAPBindingModel setDispatchPoolSize(Integer dispatchPoolSize);
+
     /**
      * Gets the basic config.
      * @return the basic config
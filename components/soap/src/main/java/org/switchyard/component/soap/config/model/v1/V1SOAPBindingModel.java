@@ -53,6 +53,7 @@ public class V1SOAPBindingModel extends V1BindingModel implements SOAPBindingMod
         SOAPName.contextPath.name(),
         SOAPName.endpointAddress.name(),
         SOAPName.timeout.name(),
+        SOAPName.dispatchPoolSize.name(),
         SOAPName.basic.name(),
         SOAPName.ntlm.name(),
         SOAPName.proxy.name(),
@@ -71,6 +72,7 @@ public class V1SOAPBindingModel extends V1BindingModel implements SOAPBindingMod
     private SOAPNameValueModel _contextPath;
     private SOAPNameValueModel _endpointAddress;
     private SOAPNameValueModel _timeout;
+    private SOAPNameValueModel _dispatchPoolSize;
     private BasicAuthModel _basicAuth;
     private NtlmAuthModel _ntlmAuth;
     private ProxyModel _proxyConfig;
@@ -294,6 +296,24 @@ public class V1SOAPBindingModel extends V1BindingModel implements SOAPBindingMod
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public Integer getDispatchPoolSize() {
+        if (_dispatchPoolSize == null) {
+            _dispatchPoolSize = getNameValue(SOAPName.dispatchPoolSize);
+        }
+        return _dispatchPoolSize != null ? Integer.valueOf(_dispatchPoolSize.getValue()) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public SOAPBindingModel setDispatchPoolSize(Integer dispatchPoolSize) {
+        _dispatchPoolSize = setNameValue(_dispatchPoolSize, SOAPName.dispatchPoolSize, String.valueOf(dispatchPoolSize));
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -28,6 +28,8 @@ import javax.xml.ws.handler.MessageContext;
 
 import org.switchyard.ServiceDomain;
 import org.switchyard.component.common.Endpoint;
+import org.switchyard.component.common.WorkerPool;
+import org.switchyard.component.common.WorkerPool.RejectionPolicy;
 import org.switchyard.component.soap.InboundHandler;
 import org.switchyard.component.soap.WebServicePublishException;
 import org.switchyard.component.soap.config.model.SOAPBindingModel;
@@ -35,13 +37,24 @@ import org.switchyard.component.soap.util.WSDLUtil;
     
 /**
  * Handles publishing of Webservice Endpoints on JAX-WS implementations.
+ * <p/>
+ * Published endpoints share a {@link WorkerPool} configured with system properties
+ * prefixed by <i>{@value #WORKER_POOL_PROPERTY_PREFIX}</i>. Once all of its workers are busy, requests
+ * run on the server's dispatcher thread unless another rejection policy is configured.
  *
  * @author Magesh Kumar B <mageshbk@jboss.com> (C) 2012 Red Hat Inc.
  */
 public class JAXWSEndpointPublisher extends AbstractEndpointPublisher {
 
+    /**
+     * Prefix of the system properties used to configure the worker pool.
+     */
+    public static final String WORKER_POOL_PROPERTY_PREFIX = "org.switchyard.component.soap.standalone.workers";
+
     private static final String HTTP_SCHEME = "http";
 
+    private static WorkerPool _workerPool;
+
     /**
      * {@inheritDoc}
      */
@@ -62,6 +75,7 @@ public class JAXWSEndpointPublisher extends AbstractEndpointPublisher {
             wsEndpoint = new JAXWSEndpoint(bindingId, handler, features);
             wsEndpoint.getEndpoint().setMetadata(metadata);
             wsEndpoint.getEndpoint().setProperties(properties);
+            wsEndpoint.getEndpoint().setExecutor(getWorkerPool());
             wsEndpoint.publish(publishUrl);
         } catch (MalformedURLException e) {
             throw new WebServicePublishException(e);
@@ -70,4 +84,12 @@ public class JAXWSEndpointPublisher extends AbstractEndpointPublisher {
         }
         return wsEndpoint;
     }
+
+    private static synchronized WorkerPool getWorkerPool() {
+        if (_workerPool == null) {
+            // the JAX-WS runtime leaves requests its executor rejects unanswered, rather than refusing them
+            _workerPool = WorkerPool.create("SwitchYard SOAP standalone", WORKER_POOL_PROPERTY_PREFIX, RejectionPolicy.callerRuns);
+        }
+        return _workerPool;
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.switchyard.component.soap;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.xml.soap.SOAPException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * DispatchPoolTest
+ */
+public class DispatchPoolTest {
+
+    @Test
+    public void leaseWaitsForRelease() throws Exception {
+        final CountingPool pool = new CountingPool(2, 5000);
+        final Object first = pool.lease();
+        pool.lease();
+
+        final CountDownLatch waiting = new CountDownLatch(1);
+        final AtomicReference<Object> leased = new AtomicReference<Object>();
+        Thread waiter = new Thread() {
+            public void run() {
+                waiting.countDown();
+                try {
+                    leased.set(pool.lease());
+                } catch (SOAPException se) {
+                    leased.set(se);
+                }
+            }
+        };
+        waiter.start();
+        Assert.assertTrue(waiting.await(5, TimeUnit.SECONDS));
+        waiter.join(200);
+        Assert.assertTrue("lease should block while the pool is exhausted", waiter.isAlive());
+
+        pool.release(first);
+        waiter.join(5000);
+        Assert.assertFalse(waiter.isAlive());
+        Assert.assertSame(first, leased.get());
+        Assert.assertEquals(2, pool.created.get());
+    }
+
+    @Test
+    public void leaseTimesOut() throws Exception {
+        CountingPool pool = new CountingPool(1, 100);
+        pool.lease();
+        long start = System.nanoTime();
+        try {
+            pool.lease();
+            Assert.fail("lease should time out while the pool is exhausted");
+        } catch (SOAPException se) {
+            Assert.assertTrue(se.getMessage(), se.getMessage().contains("myReference"));
+        }
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+        Assert.assertEquals(1, pool.created.get());
+    }
+
+    @Test
+    public void primeCreatesOne() throws Exception {
+        CountingPool pool = new CountingPool(2, 100);
+        pool.prime();
+        Assert.assertEquals(1, pool.created.get());
+        pool.lease();
+        pool.lease();
+        Assert.assertEquals(2, pool.created.get());
+    }
+
+    private static final class CountingPool extends DispatchPool<Object> {
+        private final AtomicInteger created = new AtomicInteger();
+
+        private CountingPool(int size, long timeout) {
+            super("myReference", size, timeout);
+        }
+
+        @Override
+        protected Object create() {
+            created.incrementAndGet();
+            return new Object();
+        }
+    }
+
+}
@@ -29,6 +29,7 @@ public class SOAPBindingModelTest {
     private static final String SOAP_BINDING_INVALID = "soap-binding-invalid.xml";
     private static final String SOAP_BINDING_PROXY = "soap-binding-proxy.xml";
     private static final String SOAP_BINDING_AUTH = "soap-binding-auth.xml";
+    private static final String SOAP_BINDING_DISPATCH_POOL = "soap-binding-dispatch-pool.xml";
 
     @Test
     public void serviceBinding() throws Exception {
@@ -58,6 +59,15 @@ public class SOAPBindingModelTest {
         Assert.assertEquals(new Boolean(true), mtomConfig.isXopExpand());
     }
 
+    @Test
+    public void dispatchPoolBinding() throws Exception {
+        ModelPuller<SOAPBindingModel> puller = new ModelPuller<SOAPBindingModel>();
+        SOAPBindingModel binding = puller.pull(SOAP_BINDING_DISPATCH_POOL, getClass());
+        binding.assertModelValid();
+        Assert.assertEquals(new Integer(5000), binding.getTimeout());
+        Assert.assertEquals(new Integer(25), binding.getDispatchPoolSize());
+    }
+
     @Test
     public void invalidBinding() throws Exception {
         ModelPuller<SOAPBindingModel> puller = new ModelPuller<SOAPBindingModel>();
@@ -541,6 +541,24 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
   @Key("label_faultPercent")
   String label_faultPercent();
 
+  /**
+   * Translated "15 Min. Rate".
+   * 
+   * @return translated "15 Min. Rate"
+   */
+  @DefaultMessage("15 Min. Rate")
+  @Key("label_fifteenMinuteRate")
+  String label_fifteenMinuteRate();
+
+  /**
+   * Translated "5 Min. Rate".
+   * 
+   * @return translated "5 Min. Rate"
+   */
+  @DefaultMessage("5 Min. Rate")
+  @Key("label_fiveMinuteRate")
+  String label_fiveMinuteRate();
+
   /**
    * Translated "From".
    * 
@@ -649,6 +667,15 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
   @Key("label_maximumRequests")
   String label_maximumRequests();
 
+  /**
+   * Translated "Median Processing Time".
+   * 
+   * @return translated "Median Processing Time"
+   */
+  @DefaultMessage("Median Processing Time")
+  @Key("label_medianProcessingTime")
+  String label_medianProcessingTime();
+
   /**
    * Translated "Message Count".
    * 
@@ -667,6 +694,15 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
   @Key("label_messageCounts")
   String label_messageCounts();
 
+  /**
+   * Translated "Message Rates".
+   * 
+   * @return translated "Message Rates"
+   */
+  @DefaultMessage("Message Rates")
+  @Key("label_messageRates")
+  String label_messageRates();
+
   /**
    * Translated "Metric".
    * 
@@ -703,6 +739,15 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
   @Key("label_namespace")
   String label_namespace();
 
+  /**
+   * Translated "1 Min. Rate".
+   * 
+   * @return translated "1 Min. Rate"
+   */
+  @DefaultMessage("1 Min. Rate")
+  @Key("label_oneMinuteRate")
+  String label_oneMinuteRate();
+
   /**
    * Translated "Operation Metrics".
    * 
@@ -712,6 +757,42 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
   @Key("label_operationMetrics")
   String label_operationMetrics();
 
+  /**
+   * Translated "90th Percentile Processing Time".
+   * 
+   * @return translated "90th Percentile Processing Time"
+   */
+  @DefaultMessage("90th Percentile Processing Time")
+  @Key("label_p90ProcessingTime")
+  String label_p90ProcessingTime();
+
+  /**
+   * Translated "99.9th Percentile Processing Time".
+   * 
+   * @return translated "99.9th Percentile Processing Time"
+   */
+  @DefaultMessage("99.9th Percentile Processing Time")
+  @Key("label_p999ProcessingTime")
+  String label_p999ProcessingTime();
+
+  /**
+   * Translated "99th Percentile Processing Time".
+   * 
+   * @return translated "99th Percentile Processing Time"
+   */
+  @DefaultMessage("99th Percentile Processing Time")
+  @Key("label_p99ProcessingTime")
+  String label_p99ProcessingTime();
+
+  /**
+   * Translated "Processing Time Percentiles".
+   * 
+   * @return translated "Processing Time Percentiles"
+   */
+  @DefaultMessage("Processing Time Percentiles")
+  @Key("label_processingTimePercentiles")
+  String label_processingTimePercentiles();
+
   /**
    * Translated "Processing Times".
    * 
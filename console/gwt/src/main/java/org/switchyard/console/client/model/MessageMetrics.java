@@ -118,4 +118,102 @@ public interface MessageMetrics {
     @PropertyName("maxTime")
     void setMaxProcessingTime(int value);
 
+    /**
+     * Median processing time for a message in TimeUnit.MILLISECONDS.
+     * 
+     * @return median processing time
+     */
+    @PropertyName("medianTime")
+    Double getMedianProcessingTime();
+
+    /**
+     * @param value median processing time
+     */
+    @PropertyName("medianTime")
+    void setMedianProcessingTime(Double value);
+
+    /**
+     * 90th percentile processing time for a message in TimeUnit.MILLISECONDS.
+     * 
+     * @return 90th percentile processing time
+     */
+    @PropertyName("p90Time")
+    Double get90thPercentileProcessingTime();
+
+    /**
+     * @param value 90th percentile processing time
+     */
+    @PropertyName("p90Time")
+    void set90thPercentileProcessingTime(Double value);
+
+    /**
+     * 99th percentile processing time for a message in TimeUnit.MILLISECONDS.
+     * 
+     * @return 99th percentile processing time
+     */
+    @PropertyName("p99Time")
+    Double get99thPercentileProcessingTime();
+
+    /**
+     * @param value 99th percentile processing time
+     */
+    @PropertyName("p99Time")
+    void set99thPercentileProcessingTime(Double value);
+
+    /**
+     * 99.9th percentile processing time for a message in TimeUnit.MILLISECONDS.
+     * 
+     * @return 99.9th percentile processing time
+     */
+    @PropertyName("p999Time")
+    Double get999thPercentileProcessingTime();
+
+    /**
+     * @param value 99.9th percentile processing time
+     */
+    @PropertyName("p999Time")
+    void set999thPercentileProcessingTime(Double value);
+
+    /**
+     * One minute moving average of the message rate, per second.
+     * 
+     * @return one minute rate
+     */
+    @PropertyName("oneMinuteRate")
+    Double getOneMinuteRate();
+
+    /**
+     * @param value one minute rate
+     */
+    @PropertyName("oneMinuteRate")
+    void setOneMinuteRate(Double value);
+
+    /**
+     * Five minute moving average of the message rate, per second.
+     * 
+     * @return five minute rate
+     */
+    @PropertyName("fiveMinuteRate")
+    Double getFiveMinuteRate();
+
+    /**
+     * @param value five minute rate
+     */
+    @PropertyName("fiveMinuteRate")
+    void setFiveMinuteRate(Double value);
+
+    /**
+     * Fifteen minute moving average of the message rate, per second.
+     * 
+     * @return fifteen minute rate
+     */
+    @PropertyName("fifteenMinuteRate")
+    Double getFifteenMinuteRate();
+
+    /**
+     * @param value fifteen minute rate
+     */
+    @PropertyName("fifteenMinuteRate")
+    void setFifteenMinuteRate(Double value);
+
 }
@@ -36,6 +36,8 @@ public class MessageMetricsViewer {
 
     private PlainColumnView _messageCounts;
     private PlainColumnView _processingTimes;
+    private PlainColumnView _processingTimePercentiles;
+    private PlainColumnView _messageRates;
     private boolean _displaysChildMetrics;
 
     /**
@@ -81,11 +83,29 @@ public class MessageMetricsViewer {
         _processingTimes.setColumns(containerTotalProcessingTime, totalProcessingTimeItem, averageProcessingTimeItem,
                 minProcessingTimeItem, maxProcessingTimeItem);
 
+        Column<?> medianProcessingTimeItem = new TextColumn("MedianProcessingTime", Singleton.MESSAGES.label_medianProcessingTime()); //$NON-NLS-1$
+        Column<?> p90ProcessingTimeItem = new TextColumn("90thPercentileProcessingTime", Singleton.MESSAGES.label_p90ProcessingTime()); //$NON-NLS-1$
+        Column<?> p99ProcessingTimeItem = new TextColumn("99thPercentileProcessingTime", Singleton.MESSAGES.label_p99ProcessingTime()); //$NON-NLS-1$
+        Column<?> p999ProcessingTimeItem = new TextColumn("999thPercentileProcessingTime", Singleton.MESSAGES.label_p999ProcessingTime()); //$NON-NLS-1$
+
+        _processingTimePercentiles = new PlainColumnView(Singleton.MESSAGES.label_processingTimePercentiles());
+        _processingTimePercentiles.setColumns(medianProcessingTimeItem, p90ProcessingTimeItem, p99ProcessingTimeItem,
+                p999ProcessingTimeItem);
+
+        Column<?> oneMinuteRateItem = new TextColumn("OneMinuteRate", Singleton.MESSAGES.label_oneMinuteRate()); //$NON-NLS-1$
+        Column<?> fiveMinuteRateItem = new TextColumn("FiveMinuteRate", Singleton.MESSAGES.label_fiveMinuteRate()); //$NON-NLS-1$
+        Column<?> fifteenMinuteRateItem = new TextColumn("FifteenMinuteRate", Singleton.MESSAGES.label_fifteenMinuteRate()); //$NON-NLS-1$
+
+        _messageRates = new PlainColumnView(Singleton.MESSAGES.label_messageRates());
+        _messageRates.setColumns(oneMinuteRateItem, fiveMinuteRateItem, fifteenMinuteRateItem);
+
         VerticalPanel panel = new VerticalPanel();
         panel.setStyleName("fill-layout-width"); //$NON-NLS-1$
 
         panel.add(_messageCounts.asWidget());
         panel.add(_processingTimes.asWidget());
+        panel.add(_processingTimePercentiles.asWidget());
+        panel.add(_messageRates.asWidget());
         return panel;
     }
 
@@ -101,6 +121,8 @@ public class MessageMetricsViewer {
                 + metrics.getAverageProcessingTime(), "" + metrics.getMinProcessingTime(), "" //$NON-NLS-1$ //$NON-NLS-2$
                 + metrics.getMaxProcessingTime());
         _processingTimes.addSample(timeMetric);
+
+        addPercentilesAndRates(metrics);
     }
 
     /**
@@ -117,6 +139,8 @@ public class MessageMetricsViewer {
                 + metrics.getAverageProcessingTime(), "" + metrics.getMinProcessingTime(), "" //$NON-NLS-1$ //$NON-NLS-2$
                 + metrics.getMaxProcessingTime());
         _processingTimes.addSample(timeMetric);
+
+        addPercentilesAndRates(metrics);
     }
 
     /**
@@ -125,5 +149,18 @@ public class MessageMetricsViewer {
     public void clear() {
         _messageCounts.clearSamples();
         _processingTimes.clearSamples();
+        _processingTimePercentiles.clearSamples();
+        _messageRates.clearSamples();
+    }
+
+    private void addPercentilesAndRates(MessageMetrics metrics) {
+        Metric percentileMetric = new Metric("" + metrics.getMedianProcessingTime(), "" //$NON-NLS-1$ //$NON-NLS-2$
+                + metrics.get90thPercentileProcessingTime(), "" + metrics.get99thPercentileProcessingTime(), "" //$NON-NLS-1$ //$NON-NLS-2$
+                + metrics.get999thPercentileProcessingTime());
+        _processingTimePercentiles.addSample(percentileMetric);
+
+        Metric rateMetric = new Metric("" + metrics.getOneMinuteRate(), "" + metrics.getFiveMinuteRate(), "" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + metrics.getFifteenMinuteRate());
+        _messageRates.addSample(rateMetric);
     }
 }
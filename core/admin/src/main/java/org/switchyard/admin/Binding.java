@@ -13,6 +13,8 @@
  */
 package org.switchyard.admin;
 
+import java.util.List;
+
 import org.switchyard.deploy.Lifecycle;
 
 /**
@@ -40,4 +42,34 @@ public interface Binding extends MessageMetricsAware, Lifecycle {
      */
     public String getConfiguration();
 
+    /**
+     * @return the number of pooled connections currently leased by the
+     *         binding, or 0 if the binding does not pool connections.
+     */
+    public int getLeasedConnections();
+
+    /**
+     * @return the number of idle pooled connections held by the binding, or 0
+     *         if the binding does not pool connections.
+     */
+    public int getAvailableConnections();
+
+    /**
+     * @return the number of requests waiting for a pooled connection, or 0 if
+     *         the binding does not pool connections.
+     */
+    public int getPendingConnections();
+
+    /**
+     * @return the maximum size of the binding's connection pool, or 0 if the
+     *         binding does not pool connections.
+     */
+    public int getMaxConnections();
+
+    /**
+     * @return the remote endpoints the binding balances invocations over, or
+     *         an empty list if the binding does not balance invocations.
+     */
+    public List<BalancedEndpoint> getBalancedEndpoints();
+
 }
@@ -56,4 +56,44 @@ public interface MessageMetrics {
      * @return max processing time
      */
     int getMaxProcessingTime();
+
+    /**
+     * Median processing time for a message in TimeUnit.MILLISECONDS, with
+     * microsecond resolution.
+     * @return 50th percentile processing time
+     */
+    double getMedianProcessingTime();
+    /**
+     * 90th percentile processing time for a message in TimeUnit.MILLISECONDS,
+     * with microsecond resolution.
+     * @return 90th percentile processing time
+     */
+    double get90thPercentileProcessingTime();
+    /**
+     * 99th percentile processing time for a message in TimeUnit.MILLISECONDS,
+     * with microsecond resolution.
+     * @return 99th percentile processing time
+     */
+    double get99thPercentileProcessingTime();
+    /**
+     * 99.9th percentile processing time for a message in TimeUnit.MILLISECONDS,
+     * with microsecond resolution.
+     * @return 99.9th percentile processing time
+     */
+    double get999thPercentileProcessingTime();
+    /**
+     * One minute exponentially weighted moving average of the message rate.
+     * @return messages per second
+     */
+    double getOneMinuteRate();
+    /**
+     * Five minute exponentially weighted moving average of the message rate.
+     * @return messages per second
+     */
+    double getFiveMinuteRate();
+    /**
+     * Fifteen minute exponentially weighted moving average of the message rate.
+     * @return messages per second
+     */
+    double getFifteenMinuteRate();
 }
@@ -60,4 +60,10 @@ public interface Service extends MessageMetricsAware {
      * @return throttling details associated with this service.
      */
     Throttling getThrottling();
+
+    /**
+     * @return addressing details of the providers currently registered for
+     *         this service.
+     */
+    List<ServiceProvider> getProviders();
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.admin;
+
+/**
+ * ServiceProvider
+ * <p/>
+ * Addressing details of one of the providers registered in the runtime for a service.
+ */
+public interface ServiceProvider {
+
+    /**
+     * @return the class name of the handler implementing this provider.
+     */
+    String getImplementation();
+
+    /**
+     * @return the number of exchanges addressed to this provider which have
+     *         not completed yet.
+     */
+    int getInFlightCount();
+
+    /**
+     * @return the number of exchanges addressed to this provider.
+     */
+    long getSelectionCount();
+
+    /**
+     * @return the weight of this provider relative to the other providers of
+     *         the service.
+     */
+    int getWeight();
+
+    /**
+     * @param weight the weight of this provider relative to the other
+     *        providers of the service, used by the weighted addressing strategy.
+     */
+    void setWeight(int weight);
+}
@@ -39,4 +39,36 @@ public interface Transformer {
      */
     public String getType();
 
+    /**
+     * @return the maximum number of pooled transformation engines in use at
+     * once, 0 if the transformer does not pool them
+     */
+    public int getPoolMaxSize();
+
+    /**
+     * @return the number of pooled transformation engines currently in use
+     */
+    public int getPoolActiveCount();
+
+    /**
+     * @return the percentage of the pool currently in use
+     */
+    public double getPoolUtilization();
+
+    /**
+     * @return the number of transformations which had to wait for a pooled engine
+     */
+    public long getPoolWaitCount();
+
+    /**
+     * @return the average time in TimeUnit.MILLISECONDS a waiting
+     * transformation waited for a pooled engine
+     */
+    public double getPoolAverageWaitTime();
+
+    /**
+     * @return the number of transformations which gave up waiting for a pooled engine
+     */
+    public long getPoolTimeoutCount();
+
 }
@@ -215,7 +215,7 @@ public class BaseApplication implements Application, EventObserver {
             return;
         }
         for (TransformModel transformModel : getConfig().getTransforms().getTransforms()) {
-            _transformers.add(new BaseTransformer(transformModel));
+            _transformers.add(new BaseTransformer(transformModel, _deployment.getDomain().getTransformerRegistry()));
         }
     }
     
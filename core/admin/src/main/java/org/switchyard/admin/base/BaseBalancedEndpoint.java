@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.admin.base;
+
+import org.switchyard.admin.BalancedEndpoint;
+import org.switchyard.deploy.LoadBalanceAware;
+
+/**
+ * BaseBalancedEndpoint
+ * <p/>
+ * Invocation details of a remote endpoint, read from the handler balancing
+ * invocations over it.
+ */
+public class BaseBalancedEndpoint implements BalancedEndpoint {
+
+    private final LoadBalanceAware _loadBalancer;
+    private final String _endpoint;
+
+    /**
+     * Create a new BaseBalancedEndpoint.
+     * 
+     * @param loadBalancer the handler balancing invocations.
+     * @param endpoint the endpoint address.
+     */
+    public BaseBalancedEndpoint(LoadBalanceAware loadBalancer, String endpoint) {
+        _loadBalancer = loadBalancer;
+        _endpoint = endpoint;
+    }
+
+    @Override
+    public String getEndpoint() {
+        return _endpoint;
+    }
+
+    @Override
+    public int getInFlightCount() {
+        return _loadBalancer.getInFlightCount(_endpoint);
+    }
+
+    @Override
+    public long getRequestCount() {
+        return _loadBalancer.getRequestCount(_endpoint);
+    }
+
+    @Override
+    public long getFailureCount() {
+        return _loadBalancer.getFailureCount(_endpoint);
+    }
+
+    @Override
+    public double getLatency() {
+        return _loadBalancer.getLatency(_endpoint);
+    }
+
+    @Override
+    public boolean isEjected() {
+        return _loadBalancer.isEjected(_endpoint);
+    }
+}
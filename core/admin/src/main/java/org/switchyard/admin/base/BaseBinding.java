@@ -13,10 +13,16 @@
  */
 package org.switchyard.admin.base;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.xml.namespace.QName;
 
+import org.switchyard.admin.BalancedEndpoint;
 import org.switchyard.admin.Binding;
+import org.switchyard.deploy.ConnectionPoolAware;
 import org.switchyard.deploy.Lifecycle;
+import org.switchyard.deploy.LoadBalanceAware;
 
 /**
  * BaseBinding
@@ -66,6 +72,43 @@ public class BaseBinding extends BaseMessageMetricsAware implements Binding {
         return _name;
     }
 
+    @Override
+    public int getLeasedConnections() {
+        final ConnectionPoolAware pool = getConnectionPool();
+        return pool == null ? 0 : pool.getLeasedConnections();
+    }
+
+    @Override
+    public int getAvailableConnections() {
+        final ConnectionPoolAware pool = getConnectionPool();
+        return pool == null ? 0 : pool.getAvailableConnections();
+    }
+
+    @Override
+    public int getPendingConnections() {
+        final ConnectionPoolAware pool = getConnectionPool();
+        return pool == null ? 0 : pool.getPendingConnections();
+    }
+
+    @Override
+    public int getMaxConnections() {
+        final ConnectionPoolAware pool = getConnectionPool();
+        return pool == null ? 0 : pool.getMaxConnections();
+    }
+
+    @Override
+    public List<BalancedEndpoint> getBalancedEndpoints() {
+        final List<BalancedEndpoint> endpoints = new ArrayList<BalancedEndpoint>();
+        final Lifecycle lifecycle = getGatewayLifecycle();
+        if (lifecycle instanceof LoadBalanceAware) {
+            final LoadBalanceAware loadBalancer = (LoadBalanceAware) lifecycle;
+            for (String endpoint : loadBalancer.getBalancedEndpoints()) {
+                endpoints.add(new BaseBalancedEndpoint(loadBalancer, endpoint));
+            }
+        }
+        return endpoints;
+    }
+
     @Override
     public void start() {
         /*
@@ -93,4 +136,9 @@ public class BaseBinding extends BaseMessageMetricsAware implements Binding {
     private Lifecycle getGatewayLifecycle() {
         return _application.getDeployment().getGatwayLifecycle(_serviceName, _name);
     }
+
+    private ConnectionPoolAware getConnectionPool() {
+        final Lifecycle lifecycle = getGatewayLifecycle();
+        return lifecycle instanceof ConnectionPoolAware ? (ConnectionPoolAware) lifecycle : null;
+    }
 }
@@ -22,15 +22,19 @@ import java.util.Map;
 import javax.xml.namespace.QName;
 
 import org.switchyard.Exchange;
+import org.switchyard.ServiceDomain;
+import org.switchyard.ServiceReference;
 import org.switchyard.admin.Application;
 import org.switchyard.admin.Binding;
 import org.switchyard.admin.ComponentService;
 import org.switchyard.admin.MessageMetrics;
 import org.switchyard.admin.Service;
+import org.switchyard.admin.ServiceProvider;
 import org.switchyard.admin.Throttling;
 import org.switchyard.config.model.composite.BindingModel;
 import org.switchyard.config.model.composite.ComponentServiceModel;
 import org.switchyard.config.model.composite.CompositeServiceModel;
+import org.switchyard.internal.ProviderStatistics;
 import org.switchyard.runtime.event.ExchangeCompletionEvent;
 
 /**
@@ -132,6 +136,24 @@ public class BaseService implements Service {
         return _throttling;
     }
 
+    @Override
+    public List<ServiceProvider> getProviders() {
+        List<ServiceProvider> providers = new ArrayList<ServiceProvider>();
+        if (_application == null || _application.getDeployment() == null) {
+            return providers;
+        }
+        final ServiceDomain domain = _application.getDeployment().getDomain();
+        final ServiceReference serviceReference = domain.getServiceReference(_name);
+        final QName serviceName = serviceReference == null ? _name : serviceReference.getTargetServiceName();
+        for (org.switchyard.Service provider : domain.getServices(serviceName)) {
+            final ProviderStatistics statistics = ProviderStatistics.of(provider);
+            if (statistics != null) {
+                providers.add(new BaseServiceProvider(provider, statistics));
+            }
+        }
+        return providers;
+    }
+
     private ComponentService getPromotedService(Application application, CompositeServiceModel compositeService) {
         ComponentServiceModel componentServiceModel = compositeService.getComponentService();
         if (componentServiceModel == null) {
@@ -151,6 +173,9 @@ public class BaseService implements Service {
             binding.resetMessageMetrics();
         }
         _promotedService.resetMessageMetrics();
+        for (ServiceProvider provider : getProviders()) {
+            ((BaseServiceProvider) provider).reset();
+        }
     }
 
     @Override
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.admin.base;
+
+import org.switchyard.admin.ServiceProvider;
+import org.switchyard.internal.ProviderStatistics;
+
+/**
+ * BaseServiceProvider
+ * <p/>
+ * Addressing details of a runtime service provider.
+ */
+public class BaseServiceProvider implements ServiceProvider {
+
+    private final org.switchyard.Service _provider;
+    private final ProviderStatistics _statistics;
+
+    /**
+     * Create a new BaseServiceProvider.
+     * 
+     * @param provider the runtime provider.
+     * @param statistics the provider's addressing statistics.
+     */
+    public BaseServiceProvider(org.switchyard.Service provider, ProviderStatistics statistics) {
+        _provider = provider;
+        _statistics = statistics;
+    }
+
+    @Override
+    public String getImplementation() {
+        return _provider.getProviderHandler() == null ? null : _provider.getProviderHandler().getClass().getName();
+    }
+
+    @Override
+    public int getInFlightCount() {
+        return _statistics.getInFlightCount();
+    }
+
+    @Override
+    public long getSelectionCount() {
+        return _statistics.getSelectionCount();
+    }
+
+    @Override
+    public int getWeight() {
+        return _statistics.getWeight();
+    }
+
+    @Override
+    public void setWeight(int weight) {
+        _statistics.setWeight(weight);
+    }
+
+    /**
+     * Resets the selection count of the provider.
+     */
+    public void reset() {
+        _statistics.reset();
+    }
+}
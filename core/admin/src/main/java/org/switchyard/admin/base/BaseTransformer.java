@@ -18,6 +18,8 @@ import javax.xml.namespace.QName;
 import org.switchyard.admin.Transformer;
 import org.switchyard.config.model.TypedModel;
 import org.switchyard.config.model.transform.TransformModel;
+import org.switchyard.transform.TransformerPoolMetrics;
+import org.switchyard.transform.TransformerRegistry;
 
 /**
  * BaseTransformer
@@ -31,6 +33,7 @@ public class BaseTransformer implements Transformer {
     private final QName _from;
     private final QName _to;
     private String _type;
+    private TransformerRegistry _registry;
 
     /**
      * Create a new BaseTransformer.
@@ -57,6 +60,17 @@ public class BaseTransformer implements Transformer {
         }
     }
 
+    /**
+     * Create a new BaseTransformer from a config model, reporting pool usage
+     * of the runtime transformer registered for it.
+     * @param config the transformer confing model
+     * @param registry the registry the runtime transformer is registered with
+     */
+    public BaseTransformer(TransformModel config, TransformerRegistry registry) {
+        this(config);
+        _registry = registry;
+    }
+
     @Override
     public QName getFrom() {
         return _from;
@@ -72,4 +86,55 @@ public class BaseTransformer implements Transformer {
         return _type;
     }
 
+    @Override
+    public int getPoolMaxSize() {
+        TransformerPoolMetrics metrics = getPoolMetrics();
+        return metrics != null ? metrics.getPoolMaxSize() : 0;
+    }
+
+    @Override
+    public int getPoolActiveCount() {
+        TransformerPoolMetrics metrics = getPoolMetrics();
+        return metrics != null ? metrics.getPoolActiveCount() : 0;
+    }
+
+    @Override
+    public double getPoolUtilization() {
+        TransformerPoolMetrics metrics = getPoolMetrics();
+        if (metrics == null || metrics.getPoolMaxSize() <= 0) {
+            return 0;
+        }
+        return metrics.getPoolActiveCount() * 100.0 / metrics.getPoolMaxSize();
+    }
+
+    @Override
+    public long getPoolWaitCount() {
+        TransformerPoolMetrics metrics = getPoolMetrics();
+        return metrics != null ? metrics.getPoolWaitCount() : 0;
+    }
+
+    @Override
+    public double getPoolAverageWaitTime() {
+        TransformerPoolMetrics metrics = getPoolMetrics();
+        if (metrics == null || metrics.getPoolWaitCount() == 0) {
+            return 0;
+        }
+        return (double)metrics.getPoolTotalWaitTime() / metrics.getPoolWaitCount();
+    }
+
+    @Override
+    public long getPoolTimeoutCount() {
+        TransformerPoolMetrics metrics = getPoolMetrics();
+        return metrics != null ? metrics.getPoolTimeoutCount() : 0;
+    }
+
+    private TransformerPoolMetrics getPoolMetrics() {
+        // only the transformer configured for this from/to pair, never a fallback
+        if (_registry == null || _from == null || _to == null || !_registry.hasTransformer(_from, _to)) {
+            return null;
+        }
+        Object transformer = _registry.getTransformer(_from, _to);
+        return transformer instanceof TransformerPoolMetrics ? (TransformerPoolMetrics)transformer : null;
+    }
+
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.admin.base;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies in microseconds with log-linear buckets, in the
+ * style of HdrHistogram: every power of two range is split into
+ * {@link #SUB_BUCKETS} equal buckets, so values are tracked within about
+ * 3% of their magnitude.  Values below 64 microseconds are tracked exactly
+ * and values beyond roughly 19 hours fall into the last bucket.
+ * <p/>
+ * Recording is a single atomic increment, and the histogram has a fixed
+ * footprint regardless of the number of values recorded.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 36;
+    private static final int BUCKETS = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray _counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records a value.
+     * @param micros latency in microseconds
+     */
+    void record(long micros) {
+        _counts.incrementAndGet(bucket(micros));
+    }
+
+    /**
+     * Returns the value at a given percentile of the recorded values.
+     * @param percentile percentile, between 0 and 100
+     * @return highest value equivalent to the percentile's bucket in
+     * microseconds, or 0 if nothing was recorded
+     */
+    long getValueAtPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = _counts.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(BUCKETS - 1);
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            _counts.set(i, 0);
+        }
+    }
+
+    static int bucket(long micros) {
+        if (micros < 2 * SUB_BUCKETS) {
+            return micros < 0 ? 0 : (int) micros;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+        if (magnitude > MAX_MAGNITUDE) {
+            return BUCKETS - 1;
+        }
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((micros >>> shift) - SUB_BUCKETS);
+    }
+
+    static long highestValue(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
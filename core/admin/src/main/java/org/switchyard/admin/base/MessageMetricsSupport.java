@@ -11,10 +11,9 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.switchyard.admin.base;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.switchyard.Exchange;
@@ -26,38 +25,48 @@ import org.switchyard.runtime.event.ExchangeCompletionEvent;
 /**
  * Message metric collection support.  Holds the values of message metrics
  * and provides a method recording metric data from an exchange.
+ * <p/>
+ * Recording never takes a lock, as it runs on every exchange completion:
+ * counters are striped, min/max are updated with compare-and-set and
+ * processing times go into a fixed size histogram at microsecond resolution.
  */
 public class MessageMetricsSupport implements MessageMetrics {
     
     private static final String NL = System.getProperty("line.separator");
-    private AtomicInteger _successCount = new AtomicInteger();
-    private AtomicInteger _faultCount = new AtomicInteger();
-    private AtomicInteger _minTimeMS = new AtomicInteger();
-    private AtomicInteger _maxTimeMS = new AtomicInteger();
-    private AtomicLong _totalTimeMS = new AtomicLong();
+    private static final long NO_MIN = Long.MAX_VALUE;
+    private final StripedCounter _successCount = new StripedCounter();
+    private final StripedCounter _faultCount = new StripedCounter();
+    private final StripedCounter _totalTimeMicros = new StripedCounter();
+    private final AtomicLong _minTimeMicros = new AtomicLong(NO_MIN);
+    private final AtomicLong _maxTimeMicros = new AtomicLong();
+    private final LatencyHistogram _processingTimes = new LatencyHistogram();
+    private final MessageRates _rates = new MessageRates(nanoTime());
     
     /**
      * Update metric data based on the specified exchange.
      * @param exchange an exchange with metrics info
      */
-    public synchronized void recordMetrics(Exchange exchange) {
+    public void recordMetrics(Exchange exchange) {
         if (exchange.getState().equals(ExchangeState.FAULT)) {
-            _faultCount.incrementAndGet();
+            _faultCount.increment();
         } else {
-            _successCount.incrementAndGet();
+            _successCount.increment();
         }
+        _rates.mark(nanoTime());
         
-        Property prop = exchange.getContext().getProperty(ExchangeCompletionEvent.EXCHANGE_DURATION);
-        if (prop != null) {
-            Long duration = (Long)prop.getValue();
-            _totalTimeMS.addAndGet(duration);
+        long duration = getDurationMicros(exchange);
+        if (duration >= 0) {
+            _totalTimeMicros.add(duration);
+            _processingTimes.record(duration);
             // check minTime
-            if (_minTimeMS.intValue() == 0 || duration < _minTimeMS.intValue()) {
-                _minTimeMS.set(duration.intValue());
+            long min = _minTimeMicros.get();
+            while (duration < min && !_minTimeMicros.compareAndSet(min, duration)) {
+                min = _minTimeMicros.get();
             }
             // check maxTime
-            if (_maxTimeMS.intValue() == 0 || duration > _maxTimeMS.intValue()) {
-                _maxTimeMS.set(duration.intValue());
+            long max = _maxTimeMicros.get();
+            while (duration > max && !_maxTimeMicros.compareAndSet(max, duration)) {
+                max = _maxTimeMicros.get();
             }
         }
     }
@@ -65,50 +74,97 @@ public class MessageMetricsSupport implements MessageMetrics {
     /**
      * Reset all message metrics.
      */
-    public synchronized void reset() {
-        _successCount.set(0);
-        _faultCount.set(0);
-        _minTimeMS.set(0);
-        _maxTimeMS.set(0);
-        _totalTimeMS.set(0);
+    public void reset() {
+        _successCount.reset();
+        _faultCount.reset();
+        _minTimeMicros.set(NO_MIN);
+        _maxTimeMicros.set(0);
+        _totalTimeMicros.reset();
+        _processingTimes.reset();
+        _rates.reset(nanoTime());
     }
 
     @Override
     public int getTotalCount() {
-        return _successCount.get() + _faultCount.get();
+        return getSuccessCount() + getFaultCount();
     }
 
     @Override
     public int getFaultCount() {
-        return _faultCount.get();
+        return (int) _faultCount.sum();
     }
 
     @Override
     public int getSuccessCount() {
-        return _successCount.get();
+        return (int) _successCount.sum();
     }
 
     @Override
     public long getTotalProcessingTime() {
-        return _totalTimeMS.get();
+        return TimeUnit.MICROSECONDS.toMillis(_totalTimeMicros.sum());
     }
 
     @Override
-    public synchronized double getAverageProcessingTime() {
-        if (getTotalCount() == 0) {
+    public double getAverageProcessingTime() {
+        int totalCount = getTotalCount();
+        if (totalCount == 0) {
             return 0.0;
         }
-        return (double)getTotalProcessingTime() / getTotalCount();
+        return toMillis(_totalTimeMicros.sum()) / totalCount;
     }
 
     @Override
     public int getMaxProcessingTime() {
-        return _maxTimeMS.get();
+        return (int) TimeUnit.MICROSECONDS.toMillis(_maxTimeMicros.get());
     }
 
     @Override
     public int getMinProcessingTime() {
-        return _minTimeMS.get();
+        long min = _minTimeMicros.get();
+        return min == NO_MIN ? 0 : (int) TimeUnit.MICROSECONDS.toMillis(min);
+    }
+
+    @Override
+    public double getMedianProcessingTime() {
+        return toMillis(_processingTimes.getValueAtPercentile(50));
+    }
+
+    @Override
+    public double get90thPercentileProcessingTime() {
+        return toMillis(_processingTimes.getValueAtPercentile(90));
+    }
+
+    @Override
+    public double get99thPercentileProcessingTime() {
+        return toMillis(_processingTimes.getValueAtPercentile(99));
+    }
+
+    @Override
+    public double get999thPercentileProcessingTime() {
+        return toMillis(_processingTimes.getValueAtPercentile(99.9));
+    }
+
+    @Override
+    public double getOneMinuteRate() {
+        return _rates.getOneMinuteRate(nanoTime());
+    }
+
+    @Override
+    public double getFiveMinuteRate() {
+        return _rates.getFiveMinuteRate(nanoTime());
+    }
+
+    @Override
+    public double getFifteenMinuteRate() {
+        return _rates.getFifteenMinuteRate(nanoTime());
+    }
+
+    /**
+     * The current time used for message rates.
+     * @return time in nanoseconds
+     */
+    long nanoTime() {
+        return System.nanoTime();
     }
     
     @Override
@@ -119,9 +175,35 @@ public class MessageMetricsSupport implements MessageMetrics {
                 + "Avg Time MS   : %s%n"
                 + "Min Time MS   : %s%n"
                 + "Max Time MS   : %s%n"
-                + "Total Time MS : %s%n", getSuccessCount(),
+                + "Total Time MS : %s%n"
+                + "P50 Time MS   : %s%n"
+                + "P90 Time MS   : %s%n"
+                + "P99 Time MS   : %s%n"
+                + "P99.9 Time MS : %s%n"
+                + "1m Rate /s    : %s%n"
+                + "5m Rate /s    : %s%n"
+                + "15m Rate /s   : %s%n", getSuccessCount(),
                 getFaultCount(), getTotalCount(), getAverageProcessingTime(),
                 getMinProcessingTime(), getMaxProcessingTime(),
-                getTotalProcessingTime());
+                getTotalProcessingTime(), getMedianProcessingTime(),
+                get90thPercentileProcessingTime(), get99thPercentileProcessingTime(),
+                get999thPercentileProcessingTime(), getOneMinuteRate(),
+                getFiveMinuteRate(), getFifteenMinuteRate());
+    }
+
+    private static long getDurationMicros(Exchange exchange) {
+        Property prop = exchange.getContext().getProperty(ExchangeCompletionEvent.EXCHANGE_DURATION_MICROS);
+        if (prop != null && prop.getValue() instanceof Number) {
+            return ((Number)prop.getValue()).longValue();
+        }
+        prop = exchange.getContext().getProperty(ExchangeCompletionEvent.EXCHANGE_DURATION);
+        if (prop != null && prop.getValue() instanceof Number) {
+            return TimeUnit.MILLISECONDS.toMicros(((Number)prop.getValue()).longValue());
+        }
+        return -1;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.admin.base;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One, five and fifteen minute exponentially weighted moving average message
+ * rates, as reported by UNIX load averages.  Messages are counted as they are
+ * marked and folded into the averages every {@link #TICK_INTERVAL} by
+ * whichever thread first notices the interval has passed, so marking never
+ * blocks.
+ */
+final class MessageRates {
+
+    /** Interval in nanoseconds at which the averages are updated. */
+    static final long TICK_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+
+    private final StripedCounter _uncounted = new StripedCounter();
+    private final AtomicLong _lastTick;
+    private final MovingAverage _oneMinute = new MovingAverage(1);
+    private final MovingAverage _fiveMinute = new MovingAverage(5);
+    private final MovingAverage _fifteenMinute = new MovingAverage(15);
+
+    /**
+     * Create a new MessageRates.
+     * @param now current time in nanoseconds
+     */
+    MessageRates(long now) {
+        _lastTick = new AtomicLong(now);
+    }
+
+    /**
+     * Counts a message.
+     * @param now current time in nanoseconds
+     */
+    void mark(long now) {
+        tickIfNecessary(now);
+        _uncounted.increment();
+    }
+
+    /**
+     * Returns the one minute moving average rate.
+     * @param now current time in nanoseconds
+     * @return messages per second
+     */
+    double getOneMinuteRate(long now) {
+        tickIfNecessary(now);
+        return _oneMinute.getRate();
+    }
+
+    /**
+     * Returns the five minute moving average rate.
+     * @param now current time in nanoseconds
+     * @return messages per second
+     */
+    double getFiveMinuteRate(long now) {
+        tickIfNecessary(now);
+        return _fiveMinute.getRate();
+    }
+
+    /**
+     * Returns the fifteen minute moving average rate.
+     * @param now current time in nanoseconds
+     * @return messages per second
+     */
+    double getFifteenMinuteRate(long now) {
+        tickIfNecessary(now);
+        return _fifteenMinute.getRate();
+    }
+
+    /**
+     * Discards all rates.
+     * @param now current time in nanoseconds
+     */
+    void reset(long now) {
+        _lastTick.set(now);
+        _uncounted.reset();
+        _oneMinute.reset();
+        _fiveMinute.reset();
+        _fifteenMinute.reset();
+    }
+
+    private void tickIfNecessary(long now) {
+        long lastTick = _lastTick.get();
+        long elapsed = now - lastTick;
+        if (elapsed < TICK_INTERVAL) {
+            return;
+        }
+        long ticks = elapsed / TICK_INTERVAL;
+        // only one thread gets to fold in the elapsed intervals
+        if (_lastTick.compareAndSet(lastTick, lastTick + ticks * TICK_INTERVAL)) {
+            long count = _uncounted.sum();
+            _uncounted.add(-count);
+            for (long i = 0; i < ticks; i++) {
+                _oneMinute.tick(count);
+                _fiveMinute.tick(count);
+                _fifteenMinute.tick(count);
+                // pending messages go to the first elapsed interval, the rest were idle
+                count = 0;
+            }
+        }
+    }
+
+    private static final class MovingAverage {
+
+        private final double _alpha;
+        private volatile boolean _initialized;
+        private volatile double _rate;
+
+        MovingAverage(int minutes) {
+            _alpha = 1 - Math.exp(-(double) TICK_INTERVAL / TimeUnit.MINUTES.toNanos(minutes));
+        }
+
+        void tick(long count) {
+            double instantRate = count / ((double) TICK_INTERVAL / TimeUnit.SECONDS.toNanos(1));
+            if (_initialized) {
+                _rate += _alpha * (instantRate - _rate);
+            } else {
+                _rate = instantRate;
+                _initialized = true;
+            }
+        }
+
+        double getRate() {
+            return _rate;
+        }
+
+        void reset() {
+            _initialized = false;
+            _rate = 0;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.admin.base;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter spread over several cells, so that threads updating it
+ * concurrently mostly touch different cache lines instead of all contending
+ * on a single value.  The value is the sum of all cells; reading it while it
+ * is being updated returns a value the counter had at some point during the
+ * read.
+ */
+final class StripedCounter {
+
+    /** Spacing between cells, in longs, so that each sits on its own cache line. */
+    private static final int PADDING = 8;
+    private static final int STRIPES = stripes();
+
+    private final AtomicLongArray _cells = new AtomicLongArray(STRIPES * PADDING);
+
+    /**
+     * Adds to the counter.
+     * @param delta value to add
+     */
+    void add(long delta) {
+        _cells.addAndGet(cell(), delta);
+    }
+
+    /**
+     * Increments the counter.
+     */
+    void increment() {
+        add(1);
+    }
+
+    /**
+     * Returns the current value.
+     * @return sum of all cells
+     */
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += _cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * Resets the counter to zero.
+     */
+    void reset() {
+        for (int i = 0; i < STRIPES; i++) {
+            _cells.set(i * PADDING, 0);
+        }
+    }
+
+    private static int cell() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return ((hash >>> 16) & (STRIPES - 1)) * PADDING;
+    }
+
+    private static int stripes() {
+        int stripes = 1;
+        int processors = Runtime.getRuntime().availableProcessors();
+        while (stripes < processors && stripes < 64) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+}
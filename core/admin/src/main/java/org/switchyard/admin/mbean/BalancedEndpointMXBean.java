@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.admin.mbean;
+
+/**
+ * BalancedEndpointMXBean
+ * <p/>
+ * Invocation details of one of the remote endpoints a binding balances
+ * invocations over.
+ */
+public interface BalancedEndpointMXBean {
+
+    /**
+     * @return the address of the endpoint.
+     */
+    String getEndpoint();
+
+    /**
+     * @return the number of invocations of the endpoint which have not
+     *         completed yet.
+     */
+    int getInFlightCount();
+
+    /**
+     * @return the number of invocations sent to the endpoint.
+     */
+    long getRequestCount();
+
+    /**
+     * @return the number of invocations of the endpoint which failed.
+     */
+    long getFailureCount();
+
+    /**
+     * @return the moving average of the time the endpoint takes to reply, in
+     *         milliseconds.
+     */
+    double getLatency();
+
+    /**
+     * @return true if the endpoint has been ejected for failing and is not
+     *         sent invocations for now.
+     */
+    boolean isEjected();
+}
@@ -13,6 +13,8 @@
  */
 package org.switchyard.admin.mbean;
 
+import java.util.List;
+
 /**
  * Management interface for a gateway binding defined on a service or reference.
  */
@@ -37,4 +39,34 @@ public interface BindingMXBean extends LifecycleMXBean, MessageMetricsMXBean {
      */
     public String getConfiguration();
 
+    /**
+     * The number of pooled connections currently in use.
+     * @return leased connections, 0 if the binding does not pool connections.
+     */
+    public int getLeasedConnections();
+
+    /**
+     * The number of idle pooled connections.
+     * @return available connections, 0 if the binding does not pool connections.
+     */
+    public int getAvailableConnections();
+
+    /**
+     * The number of requests waiting for a pooled connection.
+     * @return pending requests, 0 if the binding does not pool connections.
+     */
+    public int getPendingConnections();
+
+    /**
+     * The maximum size of the connection pool.
+     * @return maximum connections, 0 if the binding does not pool connections.
+     */
+    public int getMaxConnections();
+
+    /**
+     * The remote endpoints the binding balances invocations over.
+     * @return balanced endpoints, empty if the binding does not balance invocations.
+     */
+    public List<BalancedEndpointMXBean> getBalancedEndpoints();
+
 }
@@ -55,4 +55,10 @@ public interface ServiceMXBean {
      * @return throttling details associated with this service.
      */
     ThrottlingMXBean getThrottling();
+
+    /**
+     * @return addressing details of the providers currently registered for
+     *         this service.
+     */
+    List<ServiceProviderMXBean> getProviders();
 }
@@ -36,4 +36,40 @@ public interface TransformerMXBean {
      */
     public String getType();
 
+    /**
+     * Maximum number of pooled transformation engines in use at once.
+     * @return max pool size, 0 if the transformer does not pool engines
+     */
+    public int getPoolMaxSize();
+
+    /**
+     * Number of pooled transformation engines currently in use.
+     * @return active count
+     */
+    public int getPoolActiveCount();
+
+    /**
+     * Percentage of the pool currently in use.
+     * @return pool utilization
+     */
+    public double getPoolUtilization();
+
+    /**
+     * Number of transformations which had to wait for a pooled engine.
+     * @return wait count
+     */
+    public long getPoolWaitCount();
+
+    /**
+     * Average time a waiting transformation waited for a pooled engine in TimeUnit.MILLISECONDS.
+     * @return average wait time
+     */
+    public double getPoolAverageWaitTime();
+
+    /**
+     * Number of transformations which gave up waiting for a pooled engine.
+     * @return timeout count
+     */
+    public long getPoolTimeoutCount();
+
 }
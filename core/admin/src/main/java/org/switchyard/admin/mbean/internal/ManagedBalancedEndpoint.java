@@ -0,0 +1,67 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.admin.mbean.internal;
+
+import org.switchyard.admin.BalancedEndpoint;
+import org.switchyard.admin.mbean.BalancedEndpointMXBean;
+
+/**
+ * ManagedBalancedEndpoint
+ * <p/>
+ * Implementation for {@link BalancedEndpointMXBean}.
+ */
+public class ManagedBalancedEndpoint implements BalancedEndpointMXBean {
+
+    private final BalancedEndpoint _delegate;
+
+    /**
+     * Create a new ManagedBalancedEndpoint.
+     * 
+     * @param delegate the delegate admin object.
+     */
+    public ManagedBalancedEndpoint(BalancedEndpoint delegate) {
+        _delegate = delegate;
+    }
+
+    @Override
+    public String getEndpoint() {
+        return _delegate.getEndpoint();
+    }
+
+    @Override
+    public int getInFlightCount() {
+        return _delegate.getInFlightCount();
+    }
+
+    @Override
+    public long getRequestCount() {
+        return _delegate.getRequestCount();
+    }
+
+    @Override
+    public long getFailureCount() {
+        return _delegate.getFailureCount();
+    }
+
+    @Override
+    public double getLatency() {
+        return _delegate.getLatency();
+    }
+
+    @Override
+    public boolean isEjected() {
+        return _delegate.isEjected();
+    }
+
+}
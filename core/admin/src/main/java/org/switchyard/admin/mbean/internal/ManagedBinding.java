@@ -13,7 +13,12 @@
  */
 package org.switchyard.admin.mbean.internal;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.switchyard.admin.BalancedEndpoint;
 import org.switchyard.admin.Binding;
+import org.switchyard.admin.mbean.BalancedEndpointMXBean;
 import org.switchyard.admin.mbean.BindingMXBean;
 
 /**
@@ -46,6 +51,35 @@ public class ManagedBinding implements BindingMXBean {
         return _binding.getName();
     }
 
+    @Override
+    public int getLeasedConnections() {
+        return _binding.getLeasedConnections();
+    }
+
+    @Override
+    public int getAvailableConnections() {
+        return _binding.getAvailableConnections();
+    }
+
+    @Override
+    public int getPendingConnections() {
+        return _binding.getPendingConnections();
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return _binding.getMaxConnections();
+    }
+
+    @Override
+    public List<BalancedEndpointMXBean> getBalancedEndpoints() {
+        List<BalancedEndpointMXBean> endpoints = new ArrayList<BalancedEndpointMXBean>();
+        for (BalancedEndpoint endpoint : _binding.getBalancedEndpoints()) {
+            endpoints.add(new ManagedBalancedEndpoint(endpoint));
+        }
+        return endpoints;
+    }
+
     @Override
     public void start() {
         _binding.start();
@@ -96,6 +130,41 @@ public class ManagedBinding implements BindingMXBean {
         return _binding.getMessageMetrics().getMaxProcessingTime();
     }
 
+    @Override
+    public double getMedianProcessingTime() {
+        return _binding.getMessageMetrics().getMedianProcessingTime();
+    }
+
+    @Override
+    public double get90thPercentileProcessingTime() {
+        return _binding.getMessageMetrics().get90thPercentileProcessingTime();
+    }
+
+    @Override
+    public double get99thPercentileProcessingTime() {
+        return _binding.getMessageMetrics().get99thPercentileProcessingTime();
+    }
+
+    @Override
+    public double get999thPercentileProcessingTime() {
+        return _binding.getMessageMetrics().get999thPercentileProcessingTime();
+    }
+
+    @Override
+    public double getOneMinuteRate() {
+        return _binding.getMessageMetrics().getOneMinuteRate();
+    }
+
+    @Override
+    public double getFiveMinuteRate() {
+        return _binding.getMessageMetrics().getFiveMinuteRate();
+    }
+
+    @Override
+    public double getFifteenMinuteRate() {
+        return _binding.getMessageMetrics().getFifteenMinuteRate();
+    }
+
     @Override
     public void reset() {
         _binding.resetMessageMetrics();
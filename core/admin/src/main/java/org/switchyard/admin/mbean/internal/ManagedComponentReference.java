@@ -76,6 +76,41 @@ public class ManagedComponentReference implements ComponentReferenceMXBean {
         return _reference.getMessageMetrics().getMaxProcessingTime();
     }
 
+    @Override
+    public double getMedianProcessingTime() {
+        return _reference.getMessageMetrics().getMedianProcessingTime();
+    }
+
+    @Override
+    public double get90thPercentileProcessingTime() {
+        return _reference.getMessageMetrics().get90thPercentileProcessingTime();
+    }
+
+    @Override
+    public double get99thPercentileProcessingTime() {
+        return _reference.getMessageMetrics().get99thPercentileProcessingTime();
+    }
+
+    @Override
+    public double get999thPercentileProcessingTime() {
+        return _reference.getMessageMetrics().get999thPercentileProcessingTime();
+    }
+
+    @Override
+    public double getOneMinuteRate() {
+        return _reference.getMessageMetrics().getOneMinuteRate();
+    }
+
+    @Override
+    public double getFiveMinuteRate() {
+        return _reference.getMessageMetrics().getFiveMinuteRate();
+    }
+
+    @Override
+    public double getFifteenMinuteRate() {
+        return _reference.getMessageMetrics().getFifteenMinuteRate();
+    }
+
     @Override
     public void reset() {
         _reference.resetMessageMetrics();
@@ -118,6 +118,41 @@ public class ManagedComponentService implements ComponentServiceMXBean {
         return _service.getMessageMetrics().getMaxProcessingTime();
     }
 
+    @Override
+    public double getMedianProcessingTime() {
+        return _service.getMessageMetrics().getMedianProcessingTime();
+    }
+
+    @Override
+    public double get90thPercentileProcessingTime() {
+        return _service.getMessageMetrics().get90thPercentileProcessingTime();
+    }
+
+    @Override
+    public double get99thPercentileProcessingTime() {
+        return _service.getMessageMetrics().get99thPercentileProcessingTime();
+    }
+
+    @Override
+    public double get999thPercentileProcessingTime() {
+        return _service.getMessageMetrics().get999thPercentileProcessingTime();
+    }
+
+    @Override
+    public double getOneMinuteRate() {
+        return _service.getMessageMetrics().getOneMinuteRate();
+    }
+
+    @Override
+    public double getFiveMinuteRate() {
+        return _service.getMessageMetrics().getFiveMinuteRate();
+    }
+
+    @Override
+    public double getFifteenMinuteRate() {
+        return _service.getMessageMetrics().getFifteenMinuteRate();
+    }
+
     @Override
     public void reset() {
         _service.resetMessageMetrics();
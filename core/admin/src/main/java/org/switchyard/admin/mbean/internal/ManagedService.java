@@ -17,9 +17,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.switchyard.admin.Service;
+import org.switchyard.admin.ServiceProvider;
 import org.switchyard.admin.mbean.ApplicationMXBean;
 import org.switchyard.admin.mbean.BindingMXBean;
 import org.switchyard.admin.mbean.ServiceMXBean;
+import org.switchyard.admin.mbean.ServiceProviderMXBean;
 import org.switchyard.admin.mbean.ThrottlingMXBean;
 
 /**
@@ -81,4 +83,13 @@ public class ManagedService implements ServiceMXBean {
         return _throttling;
     }
 
+    @Override
+    public List<ServiceProviderMXBean> getProviders() {
+        List<ServiceProviderMXBean> providers = new ArrayList<ServiceProviderMXBean>();
+        for (ServiceProvider provider : _service.getProviders()) {
+            providers.add(new ManagedServiceProvider(provider));
+        }
+        return providers;
+    }
+
 }
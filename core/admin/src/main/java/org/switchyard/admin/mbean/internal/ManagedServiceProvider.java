@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.admin.mbean.internal;
+
+import org.switchyard.admin.ServiceProvider;
+import org.switchyard.admin.mbean.ServiceProviderMXBean;
+
+/**
+ * ManagedServiceProvider
+ * <p/>
+ * Implementation for {@link ServiceProviderMXBean}.
+ */
+public class ManagedServiceProvider implements ServiceProviderMXBean {
+
+    private final ServiceProvider _delegate;
+
+    /**
+     * Create a new ManagedServiceProvider.
+     * 
+     * @param delegate the delegate admin object.
+     */
+    public ManagedServiceProvider(ServiceProvider delegate) {
+        _delegate = delegate;
+    }
+
+    @Override
+    public String getImplementation() {
+        return _delegate.getImplementation();
+    }
+
+    @Override
+    public int getInFlightCount() {
+        return _delegate.getInFlightCount();
+    }
+
+    @Override
+    public long getSelectionCount() {
+        return _delegate.getSelectionCount();
+    }
+
+    @Override
+    public int getWeight() {
+        return _delegate.getWeight();
+    }
+
+    @Override
+    public void setWeight(int weight) {
+        _delegate.setWeight(weight);
+    }
+
+}
@@ -46,4 +46,34 @@ public class ManagedTransformer implements TransformerMXBean {
         return _transformer.getType();
     }
 
+    @Override
+    public int getPoolMaxSize() {
+        return _transformer.getPoolMaxSize();
+    }
+
+    @Override
+    public int getPoolActiveCount() {
+        return _transformer.getPoolActiveCount();
+    }
+
+    @Override
+    public double getPoolUtilization() {
+        return _transformer.getPoolUtilization();
+    }
+
+    @Override
+    public long getPoolWaitCount() {
+        return _transformer.getPoolWaitCount();
+    }
+
+    @Override
+    public double getPoolAverageWaitTime() {
+        return _transformer.getPoolAverageWaitTime();
+    }
+
+    @Override
+    public long getPoolTimeoutCount() {
+        return _transformer.getPoolTimeoutCount();
+    }
+
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.admin.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.switchyard.Exchange;
+import org.switchyard.ExchangeState;
+import org.switchyard.Property;
+import org.switchyard.runtime.event.ExchangeCompletionEvent;
+
+/**
+ * Tests for MessageMetricsSupport and the histogram and rates behind it.
+ */
+public class MessageMetricsSupportTest {
+
+    @Test
+    public void histogramBucketsAreContiguous() {
+        for (long value = 0; value < 100000; value++) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(value <= LatencyHistogram.highestValue(bucket));
+            if (bucket > 0) {
+                assertTrue(value > LatencyHistogram.highestValue(bucket - 1));
+            }
+        }
+    }
+
+    @Test
+    public void histogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros);
+        }
+        assertWithin(500, histogram.getValueAtPercentile(50));
+        assertWithin(900, histogram.getValueAtPercentile(90));
+        assertWithin(990, histogram.getValueAtPercentile(99));
+        assertWithin(999, histogram.getValueAtPercentile(99.9));
+        histogram.reset();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void recordMicroseconds() {
+        MessageMetricsSupport metrics = new MessageMetricsSupport();
+        metrics.recordMetrics(exchange(ExchangeState.OK, 1500L));
+        metrics.recordMetrics(exchange(ExchangeState.FAULT, 2500L));
+
+        assertEquals(1, metrics.getSuccessCount());
+        assertEquals(1, metrics.getFaultCount());
+        assertEquals(2, metrics.getTotalCount());
+        assertEquals(2.0, metrics.getAverageProcessingTime(), 0);
+        assertEquals(1, metrics.getMinProcessingTime());
+        assertEquals(2, metrics.getMaxProcessingTime());
+        assertEquals(4, metrics.getTotalProcessingTime());
+        assertEquals(1.5, metrics.getMedianProcessingTime(), 0.05);
+        assertEquals(2.5, metrics.get999thPercentileProcessingTime(), 0.1);
+
+        metrics.reset();
+        assertEquals(0, metrics.getTotalCount());
+        assertEquals(0, metrics.getMinProcessingTime());
+        assertEquals(0, metrics.getMaxProcessingTime());
+        assertEquals(0.0, metrics.getMedianProcessingTime(), 0);
+    }
+
+    @Test
+    public void recordConcurrently() throws Exception {
+        final MessageMetricsSupport metrics = new MessageMetricsSupport();
+        final Exchange exchange = exchange(ExchangeState.OK, 1000L);
+        final int threads = 8;
+        final int messages = 10000;
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread() {
+                public void run() {
+                    for (int j = 0; j < messages; j++) {
+                        metrics.recordMetrics(exchange);
+                    }
+                    done.countDown();
+                }
+            }.start();
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertEquals(threads * messages, metrics.getSuccessCount());
+        assertEquals(threads * messages, metrics.getTotalProcessingTime());
+    }
+
+    @Test
+    public void movingRates() {
+        long now = 0;
+        MessageRates rates = new MessageRates(now);
+        for (int i = 0; i < 50; i++) {
+            rates.mark(now);
+        }
+        assertEquals(0.0, rates.getOneMinuteRate(now), 0);
+
+        now += MessageRates.TICK_INTERVAL;
+        assertEquals(10.0, rates.getOneMinuteRate(now), 0.001);
+        assertEquals(10.0, rates.getFiveMinuteRate(now), 0.001);
+        assertEquals(10.0, rates.getFifteenMinuteRate(now), 0.001);
+
+        // a quiet minute decays the one minute rate the most
+        now += TimeUnit.MINUTES.toNanos(1);
+        assertEquals(10.0 / Math.E, rates.getOneMinuteRate(now), 0.01);
+        assertTrue(rates.getFiveMinuteRate(now) > rates.getOneMinuteRate(now));
+        assertTrue(rates.getFifteenMinuteRate(now) > rates.getFiveMinuteRate(now));
+
+        rates.reset(now);
+        assertEquals(0.0, rates.getFifteenMinuteRate(now + MessageRates.TICK_INTERVAL), 0);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual + " not within 4% of " + expected,
+                actual >= expected && actual <= expected * 1.04);
+    }
+
+    private static Exchange exchange(ExchangeState state, long durationMicros) {
+        Exchange exchange = mock(Exchange.class, Mockito.RETURNS_DEEP_STUBS);
+        when(exchange.getState()).thenReturn(state);
+        Property property = mock(Property.class);
+        when(property.getValue()).thenReturn(durationMicros);
+        when(exchange.getContext().getProperty(ExchangeCompletionEvent.EXCHANGE_DURATION_MICROS)).thenReturn(property);
+        return exchange;
+    }
+}
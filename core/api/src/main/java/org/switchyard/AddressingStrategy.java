@@ -0,0 +1,33 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard;
+
+import java.util.List;
+
+/**
+ * Chooses which of the providers registered under a service name in a
+ * {@link ServiceDomain} an exchange is addressed to.
+ */
+public interface AddressingStrategy {
+
+    /**
+     * Selects the provider for an exchange.  This is only called when more than
+     * one provider is registered for the consumer's target service, and
+     * implementations must be safe for concurrent use.
+     * @param exchange the exchange being addressed, in the IN phase
+     * @param providers the registered providers, an unmodifiable list with at least two entries
+     * @return the selected provider, one of <code>providers</code>
+     */
+    Service selectProvider(Exchange exchange, List<Service> providers);
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard;
+
+/**
+ * Generates the values of the {@link Exchange#MESSAGE_ID} context property assigned
+ * to every message sent on an exchange in a {@link ServiceDomain}.
+ */
+public interface MessageIdGenerator {
+
+    /**
+     * Returns a new message id. Ids must be unique across the domain and
+     * implementations must be safe for concurrent use.
+     * @return the message id
+     */
+    String nextId();
+}
@@ -179,6 +179,18 @@ public interface ServiceDomain {
      * @return the ServiceSecurity
      */
     ServiceSecurity getServiceSecurity(String name);
+
+    /**
+     * Returns the generator used to assign message ids to messages sent in this domain.
+     * @return message id generator
+     */
+    MessageIdGenerator getMessageIdGenerator();
+
+    /**
+     * Returns the strategy used to choose between providers registered under the same service name.
+     * @return addressing strategy
+     */
+    AddressingStrategy getAddressingStrategy();
     
     /**
      * Sets the specified property on this domain.
@@ -16,6 +16,7 @@ package org.switchyard.transform;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import javax.xml.namespace.QName;
@@ -94,6 +95,17 @@ public final class TransformSequence implements Serializable {
         return this;
     }
 
+    /**
+     * The types still to be passed through, starting with the current type.
+     * Applying the sequence consumes it, so resolved sequences are cached as
+     * their types and a fresh sequence is built for each message.
+     *
+     * @return The sequence types.
+     */
+    public List<QName> getTypes() {
+        return Collections.unmodifiableList(new ArrayList<QName>(_sequence));
+    }
+
     /**
      * Apply this {@link TransformSequence} to the supplied {@link Message} instance.
      * @param message Message instance.
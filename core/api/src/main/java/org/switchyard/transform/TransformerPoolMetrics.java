@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.switchyard.transform;
+
+/**
+ * Implemented by {@link Transformer}s which draw on a bounded pool of
+ * underlying transformation engines, so that pool usage can be monitored.
+ */
+public interface TransformerPoolMetrics {
+
+    /**
+     * The maximum number of instances the pool hands out at once.
+     * @return max pool size, or 0 if pooling is disabled
+     */
+    int getPoolMaxSize();
+
+    /**
+     * The number of instances currently in use.
+     * @return active count
+     */
+    int getPoolActiveCount();
+
+    /**
+     * The number of requests which had to wait for an instance.
+     * @return wait count
+     */
+    long getPoolWaitCount();
+
+    /**
+     * Total time spent waiting for an instance in TimeUnit.MILLISECONDS.
+     * @return total wait time
+     */
+    long getPoolTotalWaitTime();
+
+    /**
+     * The number of requests which gave up waiting for an instance.
+     * @return timeout count
+     */
+    long getPoolTimeoutCount();
+}
@@ -2,6 +2,7 @@ package org.switchyard.bus.camel;
 
 import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.INFO;
+import static org.jboss.logging.Logger.Level.WARN;
 
 import org.jboss.logging.Logger;
 
@@ -67,4 +68,13 @@ public interface BusLogger {
     @Message(id = 11004, value="Error listener %s failed to handle exception %s")
     void failedToHandlException(String listenerKey, Class exceptionClass);
 
+    /**
+     * failedToRemoveRoute method definition.
+     * @param endpoint endpoint
+     * @param t t
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 11005, value="Failed to remove route %s")
+    void failedToRemoveRoute(String endpoint, @Cause Throwable t);
+
 }
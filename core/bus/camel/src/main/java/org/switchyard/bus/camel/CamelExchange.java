@@ -26,6 +26,7 @@ import org.switchyard.ExchangePhase;
 import org.switchyard.ExchangeSecurity;
 import org.switchyard.ExchangeState;
 import org.switchyard.Message;
+import org.switchyard.MessageIdGenerator;
 import org.switchyard.Scope;
 import org.switchyard.Service;
 import org.switchyard.ServiceDomain;
@@ -157,6 +158,7 @@ public class CamelExchange implements Exchange {
     @Override
     public void send(Message message) {
         org.apache.camel.Message camelMsg = extract(message);
+        camelMsg.setMessageId(nextMessageId());
 
         if (getPhase() == null) {
             _exchange.setProperty(PHASE, ExchangePhase.IN);
@@ -190,6 +192,7 @@ public class CamelExchange implements Exchange {
     @Override
     public void sendFault(Message message) {
         org.apache.camel.Message extract = extract(message);
+        extract.setMessageId(nextMessageId());
 
         _exchange.setProperty(PHASE, ExchangePhase.OUT);
         String id = getContext().getPropertyValue(MESSAGE_ID);
@@ -206,6 +209,13 @@ public class CamelExchange implements Exchange {
         sendInternal();
     }
 
+    private String nextMessageId() {
+        // use the domain's generator rather than the one of the camel context
+        ServiceDomain domain = ((SwitchYardCamelContext) _exchange.getContext()).getServiceDomain();
+        MessageIdGenerator generator = domain != null ? domain.getMessageIdGenerator() : null;
+        return generator != null ? generator.nextId() : _exchange.getContext().getUuidGenerator().generateUuid();
+    }
+
     private void initInContentType() {
         QName exchangeInputType = getContract().getConsumerOperation().getInputType();
 
@@ -242,6 +252,8 @@ public class CamelExchange implements Exchange {
             long duration = System.nanoTime() - _exchange.getProperty(ExchangeInitiatedEvent.EXCHANGE_INITIATED_TIME, 0, Long.class);
             getContext().setProperty(ExchangeCompletionEvent.EXCHANGE_DURATION, TimeUnit.NANOSECONDS.toMillis(duration))
                 .addLabels(BehaviorLabel.TRANSIENT.label());
+            getContext().setProperty(ExchangeCompletionEvent.EXCHANGE_DURATION_MICROS, TimeUnit.NANOSECONDS.toMicros(duration))
+                .addLabels(BehaviorLabel.TRANSIENT.label());
             domain.getEventPublisher().publish(new ExchangeCompletionEvent(this));
         }
     }
@@ -14,7 +14,16 @@
 
 package org.switchyard.bus.camel;
 
+import java.util.ArrayList;
+import java.util.EventObject;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.xml.namespace.QName;
 
@@ -24,8 +33,12 @@ import org.apache.camel.model.ModelHelper;
 import org.jboss.logging.Logger;
 import org.switchyard.ServiceDomain;
 import org.switchyard.ServiceReference;
+import org.switchyard.SwitchYardException;
 import org.switchyard.bus.camel.processors.Processors;
 import org.switchyard.common.camel.SwitchYardCamelContext;
+import org.switchyard.common.lang.NamedThreadFactory;
+import org.switchyard.event.EventObserver;
+import org.switchyard.event.ValidatorAddedEvent;
 import org.switchyard.spi.Dispatcher;
 import org.switchyard.spi.ExchangeBus;
 
@@ -35,6 +48,11 @@ import org.switchyard.spi.ExchangeBus;
  */
 public class CamelExchangeBus implements ExchangeBus {
 
+    /**
+     * Seconds to wait for exchanges in flight on a replaced route.
+     */
+    private static final long ROUTE_DRAIN_TIMEOUT = 10;
+
     private Logger _logger = Logger.getLogger(CamelExchangeBus.class);
 
     private HashMap<QName, ExchangeDispatcher> _dispatchers = 
@@ -42,6 +60,15 @@ public class CamelExchangeBus implements ExchangeBus {
 
     private SwitchYardCamelContext _camelContext;
 
+    private ServiceDomain _domain;
+
+    private int _routeVersion;
+
+    private ExecutorService _routeExecutor;
+
+    private final Map<ExchangeDispatcher, Future<?>> _rebuilds =
+        new HashMap<ExchangeDispatcher, Future<?>>();
+
     /**
      * Create a new Camel exchange bus provider.
      * @param context the CamelContext instance used by this provider
@@ -61,6 +88,16 @@ public class CamelExchangeBus implements ExchangeBus {
             registry.put(processor.name(), processor.create(domain));
         }
 
+        // routes leave out the validation steps while no validator is registered; they are
+        // kept once validators are removed, as that only happens when undeploying
+        _domain = domain;
+        domain.addEventObserver(new EventObserver() {
+            @Override
+            public void notify(EventObject event) {
+                rebuildRoutes();
+            }
+        }, ValidatorAddedEvent.class);
+
         // CAMEL-7728 introduces an issue on finding BeanManager due to the fact that default
         // applicationContextClassLoader in the CamelContext is not a bundle deployment class loader.
         // We need to ensure the applicationContextClassLoader is the bundle deployment class loader
@@ -87,6 +124,10 @@ public class CamelExchangeBus implements ExchangeBus {
     public synchronized void stop() {
         try {
             _dispatchers.clear();
+            if (_routeExecutor != null) {
+                _routeExecutor.shutdownNow();
+                _routeExecutor = null;
+            }
             _camelContext.stop();
         } catch (Exception ex) {
             throw BusMessages.MESSAGES.failedToStopBus(ex);
@@ -105,11 +146,19 @@ public class CamelExchangeBus implements ExchangeBus {
         }
 
         String endpoint = "direct:" + reference.getName();
-        RouteBuilder rb = new CamelExchangeBusRouteBuilder(endpoint, reference);
+        DispatchPipeline pipeline = DispatchPipeline.create(_camelContext, _domain, reference);
+        RouteBuilder rb = new CamelExchangeBusRouteBuilder(endpoint, pipeline);
 
         try {
             // TODO - remove this logic once the test framework is able 
             // to hot-replace a service endpoint.
+            ExchangeDispatcher previous = _dispatchers.get(reference.getName());
+            if (previous != null && !previous.getEndpointUri().equals(endpoint)
+                    && _camelContext.getRoute(previous.getEndpointUri()) != null) {
+                // the previous dispatcher had its route rebuilt
+                _camelContext.stopRoute(previous.getEndpointUri());
+                _camelContext.removeRoute(previous.getEndpointUri());
+            }
             if (_camelContext.getRoute(endpoint) != null) {
                 _camelContext.removeRoute(endpoint);
                 if (_logger.isInfoEnabled()) {
@@ -126,10 +175,118 @@ public class CamelExchangeBus implements ExchangeBus {
             throw BusMessages.MESSAGES.failedToCreateRoute(reference.getName(), ex);
         }
 
-        ExchangeDispatcher dispatcher = new ExchangeDispatcher(_camelContext, reference);
-        _dispatchers.put(reference.getName(), dispatcher);
+        ExchangeDispatcher dispatcher = new ExchangeDispatcher(_camelContext, reference, this, pipeline);
+        synchronized (this) {
+            _dispatchers.put(reference.getName(), dispatcher);
+        }
         return dispatcher;
     }
 
+    /**
+     * Rebuilds the routes whose pipeline no longer matches their service reference.
+     */
+    void rebuildRoutes() {
+        List<ExchangeDispatcher> dispatchers;
+        synchronized (this) {
+            dispatchers = new ArrayList<ExchangeDispatcher>(_dispatchers.values());
+        }
+        for (ExchangeDispatcher dispatcher : dispatchers) {
+            rebuildRoute(dispatcher);
+        }
+    }
+
+    /**
+     * Rebuilds the route of a dispatcher on a bus thread, for exchanges being dispatched.
+     * Concurrent callers share a single rebuild and return once the new route has been started,
+     * without waiting for the exchanges in flight on the old route.
+     * @param dispatcher dispatcher to check
+     */
+    void rebuildRouteAndWait(final ExchangeDispatcher dispatcher) {
+        Future<?> rebuild;
+        synchronized (_rebuilds) {
+            rebuild = _rebuilds.get(dispatcher);
+            if (rebuild == null) {
+                rebuild = getRouteExecutor().submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            rebuildRoute(dispatcher);
+                        } finally {
+                            synchronized (_rebuilds) {
+                                _rebuilds.remove(dispatcher);
+                            }
+                        }
+                    }
+                });
+                _rebuilds.put(dispatcher, rebuild);
+            }
+        }
+        try {
+            rebuild.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ee.getCause();
+            }
+            throw new SwitchYardException(ee.getCause());
+        }
+    }
+
+    /**
+     * Rebuilds the route of a dispatcher if its pipeline no longer matches the service reference.
+     * The new route is started on a new endpoint before the dispatcher switches over to it, so
+     * exchanges are never sent to a missing route; the old route is drained and removed on a
+     * bus thread.
+     * @param dispatcher dispatcher to check
+     */
+    synchronized void rebuildRoute(ExchangeDispatcher dispatcher) {
+        ServiceReference reference = dispatcher.getServiceReference();
+        DispatchPipeline pipeline = DispatchPipeline.create(_camelContext, _domain, reference);
+        if (pipeline.equals(dispatcher.getPipeline())) {
+            return;
+        }
+
+        String previous = dispatcher.getEndpointUri();
+        String endpoint = "direct:" + reference.getName() + "-" + (++_routeVersion);
+        if (_logger.isDebugEnabled()) {
+            _logger.debug("Rebuilding route " + previous + " as " + endpoint + " with " + pipeline);
+        }
+        try {
+            _camelContext.addRoutes(new CamelExchangeBusRouteBuilder(endpoint, pipeline));
+            dispatcher.setRoute(endpoint, pipeline);
+        } catch (Exception ex) {
+            throw BusMessages.MESSAGES.failedToCreateRoute(reference.getName(), ex);
+        }
+        removeRoute(previous);
+    }
+
+    private void removeRoute(final String endpoint) {
+        getRouteExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    // exchanges still in flight after the drain timeout are forced to stop,
+                    // so the route is always removed
+                    _camelContext.stopRoute(endpoint, ROUTE_DRAIN_TIMEOUT, TimeUnit.SECONDS);
+                    _camelContext.removeRoute(endpoint);
+                    if (_logger.isInfoEnabled()) {
+                        BusLogger.ROOT_LOGGER.removeRoute(endpoint);
+                    }
+                } catch (Exception ex) {
+                    BusLogger.ROOT_LOGGER.failedToRemoveRoute(endpoint, ex);
+                }
+            }
+        });
+    }
+
+    private synchronized ExecutorService getRouteExecutor() {
+        if (_routeExecutor == null) {
+            // rebuilds must not queue up behind routes being drained
+            _routeExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("SwitchYard bus route"));
+        }
+        return _routeExecutor;
+    }
+
 }
 
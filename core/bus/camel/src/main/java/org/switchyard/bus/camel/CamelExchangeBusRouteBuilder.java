@@ -36,6 +36,7 @@ import org.apache.camel.builder.ErrorHandlerBuilder;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.model.ExpressionNode;
 import org.apache.camel.model.FilterDefinition;
+import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.model.TryDefinition;
 import org.apache.camel.spi.InterceptStrategy;
@@ -77,7 +78,7 @@ public class CamelExchangeBusRouteBuilder extends RouteBuilder {
     };
 
     private String _endpoint;
-    private ServiceReference _reference;
+    private DispatchPipeline _pipeline;
 
     /**
      * Dedicated route builder which dynamically creates SwitchYard mediation
@@ -87,8 +88,19 @@ public class CamelExchangeBusRouteBuilder extends RouteBuilder {
      * @param endpoint Endpoint address.
      */
     public CamelExchangeBusRouteBuilder(String endpoint, ServiceReference reference) {
+        this(endpoint, DispatchPipeline.full(reference));
+    }
+
+    /**
+     * Dedicated route builder which creates SwitchYard mediation from given endpoint,
+     * leaving out the steps which are not part of the pipeline.
+     * 
+     * @param endpoint Endpoint address.
+     * @param pipeline Optional steps to include.
+     */
+    public CamelExchangeBusRouteBuilder(String endpoint, DispatchPipeline pipeline) {
         _endpoint = endpoint;
-        _reference = reference;
+        _pipeline = pipeline;
     }
 
     @Override
@@ -131,17 +143,18 @@ public class CamelExchangeBusRouteBuilder extends RouteBuilder {
         // definition.onException(Throwable.class).processRef(FATAL_ERROR.name());
 
         TryDefinition tryDefinition = definition.doTry();
-        addThrottling(tryDefinition);
+        if (_pipeline.isThrottled()) {
+            addThrottling(tryDefinition);
+        }
         
         tryDefinition
             .processRef(CONSUMER_INTERCEPT.name())
             .processRef(ADDRESSING.name())
             .processRef(TRANSACTION_HANDLER.name())
             .processRef(SECURITY_PROCESS.name())
-            .processRef(GENERIC_POLICY.name())
-            .processRef(VALIDATION.name())
-            .processRef(TRANSFORMATION.name())
-            .processRef(VALIDATION.name())
+            .processRef(GENERIC_POLICY.name());
+        addTransformation(tryDefinition);
+        tryDefinition
             .processRef(PROVIDER_INTERCEPT.name())
             .processRef(PROVIDER_CALLBACK.name())
             .processRef(PROVIDER_INTERCEPT.name())
@@ -163,10 +176,19 @@ public class CamelExchangeBusRouteBuilder extends RouteBuilder {
     }
 
     private ExpressionNode createFilterDefinition() {
-        return new FilterDefinition(IN_OUT_CHECK)
-            .processRef(VALIDATION.name())
-            .processRef(TRANSFORMATION.name())
-            .processRef(VALIDATION.name());
+        FilterDefinition filter = new FilterDefinition(IN_OUT_CHECK);
+        addTransformation(filter);
+        return filter;
+    }
+
+    private void addTransformation(ProcessorDefinition<?> route) {
+        if (_pipeline.isValidated()) {
+            route.processRef(VALIDATION.name());
+        }
+        route.processRef(TRANSFORMATION.name());
+        if (_pipeline.isValidated()) {
+            route.processRef(VALIDATION.name());
+        }
     }
 
     /**
@@ -184,10 +206,8 @@ public class CamelExchangeBusRouteBuilder extends RouteBuilder {
     }
     
     private void addThrottling(TryDefinition route) {
-        Throttling throttling = _reference.getServiceMetadata().getThrottling();
-        long timePeriodMS = throttling != null ? throttling.getTimePeriod() : Throttling.DEFAULT_TIME_PERIOD;
         route.filter(THROTTLE_CHECK)
-            .throttle(header(Throttling.MAX_REQUESTS)).timePeriodMillis(timePeriodMS)
+            .throttle(header(Throttling.MAX_REQUESTS)).timePeriodMillis(_pipeline.getThrottlePeriod())
             // throttle needs a child process, so we'll just remove the header
             // using an empty process definition causes some of the interceptors
             // to blow chunks, specifically audit interceptors
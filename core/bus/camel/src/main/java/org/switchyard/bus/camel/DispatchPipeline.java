@@ -0,0 +1,161 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.bus.camel;
+
+import static org.switchyard.bus.camel.processors.Processors.VALIDATION;
+
+import java.util.Map;
+
+import org.switchyard.ServiceDomain;
+import org.switchyard.ServiceReference;
+import org.switchyard.bus.camel.audit.Audit;
+import org.switchyard.bus.camel.audit.Auditor;
+import org.switchyard.bus.camel.processors.Processors;
+import org.switchyard.common.camel.SwitchYardCamelContext;
+import org.switchyard.internal.validate.BaseValidatorRegistry;
+import org.switchyard.metadata.qos.Throttling;
+
+/**
+ * Describes the optional steps of the exchange bus route built for a service reference.
+ * Steps which provably have nothing to do for the reference are left out of its route;
+ * the route is rebuilt by {@link CamelExchangeBus} when a change in the domain makes
+ * them necessary again.
+ */
+public final class DispatchPipeline {
+
+    private final boolean _throttled;
+    private final long _throttlePeriod;
+    private final boolean _validated;
+
+    private DispatchPipeline(boolean throttled, long throttlePeriod, boolean validated) {
+        _throttled = throttled;
+        _throttlePeriod = throttlePeriod;
+        _validated = validated;
+    }
+
+    /**
+     * Creates a pipeline which includes every step.
+     * @param reference service reference
+     * @return pipeline including every step
+     */
+    public static DispatchPipeline full(ServiceReference reference) {
+        return new DispatchPipeline(true, getThrottlePeriod(reference.getServiceMetadata().getThrottling()), true);
+    }
+
+    /**
+     * Creates the pipeline needed by a service reference in its current state.
+     * @param context camel context
+     * @param domain service domain the bus belongs to, may be null
+     * @param reference service reference
+     * @return pipeline for the reference
+     */
+    public static DispatchPipeline create(SwitchYardCamelContext context, ServiceDomain domain, ServiceReference reference) {
+        Throttling throttling = reference.getServiceMetadata().getThrottling();
+        return new DispatchPipeline(isThrottled(throttling), getThrottlePeriod(throttling), needsValidation(context, domain));
+    }
+
+    /**
+     * Whether the route throttles exchanges.
+     * @return true if the throttle step is included
+     */
+    public boolean isThrottled() {
+        return _throttled;
+    }
+
+    /**
+     * Time period used by the throttle step.
+     * @return time period in milliseconds
+     */
+    public long getThrottlePeriod() {
+        return _throttlePeriod;
+    }
+
+    /**
+     * Whether the route validates messages.
+     * @return true if the validation steps are included
+     */
+    public boolean isValidated() {
+        return _validated;
+    }
+
+    /**
+     * Checks if the route still matches the throttling settings of the reference.
+     * @param throttling current throttling settings of the reference
+     * @return true if the route has to be rebuilt
+     */
+    boolean throttlingChanged(Throttling throttling) {
+        boolean throttled = isThrottled(throttling);
+        return throttled != _throttled || (throttled && getThrottlePeriod(throttling) != _throttlePeriod);
+    }
+
+    private static boolean isThrottled(Throttling throttling) {
+        return throttling != null && throttling.getMaxRequests() > 0;
+    }
+
+    private static long getThrottlePeriod(Throttling throttling) {
+        return throttling != null ? throttling.getTimePeriod() : Throttling.DEFAULT_TIME_PERIOD;
+    }
+
+    private static boolean needsValidation(SwitchYardCamelContext context, ServiceDomain domain) {
+        // other registry implementations can't tell if they are empty
+        if (domain == null || !(domain.getValidatorRegistry() instanceof BaseValidatorRegistry)
+                || !((BaseValidatorRegistry) domain.getValidatorRegistry()).isEmpty()) {
+            return true;
+        }
+        // keep the steps for auditors which watch them
+        Map<String, Auditor> auditors = context.getRegistry().lookupByType(Auditor.class);
+        if (auditors != null) {
+            for (Auditor auditor : auditors.values()) {
+                Audit audit = auditor.getClass().getAnnotation(Audit.class);
+                if (audit == null || audit.value().length == 0) {
+                    return true;
+                }
+                for (Processors step : audit.value()) {
+                    if (step == VALIDATION) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DispatchPipeline)) {
+            return false;
+        }
+        DispatchPipeline other = (DispatchPipeline) obj;
+        return _throttled == other._throttled
+                && _throttlePeriod == other._throttlePeriod
+                && _validated == other._validated;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = _throttled ? 1 : 0;
+        hash = hash * 31 + (int) (_throttlePeriod ^ (_throttlePeriod >>> 32));
+        hash = hash * 31 + (_validated ? 1 : 0);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "DispatchPipeline [throttled=" + _throttled + ", throttlePeriod=" + _throttlePeriod
+                + ", validated=" + _validated + "]";
+    }
+}
@@ -36,6 +36,10 @@ public class ExchangeDispatcher implements Dispatcher {
     private final ModelCamelContext _context;
     private ServiceReference _reference;
     private ProducerTemplate _producer;
+    private CamelExchangeBus _bus;
+    private volatile DispatchPipeline _pipeline;
+    private volatile String _endpointUri;
+    private volatile DirectEndpoint _endpoint;
 
     /**
      * Create a new Dispatcher instance.
@@ -43,9 +47,51 @@ public class ExchangeDispatcher implements Dispatcher {
      * @param reference dispatch for this reference
      */
     public ExchangeDispatcher(ModelCamelContext context, ServiceReference reference) {
+        this(context, reference, null, DispatchPipeline.full(reference));
+    }
+
+    /**
+     * Create a new Dispatcher instance which asks the bus to rebuild its route
+     * when the reference's throttling settings no longer match the pipeline.
+     * @param context Camel context instance
+     * @param reference dispatch for this reference
+     * @param bus bus which built the route, may be null
+     * @param pipeline optional steps included in the route
+     */
+    ExchangeDispatcher(ModelCamelContext context, ServiceReference reference, CamelExchangeBus bus, DispatchPipeline pipeline) {
         _context = context;
         _reference = reference;
         _producer = context.createProducerTemplate();
+        _bus = bus;
+        _pipeline = pipeline;
+        _endpointUri = "direct:" + reference.getName();
+    }
+
+    /**
+     * Returns the optional steps included in the route of this dispatcher.
+     * @return pipeline
+     */
+    public DispatchPipeline getPipeline() {
+        return _pipeline;
+    }
+
+    /**
+     * Returns the endpoint (and route id) this dispatcher sends exchanges to.
+     * @return endpoint uri
+     */
+    String getEndpointUri() {
+        return _endpointUri;
+    }
+
+    /**
+     * Switches this dispatcher over to a rebuilt route.
+     * @param endpointUri endpoint of the new route
+     * @param pipeline optional steps included in the new route
+     */
+    void setRoute(String endpointUri, DispatchPipeline pipeline) {
+        _pipeline = pipeline;
+        _endpointUri = endpointUri;
+        _endpoint = null;
     }
 
     @Override
@@ -85,14 +131,27 @@ public class ExchangeDispatcher implements Dispatcher {
                     Throttling.MAX_REQUESTS, throttling.getMaxRequests())
                     .addLabels(BehaviorLabel.TRANSIENT.label());
         }
-        
-        String uri = "direct:" + exchange.getConsumer().getName();
-        DirectEndpoint ep = _context.getEndpoint(uri, DirectEndpoint.class);
-        if (ep.getConsumer() == null) {
-            throw BusMessages.MESSAGES.consumerForinternalCamelRouteNotFound(uri);
+        // throttling is changed at runtime through the reference metadata, which fires no event
+        if (_bus != null && _pipeline.throttlingChanged(throttling)) {
+            _bus.rebuildRouteAndWait(this);
         }
-        _producer.send(ep, camelEx.getExchange());
         
+        _producer.send(getEndpoint(), camelEx.getExchange());
+        
+    }
+
+    private DirectEndpoint getEndpoint() {
+        DirectEndpoint ep = _endpoint;
+        if (ep == null || ep.getConsumer() == null) {
+            // not resolved yet, or the route has been replaced
+            String uri = _endpointUri;
+            ep = _context.getEndpoint(uri, DirectEndpoint.class);
+            if (ep.getConsumer() == null) {
+                throw BusMessages.MESSAGES.consumerForinternalCamelRouteNotFound(uri);
+            }
+            _endpoint = ep;
+        }
+        return ep;
     }
 
 }
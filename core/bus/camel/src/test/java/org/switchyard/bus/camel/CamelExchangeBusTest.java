@@ -14,10 +14,13 @@
 package org.switchyard.bus.camel;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.xml.namespace.QName;
@@ -50,7 +53,11 @@ import org.switchyard.internal.ServiceReferenceImpl;
 import org.switchyard.metadata.InOnlyService;
 import org.switchyard.metadata.InOutOperation;
 import org.switchyard.metadata.InOutService;
+import org.switchyard.metadata.ServiceMetadataBuilder;
+import org.switchyard.metadata.qos.Throttling;
 import org.switchyard.spi.Dispatcher;
+import org.switchyard.validate.BaseValidator;
+import org.switchyard.validate.ValidationResult;
 
 public class CamelExchangeBusTest {
 
@@ -97,6 +104,66 @@ public class CamelExchangeBusTest {
         assertEquals(dispatch, _provider.getDispatcher(ref));
     }
 
+    @Test
+    public void testRouteRebuiltWhenValidatorAdded() {
+        QName type = new QName("urn:switchyard:test", "validated");
+        ServiceReference ref = registerInOutServiceWithTypes("validated", type, type, new MockHandler().forwardInToOut());
+        ExchangeDispatcher dispatcher = (ExchangeDispatcher) _provider.getDispatcher(ref);
+        assertFalse(dispatcher.getPipeline().isValidated());
+
+        _domain.getValidatorRegistry().addValidator(new BaseValidator<String>(type) {
+            @Override
+            public ValidationResult validate(String content) {
+                return invalidResult("rejected");
+            }
+        });
+        assertTrue(dispatcher.getPipeline().isValidated());
+
+        Exchange exchange = sendMessage(ref, TEST_CONTENT);
+        assertEquals(ExchangeState.FAULT, exchange.getState());
+    }
+
+    @Test
+    public void testRebuildDoesNotWaitForExchangesInFlight() throws Exception {
+        final CountDownLatch received = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ServiceReference ref = registerInOnlyService("draining", new BaseHandler() {
+            @Override
+            public void handleMessage(Exchange exchange) throws HandlerException {
+                if (received.getCount() > 0) {
+                    received.countDown();
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+        ExchangeDispatcher dispatcher = (ExchangeDispatcher) _provider.getDispatcher(ref);
+        String previous = dispatcher.getEndpointUri();
+        new Thread(new Runnable() {
+            public void run() {
+                sendMessage(ref, TEST_CONTENT);
+            }
+        }).start();
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+
+        // the throttling change rebuilds the route while an exchange is still in flight on it
+        ServiceMetadataBuilder.update(ref.getServiceMetadata()).throttling(new Throttling().setMaxRequests(100));
+        long start = System.nanoTime();
+        sendMessage(ref, TEST_CONTENT);
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+        assertFalse(previous.equals(dispatcher.getEndpointUri()));
+        assertNotNull(_camelContext.getRoute(previous));
+
+        release.countDown();
+        for (int i = 0; i < 50 && _camelContext.getRoute(previous) != null; i++) {
+            Thread.sleep(100);
+        }
+        assertNull(_camelContext.getRoute(previous));
+    }
+
     /**
      * Basic dispatcher test which verifies erroneous response from service.
      */
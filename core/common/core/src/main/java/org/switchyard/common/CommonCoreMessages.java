@@ -3,6 +3,7 @@ package org.switchyard.common;
 import java.io.IOException;
 
 import org.jboss.logging.Messages;
+import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageBundle;
 import org.switchyard.common.io.pull.PropertiesPuller.PropertiesType;
@@ -51,4 +52,27 @@ public interface CommonCoreMessages {
      */
     @Message(id = 11407, value = ("Unsupported properties type %s for method %s"))
     IOException unsupportedPropertiesTypeForMethod(PropertiesType propertiesType, String method);
+
+    /**
+     * contentTooLarge method definition.
+     * @param size size
+     * @return IllegalStateException
+     */
+    @Message(id = 11408, value = ("Content of %d bytes is too large to be viewed as a single buffer"))
+    IllegalStateException contentTooLarge(long size);
+
+    /**
+     * contentAlreadyBuilt method definition.
+     * @return IOException
+     */
+    @Message(id = 11409, value = ("Content has already been built"))
+    IOException contentAlreadyBuilt();
+
+    /**
+     * couldNotReadContent method definition.
+     * @param t cause
+     * @return IllegalStateException
+     */
+    @Message(id = 11410, value = ("Could not read spilled content"))
+    IllegalStateException couldNotReadContent(@Cause Throwable t);
 }
@@ -0,0 +1,606 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.common.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.switchyard.common.CommonCoreMessages;
+
+/**
+ * Stream content which can be read any number of times.
+ * <p/>
+ * Content is buffered in memory up to a threshold, beyond which it is spilled to a
+ * temporary file. Every call to {@link #getInputStream()}, {@link #getReader()} or
+ * {@link #getByteBuffer()} returns an independent view of the same content, so readers
+ * don't need to copy it and can read it concurrently.
+ * <p/>
+ * Spilled content holds an open file until {@link #close()} is called. Where the platform
+ * allows it, the file is unlinked as soon as it is opened and memory-mapped for reading;
+ * otherwise it is read through its channel so that closing can delete it. Content which
+ * is handed on rather than read locally should be handed on through
+ * {@link #getReleasingInputStream()} or {@link #getReleasingReader()}, which close it
+ * once they have been read to the end or closed.
+ */
+public final class RepeatableContent implements Closeable {
+
+    /**
+     * System property holding the number of bytes kept in memory before content is spilled to disk.
+     */
+    public static final String THRESHOLD_PROPERTY = "org.switchyard.common.io.spillThreshold";
+
+    /**
+     * The number of bytes kept in memory before content is spilled to disk, 1MB unless configured.
+     */
+    public static final int DEFAULT_THRESHOLD = Integer.getInteger(THRESHOLD_PROPERTY, 1024 * 1024);
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private volatile byte[] _bytes;
+    private final int _length;
+    private final File _file;
+    private final FileChannel _channel;
+    private final ByteBuffer _mapped;
+    private final long _size;
+    private final Charset _charset;
+
+    private RepeatableContent(byte[] bytes, int length, Charset charset) {
+        _bytes = bytes;
+        _length = length;
+        _file = null;
+        _channel = null;
+        _mapped = null;
+        _size = length;
+        _charset = charset;
+    }
+
+    private RepeatableContent(File file, FileChannel channel, ByteBuffer mapped, long size, Charset charset) {
+        _bytes = null;
+        _length = -1;
+        _file = file;
+        _channel = channel;
+        _mapped = mapped;
+        _size = size;
+        _charset = charset;
+    }
+
+    /**
+     * Reads a stream into repeatable content, using the default threshold.
+     * @param in the stream, which is closed once read
+     * @return the content
+     * @throws IOException reading the stream or spilling the content failed
+     */
+    public static RepeatableContent of(InputStream in) throws IOException {
+        return of(in, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Reads a stream into repeatable content.
+     * @param in the stream, which is closed once read
+     * @param threshold the number of bytes kept in memory before the content is spilled to disk
+     * @return the content
+     * @throws IOException reading the stream or spilling the content failed
+     */
+    public static RepeatableContent of(InputStream in, int threshold) throws IOException {
+        Builder builder = new Builder(threshold);
+        try {
+            byte[] buffer = Buffers.newDefaultBuffer();
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                builder.write(buffer, 0, read);
+            }
+            return builder.build();
+        } finally {
+            builder.discard();
+            in.close();
+        }
+    }
+
+    /**
+     * Reads characters into repeatable content, using the default threshold.
+     * The characters are held UTF-8 encoded, see {@link #getCharset()}.
+     * @param in the reader, which is closed once read
+     * @return the content
+     * @throws IOException reading the characters or spilling the content failed
+     */
+    public static RepeatableContent of(Reader in) throws IOException {
+        return of(in, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Reads characters into repeatable content.
+     * The characters are held UTF-8 encoded, see {@link #getCharset()}.
+     * @param in the reader, which is closed once read
+     * @param threshold the number of bytes kept in memory before the content is spilled to disk
+     * @return the content
+     * @throws IOException reading the characters or spilling the content failed
+     */
+    public static RepeatableContent of(Reader in, int threshold) throws IOException {
+        Builder builder = new Builder(threshold);
+        builder._charset = UTF_8;
+        try {
+            Writer writer = new OutputStreamWriter(builder, UTF_8);
+            char[] buffer = new char[Buffers.DEFAULT_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                writer.write(buffer, 0, read);
+            }
+            writer.flush();
+            return builder.build();
+        } finally {
+            builder.discard();
+            in.close();
+        }
+    }
+
+    /**
+     * Returns the size of the content.
+     * @return size in bytes
+     */
+    public long size() {
+        return _size;
+    }
+
+    /**
+     * Whether the content is held in memory, or has been spilled to disk.
+     * @return true if held in memory
+     */
+    public boolean isInMemory() {
+        return _channel == null;
+    }
+
+    /**
+     * Whether spilled content is still held open. Content held in memory is always open.
+     * @return false once spilled content has been closed
+     */
+    public boolean isOpen() {
+        return _channel == null || _channel.isOpen();
+    }
+
+    /**
+     * Returns the charset of content which was read from characters.
+     * @return the charset, or null if the content was read from bytes
+     */
+    public Charset getCharset() {
+        return _charset;
+    }
+
+    /**
+     * Returns a new stream over the content.
+     * @return the stream
+     */
+    public InputStream getInputStream() {
+        if (_channel == null) {
+            return new ByteArrayInputStream(_bytes, 0, _length);
+        } else if (_mapped != null) {
+            return new ByteBufferInputStream(_mapped.duplicate());
+        }
+        return new ChannelInputStream(_channel, _size);
+    }
+
+    /**
+     * Returns a new reader over the content, decoded with the content's charset,
+     * or the platform-default charset if the content was read from bytes.
+     * @return the reader
+     */
+    public Reader getReader() {
+        return new InputStreamReader(getInputStream(), charset());
+    }
+
+    /**
+     * Returns a stream over the content which takes over releasing it: the content is
+     * closed as soon as the stream has been read to the end or is closed. Other views
+     * must not be read afterwards.
+     * @return the stream
+     */
+    public InputStream getReleasingInputStream() {
+        if (_channel == null) {
+            return getInputStream();
+        }
+        return new ReleasingInputStream(getInputStream(), this);
+    }
+
+    /**
+     * Returns a reader over the content which takes over releasing it, see
+     * {@link #getReleasingInputStream()}.
+     * @return the reader
+     */
+    public Reader getReleasingReader() {
+        return new InputStreamReader(getReleasingInputStream(), charset());
+    }
+
+    /**
+     * Returns a new read-only buffer over the content.
+     * @return the buffer
+     * @throws IllegalStateException the content is too large to fit in a single buffer, or could not be read
+     */
+    public ByteBuffer getByteBuffer() {
+        if (_channel == null) {
+            return ByteBuffer.wrap(_bytes, 0, _length).asReadOnlyBuffer();
+        } else if (_mapped != null) {
+            return _mapped.asReadOnlyBuffer();
+        } else if (_size > Integer.MAX_VALUE) {
+            throw CommonCoreMessages.MESSAGES.contentTooLarge(_size);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int)_size);
+        try {
+            while (buffer.hasRemaining()) {
+                if (_channel.read(buffer, buffer.position()) < 0) {
+                    break;
+                }
+            }
+        } catch (IOException ioe) {
+            throw CommonCoreMessages.MESSAGES.couldNotReadContent(ioe);
+        }
+        buffer.flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the content as a byte array. Content held in memory is not copied,
+     * so the array must not be modified.
+     * @return the bytes
+     * @throws IllegalStateException the content is too large to fit in a single array
+     */
+    public byte[] getBytes() {
+        if (_channel == null) {
+            byte[] bytes = _bytes;
+            if (bytes.length != _length) {
+                bytes = Arrays.copyOf(bytes, _length);
+                _bytes = bytes;
+            }
+            return bytes;
+        }
+        ByteBuffer buffer = getByteBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes the content to a stream.
+     * @param out the stream, which is left open
+     * @throws IOException writing failed
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        if (_channel == null) {
+            out.write(_bytes, 0, _length);
+            return;
+        }
+        WritableByteChannel target = Channels.newChannel(out);
+        if (_mapped != null) {
+            ByteBuffer buffer = _mapped.duplicate();
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+        } else {
+            long position = 0;
+            while (position < _size) {
+                position += _channel.transferTo(position, _size - position, target);
+            }
+        }
+    }
+
+    /**
+     * Returns the content decoded with the content's charset, or the platform-default
+     * charset if the content was read from bytes.
+     * @return the content as a String
+     * @throws IllegalStateException the content is too large to fit in a single String
+     */
+    @Override
+    public String toString() {
+        if (_channel == null) {
+            return new String(_bytes, 0, _length, charset());
+        }
+        return new String(getBytes(), charset());
+    }
+
+    /**
+     * Releases the file holding spilled content. Content held in memory needs no releasing,
+     * and closing more than once has no further effect.
+     * @throws IOException closing the file failed
+     */
+    @Override
+    public void close() throws IOException {
+        if (_channel != null) {
+            try {
+                _channel.close();
+            } finally {
+                if (_file != null) {
+                    Files.delete(_file);
+                }
+            }
+        }
+    }
+
+    private Charset charset() {
+        return _charset != null ? _charset : Charset.defaultCharset();
+    }
+
+    /**
+     * An output stream building repeatable content from whatever is written to it.
+     */
+    public static final class Builder extends OutputStream {
+
+        private final int _threshold;
+        private byte[] _buffer;
+        private int _count;
+        private File _file;
+        private OutputStream _out;
+        private long _size;
+        private Charset _charset;
+        private boolean _built;
+
+        /**
+         * Creates a builder using the default threshold.
+         */
+        public Builder() {
+            this(DEFAULT_THRESHOLD);
+        }
+
+        /**
+         * Creates a builder.
+         * @param threshold the number of bytes kept in memory before the content is spilled to disk
+         */
+        public Builder(int threshold) {
+            _threshold = Math.max(threshold, 0);
+            _buffer = new byte[Math.min(_threshold, Buffers.DEFAULT_SIZE)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte)b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (_built) {
+                throw CommonCoreMessages.MESSAGES.contentAlreadyBuilt();
+            }
+            if (_out == null && _count + len > _threshold) {
+                spill();
+            }
+            if (_out != null) {
+                _out.write(b, off, len);
+            } else {
+                if (_count + len > _buffer.length) {
+                    _buffer = Arrays.copyOf(_buffer, Math.min(Math.max(_buffer.length << 1, _count + len), _threshold));
+                }
+                System.arraycopy(b, off, _buffer, _count, len);
+                _count += len;
+            }
+            _size += len;
+        }
+
+        /**
+         * Builds the content written so far. Nothing can be written afterwards.
+         * @return the content
+         * @throws IOException spilling the content failed
+         */
+        public RepeatableContent build() throws IOException {
+            if (_built) {
+                throw CommonCoreMessages.MESSAGES.contentAlreadyBuilt();
+            }
+            _built = true;
+            if (_out == null) {
+                RepeatableContent content = new RepeatableContent(_buffer, _count, _charset);
+                _buffer = null;
+                return content;
+            }
+            _out.close();
+            RandomAccessFile file = null;
+            try {
+                file = new RandomAccessFile(_file, "r");
+                FileChannel channel = file.getChannel();
+                // the open channel (and mapping) keep the content readable once the file is unlinked
+                File remaining = _file.delete() ? null : _file;
+                // a mapped file can't be deleted until the mapping is collected, so a file which
+                // could not be unlinked is read through its channel and deleted on close
+                ByteBuffer mapped = remaining == null && _size <= Integer.MAX_VALUE
+                        ? channel.map(FileChannel.MapMode.READ_ONLY, 0, _size) : null;
+                _file = null;
+                return new RepeatableContent(remaining, channel, mapped, _size, _charset);
+            } catch (IOException e) {
+                if (file != null) {
+                    file.close();
+                }
+                // leaves the file to discard()
+                _built = false;
+                throw e;
+            }
+        }
+
+        private void spill() throws IOException {
+            _file = File.createTempFile("switchyard", ".content");
+            _out = new BufferedOutputStream(new FileOutputStream(_file), Buffers.DEFAULT_SIZE);
+            _out.write(_buffer, 0, _count);
+            _buffer = null;
+        }
+
+        private void discard() throws IOException {
+            if (!_built) {
+                _built = true;
+                _buffer = null;
+                if (_out != null) {
+                    try {
+                        _out.close();
+                    } finally {
+                        Files.delete(_file);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class ReleasingInputStream extends FilterInputStream {
+
+        private final RepeatableContent _content;
+        private final AtomicBoolean _released = new AtomicBoolean();
+
+        private ReleasingInputStream(InputStream in, RepeatableContent content) {
+            super(in);
+            _content = content;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return released(super.read());
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return released(super.read(b, off, len));
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+
+        private int released(int read) throws IOException {
+            if (read < 0) {
+                release();
+            }
+            return read;
+        }
+
+        private void release() throws IOException {
+            if (_released.compareAndSet(false, true)) {
+                _content.close();
+            }
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer _buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            _buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return _buffer.hasRemaining() ? _buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            } else if (!_buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(len, _buffer.remaining());
+            _buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int)Math.max(Math.min(n, _buffer.remaining()), 0);
+            _buffer.position(_buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return _buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+            _buffer.mark();
+        }
+
+        @Override
+        public synchronized void reset() {
+            _buffer.reset();
+        }
+    }
+
+    private static final class ChannelInputStream extends InputStream {
+
+        private final FileChannel _channel;
+        private final long _size;
+        private long _position;
+
+        private ChannelInputStream(FileChannel channel, long size) {
+            _channel = channel;
+            _size = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) > 0 ? b[0] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            } else if (_position >= _size) {
+                return -1;
+            }
+            // positional reads leave the channel's own position alone, so streams don't interfere
+            int read = _channel.read(ByteBuffer.wrap(b, off, (int)Math.min(len, _size - _position)), _position);
+            if (read < 0) {
+                return -1;
+            }
+            _position += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(Math.min(n, _size - _position), 0);
+            _position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int)Math.min(_size - _position, Integer.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.common.type;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A process-wide cache of objects built from an application's resources, e.g. compiled
+ * schemas or stylesheets, so that their users share one instance instead of each building it.
+ * <p/>
+ * Values are kept per class loader and only weakly referenced, so a value goes away with
+ * the last object using it and never keeps an undeployed application's classes loaded or
+ * is handed to a redeployment.
+ *
+ * @param <V> the cached type
+ */
+public final class ClassLoaderCache<V> {
+
+    private final Map<ClassLoader, Map<String, WeakReference<V>>> _values =
+            new WeakHashMap<ClassLoader, Map<String, WeakReference<V>>>();
+
+    /**
+     * Returns a cached value.
+     * @param loader the class loader the value was built for
+     * @param key the value's key
+     * @return the value, or null if not cached
+     */
+    public synchronized V get(ClassLoader loader, String key) {
+        Map<String, WeakReference<V>> values = _values.get(loader);
+        if (values != null) {
+            WeakReference<V> reference = values.get(key);
+            if (reference != null) {
+                return reference.get();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Caches a value, unless another thread got there first.
+     * Values are meant to be built outside the cache's lock and then put.
+     * @param loader the class loader the value was built for
+     * @param key the value's key
+     * @param value the value
+     * @return the cached value
+     */
+    public synchronized V put(ClassLoader loader, String key, V value) {
+        Map<String, WeakReference<V>> values = _values.get(loader);
+        if (values == null) {
+            values = new HashMap<String, WeakReference<V>>();
+            _values.put(loader, values);
+        }
+        WeakReference<V> reference = values.get(key);
+        V existing = reference != null ? reference.get() : null;
+        if (existing != null) {
+            return existing;
+        }
+        values.put(key, new WeakReference<V>(value));
+        return value;
+    }
+}
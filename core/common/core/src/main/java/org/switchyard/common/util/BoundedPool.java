@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.common.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of idle objects which are not thread safe, e.g. parsers or marshallers.
+ * Clients never wait: an object is created when none is idle, and objects given back
+ * to a full pool are dropped.
+ * <p/>
+ * Only objects which completed their work normally should be given back, as a failure
+ * may leave an object in a state which {@link #reset(Object)} does not clear.
+ *
+ * @param <T> the pooled type
+ * @param <E> the exception thrown when creating an object
+ */
+public abstract class BoundedPool<T, E extends Exception> {
+
+    private final Queue<T> _idle = new ConcurrentLinkedQueue<T>();
+    private final AtomicInteger _idleCount = new AtomicInteger();
+    private final int _maxSize;
+
+    /**
+     * Creates a new pool.
+     * @param maxSize the maximum number of idle objects kept, pooling is disabled if not positive
+     */
+    protected BoundedPool(int maxSize) {
+        _maxSize = maxSize;
+    }
+
+    /**
+     * Takes an idle object from the pool, or creates one.
+     * @return the object
+     * @throws E failed to create the object
+     */
+    public T take() throws E {
+        T idle = _idle.poll();
+        if (idle != null) {
+            _idleCount.decrementAndGet();
+            return idle;
+        }
+        return create();
+    }
+
+    /**
+     * Resets an object and gives it back to the pool.
+     * @param object an object which has been used successfully
+     */
+    public void give(T object) {
+        reset(object);
+        if (_idleCount.incrementAndGet() <= _maxSize) {
+            _idle.offer(object);
+        } else {
+            _idleCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of idle objects.
+     * @return the idle count
+     */
+    public int getIdleCount() {
+        return _idleCount.get();
+    }
+
+    /**
+     * Creates a new object.
+     * @return the object
+     * @throws E failed to create the object
+     */
+    protected abstract T create() throws E;
+
+    /**
+     * Clears per-use state from an object before it is pooled. Does nothing unless overridden.
+     * @param object the object
+     */
+    protected void reset(T object) {
+    }
+}
@@ -21,10 +21,10 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
 
 import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
@@ -45,11 +45,14 @@ import javax.xml.stream.events.XMLEvent;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stax.StAXSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
@@ -57,6 +60,7 @@ import javax.xml.validation.Validator;
 
 import org.jboss.logging.Logger;
 import org.switchyard.common.lang.Strings;
+import org.switchyard.common.util.BoundedPool;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -86,9 +90,70 @@ public final class XMLHelper {
      */
     private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY;
     /**
-     * The Document builder for document creation (not parsing).
+     * The Transformer factory.
      */
-    private static final AtomicReference<DocumentBuilder> DOCUMENT_BUILDER = new AtomicReference<DocumentBuilder>();
+    private static final TransformerFactory TRANSFORMER_FACTORY;
+    /**
+     * System property setting how many idle Document builders and Transformers are kept for reuse.
+     */
+    public static final String POOL_SIZE_PROPERTY = "org.switchyard.common.xml.poolSize";
+    /**
+     * The maximum number of idle Document builders and Transformers kept for reuse, per pool.
+     */
+    private static final int POOL_SIZE = Integer.getInteger(POOL_SIZE_PROPERTY, 32);
+    /**
+     * The Document builders for document creation and parsing.
+     */
+    private static final BoundedPool<DocumentBuilder, ParserConfigurationException> DOCUMENT_BUILDERS =
+        new BoundedPool<DocumentBuilder, ParserConfigurationException>(POOL_SIZE) {
+            @Override
+            protected DocumentBuilder create() throws ParserConfigurationException {
+                synchronized (DOCUMENT_BUILDER_FACTORY) {
+                    // synchronized as the factory is not guaranteed to be thread safe
+                    return DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+                }
+            }
+            @Override
+            protected void reset(DocumentBuilder builder) {
+                builder.reset();
+            }
+        };
+    /**
+     * The identity Transformers for writing DOM nodes.
+     */
+    private static final BoundedPool<Transformer, TransformerConfigurationException> TRANSFORMERS =
+        new BoundedPool<Transformer, TransformerConfigurationException>(POOL_SIZE) {
+            @Override
+            protected Transformer create() throws TransformerConfigurationException {
+                synchronized (TRANSFORMER_FACTORY) {
+                    return TRANSFORMER_FACTORY.newTransformer();
+                }
+            }
+            @Override
+            protected void reset(Transformer transformer) {
+                transformer.reset();
+            }
+        };
+    /**
+     * The Transformers for pretty-printing DOM nodes.
+     */
+    private static final BoundedPool<Transformer, TransformerConfigurationException> PRETTY_PRINT_TRANSFORMERS =
+        new BoundedPool<Transformer, TransformerConfigurationException>(POOL_SIZE) {
+            private Templates _templates;
+            @Override
+            protected Transformer create() throws TransformerConfigurationException {
+                synchronized (TRANSFORMER_FACTORY) {
+                    if (_templates == null) {
+                        _templates = TRANSFORMER_FACTORY.newTemplates(new StreamSource(new StringReader(PRETTY_PRINT_XSL)));
+                    }
+                    return _templates.newTransformer();
+                }
+            }
+            @Override
+            protected void reset(Transformer transformer) {
+                transformer.reset();
+            }
+        };
     /**
      * The event writer creator for DOM documents.
      */
@@ -164,6 +229,10 @@ public final class XMLHelper {
      */
     public static XMLStreamReader getXMLStreamReader(final Source source)
         throws XMLStreamException {
+        if (source instanceof StAXSource && ((StAXSource) source).getXMLStreamReader() != null) {
+            // input factories are not required to accept a StAXSource, so unwrap it here
+            return ((StAXSource) source).getXMLStreamReader();
+        }
         return XML_INPUT_FACTORY.createXMLStreamReader(source);
     }
 
@@ -209,6 +278,14 @@ public final class XMLHelper {
      */
     public static XMLEventReader getXMLEventReader(final Source source)
         throws XMLStreamException {
+        if (source instanceof StAXSource) {
+            // input factories are not required to accept a StAXSource, so unwrap it here
+            final StAXSource staxSource = (StAXSource) source;
+            if (staxSource.getXMLEventReader() != null) {
+                return staxSource.getXMLEventReader();
+            }
+            return XML_INPUT_FACTORY.createXMLEventReader(staxSource.getXMLStreamReader());
+        }
         return XML_INPUT_FACTORY.createXMLEventReader(source);
     }
 
@@ -436,16 +513,11 @@ public final class XMLHelper {
      */
     public static boolean compareXMLContent(final Node node1, final Node node2)
         throws ParserConfigurationException, TransformerException, SAXException, IOException {
-        TransformerFactory transFactory = TransformerFactory.newInstance();
-        Transformer transformer = transFactory.newTransformer();
         StringWriter writer1 = new StringWriter();
         StringWriter writer2 = new StringWriter();
-        DOMSource source = new DOMSource(node1);
-        StreamResult result = new StreamResult(writer1);
-        transformer.transform(source, result);
-        source = new DOMSource(node2);
-        result = new StreamResult(writer2);
-        transformer.transform(source, result);
+        Map<String, String> outputProperties = Collections.emptyMap();
+        transform(new DOMSource(node1), new StreamResult(writer1), outputProperties);
+        transform(new DOMSource(node2), new StreamResult(writer2), outputProperties);
         return compareXMLContent(writer1.toString(), writer2.toString());
     }
 
@@ -486,6 +558,24 @@ public final class XMLHelper {
         XMLHelper.copyXMLEventStream(reader, writer, omitDoc);
     }
     
+    /**
+     * Read a streaming source into a DOM node, appending its content to the node's children.
+     * The content is built directly in the node's document, so unlike parsing into a new
+     * document and importing the result, nothing is copied.
+     * @param source The StAX or stream source.
+     * @param node The DOM node.
+     * @throws XMLStreamException For errors reading the source.
+     */
+    public static void readSource(final Source source, final Node node)
+        throws XMLStreamException {
+        final XMLEventReader reader = getXMLEventReader(source);
+        try {
+            copyXMLEventStream(reader, getXMLEventWriter(new DOMResult(node)), true);
+        } finally {
+            reader.close();
+        }
+    }
+
     /**
      * Create a new document.
      * @return the new document
@@ -493,11 +583,10 @@ public final class XMLHelper {
      */
     public static Document getNewDocument()
         throws ParserConfigurationException {
-        final DocumentBuilder builder = getCreationDocumentBuilder();
-        synchronized (builder) {
-            // synchronized as it is not guaranteed to be thread safe
-            return builder.newDocument();
-        }
+        final DocumentBuilder builder = DOCUMENT_BUILDERS.take();
+        final Document document = builder.newDocument();
+        DOCUMENT_BUILDERS.give(builder);
+        return document;
     }
     
     /**
@@ -511,11 +600,7 @@ public final class XMLHelper {
      */
     public static Document getDocumentFromString(final String xml)
         throws ParserConfigurationException, IOException, SAXException {
-        final DocumentBuilder builder = getCreationDocumentBuilder();
-        synchronized (builder) {
-            // synchronized as it is not guaranteed to be thread safe
-            return builder.parse(new InputSource(new StringReader(xml)));
-        }
+        return getDocument(new InputSource(new StringReader(xml)));
     }
 
     /**
@@ -529,11 +614,11 @@ public final class XMLHelper {
      */
     public static Document getDocument(final InputSource source)
         throws ParserConfigurationException, IOException, SAXException {
-        final DocumentBuilder builder = getCreationDocumentBuilder();
-        synchronized (builder) {
-            // synchronized as it is not guaranteed to be thread safe
-            return builder.parse(source);
-        }
+        final DocumentBuilder builder = DOCUMENT_BUILDERS.take();
+        // builders are only handed back after a successful parse, as a failed one may leave them in a bad state
+        final Document document = builder.parse(source);
+        DOCUMENT_BUILDERS.give(builder);
+        return document;
     }
 
     /**
@@ -644,25 +729,6 @@ public final class XMLHelper {
         return (value != null);
     }
 
-    /**
-     * Get the document builder for creation
-     * @return The document builder
-     * @throws ParserConfigurationException for errors during creation
-     */
-    private static DocumentBuilder getCreationDocumentBuilder()
-        throws ParserConfigurationException {
-        final DocumentBuilder current = DOCUMENT_BUILDER.get();
-        if (current != null) {
-            return current;
-        }
-        final DocumentBuilder newBuilder = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
-        if (DOCUMENT_BUILDER.compareAndSet(null, newBuilder)) {
-            return newBuilder;
-        } else {
-            return DOCUMENT_BUILDER.get();
-        }
-    }
-
     /**
      * Gets the name of the node.
      * @param node the node
@@ -858,24 +924,27 @@ public final class XMLHelper {
      */
     public static void write(Node node, Writer writer, Map<String, String> outputProperties) throws IOException {
         try {
-            TransformerFactory tf = TransformerFactory.newInstance();
-            Transformer t;
-            if (isPrettyPrint(outputProperties)) {
-                t = tf.newTransformer(new StreamSource(new StringReader(PRETTY_PRINT_XSL)));
-            } else {
-                t = tf.newTransformer();
-            }
-            for (Map.Entry<String, String> entry : outputProperties.entrySet()) {
-                if (!entry.getKey().equals(PRETTY_PRINT_HINT)) {
-                    t.setOutputProperty(entry.getKey(), entry.getValue());
-                }
-            }
-            t.transform(new DOMSource(node), new StreamResult(writer));
+            transform(new DOMSource(node), new StreamResult(writer), outputProperties);
         } catch (TransformerException te) {
             throw new IOException(te);
         }
     }
 
+    private static void transform(Source source, Result result, Map<String, String> outputProperties)
+        throws TransformerException {
+        final BoundedPool<Transformer, TransformerConfigurationException> pool =
+            isPrettyPrint(outputProperties) ? PRETTY_PRINT_TRANSFORMERS : TRANSFORMERS;
+        final Transformer t = pool.take();
+        for (Map.Entry<String, String> entry : outputProperties.entrySet()) {
+            if (!entry.getKey().equals(PRETTY_PRINT_HINT)) {
+                t.setOutputProperty(entry.getKey(), entry.getValue());
+            }
+        }
+        // as with Document builders, only hand back Transformers which completed normally
+        t.transform(source, result);
+        pool.give(t);
+    }
+
     private static boolean isPrettyPrint(Map<String, String> outputProperties) {
         String pp = Strings.trimToNull(outputProperties.get(PRETTY_PRINT_HINT));
         if (pp != null) {
@@ -910,6 +979,8 @@ public final class XMLHelper {
         final DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
         docBuilderFactory.setNamespaceAware(true);
         DOCUMENT_BUILDER_FACTORY = docBuilderFactory;
+
+        TRANSFORMER_FACTORY = TransformerFactory.newInstance();
         
         DEFAULT_OUTPUT_PROPERTIES = new HashMap<String, String>();
         DEFAULT_OUTPUT_PROPERTIES.put(OutputKeys.OMIT_XML_DECLARATION, "yes");
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.common.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * Repeatable content tests.
+ */
+public class RepeatableContentTests {
+
+    private static final String TEXT = "The quick brown fox jumps over the lazy dog \u00e9\u00e8";
+
+    @Test
+    public void testInMemory() throws Exception {
+        byte[] bytes = TEXT.getBytes("UTF-8");
+        RepeatableContent content = RepeatableContent.of(new ByteArrayInputStream(bytes), 1024);
+        Assert.assertTrue(content.isInMemory());
+        Assert.assertEquals(bytes.length, content.size());
+        assertContent(bytes, content);
+        // in memory content is not copied again
+        Assert.assertSame(content.getBytes(), content.getBytes());
+        content.close();
+    }
+
+    @Test
+    public void testSpilled() throws Exception {
+        byte[] bytes = new byte[10000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte)i;
+        }
+        RepeatableContent content = RepeatableContent.of(new ByteArrayInputStream(bytes), 100);
+        Assert.assertFalse(content.isInMemory());
+        Assert.assertEquals(bytes.length, content.size());
+        assertContent(bytes, content);
+        content.close();
+    }
+
+    @Test
+    public void testIndependentReaders() throws Exception {
+        RepeatableContent content = RepeatableContent.of(new ByteArrayInputStream(new byte[] {1, 2, 3}), 1);
+        InputStream first = content.getInputStream();
+        InputStream second = content.getInputStream();
+        Assert.assertEquals(1, first.read());
+        Assert.assertEquals(2, first.read());
+        Assert.assertEquals(1, second.read());
+        Assert.assertEquals(3, first.read());
+        Assert.assertEquals(-1, first.read());
+        Assert.assertEquals(2, second.read());
+        content.close();
+    }
+
+    @Test
+    public void testReader() throws Exception {
+        RepeatableContent content = RepeatableContent.of(new StringReader(TEXT), 8);
+        Assert.assertEquals("UTF-8", content.getCharset().name());
+        Assert.assertEquals(TEXT, content.toString());
+        Assert.assertEquals(TEXT, content.toString());
+        char[] chars = new char[TEXT.length()];
+        Assert.assertEquals(TEXT.length(), content.getReader().read(chars));
+        Assert.assertEquals(TEXT, new String(chars));
+        content.close();
+    }
+
+    @Test
+    public void testBuilder() throws Exception {
+        RepeatableContent.Builder builder = new RepeatableContent.Builder(4);
+        builder.write(TEXT.getBytes("UTF-8"));
+        RepeatableContent content = builder.build();
+        Assert.assertFalse(content.isInMemory());
+        assertContent(TEXT.getBytes("UTF-8"), content);
+        try {
+            builder.write(1);
+            Assert.fail("content has already been built");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage().contains("SWITCHYARD011409"));
+        }
+        content.close();
+    }
+
+    @Test
+    public void testReleasingInputStream() throws Exception {
+        byte[] bytes = TEXT.getBytes("UTF-8");
+        RepeatableContent content = RepeatableContent.of(new ByteArrayInputStream(bytes), 4);
+        InputStream in = content.getReleasingInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            Assert.assertTrue(content.isOpen());
+            read.write(b);
+        }
+        Assert.assertTrue(Arrays.equals(bytes, read.toByteArray()));
+        Assert.assertFalse(content.isOpen());
+        in.close();
+
+        content = RepeatableContent.of(new ByteArrayInputStream(bytes), 4);
+        in = content.getReleasingInputStream();
+        in.read();
+        in.close();
+        Assert.assertFalse(content.isOpen());
+    }
+
+    @Test
+    public void testReleasingReader() throws Exception {
+        RepeatableContent content = RepeatableContent.of(new StringReader(TEXT), 8);
+        char[] chars = new char[TEXT.length() * 2];
+        Reader reader = content.getReleasingReader();
+        int count = 0;
+        int read;
+        while ((read = reader.read(chars, count, chars.length - count)) != -1) {
+            count += read;
+        }
+        Assert.assertEquals(TEXT, new String(chars, 0, count));
+        Assert.assertFalse(content.isOpen());
+
+        content = RepeatableContent.of(new StringReader(TEXT), 1024);
+        Assert.assertEquals(TEXT, toString(content.getReleasingReader()));
+        // in memory content needs no releasing
+        Assert.assertTrue(content.isOpen());
+        Assert.assertEquals(TEXT, content.toString());
+    }
+
+    private String toString(Reader reader) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            builder.append((char)c);
+        }
+        return builder.toString();
+    }
+
+    private void assertContent(byte[] expected, RepeatableContent content) throws Exception {
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream read = new ByteArrayOutputStream();
+            InputStream in = content.getInputStream();
+            byte[] buffer = new byte[7];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                read.write(buffer, 0, count);
+            }
+            Assert.assertTrue(Arrays.equals(expected, read.toByteArray()));
+        }
+        ByteBuffer buffer = content.getByteBuffer();
+        Assert.assertTrue(buffer.isReadOnly());
+        Assert.assertEquals(expected.length, buffer.remaining());
+        Assert.assertTrue(Arrays.equals(expected, content.getBytes()));
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        content.writeTo(written);
+        Assert.assertTrue(Arrays.equals(expected, written.toByteArray()));
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.common.type;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * Class loader cache tests.
+ */
+public class ClassLoaderCacheTests {
+
+    @Test
+    public void testPerClassLoader() throws Exception {
+        ClassLoaderCache<Object> cache = new ClassLoaderCache<Object>();
+        ClassLoader loader = getClass().getClassLoader();
+        ClassLoader other = new URLClassLoader(new URL[0], loader);
+        Object value = new Object();
+        Assert.assertNull(cache.get(loader, "key"));
+        Assert.assertSame(value, cache.put(loader, "key", value));
+        Assert.assertSame(value, cache.get(loader, "key"));
+        Assert.assertNull(cache.get(other, "key"));
+        Assert.assertNull(cache.get(loader, "other"));
+    }
+
+    @Test
+    public void testFirstPutWins() throws Exception {
+        ClassLoaderCache<Object> cache = new ClassLoaderCache<Object>();
+        ClassLoader loader = getClass().getClassLoader();
+        Object first = new Object();
+        cache.put(loader, "key", first);
+        Assert.assertSame(first, cache.put(loader, "key", new Object()));
+        Assert.assertSame(first, cache.get(loader, "key"));
+    }
+}
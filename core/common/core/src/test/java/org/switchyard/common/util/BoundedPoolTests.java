@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.common.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+/**
+ * Bounded pool tests.
+ */
+public class BoundedPoolTests {
+
+    @Test
+    public void testReuse() throws Exception {
+        CountingPool pool = new CountingPool(1);
+        Object first = pool.take();
+        pool.give(first);
+        Assert.assertEquals(1, pool.getIdleCount());
+        Assert.assertSame(first, pool.take());
+        Assert.assertEquals(0, pool.getIdleCount());
+        Assert.assertEquals(1, pool._created.get());
+        Assert.assertEquals(1, pool._reset.get());
+    }
+
+    @Test
+    public void testBounded() throws Exception {
+        CountingPool pool = new CountingPool(1);
+        Object first = pool.take();
+        Object second = pool.take();
+        Assert.assertNotSame(first, second);
+        pool.give(first);
+        // dropped, the pool is full
+        pool.give(second);
+        Assert.assertEquals(1, pool.getIdleCount());
+        Assert.assertSame(first, pool.take());
+        Assert.assertNotSame(second, pool.take());
+        Assert.assertEquals(3, pool._created.get());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        CountingPool pool = new CountingPool(0);
+        pool.give(pool.take());
+        Assert.assertEquals(0, pool.getIdleCount());
+        pool.take();
+        Assert.assertEquals(2, pool._created.get());
+    }
+
+    private static final class CountingPool extends BoundedPool<Object, RuntimeException> {
+        private final AtomicInteger _created = new AtomicInteger();
+        private final AtomicInteger _reset = new AtomicInteger();
+
+        private CountingPool(int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        protected Object create() {
+            _created.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        protected void reset(Object object) {
+            _reset.incrementAndGet();
+        }
+    }
+}
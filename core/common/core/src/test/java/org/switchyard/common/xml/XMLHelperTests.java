@@ -13,10 +13,18 @@
  */
 package org.switchyard.common.xml;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import javax.xml.namespace.QName;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.w3c.dom.Document;
 
 /**
  * XMLHelperTests.
@@ -37,4 +45,34 @@ public class XMLHelperTests {
         Assert.assertArrayEquals(new QName[]{QName.valueOf("{http://foo.com/f}foo"), QName.valueOf("{http://bar.com/b}bar")}, q);
     }
 
+    @Test
+    public void testPooledTransformersAreReset() throws Exception {
+        Document doc = XMLHelper.getDocumentFromString("<a><b>x</b></a>");
+        String pretty = XMLHelper.toPretty(doc);
+        Assert.assertTrue(pretty, pretty.contains("\n"));
+        Assert.assertEquals("<a><b>x</b></a>", XMLHelper.toString(doc));
+        Assert.assertEquals(pretty, XMLHelper.toPretty(doc));
+    }
+
+    @Test
+    public void testConcurrentParsing() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for (int i = 0; i < 200; i++) {
+                final String xml = "<a id=\"" + i + "\"><b>" + i + "</b></a>";
+                results.add(executor.submit(new Callable<String>() {
+                    public String call() throws Exception {
+                        return XMLHelper.toString(XMLHelper.getDocumentFromString(xml));
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Assert.assertEquals("<a id=\"" + i + "\"><b>" + i + "</b></a>", results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
 }
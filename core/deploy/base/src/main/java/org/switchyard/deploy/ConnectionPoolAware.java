@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.deploy;
+
+/**
+ * ConnectionPoolAware
+ * <p/>
+ * Implemented by service handlers which maintain a pool of outbound
+ * connections, so the management layer can report on its usage.
+ */
+public interface ConnectionPoolAware {
+
+    /**
+     * @return the number of connections currently leased from the pool.
+     */
+    int getLeasedConnections();
+
+    /**
+     * @return the number of idle connections available in the pool.
+     */
+    int getAvailableConnections();
+
+    /**
+     * @return the number of requests waiting for a connection.
+     */
+    int getPendingConnections();
+
+    /**
+     * @return the maximum number of connections the pool will hold.
+     */
+    int getMaxConnections();
+}
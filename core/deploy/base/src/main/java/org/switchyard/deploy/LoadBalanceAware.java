@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.deploy;
+
+import java.util.List;
+
+/**
+ * LoadBalanceAware
+ * <p/>
+ * Implemented by service handlers which balance invocations over a number of
+ * remote endpoints, so the management layer can report on each endpoint.
+ */
+public interface LoadBalanceAware {
+
+    /**
+     * @return the addresses of the remote endpoints invocations have been sent to.
+     */
+    List<String> getBalancedEndpoints();
+
+    /**
+     * @param endpoint the endpoint address.
+     * @return the number of invocations of the endpoint which have not completed yet.
+     */
+    int getInFlightCount(String endpoint);
+
+    /**
+     * @param endpoint the endpoint address.
+     * @return the number of invocations sent to the endpoint.
+     */
+    long getRequestCount(String endpoint);
+
+    /**
+     * @param endpoint the endpoint address.
+     * @return the number of invocations of the endpoint which failed.
+     */
+    long getFailureCount(String endpoint);
+
+    /**
+     * @param endpoint the endpoint address.
+     * @return the moving average of the time the endpoint takes to reply, in milliseconds.
+     */
+    double getLatency(String endpoint);
+
+    /**
+     * @param endpoint the endpoint address.
+     * @return true if the endpoint has been ejected for failing and is not
+     *         sent invocations for now.
+     */
+    boolean isEjected(String endpoint);
+}
@@ -1,5 +1,6 @@
 package org.switchyard.remote;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 
 import org.jboss.logging.Messages;
@@ -54,4 +55,21 @@ public interface RemoteMessages {
      */
     @Message(id = 13403, value = "Invalid Web Service Security header '%s'")
     IllegalArgumentException invalidWebServiceSecurityHeader(Object wsse, @Cause Exception e);
+
+    /**
+     * unsupportedWireFormat method definition.
+     * @param format format
+     * @return IllegalArgumentException
+     */
+    @Message(id = 13404, value = "Unsupported or unavailable remote wire format '%s'")
+    IllegalArgumentException unsupportedWireFormat(String format);
+
+    /**
+     * remoteInvocationFailed method definition.
+     * @param endpoint endpoint
+     * @param status status
+     * @return IOException
+     */
+    @Message(id = 13405, value = "Remote invocation at %s failed with HTTP status %d")
+    IOException remoteInvocationFailed(String endpoint, int status);
 }
@@ -13,14 +13,44 @@
  */
 package org.switchyard.remote.cluster;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+
+import org.switchyard.remote.RemoteEndpoint;
 import org.switchyard.remote.RemoteRegistry;
 
 /**
  * Abstract base class for LoadBalanceStrategy implementations.
+ * <p/>
+ * Keeps {@link EndpointStatistics} for every endpoint selected, which the
+ * {@link ClusteredInvoker} updates as invocations complete or fail.  Endpoints
+ * failing {@link #getMaxFailures()} invocations in a row are ejected for
+ * {@link #getEjectionTime()} and not selected in that time, unless every
+ * endpoint of the service is ejected.
+ * <p/>
+ * Strategies look endpoints up through {@link #getEndpoints(QName)}, which notices
+ * when the registry's endpoints for a service change and then drops the statistics
+ * of endpoints no service has any more.
  */
 public abstract class BaseStrategy implements LoadBalanceStrategy {
-    
+
+    /** System property providing the default number of failures in a row which eject an endpoint. */
+    public static final String MAX_FAILURES_PROPERTY = "org.switchyard.remote.cluster.maxFailures";
+    /** System property providing the default time in milliseconds an endpoint is ejected for. */
+    public static final String EJECTION_TIME_PROPERTY = "org.switchyard.remote.cluster.ejectionTime";
+
     private RemoteRegistry _registry;
+    private final ConcurrentMap<String, EndpointStatistics> _statistics = new ConcurrentHashMap<String, EndpointStatistics>();
+    private final ConcurrentMap<QName, AtomicInteger> _counters = new ConcurrentHashMap<QName, AtomicInteger>();
+    private final EndpointTopology _topology = new EndpointTopology();
+    private volatile int _maxFailures = Integer.getInteger(MAX_FAILURES_PROPERTY, 5);
+    private volatile long _ejectionTime = Long.getLong(EJECTION_TIME_PROPERTY, 30000L);
     
     @Override
     public RemoteRegistry getRegistry() {
@@ -31,4 +61,129 @@ public abstract class BaseStrategy implements LoadBalanceStrategy {
     public void setRegistry(RemoteRegistry registry) {
         _registry = registry;
     }
+
+    /**
+     * Returns the statistics kept for an endpoint, creating them on first use.
+     * @param endpoint the endpoint
+     * @return statistics
+     */
+    public EndpointStatistics getStatistics(RemoteEndpoint endpoint) {
+        String address = String.valueOf(endpoint.getEndpoint());
+        EndpointStatistics statistics = _statistics.get(address);
+        if (statistics == null) {
+            EndpointStatistics created = new EndpointStatistics(address, this);
+            statistics = _statistics.putIfAbsent(address, created);
+            if (statistics == null) {
+                statistics = created;
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns the statistics of all endpoints selected so far which are still in the cluster.
+     * @return statistics
+     */
+    public Collection<EndpointStatistics> getStatistics() {
+        return Collections.unmodifiableCollection(_statistics.values());
+    }
+
+    /**
+     * The number of invocations an endpoint has to fail in a row to be ejected.
+     * @return failures, or 0 if endpoints are never ejected
+     */
+    public int getMaxFailures() {
+        return _maxFailures;
+    }
+
+    /**
+     * Sets the number of invocations an endpoint has to fail in a row to be ejected.
+     * @param maxFailures failures, 0 to never eject endpoints
+     */
+    public void setMaxFailures(int maxFailures) {
+        _maxFailures = maxFailures;
+    }
+
+    /**
+     * The time an endpoint is ejected for the first time it is ejected.
+     * @return time in milliseconds
+     */
+    public long getEjectionTime() {
+        return _ejectionTime;
+    }
+
+    /**
+     * Sets the time an endpoint is ejected for the first time it is ejected.
+     * @param ejectionTime time in milliseconds
+     */
+    public void setEjectionTime(long ejectionTime) {
+        _ejectionTime = ejectionTime;
+    }
+
+    /**
+     * Returns the registry's endpoints for a service, dropping the statistics of
+     * endpoints which left the cluster when they differ from the ones seen last.
+     * @param serviceName name of the service
+     * @return endpoints of the service
+     */
+    protected List<RemoteEndpoint> getEndpoints(QName serviceName) {
+        List<RemoteEndpoint> endpoints = _registry.getEndpoints(serviceName);
+        if (_topology.update(serviceName, endpoints)) {
+            if (endpoints.isEmpty()) {
+                _counters.remove(serviceName);
+            }
+            prune();
+        }
+        return endpoints;
+    }
+
+    /**
+     * Whether an endpoint can be selected, i.e. it has not been ejected.
+     * @param endpoint the endpoint
+     * @return true if the endpoint can be selected
+     */
+    protected boolean isAvailable(RemoteEndpoint endpoint) {
+        EndpointStatistics statistics = _statistics.get(String.valueOf(endpoint.getEndpoint()));
+        return statistics == null || !statistics.isEjected();
+    }
+
+    /**
+     * Returns the next index in the rotation over the endpoints of a service.
+     * @param serviceName name of the service
+     * @param size number of endpoints
+     * @return index between 0 and size - 1
+     */
+    protected int next(QName serviceName, int size) {
+        AtomicInteger counter = _counters.get(serviceName);
+        if (counter == null) {
+            AtomicInteger created = new AtomicInteger();
+            counter = _counters.putIfAbsent(serviceName, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return (counter.getAndIncrement() & Integer.MAX_VALUE) % size;
+    }
+
+    /**
+     * Returns the first endpoint which can be selected, looking at the
+     * endpoints in turn from the specified index.
+     * @param endpoints endpoints of a service, not empty
+     * @param start index to start from
+     * @return the first available endpoint, or the one at start if all are ejected
+     */
+    protected RemoteEndpoint firstAvailable(List<RemoteEndpoint> endpoints, int start) {
+        int size = endpoints.size();
+        for (int i = 0; i < size; i++) {
+            RemoteEndpoint endpoint = endpoints.get((start + i) % size);
+            if (isAvailable(endpoint)) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(start);
+    }
+
+    private synchronized void prune() {
+        _statistics.keySet().retainAll(_topology.getAddresses());
+    }
 }
@@ -14,7 +14,9 @@
 package org.switchyard.remote.cluster;
 
 import java.io.IOException;
-import java.util.WeakHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.switchyard.remote.RemoteEndpoint;
 import org.switchyard.remote.RemoteInvoker;
@@ -25,12 +27,17 @@ import org.switchyard.remote.http.HttpInvoker;
 
 /**
  * Cluster-aware implementation of RemoteInvoker which uses a load balance strategy in 
- * combination with a remote registry to invoke remote services.
+ * combination with a remote registry to invoke remote services.  The outcome and
+ * latency of each invocation is recorded in the {@link EndpointStatistics} the
+ * strategy keeps, if it keeps any; invocations rejected with an HTTP error status
+ * count as failed.
  */
 public class ClusteredInvoker implements RemoteInvoker {
     
     private LoadBalanceStrategy _loadBalancer;
-    private WeakHashMap<String,HttpInvoker> _invokers = new WeakHashMap<String,HttpInvoker>();
+    // invokers hold per-endpoint state (negotiated format, connection limit), so keep them
+    private ConcurrentMap<String,HttpInvoker> _invokers = new ConcurrentHashMap<String,HttpInvoker>();
+    private final EndpointTopology _topology = new EndpointTopology();
 
     /**
      * Create a new ClusteredInvoker with the default load balance strategy (RoundRobin).
@@ -52,19 +59,62 @@ public class ClusteredInvoker implements RemoteInvoker {
     
     @Override
     public RemoteMessage invoke(RemoteMessage request) throws IOException {
+        RemoteRegistry registry = _loadBalancer.getRegistry();
+        if (registry != null && _topology.update(request.getService(), registry.getEndpoints(request.getService()))) {
+            prune();
+        }
         RemoteEndpoint ep = _loadBalancer.selectEndpoint(request.getService());
         if (ep == null) {
             throw RemoteMessages.MESSAGES.noRemoteEndpointFound(request.getService().toString());
         }
-        return getInvoker(ep.getEndpoint()).invoke(request);
+        EndpointStatistics statistics = EndpointStatistics.of(_loadBalancer, ep);
+        if (statistics == null) {
+            return getInvoker(ep.getEndpoint()).invoke(request);
+        }
+        long start = statistics.requestStarted();
+        boolean replied = false;
+        try {
+            RemoteMessage reply = getInvoker(ep.getEndpoint()).invoke(request);
+            replied = true;
+            return reply;
+        } finally {
+            if (replied) {
+                statistics.requestCompleted(start);
+            } else {
+                statistics.requestFailed(start);
+            }
+        }
+    }
+
+    /**
+     * Returns the load balance strategy used to select endpoints.
+     * @return load balance strategy
+     */
+    public LoadBalanceStrategy getLoadBalancer() {
+        return _loadBalancer;
     }
     
-    private synchronized HttpInvoker getInvoker(String endpoint) {
+    /**
+     * Returns the endpoints invokers are kept for, for testing.
+     * @return endpoint addresses
+     */
+    Set<String> getInvokedEndpoints() {
+        return _invokers.keySet();
+    }
+
+    // drop the invokers of endpoints which left the cluster
+    private synchronized void prune() {
+        _invokers.keySet().retainAll(_topology.getAddresses());
+    }
+
+    private HttpInvoker getInvoker(String endpoint) {
         HttpInvoker invoker = _invokers.get(endpoint);
         if (invoker == null) {
             invoker = new HttpInvoker(endpoint);
-            _invokers.put(endpoint, invoker);
-            
+            HttpInvoker existing = _invokers.putIfAbsent(endpoint, invoker);
+            if (existing != null) {
+                invoker = existing;
+            }
         }
         return invoker;
     }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.remote.cluster;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.switchyard.remote.RemoteEndpoint;
+
+/**
+ * Invocation statistics of a remote endpoint, kept by the load balance strategy
+ * which selects it: how many invocations are in flight, how long replies take,
+ * and whether the endpoint has been ejected for failing.
+ * <p/>
+ * Latency is tracked as a peak EWMA: a reply slower than the average takes its
+ * place right away, while faster replies and time without replies only pull the
+ * average down gradually, so an endpoint which slows down is noticed at once and
+ * is tried again once it has been left alone for a while.  An endpoint failing a
+ * number of invocations in a row is ejected for a while and then re-admitted;
+ * each further ejection without a success in between lasts longer.
+ */
+public final class EndpointStatistics {
+
+    /** Time over which latency samples lose most of their weight. */
+    static final long DECAY_TIME = TimeUnit.SECONDS.toNanos(10);
+    /** Maximum multiple of the ejection time an endpoint is ejected for. */
+    static final int MAX_EJECTION_MULTIPLIER = 10;
+
+    private final String _endpoint;
+    private final BaseStrategy _strategy;
+    private final AtomicInteger _inFlight = new AtomicInteger();
+    private final AtomicLong _requests = new AtomicLong();
+    private final AtomicLong _failures = new AtomicLong();
+    private final AtomicInteger _consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger _ejections = new AtomicInteger();
+    // bits of the latency average in nanoseconds, 0 until the first reply
+    private final AtomicLong _latency = new AtomicLong(Double.doubleToLongBits(0));
+    private volatile long _lastSample;
+    private volatile boolean _ejected;
+    private volatile long _ejectedUntil;
+
+    EndpointStatistics(String endpoint, BaseStrategy strategy) {
+        _endpoint = endpoint;
+        _strategy = strategy;
+    }
+
+    /**
+     * Returns the statistics a strategy keeps for an endpoint.
+     * @param strategy the load balance strategy
+     * @param endpoint the endpoint
+     * @return statistics, or null if the strategy does not keep any
+     */
+    public static EndpointStatistics of(LoadBalanceStrategy strategy, RemoteEndpoint endpoint) {
+        return strategy instanceof BaseStrategy ? ((BaseStrategy)strategy).getStatistics(endpoint) : null;
+    }
+
+    /**
+     * Records that an invocation has been sent to the endpoint.
+     * @return start time to pass on once the invocation completes
+     */
+    public long requestStarted() {
+        _requests.incrementAndGet();
+        _inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records that the endpoint replied to an invocation.
+     * @param start time returned when the invocation started
+     */
+    public void requestCompleted(long start) {
+        requestCompleted(start, System.nanoTime());
+    }
+
+    void requestCompleted(long start, long now) {
+        _inFlight.decrementAndGet();
+        _consecutiveFailures.set(0);
+        _ejections.set(0);
+        recordLatency(now - start, now);
+    }
+
+    /**
+     * Records that an invocation of the endpoint failed, ejecting the endpoint
+     * once it has failed too many invocations in a row.
+     * @param start time returned when the invocation started
+     */
+    public void requestFailed(long start) {
+        requestFailed(start, System.nanoTime());
+    }
+
+    void requestFailed(long start, long now) {
+        _inFlight.decrementAndGet();
+        _failures.incrementAndGet();
+        int maxFailures = _strategy.getMaxFailures();
+        if (maxFailures > 0 && _consecutiveFailures.incrementAndGet() >= maxFailures) {
+            _consecutiveFailures.set(0);
+            int multiplier = Math.min(_ejections.incrementAndGet(), MAX_EJECTION_MULTIPLIER);
+            _ejectedUntil = now + TimeUnit.MILLISECONDS.toNanos(_strategy.getEjectionTime()) * multiplier;
+            _ejected = true;
+        }
+    }
+
+    private void recordLatency(long latency, long now) {
+        double weight = weight(now);
+        _lastSample = now;
+        for (;;) {
+            long bits = _latency.get();
+            double decayed = Double.longBitsToDouble(bits) * weight;
+            double updated = latency > decayed ? latency : decayed + latency * (1 - weight);
+            if (_latency.compareAndSet(bits, Double.doubleToLongBits(updated))) {
+                return;
+            }
+        }
+    }
+
+    // weight left to the average after the time since the last sample
+    private double weight(long now) {
+        long elapsed = now - _lastSample;
+        return elapsed > 0 ? Math.exp(-(double)elapsed / DECAY_TIME) : 1;
+    }
+
+    /**
+     * Whether the endpoint has been ejected and should not be selected for now.
+     * @return true if the endpoint is ejected
+     */
+    public boolean isEjected() {
+        return isEjected(System.nanoTime());
+    }
+
+    boolean isEjected(long now) {
+        if (_ejected && now - _ejectedUntil >= 0) {
+            // time is up, take invocations again
+            _ejected = false;
+        }
+        return _ejected;
+    }
+
+    /**
+     * The address of the endpoint.
+     * @return endpoint address
+     */
+    public String getEndpoint() {
+        return _endpoint;
+    }
+
+    /**
+     * The number of invocations sent to the endpoint which have not completed yet.
+     * @return in flight count
+     */
+    public int getInFlightCount() {
+        return _inFlight.get();
+    }
+
+    /**
+     * The number of invocations sent to the endpoint.
+     * @return request count
+     */
+    public long getRequestCount() {
+        return _requests.get();
+    }
+
+    /**
+     * The number of invocations of the endpoint which failed.
+     * @return failure count
+     */
+    public long getFailureCount() {
+        return _failures.get();
+    }
+
+    /**
+     * The peak EWMA of the time the endpoint takes to reply.
+     * @return latency in milliseconds, 0 before the first reply
+     */
+    public double getLatency() {
+        return getLatencyNanos() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    double getLatencyNanos() {
+        return getLatencyNanos(System.nanoTime());
+    }
+
+    double getLatencyNanos(long now) {
+        return Double.longBitsToDouble(_latency.get()) * weight(now);
+    }
+}
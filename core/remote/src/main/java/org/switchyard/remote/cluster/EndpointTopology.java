@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.remote.cluster;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.namespace.QName;
+
+import org.switchyard.remote.RemoteEndpoint;
+
+/**
+ * The endpoint addresses last returned by the registry for each service, used to
+ * notice endpoints leaving the cluster and drop the state kept for them.
+ */
+final class EndpointTopology {
+
+    private final ConcurrentMap<QName, String[]> _addresses = new ConcurrentHashMap<QName, String[]>();
+
+    /**
+     * Records the endpoints of a service.
+     * @param serviceName name of the service
+     * @param endpoints endpoints returned by the registry
+     * @return true if they differ from the endpoints recorded before
+     */
+    boolean update(QName serviceName, List<RemoteEndpoint> endpoints) {
+        String[] previous = _addresses.get(serviceName);
+        if (previous == null ? endpoints.isEmpty() : sameAddresses(previous, endpoints)) {
+            return false;
+        }
+        if (endpoints.isEmpty()) {
+            _addresses.remove(serviceName);
+        } else {
+            String[] addresses = new String[endpoints.size()];
+            for (int i = 0; i < addresses.length; i++) {
+                addresses[i] = String.valueOf(endpoints.get(i).getEndpoint());
+            }
+            _addresses.put(serviceName, addresses);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the addresses recorded for any service; an address serving several
+     * services stays while any of them still has it.
+     * @return endpoint addresses
+     */
+    Set<String> getAddresses() {
+        Set<String> current = new HashSet<String>();
+        for (String[] addresses : _addresses.values()) {
+            Collections.addAll(current, addresses);
+        }
+        return current;
+    }
+
+    private static boolean sameAddresses(String[] addresses, List<RemoteEndpoint> endpoints) {
+        if (addresses.length != endpoints.size()) {
+            return false;
+        }
+        for (int i = 0; i < addresses.length; i++) {
+            if (!addresses[i].equals(String.valueOf(endpoints.get(i).getEndpoint()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
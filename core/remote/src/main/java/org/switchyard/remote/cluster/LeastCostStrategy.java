@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.remote.cluster;
+
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import org.switchyard.remote.RemoteEndpoint;
+
+/**
+ * Abstract base class for strategies selecting the available endpoint which
+ * costs least to invoke, by a measure of cost the implementation defines.
+ * Endpoints are looked at in turn, starting at the next one in a rotation,
+ * so endpoints which cost the same share the invocations.
+ */
+public abstract class LeastCostStrategy extends BaseStrategy {
+
+    @Override
+    public RemoteEndpoint selectEndpoint(QName serviceName) {
+        if (getRegistry() == null) {
+            return null;
+        }
+        List<RemoteEndpoint> eps = getEndpoints(serviceName);
+        if (eps.isEmpty()) {
+            return null;
+        }
+        int size = eps.size();
+        int start = next(serviceName, size);
+        RemoteEndpoint selectedEp = null;
+        double least = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            RemoteEndpoint ep = eps.get((start + i) % size);
+            if (isAvailable(ep)) {
+                double cost = cost(getStatistics(ep));
+                if (cost < least) {
+                    selectedEp = ep;
+                    least = cost;
+                }
+            }
+        }
+        // every endpoint is ejected, keep going in turn rather than failing
+        return selectedEp != null ? selectedEp : eps.get(start);
+    }
+
+    /**
+     * Returns the cost of invoking an endpoint.
+     * @param statistics statistics of the endpoint
+     * @return cost, lower is better
+     */
+    protected abstract double cost(EndpointStatistics statistics);
+}
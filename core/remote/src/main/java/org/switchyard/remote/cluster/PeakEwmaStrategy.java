@@ -0,0 +1,45 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.remote.cluster;
+
+/**
+ * Load balance strategy which selects the endpoint with the lowest peak EWMA
+ * latency, weighted by the number of invocations in flight to it.  An endpoint
+ * which slows down stops getting a full share of invocations as soon as its
+ * first slow reply arrives.  Endpoints which have not replied yet cost nothing
+ * while idle, and more than any other while they have invocations in flight,
+ * so they are tried without being flooded.
+ */
+public class PeakEwmaStrategy extends LeastCostStrategy {
+
+    // cost of an endpoint with invocations in flight but no latency yet
+    private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+    /**
+     * Create a new PeakEwmaStrategy.
+     */
+    public PeakEwmaStrategy() {
+        super();
+    }
+
+    @Override
+    protected double cost(EndpointStatistics statistics) {
+        double latency = statistics.getLatencyNanos();
+        int inFlight = statistics.getInFlightCount();
+        if (latency == 0) {
+            return inFlight == 0 ? 0 : PENALTY + inFlight;
+        }
+        return latency * (inFlight + 1);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.remote.cluster;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.xml.namespace.QName;
+
+import org.switchyard.remote.RemoteEndpoint;
+
+/**
+ * Load balance strategy which picks two available endpoints at random and
+ * selects the one which costs less, by the same latency and load measure as the
+ * {@link PeakEwmaStrategy}.  Looking at two endpoints only keeps selection cheap
+ * for services with many endpoints, and the randomness keeps nodes of a cluster
+ * from all piling onto the same endpoint.
+ */
+public class PowerOfTwoChoicesStrategy extends PeakEwmaStrategy {
+
+    /**
+     * Create a new PowerOfTwoChoicesStrategy.
+     */
+    public PowerOfTwoChoicesStrategy() {
+        super();
+    }
+
+    @Override
+    public RemoteEndpoint selectEndpoint(QName serviceName) {
+        if (getRegistry() == null) {
+            return null;
+        }
+        List<RemoteEndpoint> eps = getEndpoints(serviceName);
+        int size = eps.size();
+        if (size < 2) {
+            return size == 0 ? null : eps.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        RemoteEndpoint firstEp = firstAvailable(eps, first);
+        RemoteEndpoint secondEp = firstAvailable(eps, second);
+        if (firstEp == secondEp) {
+            return firstEp;
+        }
+        return cost(getStatistics(firstEp)) <= cost(getStatistics(secondEp)) ? firstEp : secondEp;
+    }
+}
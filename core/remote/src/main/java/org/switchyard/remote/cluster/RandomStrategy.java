@@ -14,20 +14,19 @@
 package org.switchyard.remote.cluster;
 
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 import javax.xml.namespace.QName;
 
 import org.switchyard.remote.RemoteEndpoint;
 
 /**
- * Random endpoint selection strategy which uses a Java Random with default seed to select an 
- * available endpoint in the list.
+ * Random endpoint selection strategy which picks an available endpoint in the list at
+ * random.  If the endpoint picked is ejected, the next available one in the list is
+ * selected instead.
  */
 public class RandomStrategy extends BaseStrategy {
     
-    private Random _random = new Random();
-    
     /**
      * Create a new RandomStrategy.
      */
@@ -42,10 +41,10 @@ public class RandomStrategy extends BaseStrategy {
         }
         
         RemoteEndpoint selectedEp = null;
-        List<RemoteEndpoint> eps = getRegistry().getEndpoints(serviceName);
+        List<RemoteEndpoint> eps = getEndpoints(serviceName);
         if (!eps.isEmpty()) {
-            int idx = _random.nextInt(Integer.MAX_VALUE) % eps.size();
-            selectedEp = eps.get(idx);
+            int idx = ThreadLocalRandom.current().nextInt(eps.size());
+            selectedEp = firstAvailable(eps, idx);
         }
         
         return selectedEp;
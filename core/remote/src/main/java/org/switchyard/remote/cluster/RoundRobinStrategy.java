@@ -14,9 +14,6 @@
 package org.switchyard.remote.cluster;
 
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.namespace.QName;
 
@@ -28,11 +25,10 @@ import org.switchyard.remote.RemoteEndpoint;
  * there's potential for a given endpoint to be "skipped" in a given cycle if endpoints are 
  * removed between selections.  This is not harmful, but it means this implementation does not
  * guarantee completely uniform distribution in the event of cluster topology changes.
+ * Ejected endpoints are skipped as well.
  */
 public class RoundRobinStrategy extends BaseStrategy {
     
-    private ConcurrentMap<QName, AtomicInteger> _endpointIdxs = new ConcurrentHashMap<QName, AtomicInteger>();
-    
     /**
      * Create a new RoundRobin strategy.
      */
@@ -46,14 +42,9 @@ public class RoundRobinStrategy extends BaseStrategy {
             return null;
         }
         RemoteEndpoint selectedEp = null;
-        List<RemoteEndpoint> eps = getRegistry().getEndpoints(serviceName);
+        List<RemoteEndpoint> eps = getEndpoints(serviceName);
         if (!eps.isEmpty()) {
-            _endpointIdxs.putIfAbsent(serviceName, new AtomicInteger(0));
-            AtomicInteger idx = _endpointIdxs.get(serviceName);
-            synchronized (idx) {
-                idx.set(idx.get() % eps.size());
-                selectedEp = eps.get(idx.getAndIncrement());
-            }
+            selectedEp = firstAvailable(eps, next(serviceName, eps.size()));
         }
         
         return selectedEp;
@@ -13,13 +13,17 @@
  */
 package org.switchyard.remote.http;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.StringWriter;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Properties;
+import java.util.concurrent.Semaphore;
 
 import javax.xml.namespace.QName;
 import javax.xml.transform.Transformer;
@@ -33,13 +37,17 @@ import org.switchyard.common.codec.Base64;
 import org.switchyard.remote.RemoteInvoker;
 import org.switchyard.remote.RemoteMessage;
 import org.switchyard.remote.RemoteMessages;
-import org.switchyard.serial.FormatType;
-import org.switchyard.serial.Serializer;
-import org.switchyard.serial.SerializerFactory;
 import org.w3c.dom.Node;
 
 /**
  * Remote service invoker which uses HTTP as a transport.
+ * <p/>
+ * Connections are left for the JDK to keep alive and reuse: request bodies
+ * are sent with a fixed length and replies are always read to the end, and
+ * the number of requests in flight to the endpoint can be capped.  Requests
+ * start out as JSON and switch to the binary {@link WireFormat#PROTOSTUFF}
+ * format as soon as the endpoint replies in it, so nodes of older versions
+ * which only speak JSON keep working.
  */
 public class HttpInvoker implements RemoteInvoker {
     
@@ -60,11 +68,32 @@ public class HttpInvoker implements RemoteInvoker {
     public static final String WS_SECURITY = "webservice.security";
     /** Property name represented by QName for Web Service Security header element. */
     public static final QName WS_SECURITY_QNAME = new QName("http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-secext-1.0.xsd", "Security");
-    
+    /** Property name for the wire format: json or protostuff, negotiated if not set. */
+    public static final String FORMAT = "format";
+    /** Property name for gzip compressing messages sent in a binary wire format. */
+    public static final String COMPRESS = "compress";
+    /** Property name for the maximum number of requests in flight to the endpoint, unlimited if not positive. */
+    public static final String MAX_CONNECTIONS = "max.connections";
+
+    /** System property providing the default wire format. */
+    public static final String FORMAT_PROPERTY = "org.switchyard.remote.http.format";
+    /** System property providing the default for compressing binary messages. */
+    public static final String COMPRESS_PROPERTY = "org.switchyard.remote.http.compress";
+    /** System property providing the default maximum number of requests in flight per endpoint. */
+    public static final String MAX_CONNECTIONS_PROPERTY = "org.switchyard.remote.http.maxConnections";
+
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    private static final String ACCEPT_HEADER = "Accept";
+
     private static Logger _log = Logger.getLogger(HttpInvoker.class);
-    private Serializer _serializer = SerializerFactory.create(FormatType.JSON, null, true);
     private URL _endpoint;
     private Properties _properties = new Properties();
+    // forced format, or null to negotiate
+    private WireFormat _forcedFormat;
+    private volatile WireFormat _format = WireFormat.JSON;
+    private boolean _compress = Boolean.getBoolean(COMPRESS_PROPERTY);
+    private volatile Semaphore _connections;
     
     /**
      * Create a new HttpInvoker from the specified URL string.
@@ -76,6 +105,7 @@ public class HttpInvoker implements RemoteInvoker {
         } catch (MalformedURLException badURL) {
             throw RemoteMessages.MESSAGES.invalidURLForEndpoint(endpoint, badURL);
         }
+        init();
     }
     
     /**
@@ -84,20 +114,60 @@ public class HttpInvoker implements RemoteInvoker {
      */
     public HttpInvoker(URL endpoint) {
         _endpoint = endpoint;
+        init();
+    }
+
+    private void init() {
+        String format = System.getProperty(FORMAT_PROPERTY);
+        if (format != null) {
+            setFormat(format);
+        }
+        setMaxConnections(Integer.getInteger(MAX_CONNECTIONS_PROPERTY, 0));
     }
 
     @Override
     public RemoteMessage invoke(RemoteMessage request) throws java.io.IOException {
+        Semaphore connections = _connections;
+        if (connections != null) {
+            try {
+                connections.acquire();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(ie.getMessage());
+            }
+        }
+        try {
+            return send(request);
+        } finally {
+            if (connections != null) {
+                connections.release();
+            }
+        }
+    }
+
+    private RemoteMessage send(RemoteMessage request) throws IOException {
         RemoteMessage reply = null;
         HttpURLConnection conn = null;
+        WireFormat format = _format;
+        boolean compress = _compress && format != WireFormat.JSON;
         
         if (_log.isDebugEnabled()) {
             _log.debug("Invoking " + request.getService() + " at endpoint " + _endpoint.toString());
         }
         
+        // Serialize up front, so the body can be streamed with a fixed length
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        format.getSerializer(compress).serialize(request, RemoteMessage.class, body);
+        
         // Initialize HTTP connection
         conn = (HttpURLConnection)_endpoint.openConnection();
         conn.setDoOutput(true);
+        conn.setFixedLengthStreamingMode(body.size());
+        conn.setRequestProperty(CONTENT_TYPE_HEADER, format.getContentType());
+        if (compress) {
+            conn.setRequestProperty(CONTENT_ENCODING_HEADER, WireFormat.GZIP_ENCODING);
+        }
+        conn.setRequestProperty(ACCEPT_HEADER, getAccept());
         conn.addRequestProperty(SERVICE_HEADER, request.getService().toString());
         for (Property prop : request.getContext().getProperties(HttpInvokerLabel.HEADER.label())) {
             conn.addRequestProperty(prop.getName(), prop.getValue().toString());
@@ -108,28 +178,77 @@ public class HttpInvoker implements RemoteInvoker {
         OutputStream os = conn.getOutputStream();
         try {
         // Write the request message
-            _serializer.serialize(request, RemoteMessage.class, os);
+            body.writeTo(os);
             os.flush();
         } finally { 
             os.close();
         }
         
         // Check for response and process accordingly
-        if (conn.getResponseCode() == 200) {
+        int responseCode = conn.getResponseCode();
+        WireFormat replyFormat = WireFormat.fromContentType(conn.getContentType());
+        if (_forcedFormat == null) {
+            // replying in binary tells us the endpoint reads it as well, while
+            // an error for a binary request means it does not (any more)
+            if (replyFormat != WireFormat.JSON) {
+                switchFormat(replyFormat);
+            } else if (responseCode >= 400) {
+                switchFormat(WireFormat.JSON);
+            }
+        }
+        if (responseCode == 200) {
             if (_log.isDebugEnabled()) {
                 _log.debug("Processing reply for service " + request.getService());
             }
             InputStream is = conn.getInputStream();
             try {
-                reply = _serializer.deserialize(is, RemoteMessage.class);
+                boolean compressed = WireFormat.GZIP_ENCODING.equalsIgnoreCase(conn.getContentEncoding());
+                reply = replyFormat.getSerializer(compressed).deserialize(is, RemoteMessage.class);
             } finally {
-                is.close();
+                drain(is);
             }
+        } else if (responseCode < 400) {
+            drain(conn.getInputStream());
+        } else {
+            // e.g. a busy endpoint rejecting the invocation, which the caller has to fault
+            drain(conn.getErrorStream());
+            throw RemoteMessages.MESSAGES.remoteInvocationFailed(_endpoint.toString(), responseCode);
         }
         
         return reply;
     }
 
+    private void switchFormat(WireFormat format) {
+        if (_format != format) {
+            if (_log.isDebugEnabled()) {
+                _log.debug("Switching to " + format + " wire format for endpoint " + _endpoint);
+            }
+            _format = format;
+        }
+    }
+
+    private String getAccept() {
+        if (_forcedFormat == WireFormat.JSON || !WireFormat.PROTOSTUFF.isAvailable()) {
+            return WireFormat.JSON.getContentType();
+        }
+        return WireFormat.PROTOSTUFF.getContentType() + ", " + WireFormat.JSON.getContentType();
+    }
+
+    // Reads a response body to the end, so that the connection can be kept alive
+    private static void drain(InputStream is) throws IOException {
+        if (is == null) {
+            return;
+        }
+        try {
+            byte[] buffer = new byte[512];
+            while (is.read(buffer) != -1) {
+                continue;
+            }
+        } finally {
+            is.close();
+        }
+    }
+
     private void setupAuthentication(HttpURLConnection conn) {
         if (_properties.getProperty(AUTH_USERNAME) != null) {
             conn.setRequestProperty("Authorization",
@@ -171,6 +290,30 @@ public class HttpInvoker implements RemoteInvoker {
      */
     public HttpInvoker setProperty(Object key, Object value) {
         _properties.put(key, value);
+        if (FORMAT.equals(key)) {
+            setFormat(value.toString());
+        } else if (COMPRESS.equals(key)) {
+            _compress = Boolean.valueOf(value.toString());
+        } else if (MAX_CONNECTIONS.equals(key)) {
+            setMaxConnections(Integer.parseInt(value.toString()));
+        }
         return this;
     }
+
+    /**
+     * The wire format requests are currently sent in.
+     * @return wire format
+     */
+    public WireFormat getFormat() {
+        return _format;
+    }
+
+    private void setFormat(String format) {
+        _forcedFormat = WireFormat.fromName(format);
+        _format = _forcedFormat;
+    }
+
+    private void setMaxConnections(int maxConnections) {
+        _connections = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.remote.http;
+
+import org.switchyard.remote.RemoteMessages;
+import org.switchyard.serial.CompressionType;
+import org.switchyard.serial.FormatType;
+import org.switchyard.serial.Serializer;
+import org.switchyard.serial.SerializerFactory;
+
+/**
+ * Formats a RemoteMessage can be sent over HTTP in, identified by content type.
+ * <p/>
+ * JSON is what every SwitchYard node understands and is assumed whenever a
+ * peer does not say otherwise.  The binary protostuff format is only used
+ * once the peer has shown it understands it, and only if the protostuff
+ * serialization provider is installed.
+ */
+public enum WireFormat {
+
+    /** Graph-wrapped JSON. */
+    JSON("application/json", FormatType.JSON),
+    /** Graph-wrapped native protostuff. */
+    PROTOSTUFF("application/x-switchyard-protostuff", FormatType.NATIVE_PROTOSTUFF);
+
+    /**
+     * Content encoding used for compressed messages.
+     */
+    public static final String GZIP_ENCODING = "gzip";
+
+    private final String _contentType;
+    private final Serializer _serializer;
+    private final Serializer _compressedSerializer;
+
+    private WireFormat(String contentType, FormatType format) {
+        _contentType = contentType;
+        _serializer = SerializerFactory.create(format, null, true);
+        _compressedSerializer = SerializerFactory.create(format, CompressionType.GZIP, true);
+    }
+
+    /**
+     * The content type identifying this format.
+     * @return content type
+     */
+    public String getContentType() {
+        return _contentType;
+    }
+
+    /**
+     * Whether a serializer for this format is installed.
+     * @return true if messages can be read and written in this format
+     */
+    public boolean isAvailable() {
+        return _serializer != null;
+    }
+
+    /**
+     * The serializer for this format.
+     * @param compressed whether messages are gzip compressed
+     * @return serializer, or null if the format is not available
+     */
+    public Serializer getSerializer(boolean compressed) {
+        return compressed ? _compressedSerializer : _serializer;
+    }
+
+    /**
+     * Returns the format a message with the specified content type is in.
+     * Anything not identifying a known format, including no content type at
+     * all, is taken to be JSON, which older nodes send without saying so.
+     * @param contentType content type, may carry parameters
+     * @return format
+     */
+    public static WireFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";")[0].trim();
+            for (WireFormat format : values()) {
+                if (format._contentType.equalsIgnoreCase(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Returns the most compact available format listed in an Accept header,
+     * falling back to JSON.
+     * @param accept accept header value, may be null
+     * @return format
+     */
+    public static WireFormat fromAccept(String accept) {
+        if (accept != null && PROTOSTUFF.isAvailable()
+                && accept.toLowerCase().contains(PROTOSTUFF._contentType)) {
+            return PROTOSTUFF;
+        }
+        return JSON;
+    }
+
+    /**
+     * Returns the format with the specified name.
+     * @param name format name, case insensitive
+     * @return format
+     * @throws IllegalArgumentException the format is unknown or not available
+     */
+    public static WireFormat fromName(String name) {
+        for (WireFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name.trim())) {
+                if (!format.isAvailable()) {
+                    break;
+                }
+                return format;
+            }
+        }
+        throw RemoteMessages.MESSAGES.unsupportedWireFormat(name);
+    }
+}
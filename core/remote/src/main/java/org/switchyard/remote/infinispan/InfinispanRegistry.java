@@ -14,15 +14,25 @@
 package org.switchyard.remote.infinispan;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.namespace.QName;
 
 import org.jboss.logging.Logger;
 import org.infinispan.Cache;
 import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.annotation.TopologyChanged;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
 import org.infinispan.notifications.cachemanagerlistener.annotation.ViewChanged;
 import org.infinispan.notifications.cachemanagerlistener.event.ViewChangedEvent;
 import org.infinispan.remoting.transport.Address;
@@ -37,16 +47,30 @@ import org.switchyard.serial.SerializerFactory;
  * Implementation of a distributed registry based on a replicated cache in Infinispan.
  * This class provides an implementation of the RemoteRegistry contract as well as a group
  * membership listener to detect node failures and remove endpoint registrations from that node.
+ * <p/>
+ * Each node keeps the endpoints in the cache decoded and indexed by service name,
+ * so looking up the endpoints of a service does not touch the cache.  The index is
+ * kept current by a cache listener, which sees the changes made on every node, and
+ * is rebuilt from the cache whenever the topology of the cluster changes.
  */
 public class InfinispanRegistry implements RemoteRegistry {
 
     private static final QName ROOT_DOMAIN = new QName("all-domains");
+    // node name used when the cache manager is not clustered
+    private static final String LOCAL_NODE = "local";
     
     private static Logger _log = Logger.getLogger(InfinispanRegistry.class);
 
     private String _nodeName;
     private Cache<String, String> _serviceCache;
     private Serializer _serializer;
+    // read-only snapshots of the endpoints of each service, replaced on every change;
+    // a rebuild swaps in a whole new map, so lookups never see it half filled
+    private volatile ConcurrentMap<QName, List<RemoteEndpoint>> _endpoints =
+            new ConcurrentHashMap<QName, List<RemoteEndpoint>>();
+    // guarded by this: the decoded endpoints behind the snapshots, by service and cache key
+    private Map<QName, Map<String, RemoteEndpoint>> _index = new HashMap<QName, Map<String, RemoteEndpoint>>();
+    private Map<String, QName> _keyServices = new HashMap<String, QName>();
     
     /**
      * Create a new InfinispanRegistry using the specified replicated cache.
@@ -57,7 +81,11 @@ public class InfinispanRegistry implements RemoteRegistry {
         _serializer = SerializerFactory.create(FormatType.JSON, null, true);
     
         serviceCache.getCacheManager().addListener(new MemberDropListener());
-        _nodeName = serviceCache.getCacheManager().getAddress().toString();
+        Address address = serviceCache.getCacheManager().getAddress();
+        _nodeName = address != null ? address.toString() : LOCAL_NODE;
+        // listen before reading the cache, so no change slips between the two
+        serviceCache.addListener(new EndpointIndexListener());
+        rebuildIndex();
     }
     
     @Override
@@ -108,31 +136,95 @@ public class InfinispanRegistry implements RemoteRegistry {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The list returned is a read-only snapshot shared between callers.
+     */
     @Override
     public List<RemoteEndpoint> getEndpoints(QName serviceName) {
-        List<RemoteEndpoint> services = new LinkedList<RemoteEndpoint>();
-        // add remotes and prune the local entry
-        String serviceKey = createServiceKey(ROOT_DOMAIN, serviceName);
-        Set<String> nodes = _serviceCache.keySet();
-        if (nodes != null) {
-            for (String node : nodes) {
-                if (node.startsWith(serviceKey)) {
-                    String epStr = _serviceCache.get(node);
-                    // Catch a race condition where entry has been removed since keySet list was built
-                    if (epStr != null) {
-                        try {
-                            RemoteEndpoint ep = _serializer.deserialize(epStr.getBytes(), RemoteEndpoint.class);
-                            services.add(ep);
-                        } catch (java.io.IOException ioEx) {
-                            _log.warn("Failed to deserialize remote endpoint: " + epStr, ioEx);
-                        }
-                    }
-                }
+        List<RemoteEndpoint> services = _endpoints.get(serviceName);
+        return services != null ? services : Collections.<RemoteEndpoint>emptyList();
+    }
+    
+    /**
+     * Replaces the index with the current contents of the cache.
+     */
+    synchronized void rebuildIndex() {
+        _index = new HashMap<QName, Map<String, RemoteEndpoint>>();
+        _keyServices = new HashMap<String, QName>();
+        for (Map.Entry<String, String> entry : _serviceCache.entrySet()) {
+            indexEntry(entry.getKey(), entry.getValue());
+        }
+        ConcurrentMap<QName, List<RemoteEndpoint>> endpoints = new ConcurrentHashMap<QName, List<RemoteEndpoint>>();
+        for (Map.Entry<QName, Map<String, RemoteEndpoint>> entry : _index.entrySet()) {
+            endpoints.put(entry.getKey(), snapshot(entry.getValue()));
+        }
+        _endpoints = endpoints;
+    }
+
+    /**
+     * Brings the index entry for a cache key up to date with the cache.
+     * @param cacheKey key of the entry which changed
+     */
+    synchronized void reindex(String cacheKey) {
+        QName removed = unindexEntry(cacheKey);
+        String epStr = _serviceCache.get(cacheKey);
+        QName added = epStr != null ? indexEntry(cacheKey, epStr) : null;
+        if (removed != null && !removed.equals(added)) {
+            publish(removed);
+        }
+        if (added != null) {
+            publish(added);
+        }
+    }
+
+    // returns the service the entry was indexed under, null if it could not be read
+    private QName indexEntry(String cacheKey, String epStr) {
+        RemoteEndpoint ep;
+        try {
+            ep = _serializer.deserialize(epStr.getBytes(), RemoteEndpoint.class);
+        } catch (java.io.IOException ioEx) {
+            _log.warn("Failed to deserialize remote endpoint: " + epStr, ioEx);
+            return null;
+        }
+        QName serviceName = ep.getServiceName();
+        Map<String, RemoteEndpoint> endpoints = _index.get(serviceName);
+        if (endpoints == null) {
+            endpoints = new LinkedHashMap<String, RemoteEndpoint>();
+            _index.put(serviceName, endpoints);
+        }
+        endpoints.put(cacheKey, ep);
+        _keyServices.put(cacheKey, serviceName);
+        return serviceName;
+    }
+
+    // returns the service the entry was indexed under, null if it was not indexed
+    private QName unindexEntry(String cacheKey) {
+        QName serviceName = _keyServices.remove(cacheKey);
+        if (serviceName != null) {
+            Map<String, RemoteEndpoint> endpoints = _index.get(serviceName);
+            endpoints.remove(cacheKey);
+            if (endpoints.isEmpty()) {
+                _index.remove(serviceName);
             }
         }
-        return services;
+        return serviceName;
     }
-    
+
+    private void publish(QName serviceName) {
+        Map<String, RemoteEndpoint> endpoints = _index.get(serviceName);
+        if (endpoints == null) {
+            _endpoints.remove(serviceName);
+        } else {
+            _endpoints.put(serviceName, snapshot(endpoints));
+        }
+    }
+
+    private static List<RemoteEndpoint> snapshot(Map<String, RemoteEndpoint> endpoints) {
+        return Collections.unmodifiableList(new ArrayList<RemoteEndpoint>(endpoints.values()));
+    }
+
     private String createServiceKey(QName domain, QName service) {
         return "/" + domain.toString() + "/" + service.toString();
     }
@@ -141,6 +233,57 @@ public class InfinispanRegistry implements RemoteRegistry {
         return createServiceKey(domain, service) + "/" + node;
     }
     
+    /**
+     * Keeps the endpoint index current with changes to the cache, made on this
+     * node or replicated from others.
+     */
+    @Listener
+    public class EndpointIndexListener {
+        /**
+         * Triggered when an endpoint is registered.
+         * @param event change details
+         */
+        @CacheEntryCreated
+        public void entryCreated(CacheEntryEvent<String, String> event) {
+            if (!event.isPre()) {
+                reindex(event.getKey());
+            }
+        }
+
+        /**
+         * Triggered when an endpoint registration is replaced.
+         * @param event change details
+         */
+        @CacheEntryModified
+        public void entryModified(CacheEntryEvent<String, String> event) {
+            if (!event.isPre()) {
+                reindex(event.getKey());
+            }
+        }
+
+        /**
+         * Triggered when an endpoint is unregistered.
+         * @param event change details
+         */
+        @CacheEntryRemoved
+        public void entryRemoved(CacheEntryEvent<String, String> event) {
+            if (!event.isPre()) {
+                reindex(event.getKey());
+            }
+        }
+
+        /**
+         * Triggered when the cache topology changes and state may have been transferred.
+         * @param event change details
+         */
+        @TopologyChanged
+        public void topologyChanged(TopologyChangedEvent<String, String> event) {
+            if (!event.isPre()) {
+                rebuildIndex();
+            }
+        }
+    }
+
     /**
      * Listeners for members which get dropped and removes any endpoint registrations for 
      * dropped nodes in the registry.
@@ -158,10 +301,15 @@ public class InfinispanRegistry implements RemoteRegistry {
             for (Address addr : dropped) {
                 dropAllServices(addr);
             }
+            rebuildIndex();
         }
         
         void dropAllServices(Address address) {
-            for (String node : _serviceCache.keySet()) {
+            List<String> keys;
+            synchronized (InfinispanRegistry.this) {
+                keys = new ArrayList<String>(_keyServices.keySet());
+            }
+            for (String node : keys) {
                 if (node.endsWith("/" + address.toString())) {
                     _serviceCache.remove(node);
                 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.remote.cluster;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import javax.xml.namespace.QName;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.switchyard.remote.RemoteEndpoint;
+import org.switchyard.remote.RemoteMessage;
+import org.switchyard.remote.RemoteRegistry;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class ClusteredInvokerTest {
+
+    private static final QName TEST_SERVICE = new QName("ClusteredInvokerTest");
+
+    private RemoteRegistry registry = new MockRegistry();
+    private RoundRobinStrategy robin = new RoundRobinStrategy();
+    private HttpServer server;
+    private String address;
+
+    @Before
+    public void setUp() throws Exception {
+        // every endpoint is overloaded and rejects invocations with 503
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            public void handle(HttpExchange exchange) throws IOException {
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+            }
+        });
+        server.start();
+        address = "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop(0);
+    }
+
+    @Test
+    public void rejectedInvocationsFail() throws Exception {
+        RemoteEndpoint ep = new RemoteEndpoint().setServiceName(TEST_SERVICE).setEndpoint(address + "ep1");
+        registry.addEndpoint(ep);
+        robin.setMaxFailures(2);
+        ClusteredInvoker invoker = new ClusteredInvoker(registry, robin);
+        for (int i = 0; i < 2; i++) {
+            try {
+                invoker.invoke(new RemoteMessage().setService(TEST_SERVICE));
+                Assert.fail("Rejected invocation should fail");
+            } catch (IOException expected) {
+                // success
+            }
+        }
+        EndpointStatistics statistics = robin.getStatistics(ep);
+        Assert.assertEquals(2, statistics.getFailureCount());
+        Assert.assertTrue(statistics.isEjected());
+    }
+
+    @Test
+    public void departedInvokersDropped() throws Exception {
+        RemoteEndpoint ep1 = new RemoteEndpoint().setServiceName(TEST_SERVICE).setEndpoint(address + "ep1");
+        RemoteEndpoint ep2 = new RemoteEndpoint().setServiceName(TEST_SERVICE).setEndpoint(address + "ep2");
+        registry.addEndpoint(ep1);
+        registry.addEndpoint(ep2);
+        ClusteredInvoker invoker = new ClusteredInvoker(registry, robin);
+        invokeQuietly(invoker);
+        invokeQuietly(invoker);
+        Assert.assertEquals(2, invoker.getInvokedEndpoints().size());
+
+        // ep2 leaves the cluster
+        registry.removeEndpoint(ep2);
+        registry.addEndpoint(ep1);
+        invokeQuietly(invoker);
+        Assert.assertEquals(1, invoker.getInvokedEndpoints().size());
+        Assert.assertTrue(invoker.getInvokedEndpoints().contains(ep1.getEndpoint()));
+    }
+
+    private void invokeQuietly(ClusteredInvoker invoker) {
+        try {
+            invoker.invoke(new RemoteMessage().setService(TEST_SERVICE));
+        } catch (IOException expected) {
+            // every endpoint rejects invocations
+        }
+    }
+}
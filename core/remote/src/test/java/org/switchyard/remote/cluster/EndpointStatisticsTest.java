@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.remote.cluster;
+
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.switchyard.remote.RemoteEndpoint;
+
+public class EndpointStatisticsTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private RoundRobinStrategy strategy = new RoundRobinStrategy();
+    private EndpointStatistics statistics = strategy.getStatistics(new RemoteEndpoint().setEndpoint("ep1"));
+
+    @Test
+    public void counts() {
+        long start = statistics.requestStarted();
+        Assert.assertEquals(1, statistics.getInFlightCount());
+        statistics.requestCompleted(start);
+        statistics.requestFailed(statistics.requestStarted());
+        Assert.assertEquals(0, statistics.getInFlightCount());
+        Assert.assertEquals(2, statistics.getRequestCount());
+        Assert.assertEquals(1, statistics.getFailureCount());
+        Assert.assertSame(statistics, EndpointStatistics.of(strategy, new RemoteEndpoint().setEndpoint("ep1")));
+    }
+
+    @Test
+    public void peakLatency() {
+        statistics.requestStarted();
+        statistics.requestCompleted(0, 10 * MILLIS);
+        Assert.assertEquals(10.0, statistics.getLatencyNanos(10 * MILLIS) / MILLIS, 0.001);
+        // a slower reply is taken at once
+        statistics.requestStarted();
+        statistics.requestCompleted(10 * MILLIS, 110 * MILLIS);
+        Assert.assertEquals(100.0, statistics.getLatencyNanos(110 * MILLIS) / MILLIS, 0.001);
+        // a faster one pulls the average down gradually
+        statistics.requestStarted();
+        statistics.requestCompleted(110 * MILLIS, 120 * MILLIS);
+        double latency = statistics.getLatencyNanos(120 * MILLIS) / MILLIS;
+        Assert.assertTrue(String.valueOf(latency), latency > 90 && latency < 100);
+        // and so does time without replies
+        Assert.assertTrue(statistics.getLatencyNanos(120 * MILLIS + EndpointStatistics.DECAY_TIME) / MILLIS < latency / 2);
+    }
+
+    @Test
+    public void ejectionAndReadmission() {
+        strategy.setMaxFailures(3);
+        strategy.setEjectionTime(1000);
+        long now = 0;
+        for (int i = 0; i < 2; i++) {
+            statistics.requestStarted();
+            statistics.requestFailed(now, now);
+        }
+        Assert.assertFalse(statistics.isEjected(now));
+        statistics.requestStarted();
+        statistics.requestFailed(now, now);
+        Assert.assertTrue(statistics.isEjected(now));
+        Assert.assertTrue(statistics.isEjected(now + 999 * MILLIS));
+        Assert.assertFalse(statistics.isEjected(now + 1000 * MILLIS));
+
+        // failing again right after re-admission doubles the ejection time
+        now += 1000 * MILLIS;
+        for (int i = 0; i < 3; i++) {
+            statistics.requestStarted();
+            statistics.requestFailed(now, now);
+        }
+        Assert.assertTrue(statistics.isEjected(now + 1999 * MILLIS));
+        Assert.assertFalse(statistics.isEjected(now + 2000 * MILLIS));
+
+        // a success resets the count
+        now += 2000 * MILLIS;
+        for (int i = 0; i < 2; i++) {
+            statistics.requestStarted();
+            statistics.requestFailed(now, now);
+        }
+        statistics.requestStarted();
+        statistics.requestCompleted(now, now);
+        statistics.requestStarted();
+        statistics.requestFailed(now, now);
+        Assert.assertFalse(statistics.isEjected(now));
+    }
+}
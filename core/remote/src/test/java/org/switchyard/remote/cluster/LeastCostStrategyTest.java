@@ -0,0 +1,140 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.remote.cluster;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.switchyard.remote.RemoteEndpoint;
+import org.switchyard.remote.RemoteRegistry;
+
+public class LeastCostStrategyTest {
+
+    private static final QName TEST_SERVICE = new QName("LeastCostStrategy");
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private RemoteRegistry registry = new MockRegistry();
+    private RemoteEndpoint ep1 = new RemoteEndpoint().setServiceName(TEST_SERVICE).setEndpoint("ep1");
+    private RemoteEndpoint ep2 = new RemoteEndpoint().setServiceName(TEST_SERVICE).setEndpoint("ep2");
+    private RemoteEndpoint ep3 = new RemoteEndpoint().setServiceName(TEST_SERVICE).setEndpoint("ep3");
+
+    @Test
+    public void noEndpoints() {
+        Assert.assertNull(create(new LeastInFlightStrategy()).selectEndpoint(TEST_SERVICE));
+        Assert.assertNull(create(new PeakEwmaStrategy()).selectEndpoint(TEST_SERVICE));
+        Assert.assertNull(create(new PowerOfTwoChoicesStrategy()).selectEndpoint(TEST_SERVICE));
+    }
+
+    @Test
+    public void leastInFlight() {
+        LeastInFlightStrategy strategy = create(new LeastInFlightStrategy());
+        addEndpoints();
+        strategy.getStatistics(ep1).requestStarted();
+        strategy.getStatistics(ep1).requestStarted();
+        strategy.getStatistics(ep2).requestStarted();
+        Assert.assertEquals(ep3, strategy.selectEndpoint(TEST_SERVICE));
+        Assert.assertEquals(ep3, strategy.selectEndpoint(TEST_SERVICE));
+        // idle endpoints share the load
+        strategy.getStatistics(ep2).requestCompleted(0);
+        Map<String, AtomicInteger> counts = select(strategy, 90);
+        Assert.assertNull(counts.get("ep1"));
+        Assert.assertTrue(counts.get("ep2").get() >= 30);
+        Assert.assertTrue(counts.get("ep3").get() >= 30);
+    }
+
+    @Test
+    public void peakEwmaAvoidsSlowEndpoint() {
+        PeakEwmaStrategy strategy = create(new PeakEwmaStrategy());
+        addEndpoints();
+        long now = System.nanoTime();
+        reply(strategy, ep1, now, 200 * MILLIS);
+        reply(strategy, ep2, now, 10 * MILLIS);
+        reply(strategy, ep3, now, 12 * MILLIS);
+        Map<String, AtomicInteger> counts = select(strategy, 10);
+        Assert.assertNull(counts.get("ep1"));
+        Assert.assertEquals(10, counts.get("ep2").get());
+        // load on the fast endpoint moves invocations to the next fastest
+        strategy.getStatistics(ep2).requestStarted();
+        Assert.assertEquals(ep3, strategy.selectEndpoint(TEST_SERVICE));
+    }
+
+    @Test
+    public void powerOfTwoChoices() {
+        PowerOfTwoChoicesStrategy strategy = create(new PowerOfTwoChoicesStrategy());
+        addEndpoints();
+        long now = System.nanoTime();
+        reply(strategy, ep1, now, 500 * MILLIS);
+        reply(strategy, ep2, now, 10 * MILLIS);
+        reply(strategy, ep3, now, 10 * MILLIS);
+        // the slow endpoint loses every comparison
+        Map<String, AtomicInteger> counts = select(strategy, 300);
+        Assert.assertNull(counts.get("ep1"));
+        Assert.assertTrue(counts.get("ep2").get() > 0);
+        Assert.assertTrue(counts.get("ep3").get() > 0);
+    }
+
+    @Test
+    public void ejectedEndpointsSkipped() {
+        LeastInFlightStrategy strategy = create(new LeastInFlightStrategy());
+        RoundRobinStrategy robin = create(new RoundRobinStrategy());
+        addEndpoints();
+        strategy.setMaxFailures(1);
+        robin.setMaxFailures(1);
+        strategy.getStatistics(ep1).requestFailed(strategy.getStatistics(ep1).requestStarted());
+        robin.getStatistics(ep1).requestFailed(robin.getStatistics(ep1).requestStarted());
+        Assert.assertNull(select(strategy, 10).get("ep1"));
+        Assert.assertNull(select(robin, 10).get("ep1"));
+
+        // with all endpoints ejected, invocations are still made
+        strategy.getStatistics(ep2).requestFailed(strategy.getStatistics(ep2).requestStarted());
+        strategy.getStatistics(ep3).requestFailed(strategy.getStatistics(ep3).requestStarted());
+        Assert.assertNotNull(strategy.selectEndpoint(TEST_SERVICE));
+    }
+
+    private <T extends BaseStrategy> T create(T strategy) {
+        strategy.setRegistry(registry);
+        return strategy;
+    }
+
+    private void addEndpoints() {
+        registry.addEndpoint(ep1);
+        registry.addEndpoint(ep2);
+        registry.addEndpoint(ep3);
+    }
+
+    private void reply(BaseStrategy strategy, RemoteEndpoint ep, long now, long latency) {
+        EndpointStatistics statistics = strategy.getStatistics(ep);
+        statistics.requestStarted();
+        statistics.requestCompleted(now - latency, now);
+    }
+
+    private Map<String, AtomicInteger> select(LoadBalanceStrategy strategy, int times) {
+        Map<String, AtomicInteger> counts = new HashMap<String, AtomicInteger>();
+        for (int i = 0; i < times; i++) {
+            String endpoint = strategy.selectEndpoint(TEST_SERVICE).getEndpoint();
+            if (!counts.containsKey(endpoint)) {
+                counts.put(endpoint, new AtomicInteger());
+            }
+            counts.get(endpoint).incrementAndGet();
+        }
+        return counts;
+    }
+}
@@ -65,4 +65,27 @@ public class RoundRobinStrategyTest {
         Assert.assertEquals(ep4, robin.selectEndpoint(TEST_SERVICE2));
         Assert.assertEquals(ep1, robin.selectEndpoint(TEST_SERVICE1));
     }
+
+    @Test
+    public void departedEndpointsDropped() {
+        RemoteEndpoint ep1 = new RemoteEndpoint().setServiceName(TEST_SERVICE1).setEndpoint("ep1");
+        RemoteEndpoint ep2 = new RemoteEndpoint().setServiceName(TEST_SERVICE1).setEndpoint("ep2");
+        registry.addEndpoint(ep1);
+        registry.addEndpoint(ep2);
+        robin.getStatistics(robin.selectEndpoint(TEST_SERVICE1));
+        robin.getStatistics(robin.selectEndpoint(TEST_SERVICE1));
+        Assert.assertEquals(2, robin.getStatistics().size());
+
+        // ep2 leaves the cluster
+        registry.removeEndpoint(ep2);
+        registry.addEndpoint(ep1);
+        Assert.assertEquals(ep1, robin.selectEndpoint(TEST_SERVICE1));
+        Assert.assertEquals(1, robin.getStatistics().size());
+        Assert.assertEquals("ep1", robin.getStatistics().iterator().next().getEndpoint());
+
+        // the whole service leaves the cluster
+        registry.removeEndpoint(ep1);
+        Assert.assertNull(robin.selectEndpoint(TEST_SERVICE1));
+        Assert.assertTrue(robin.getStatistics().isEmpty());
+    }
 }
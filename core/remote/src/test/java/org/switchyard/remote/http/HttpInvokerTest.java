@@ -0,0 +1,195 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.remote.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.switchyard.remote.RemoteMessage;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests HttpInvoker against an in-process HTTP server echoing requests back.
+ */
+public class HttpInvokerTest {
+
+    private static final QName TEST_SERVICE = new QName("urn:test", "EchoService");
+
+    private HttpServer _server;
+    private ExecutorService _executor;
+    private String _endpoint;
+    private volatile Headers _lastHeaders;
+    private volatile long _delay;
+    private volatile int _status;
+    private final AtomicInteger _inFlight = new AtomicInteger();
+    private final AtomicInteger _maxInFlight = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        _executor = Executors.newCachedThreadPool();
+        _server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        _server.setExecutor(_executor);
+        _server.createContext("/echo", new EchoHandler());
+        _server.start();
+        _endpoint = "http://localhost:" + _server.getAddress().getPort() + "/echo";
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _server.stop(0);
+        _executor.shutdownNow();
+    }
+
+    @Test
+    public void jsonRoundTrip() throws Exception {
+        HttpInvoker invoker = new HttpInvoker(_endpoint);
+        RemoteMessage reply = invoker.invoke(new RemoteMessage().setService(TEST_SERVICE).setContent("hello"));
+        Assert.assertEquals("hello", reply.getContent());
+        Assert.assertEquals(WireFormat.JSON.getContentType(), _lastHeaders.getFirst("Content-Type"));
+        Assert.assertNotNull(_lastHeaders.getFirst("Content-Length"));
+        Assert.assertTrue(_lastHeaders.getFirst("Accept").contains(WireFormat.JSON.getContentType()));
+        Assert.assertEquals(TEST_SERVICE.toString(), _lastHeaders.getFirst(HttpInvoker.SERVICE_HEADER));
+    }
+
+    @Test
+    public void switchesToBinaryOnlyWhenOffered() throws Exception {
+        HttpInvoker invoker = new HttpInvoker(_endpoint);
+        Assert.assertEquals(WireFormat.JSON, invoker.getFormat());
+        invoker.invoke(new RemoteMessage().setService(TEST_SERVICE).setContent("one"));
+        WireFormat expected = WireFormat.PROTOSTUFF.isAvailable() ? WireFormat.PROTOSTUFF : WireFormat.JSON;
+        Assert.assertEquals(expected, invoker.getFormat());
+        RemoteMessage reply = invoker.invoke(new RemoteMessage().setService(TEST_SERVICE).setContent("two"));
+        Assert.assertEquals("two", reply.getContent());
+        Assert.assertEquals(expected.getContentType(), _lastHeaders.getFirst("Content-Type"));
+    }
+
+    @Test
+    public void forcedJsonFormat() throws Exception {
+        HttpInvoker invoker = new HttpInvoker(_endpoint).setProperty(HttpInvoker.FORMAT, "json");
+        invoker.invoke(new RemoteMessage().setService(TEST_SERVICE).setContent("one"));
+        Assert.assertEquals(WireFormat.JSON, invoker.getFormat());
+        Assert.assertEquals(WireFormat.JSON.getContentType(), _lastHeaders.getFirst("Accept"));
+    }
+
+    @Test
+    public void unknownFormat() {
+        try {
+            new HttpInvoker(_endpoint).setProperty(HttpInvoker.FORMAT, "morse");
+            Assert.fail("Unknown wire format should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // success
+        }
+    }
+
+    @Test
+    public void contentTypes() {
+        Assert.assertEquals(WireFormat.JSON, WireFormat.fromContentType(null));
+        Assert.assertEquals(WireFormat.JSON, WireFormat.fromContentType("application/x-www-form-urlencoded"));
+        Assert.assertEquals(WireFormat.PROTOSTUFF, WireFormat.fromContentType("application/x-switchyard-protostuff; charset=binary"));
+        Assert.assertEquals(WireFormat.JSON, WireFormat.fromAccept(null));
+        Assert.assertEquals(WireFormat.JSON, WireFormat.fromAccept("text/html, image/gif, image/jpeg, *; q=.2, */*; q=.2"));
+    }
+
+    @Test
+    public void maxConnections() throws Exception {
+        _delay = 100;
+        final HttpInvoker invoker = new HttpInvoker(_endpoint).setProperty(HttpInvoker.MAX_CONNECTIONS, "2");
+        final List<Exception> failures = new ArrayList<Exception>();
+        List<Thread> clients = new ArrayList<Thread>();
+        for (int i = 0; i < 6; i++) {
+            Thread client = new Thread() {
+                public void run() {
+                    try {
+                        invoker.invoke(new RemoteMessage().setService(TEST_SERVICE).setContent("hi"));
+                    } catch (Exception e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    }
+                }
+            };
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join(10000);
+        }
+        Assert.assertTrue(failures.toString(), failures.isEmpty());
+        Assert.assertTrue("max in flight " + _maxInFlight.get(), _maxInFlight.get() <= 2);
+    }
+
+    @Test
+    public void errorStatusThrows() throws Exception {
+        _status = 503;
+        HttpInvoker invoker = new HttpInvoker(_endpoint);
+        try {
+            invoker.invoke(new RemoteMessage().setService(TEST_SERVICE).setContent("hi"));
+            Assert.fail("An invocation rejected with 503 should fail");
+        } catch (IOException expected) {
+            Assert.assertTrue(expected.getMessage(), expected.getMessage().contains("503"));
+        }
+    }
+
+    private class EchoHandler implements HttpHandler {
+        public void handle(HttpExchange exchange) throws IOException {
+            int inFlight = _inFlight.incrementAndGet();
+            try {
+                int max = _maxInFlight.get();
+                while (inFlight > max && !_maxInFlight.compareAndSet(max, inFlight)) {
+                    max = _maxInFlight.get();
+                }
+                _lastHeaders = exchange.getRequestHeaders();
+                if (_status != 0) {
+                    exchange.sendResponseHeaders(_status, -1);
+                    return;
+                }
+                WireFormat requestFormat = WireFormat.fromContentType(_lastHeaders.getFirst("Content-Type"));
+                RemoteMessage request = requestFormat.getSerializer(false).deserialize(exchange.getRequestBody(), RemoteMessage.class);
+                if (_delay > 0) {
+                    Thread.sleep(_delay);
+                }
+                WireFormat replyFormat = WireFormat.fromAccept(_lastHeaders.getFirst("Accept"));
+                byte[] reply = replyFormat.getSerializer(false).serialize(
+                        new RemoteMessage().setService(request.getService()).setContent(request.getContent()), RemoteMessage.class);
+                exchange.getResponseHeaders().set("Content-Type", replyFormat.getContentType());
+                exchange.sendResponseHeaders(200, reply.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(reply);
+                out.close();
+            } catch (InterruptedException ie) {
+                throw new IOException(ie);
+            } finally {
+                _inFlight.decrementAndGet();
+                exchange.close();
+            }
+        }
+    }
+}
@@ -26,6 +26,8 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.switchyard.remote.RemoteEndpoint;
+import org.switchyard.serial.FormatType;
+import org.switchyard.serial.SerializerFactory;
 
 public class InfinispanRegistryTest {
 
@@ -106,6 +108,47 @@ public class InfinispanRegistryTest {
         // still just one in the registry
         Assert.assertEquals(1, _registry.getEndpoints(ep1.getServiceName()).size());
     }
+
+    @Test
+    public void indexFollowsCache() throws Exception {
+        DefaultCacheManager localMgr = new DefaultCacheManager();
+        try {
+            Cache<String, String> cache = localMgr.getCache();
+            RemoteEndpoint ep1 = new RemoteEndpoint()
+                .setDomainName(new QName("domain1"))
+                .setServiceName(new QName("urn:test", "service1"))
+                .setNode("node1");
+            // registered before the registry is created
+            cache.put("/all-domains/{urn:test}service1/node1", serialize(ep1));
+            InfinispanRegistry registry = new InfinispanRegistry(cache);
+            Assert.assertEquals(1, registry.getEndpoints(ep1.getServiceName()).size());
+
+            // registered and unregistered by another node
+            RemoteEndpoint ep2 = new RemoteEndpoint()
+                .setDomainName(new QName("domain1"))
+                .setServiceName(new QName("urn:test", "service1"))
+                .setNode("node2");
+            cache.put("/all-domains/{urn:test}service1/node2", serialize(ep2));
+            Assert.assertEquals(2, registry.getEndpoints(ep1.getServiceName()).size());
+            cache.remove("/all-domains/{urn:test}service1/node1");
+            Assert.assertEquals(1, registry.getEndpoints(ep1.getServiceName()).size());
+            Assert.assertEquals("node2", registry.getEndpoints(ep1.getServiceName()).get(0).getNode());
+
+            // registered locally
+            registry.addEndpoint(ep1);
+            Assert.assertEquals(2, registry.getEndpoints(ep1.getServiceName()).size());
+            registry.new MemberDropListener().dropAllServices(new FakeAddress("node2"));
+            Assert.assertEquals(1, registry.getEndpoints(ep1.getServiceName()).size());
+            registry.removeEndpoint(ep1);
+            Assert.assertEquals(0, registry.getEndpoints(ep1.getServiceName()).size());
+        } finally {
+            localMgr.stop();
+        }
+    }
+
+    private static String serialize(RemoteEndpoint endpoint) throws Exception {
+        return new String(SerializerFactory.create(FormatType.JSON, null, true).serialize(endpoint, RemoteEndpoint.class));
+    }
 }
 
 class FakeAddress implements Address {
@@ -15,12 +15,19 @@ package org.switchyard.handlers;
 
 import java.util.List;
 
+import org.switchyard.AddressingStrategy;
 import org.switchyard.BaseHandler;
 import org.switchyard.Exchange;
 import org.switchyard.ExchangePhase;
 import org.switchyard.HandlerException;
+import org.switchyard.Scope;
 import org.switchyard.Service;
 import org.switchyard.ServiceDomain;
+import org.switchyard.ServiceReference;
+import org.switchyard.internal.ProviderBinding;
+import org.switchyard.internal.ProviderStatistics;
+import org.switchyard.internal.ServiceReferenceImpl;
+import org.switchyard.label.BehaviorLabel;
 import org.switchyard.metadata.ServiceOperation;
 import org.switchyard.policy.Policy;
 import org.switchyard.policy.PolicyUtil;
@@ -28,6 +35,9 @@ import org.switchyard.runtime.RuntimeMessages;
 
 /**
  * The AddressingHandler resolves service instances based on a service reference.
+ * The providers of the target service are cached on the reference until providers
+ * are registered or unregistered, and the domain's {@link AddressingStrategy}
+ * chooses between them when there is more than one.
  */
 public class AddressingHandler extends BaseHandler {
     
@@ -53,15 +63,61 @@ public class AddressingHandler extends BaseHandler {
             return;
         }
         
-        List<Service> services = _domain.getServices(exchange.getConsumer().getTargetServiceName());
-        if (services == null || services.isEmpty()) {
-            throw RuntimeMessages.MESSAGES.noRegisteredService(exchange.getConsumer().getName().toString());
+        ServiceReference reference = exchange.getConsumer();
+        ProviderBinding binding = null;
+        List<Service> services;
+        if (reference instanceof ServiceReferenceImpl) {
+            ServiceReferenceImpl referenceImpl = (ServiceReferenceImpl)reference;
+            binding = referenceImpl.getProviderBinding();
+            if (binding == null) {
+                int generation = referenceImpl.getBindingGeneration();
+                binding = referenceImpl.bindProviders(lookupServices(reference), generation);
+            }
+            services = binding.getServices();
+        } else {
+            services = lookupServices(reference);
         }
+        Service service = services.size() == 1 ? services.get(0) : selectProvider(exchange, services);
 
-        // At this stage, just pick the first service implementation we find and go with
-        // it.  In the future, it would be nice if we could make this pluggable.
-        Service service = services.get(0);
         ServiceOperation consumerOp = exchange.getContract().getConsumerOperation();
+        ServiceOperation providerOp = binding != null ? binding.getOperation(service, consumerOp.getName()) : null;
+        if (providerOp == null) {
+            providerOp = resolveOperation(service, consumerOp);
+            if (binding != null) {
+                binding.putOperation(service, consumerOp.getName(), providerOp);
+            }
+        }
+        
+        // set provider contract and details on exchange
+        exchange.provider(service, providerOp);
+        for (Policy policy : service.getServiceMetadata().getRequiredPolicies()) {
+            PolicyUtil.require(exchange, policy);
+        }
+
+        // counted down by the domain once the exchange completes
+        ProviderStatistics statistics = ProviderStatistics.of(service);
+        if (statistics != null) {
+            statistics.exchangeStarted();
+            exchange.getContext().setProperty(ProviderStatistics.IN_FLIGHT, Boolean.TRUE, Scope.EXCHANGE)
+                .addLabels(BehaviorLabel.TRANSIENT.label());
+        }
+    }
+
+    private List<Service> lookupServices(ServiceReference reference) {
+        List<Service> services = _domain.getServices(reference.getTargetServiceName());
+        if (services == null || services.isEmpty()) {
+            throw RuntimeMessages.MESSAGES.noRegisteredService(reference.getName().toString());
+        }
+        return services;
+    }
+
+    private Service selectProvider(Exchange exchange, List<Service> services) {
+        AddressingStrategy strategy = _domain.getAddressingStrategy();
+        Service service = strategy != null ? strategy.selectProvider(exchange, services) : null;
+        return service != null ? service : services.get(0);
+    }
+
+    private ServiceOperation resolveOperation(Service service, ServiceOperation consumerOp) throws HandlerException {
         ServiceOperation providerOp = service.getInterface().getOperation(consumerOp.getName());
         
         if (providerOp == null) {
@@ -73,12 +129,7 @@ public class AddressingHandler extends BaseHandler {
                         service.getName().toString());
             }
         }
-        
-        // set provider contract and details on exchange
-        exchange.provider(service, providerOp);
-        for (Policy policy : service.getServiceMetadata().getRequiredPolicies()) {
-            PolicyUtil.require(exchange, policy);
-        }
+        return providerOp;
     }
 
 }
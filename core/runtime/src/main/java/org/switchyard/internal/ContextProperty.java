@@ -132,11 +132,24 @@ public class ContextProperty implements Property {
      */
     @Override
     public boolean hasLabel(String label) {
+        if (_labels.isEmpty()) {
+            return false;
+        }
         label = normalizeLabel(label);
         return label != null && _labels.contains(label);
     }
 
-    private String normalizeLabel(String label) {
+    /**
+     * Same as {@link #hasLabel(String)} for a label which has already been normalized,
+     * so that a context can normalize once when matching many properties.
+     * @param label the normalized label
+     * @return true if this property has the label
+     */
+    boolean hasNormalizedLabel(String label) {
+        return !_labels.isEmpty() && _labels.contains(label);
+    }
+
+    static String normalizeLabel(String label) {
         label = Strings.trimToNull(label);
         if (label != null) {
             label = label.toLowerCase();
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.switchyard.internal;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.switchyard.MessageIdGenerator;
+
+/**
+ * Default message id generator, which appends a counter to a prefix chosen randomly
+ * once per generator, so ids stay unique across nodes and restarts without drawing
+ * on SecureRandom for every message.
+ */
+public class CounterMessageIdGenerator implements MessageIdGenerator {
+
+    private final String _prefix;
+    private final AtomicLong _counter = new AtomicLong();
+
+    /**
+     * Creates a generator with a random prefix.
+     */
+    public CounterMessageIdGenerator() {
+        this(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Creates a generator with the specified prefix.
+     * @param prefix prefix of the generated ids, e.g. a node name
+     */
+    public CounterMessageIdGenerator(String prefix) {
+        _prefix = prefix + "-";
+    }
+
+    @Override
+    public String nextId() {
+        return _prefix.concat(Long.toHexString(_counter.incrementAndGet()));
+    }
+}
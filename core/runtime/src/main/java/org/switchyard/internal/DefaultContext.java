@@ -18,12 +18,14 @@ import static org.switchyard.internal.ContextUtil.checkScope;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
 import org.switchyard.Context;
 import org.switchyard.Property;
 import org.switchyard.Scope;
+import org.switchyard.label.BehaviorLabel;
 import org.switchyard.serial.graph.AccessType;
 import org.switchyard.serial.graph.Strategy;
 
@@ -110,15 +112,27 @@ public class DefaultContext implements Context {
 
     @Override
     public void mergeInto(Context context) {
-        ContextUtil.copy(this, context);
+        if (context == this) {
+            return;
+        }
+        // walk the map directly rather than the copy returned by getProperties()
+        String transientLabel = ContextProperty.normalizeLabel(BehaviorLabel.TRANSIENT.label());
+        for (Property p : _properties.values()) {
+            if (!hasLabel(p, transientLabel)) {
+                context.setProperty(p.getName(), p.getValue()).addLabels(p.getLabels());
+            }
+        }
     }
 
     @Override
     public Set<Property> getProperties(String label) {
         Set<Property> props = new HashSet<Property>();
-        for (Property p : getProperties()) {
-            if (p.hasLabel(label)) {
-                props.add(p);
+        label = ContextProperty.normalizeLabel(label);
+        if (label != null) {
+            for (Property p : _properties.values()) {
+                if (hasLabel(p, label)) {
+                    props.add(p);
+                }
             }
         }
         return props;
@@ -126,13 +140,27 @@ public class DefaultContext implements Context {
 
     @Override
     public void removeProperties(String label) {
-        for (Property p : getProperties()) {
-            if (p.hasLabel(label)) {
-                removeProperty(p);
+        label = ContextProperty.normalizeLabel(label);
+        if (label == null) {
+            return;
+        }
+        Iterator<Property> it = _properties.values().iterator();
+        while (it.hasNext()) {
+            Property p = it.next();
+            if (hasLabel(p, label)) {
+                checkScope(_scope, p.getScope());
+                it.remove();
             }
         }
     }
 
+    private static boolean hasLabel(Property property, String normalizedLabel) {
+        if (property instanceof ContextProperty) {
+            return ((ContextProperty) property).hasNormalizedLabel(normalizedLabel);
+        }
+        return property.hasLabel(normalizedLabel);
+    }
+
     @Override
     public Property getProperty(String name, Scope scope) {
         checkScope(_scope, scope);
@@ -14,6 +14,7 @@
 
 package org.switchyard.internal;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -30,19 +31,22 @@ import org.switchyard.spi.ServiceRegistry;
 
 /**
  * Standalone implementation of ServiceRegistry.
+ * <p/>
+ * Services are kept in an immutable snapshot which is replaced on every
+ * registration change, so lookups on the exchange path don't take a lock
+ * or copy the provider list.
  */
 public class DefaultServiceRegistry implements ServiceRegistry {
 
     private static Logger _logger = Logger.getLogger(DefaultServiceRegistry.class);
 
-    private final Map<QName, List<Service>> _services =
-        new HashMap<QName, List<Service>>();
+    private volatile Map<QName, List<Service>> _services = Collections.emptyMap();
 
     private ConcurrentHashMap<QName, ServiceReference> _references =
             new ConcurrentHashMap<QName, ServiceReference>();
 
     @Override
-    public synchronized List<Service> getServices() {
+    public List<Service> getServices() {
         List<Service> serviceList = new LinkedList<Service>();
         for (List<Service> services : _services.values()) {
             serviceList.addAll(services);
@@ -51,21 +55,31 @@ public class DefaultServiceRegistry implements ServiceRegistry {
         return serviceList;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The returned list is an unmodifiable snapshot which is not affected by
+     * later registration changes.
+     */
     @Override
-    public synchronized List<Service> getServices(QName serviceName) {
-        if (!_services.containsKey(serviceName)) {
+    public List<Service> getServices(QName serviceName) {
+        List<Service> services = _services.get(serviceName);
+        if (services == null) {
             return Collections.emptyList();
         }
 
-        return new LinkedList<Service>(_services.get(serviceName));
+        return services;
     }
 
     @Override
     public synchronized Service registerService(Service service) {
-        if (!_services.containsKey(service.getName())) {
-            _services.put(service.getName(), new LinkedList<Service>());
+        List<Service> serviceList = new ArrayList<Service>();
+        List<Service> current = _services.get(service.getName());
+        if (current != null) {
+            serviceList.addAll(current);
         }
-        _services.get(service.getName()).add(service);
+        serviceList.add(service);
+        replace(service.getName(), serviceList);
 
         if (_logger.isDebugEnabled()) {
             _logger.debug("Registered Service '" + service.getName() + "'.");
@@ -76,9 +90,11 @@ public class DefaultServiceRegistry implements ServiceRegistry {
 
     @Override
     public synchronized void unregisterService(Service service) {
-        List<Service> serviceList =_services.get(service.getName());
-        if (serviceList != null) {
+        List<Service> current = _services.get(service.getName());
+        if (current != null) {
+            List<Service> serviceList = new ArrayList<Service>(current);
             serviceList.remove(service);
+            replace(service.getName(), serviceList);
 
             if (_logger.isDebugEnabled()) {
 
@@ -91,6 +107,17 @@ public class DefaultServiceRegistry implements ServiceRegistry {
             }
         }
     }
+
+    // must be called holding the registry lock
+    private void replace(QName serviceName, List<Service> serviceList) {
+        Map<QName, List<Service>> services = new HashMap<QName, List<Service>>(_services);
+        if (serviceList.isEmpty()) {
+            services.remove(serviceName);
+        } else {
+            services.put(serviceName, Collections.unmodifiableList(serviceList));
+        }
+        _services = Collections.unmodifiableMap(services);
+    }
    
     @Override
     public void registerServiceReference(ServiceReference reference) {
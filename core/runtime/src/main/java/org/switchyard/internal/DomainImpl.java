@@ -24,22 +24,31 @@ import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.namespace.QName;
 
 import org.jboss.logging.Logger;
+import org.switchyard.AddressingStrategy;
+import org.switchyard.Exchange;
 import org.switchyard.ExchangeHandler;
+import org.switchyard.MessageIdGenerator;
+import org.switchyard.Property;
+import org.switchyard.Scope;
 import org.switchyard.Service;
 import org.switchyard.ServiceDomain;
 import org.switchyard.ServiceMetadata;
 import org.switchyard.ServiceReference;
 import org.switchyard.ServiceSecurity;
+import org.switchyard.common.type.Classes;
 import org.switchyard.event.DomainShutdownEvent;
 import org.switchyard.event.DomainStartupEvent;
 import org.switchyard.event.EventObserver;
 import org.switchyard.event.EventPublisher;
 import org.switchyard.event.ReferenceRegistrationEvent;
 import org.switchyard.event.ServiceRegistrationEvent;
+import org.switchyard.event.ServiceUnregistrationEvent;
 import org.switchyard.internal.transform.BaseTransformerRegistry;
 import org.switchyard.internal.validate.BaseValidatorRegistry;
 import org.switchyard.metadata.InOutService;
 import org.switchyard.metadata.ServiceInterface;
+import org.switchyard.runtime.RuntimeMessages;
+import org.switchyard.runtime.event.ExchangeCompletionEvent;
 import org.switchyard.security.service.DefaultServiceDomainSecurity;
 import org.switchyard.security.service.SecureServiceDomain;
 import org.switchyard.security.service.ServiceDomainSecurity;
@@ -54,6 +63,19 @@ import org.switchyard.validate.ValidatorRegistry;
  */
 public class DomainImpl implements SecureServiceDomain {
 
+    /**
+     * Domain property which selects the message id generator: "counter" (the default),
+     * "uuid", the name of a class implementing MessageIdGenerator, or an instance of one.
+     */
+    public static final String MESSAGE_ID_GENERATOR = "org.switchyard.messageIdGenerator";
+
+    /**
+     * Domain property which selects how exchanges are spread over providers registered under
+     * the same service name: "first" (the default), "roundRobin", "leastInFlight", "weighted",
+     * the name of a class implementing AddressingStrategy, or an instance of one.
+     */
+    public static final String ADDRESSING_STRATEGY = "org.switchyard.addressingStrategy";
+
     private static Logger _logger = Logger.getLogger(DomainImpl.class);
 
     private final QName _name;
@@ -64,6 +86,10 @@ public class DomainImpl implements SecureServiceDomain {
     private ValidatorRegistry _validatorRegistry;
     private Map<String, Object> _properties = new ConcurrentHashMap<String, Object>();
     private ServiceDomainSecurity _serviceDomainSecurity;
+    private final EventObserver _providerBindingObserver = new ProviderBindingObserver();
+    private final EventObserver _inFlightObserver = new InFlightObserver();
+    private MessageIdGenerator _messageIdGenerator = new CounterMessageIdGenerator();
+    private AddressingStrategy _addressingStrategy = new FirstProviderAddressingStrategy();
     
     /**
      * Create a new ServiceDomain.  This is a convenience constructor which uses default
@@ -110,6 +136,9 @@ public class DomainImpl implements SecureServiceDomain {
 
         setEventPublisher(_transformerRegistry);
         setEventPublisher(_validatorRegistry);
+        _eventManager.addObserver(_providerBindingObserver, ServiceRegistrationEvent.class);
+        _eventManager.addObserver(_providerBindingObserver, ServiceUnregistrationEvent.class);
+        _eventManager.addObserver(_inFlightObserver, ExchangeCompletionEvent.class);
 
         if (_logger.isDebugEnabled()) {
             _logger.debug("Created SwitchYard ServiceDomain instance '" + name + "'.");
@@ -211,6 +240,8 @@ public class DomainImpl implements SecureServiceDomain {
     
     @Override
     public void init() {
+        _messageIdGenerator = createMessageIdGenerator(getProperty(MESSAGE_ID_GENERATOR));
+        _addressingStrategy = createAddressingStrategy(getProperty(ADDRESSING_STRATEGY));
         _eventManager.publish(new DomainStartupEvent(this));
         _exchangeBus.init(this);
         _exchangeBus.start();
@@ -220,6 +251,9 @@ public class DomainImpl implements SecureServiceDomain {
     public void destroy() {
         _exchangeBus.stop();
         _eventManager.publish(new DomainShutdownEvent(this));
+        // the event manager may be shared with other domains
+        _eventManager.removeObserver(_providerBindingObserver);
+        _eventManager.removeObserver(_inFlightObserver);
     }
 
     @Override
@@ -233,6 +267,32 @@ public class DomainImpl implements SecureServiceDomain {
         return _eventManager;
     }
 
+    @Override
+    public MessageIdGenerator getMessageIdGenerator() {
+        return _messageIdGenerator;
+    }
+
+    /**
+     * Replaces the domain's message id generator.
+     * @param messageIdGenerator message id generator
+     */
+    public void setMessageIdGenerator(MessageIdGenerator messageIdGenerator) {
+        _messageIdGenerator = messageIdGenerator;
+    }
+
+    @Override
+    public AddressingStrategy getAddressingStrategy() {
+        return _addressingStrategy;
+    }
+
+    /**
+     * Replaces the domain's addressing strategy.
+     * @param addressingStrategy addressing strategy
+     */
+    public void setAddressingStrategy(AddressingStrategy addressingStrategy) {
+        _addressingStrategy = addressingStrategy;
+    }
+
     @Override
     public Map<String, Object> getProperties() {
         return Collections.unmodifiableMap(_properties);
@@ -253,6 +313,56 @@ public class DomainImpl implements SecureServiceDomain {
         return this;
     }
 
+    private MessageIdGenerator createMessageIdGenerator(Object config) {
+        if (config instanceof MessageIdGenerator) {
+            return (MessageIdGenerator)config;
+        }
+        String name = config != null ? config.toString().trim() : "";
+        if (name.length() == 0) {
+            return _messageIdGenerator;
+        } else if ("counter".equalsIgnoreCase(name)) {
+            return new CounterMessageIdGenerator();
+        } else if ("uuid".equalsIgnoreCase(name)) {
+            return new UUIDMessageIdGenerator();
+        }
+        Class<?> generatorClass = Classes.forName(name, getClass());
+        if (generatorClass == null || !MessageIdGenerator.class.isAssignableFrom(generatorClass)) {
+            throw RuntimeMessages.MESSAGES.invalidMessageIdGenerator(name);
+        }
+        try {
+            return (MessageIdGenerator)generatorClass.newInstance();
+        } catch (Exception e) {
+            throw RuntimeMessages.MESSAGES.invalidMessageIdGenerator(name);
+        }
+    }
+
+    private AddressingStrategy createAddressingStrategy(Object config) {
+        if (config instanceof AddressingStrategy) {
+            return (AddressingStrategy)config;
+        }
+        String name = config != null ? config.toString().trim() : "";
+        if (name.length() == 0) {
+            return _addressingStrategy;
+        } else if ("first".equalsIgnoreCase(name)) {
+            return new FirstProviderAddressingStrategy();
+        } else if ("roundRobin".equalsIgnoreCase(name)) {
+            return new RoundRobinAddressingStrategy();
+        } else if ("leastInFlight".equalsIgnoreCase(name)) {
+            return new LeastInFlightAddressingStrategy();
+        } else if ("weighted".equalsIgnoreCase(name)) {
+            return new WeightedAddressingStrategy();
+        }
+        Class<?> strategyClass = Classes.forName(name, getClass());
+        if (strategyClass == null || !AddressingStrategy.class.isAssignableFrom(strategyClass)) {
+            throw RuntimeMessages.MESSAGES.invalidAddressingStrategy(name);
+        }
+        try {
+            return (AddressingStrategy)strategyClass.newInstance();
+        } catch (Exception e) {
+            throw RuntimeMessages.MESSAGES.invalidAddressingStrategy(name);
+        }
+    }
+
     private void setEventPublisher(Object target) {
         if (target == null) {
             return;
@@ -298,4 +408,49 @@ public class DomainImpl implements SecureServiceDomain {
             EventObserver observer, Class<? extends EventObject> eventType) {
         _eventManager.removeObserverForEvent(observer, eventType);
     }
+
+    /**
+     * Drops the provider bindings cached on references whose target service
+     * has been registered or unregistered.
+     */
+    private class ProviderBindingObserver implements EventObserver {
+        @Override
+        public void notify(EventObject event) {
+            Service service;
+            if (event instanceof ServiceRegistrationEvent) {
+                service = ((ServiceRegistrationEvent)event).getService();
+            } else {
+                service = ((ServiceUnregistrationEvent)event).getService();
+            }
+            for (ServiceReference reference : _serviceRegistry.getServiceReferences()) {
+                if (reference instanceof ServiceReferenceImpl
+                        && service.getName().equals(reference.getTargetServiceName())) {
+                    ((ServiceReferenceImpl)reference).invalidateProviderBinding();
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts down the in flight exchanges of the provider an exchange was addressed to.
+     * The provider may belong to another domain sharing the service registry, while
+     * only the consumer's domain hears of the completion; an event manager shared by
+     * several domains notifies each of them, so the exchange property makes sure the
+     * exchange is counted down once.
+     */
+    private class InFlightObserver implements EventObserver {
+        @Override
+        public void notify(EventObject event) {
+            Exchange exchange = ((ExchangeCompletionEvent)event).getExchange();
+            Property inFlight = exchange.getContext().getProperty(ProviderStatistics.IN_FLIGHT, Scope.EXCHANGE);
+            if (inFlight == null) {
+                return;
+            }
+            exchange.getContext().removeProperty(inFlight);
+            ProviderStatistics statistics = ProviderStatistics.of(exchange.getProvider());
+            if (statistics != null) {
+                statistics.exchangeCompleted();
+            }
+        }
+    }
 }
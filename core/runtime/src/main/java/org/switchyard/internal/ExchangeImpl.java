@@ -14,7 +14,6 @@
 
 package org.switchyard.internal;
 
-import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import javax.xml.namespace.QName;
@@ -28,6 +27,7 @@ import org.switchyard.ExchangePhase;
 import org.switchyard.ExchangeSecurity;
 import org.switchyard.ExchangeState;
 import org.switchyard.Message;
+import org.switchyard.MessageIdGenerator;
 import org.switchyard.Scope;
 import org.switchyard.Service;
 import org.switchyard.ServiceDomain;
@@ -49,6 +49,7 @@ import org.switchyard.spi.Dispatcher;
 public class ExchangeImpl implements Exchange {
 
     private static Logger _log = Logger.getLogger(ExchangeImpl.class);
+    private static final MessageIdGenerator DEFAULT_ID_GENERATOR = new CounterMessageIdGenerator();
 
     private ExchangePhase              _phase;
     private Message                    _message;
@@ -198,7 +199,7 @@ public class ExchangeImpl implements Exchange {
         
         _message = message;
         // assign messageId
-        _message.getContext().setProperty(MESSAGE_ID, UUID.randomUUID().toString())
+        _message.getContext().setProperty(MESSAGE_ID, nextMessageId())
             .addLabels(BehaviorLabel.TRANSIENT.label());
         _compositeContext.setContext(Scope.MESSAGE, _message.getContext());
 
@@ -237,10 +238,17 @@ public class ExchangeImpl implements Exchange {
             long duration = System.nanoTime() - _startTime;
             getContext().setProperty(ExchangeCompletionEvent.EXCHANGE_DURATION, 
                     TimeUnit.MILLISECONDS.convert(duration, TimeUnit.NANOSECONDS)).addLabels(BehaviorLabel.TRANSIENT.label());
+            getContext().setProperty(ExchangeCompletionEvent.EXCHANGE_DURATION_MICROS, 
+                    TimeUnit.MICROSECONDS.convert(duration, TimeUnit.NANOSECONDS)).addLabels(BehaviorLabel.TRANSIENT.label());
             _domain.getEventPublisher().publish(new ExchangeCompletionEvent(this));
         }
     }
 
+    private String nextMessageId() {
+        MessageIdGenerator generator = _domain != null ? _domain.getMessageIdGenerator() : null;
+        return (generator != null ? generator : DEFAULT_ID_GENERATOR).nextId();
+    }
+
     private int instanceHash() {
         return System.identityHashCode(this);
     }
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.internal;
+
+import java.util.List;
+
+import org.switchyard.AddressingStrategy;
+import org.switchyard.Exchange;
+import org.switchyard.Service;
+
+/**
+ * Default addressing strategy, which sends every exchange to the provider
+ * registered first.  The other providers only get traffic once it is unregistered.
+ */
+public class FirstProviderAddressingStrategy implements AddressingStrategy {
+
+    @Override
+    public Service selectProvider(Exchange exchange, List<Service> providers) {
+        return providers.get(0);
+    }
+}
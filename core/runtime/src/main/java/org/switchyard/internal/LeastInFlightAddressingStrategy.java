@@ -0,0 +1,44 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.internal;
+
+import java.util.List;
+
+import org.switchyard.Exchange;
+import org.switchyard.Service;
+
+/**
+ * Addressing strategy which sends exchanges to the provider with the fewest
+ * exchanges in flight.  Ties are broken in turn, so idle providers share the load.
+ */
+public class LeastInFlightAddressingStrategy extends RoundRobinAddressingStrategy {
+
+    @Override
+    public Service selectProvider(Exchange exchange, List<Service> providers) {
+        int size = providers.size();
+        int start = next(providers.get(0).getName(), size);
+        Service selected = null;
+        int least = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Service provider = providers.get((start + i) % size);
+            ProviderStatistics statistics = ProviderStatistics.of(provider);
+            int inFlight = statistics != null ? statistics.getInFlightCount() : 0;
+            if (inFlight < least) {
+                selected = provider;
+                least = inFlight;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.switchyard.Service;
+import org.switchyard.metadata.ServiceOperation;
+
+/**
+ * The providers a service reference was last addressed to, along with the
+ * provider operations resolved for each consumer operation.
+ * Bindings are cached on a {@link ServiceReferenceImpl} until a service with
+ * the reference's target name is registered or unregistered.
+ */
+public final class ProviderBinding {
+
+    private final List<Service> _services;
+    private final List<ConcurrentMap<String, ServiceOperation>> _operations;
+    private final int _generation;
+
+    /**
+     * Create a new ProviderBinding.
+     * @param services the providers, an unmodifiable snapshot
+     * @param generation binding generation of the reference at the time the providers were looked up
+     */
+    ProviderBinding(List<Service> services, int generation) {
+        _services = services;
+        _operations = new ArrayList<ConcurrentMap<String, ServiceOperation>>(services.size());
+        for (int i = 0; i < services.size(); i++) {
+            _operations.add(new ConcurrentHashMap<String, ServiceOperation>());
+        }
+        _generation = generation;
+    }
+
+    /**
+     * Returns the providers.
+     * @return unmodifiable list of providers
+     */
+    public List<Service> getServices() {
+        return _services;
+    }
+
+    /**
+     * Returns the provider operation previously resolved for a consumer operation.
+     * @param service one of the bound providers
+     * @param consumerOperation name of the consumer operation
+     * @return provider operation, or null if it hasn't been resolved yet
+     */
+    public ServiceOperation getOperation(Service service, String consumerOperation) {
+        ConcurrentMap<String, ServiceOperation> operations = operations(service);
+        return operations != null && consumerOperation != null ? operations.get(consumerOperation) : null;
+    }
+
+    /**
+     * Remembers the provider operation resolved for a consumer operation.
+     * @param service one of the bound providers
+     * @param consumerOperation name of the consumer operation
+     * @param providerOperation provider operation
+     */
+    public void putOperation(Service service, String consumerOperation, ServiceOperation providerOperation) {
+        ConcurrentMap<String, ServiceOperation> operations = operations(service);
+        if (operations != null && consumerOperation != null) {
+            operations.put(consumerOperation, providerOperation);
+        }
+    }
+
+    int getGeneration() {
+        return _generation;
+    }
+
+    private ConcurrentMap<String, ServiceOperation> operations(Service service) {
+        // provider lists are short, so a scan beats hashing the service
+        for (int i = 0; i < _services.size(); i++) {
+            if (_services.get(i) == service) {
+                return _operations.get(i);
+            }
+        }
+        return null;
+    }
+}
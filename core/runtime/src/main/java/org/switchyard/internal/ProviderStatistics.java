@@ -0,0 +1,108 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.switchyard.Service;
+import org.switchyard.runtime.RuntimeMessages;
+
+/**
+ * Addressing statistics of a service provider: how often the provider has been
+ * selected, how many of those exchanges have not completed yet, and the weight
+ * used by the {@link WeightedAddressingStrategy}.
+ */
+public final class ProviderStatistics {
+
+    /** Default provider weight. */
+    public static final int DEFAULT_WEIGHT = 1;
+
+    /**
+     * Exchange property set on exchanges counted as in flight, so that they are
+     * only counted down once they complete.
+     */
+    public static final String IN_FLIGHT = "org.switchyard.addressing.inFlight";
+
+    private final AtomicInteger _inFlight = new AtomicInteger();
+    private final AtomicLong _selected = new AtomicLong();
+    private volatile int _weight = DEFAULT_WEIGHT;
+
+    /**
+     * Returns the statistics of a provider.
+     * @param service the provider
+     * @return statistics, or null if the provider does not keep any
+     */
+    public static ProviderStatistics of(Service service) {
+        return service instanceof ServiceImpl ? ((ServiceImpl)service).getStatistics() : null;
+    }
+
+    /**
+     * Records that an exchange has been addressed to the provider.
+     */
+    public void exchangeStarted() {
+        _selected.incrementAndGet();
+        _inFlight.incrementAndGet();
+    }
+
+    /**
+     * Records that an exchange addressed to the provider has completed.
+     */
+    public void exchangeCompleted() {
+        _inFlight.decrementAndGet();
+    }
+
+    /**
+     * Returns the number of exchanges addressed to the provider which have not completed yet.
+     * @return in flight count
+     */
+    public int getInFlightCount() {
+        return _inFlight.get();
+    }
+
+    /**
+     * Returns the number of exchanges addressed to the provider.
+     * @return selection count
+     */
+    public long getSelectionCount() {
+        return _selected.get();
+    }
+
+    /**
+     * Returns the weight of the provider relative to other providers of the same service.
+     * @return weight
+     */
+    public int getWeight() {
+        return _weight;
+    }
+
+    /**
+     * Sets the weight of the provider relative to other providers of the same service.
+     * A weight of 0 takes the provider out of rotation for the weighted strategy.
+     * @param weight weight, must not be negative
+     */
+    public void setWeight(int weight) {
+        if (weight < 0) {
+            throw RuntimeMessages.MESSAGES.negativeProviderWeight(weight);
+        }
+        _weight = weight;
+    }
+
+    /**
+     * Resets the selection count.
+     */
+    public void reset() {
+        _selected.set(0);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.internal;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+
+import org.switchyard.AddressingStrategy;
+import org.switchyard.Exchange;
+import org.switchyard.Service;
+
+/**
+ * Addressing strategy which hands exchanges to the providers of a service in turn.
+ */
+public class RoundRobinAddressingStrategy implements AddressingStrategy {
+
+    private final ConcurrentMap<QName, AtomicInteger> _counters = new ConcurrentHashMap<QName, AtomicInteger>();
+
+    @Override
+    public Service selectProvider(Exchange exchange, List<Service> providers) {
+        return providers.get(next(providers.get(0).getName(), providers.size()));
+    }
+
+    /**
+     * Returns the next index in the rotation over the providers of a service.
+     * @param serviceName name of the service
+     * @param size number of providers
+     * @return index between 0 and size - 1
+     */
+    int next(QName serviceName, int size) {
+        AtomicInteger counter = _counters.get(serviceName);
+        if (counter == null) {
+            AtomicInteger created = new AtomicInteger();
+            counter = _counters.putIfAbsent(serviceName, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return (counter.getAndIncrement() & Integer.MAX_VALUE) % size;
+    }
+}
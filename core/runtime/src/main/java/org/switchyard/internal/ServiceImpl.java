@@ -36,6 +36,7 @@ public class ServiceImpl implements Service {
     private DomainImpl _domain;
     private ExchangeHandler _providerHandler;
     private ServiceMetadata _metadata;
+    private final ProviderStatistics _statistics = new ProviderStatistics();
     
     /**
      * Creates a new Service instance representing a service provider.
@@ -110,4 +111,12 @@ public class ServiceImpl implements Service {
         return _metadata;
     }
 
+    /**
+     * Returns the addressing statistics of this provider.
+     * @return provider statistics
+     */
+    public ProviderStatistics getStatistics() {
+        return _statistics;
+    }
+
 }
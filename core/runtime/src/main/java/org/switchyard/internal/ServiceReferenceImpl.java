@@ -14,12 +14,15 @@
 
 package org.switchyard.internal;
 
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.namespace.QName;
 
 import org.switchyard.Exchange;
 import org.switchyard.ExchangeHandler;
+import org.switchyard.Service;
 import org.switchyard.ServiceDomain;
 import org.switchyard.ServiceMetadata;
 import org.switchyard.ServiceReference;
@@ -48,6 +51,8 @@ public class ServiceReferenceImpl implements ServiceReference {
     private QName _targetServiceName;
     private ServiceMetadata _metadata;
     private SecurityContextManager _securityContextManager;
+    private final AtomicInteger _bindingGeneration = new AtomicInteger();
+    private volatile ProviderBinding _providerBinding;
     
     /**
      * Creates a new reference to a service.
@@ -183,6 +188,7 @@ public class ServiceReferenceImpl implements ServiceReference {
     @Override
     public void wire(QName serviceName) {
         _targetServiceName = serviceName;
+        invalidateProviderBinding();
     }
     
     @Override
@@ -196,6 +202,50 @@ public class ServiceReferenceImpl implements ServiceReference {
         return _metadata;
     }
     
+    /**
+     * Returns the provider binding cached for this reference.
+     * @return the binding, or null if the reference has not been addressed yet or
+     * the binding has been invalidated since
+     */
+    public ProviderBinding getProviderBinding() {
+        ProviderBinding binding = _providerBinding;
+        if (binding != null && binding.getGeneration() != _bindingGeneration.get()) {
+            return null;
+        }
+        return binding;
+    }
+
+    /**
+     * Returns the current binding generation.  It has to be read before the
+     * providers are looked up, so that a binding resolved concurrently with a
+     * registration change is never used.
+     * @return binding generation
+     */
+    public int getBindingGeneration() {
+        return _bindingGeneration.get();
+    }
+
+    /**
+     * Caches the providers this reference is addressed to.
+     * @param services providers, an unmodifiable snapshot
+     * @param generation binding generation read before the providers were looked up
+     * @return the new binding
+     */
+    public ProviderBinding bindProviders(List<Service> services, int generation) {
+        ProviderBinding binding = new ProviderBinding(services, generation);
+        _providerBinding = binding;
+        return binding;
+    }
+
+    /**
+     * Drops the cached provider binding, e.g. because providers of the target
+     * service have been registered or unregistered.
+     */
+    public void invalidateProviderBinding() {
+        _bindingGeneration.incrementAndGet();
+        _providerBinding = null;
+    }
+
     @Override
     public String toString() {
         return "ServiceReference [name=" + _name + ", interface=" + _interface + ", domain=" + _domain + "]";
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.internal;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.switchyard.AddressingStrategy;
+import org.switchyard.Exchange;
+import org.switchyard.Service;
+
+/**
+ * Addressing strategy which picks providers at random, in proportion to their
+ * {@link ProviderStatistics#getWeight() weight}.  Providers with a weight of 0
+ * only get traffic if all providers of the service have a weight of 0.
+ */
+public class WeightedAddressingStrategy implements AddressingStrategy {
+
+    @Override
+    public Service selectProvider(Exchange exchange, List<Service> providers) {
+        int size = providers.size();
+        int[] weights = new int[size];
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            weights[i] = weight(providers.get(i));
+            total += weights[i];
+        }
+        if (total == 0) {
+            return providers.get(0);
+        }
+
+        long point = ThreadLocalRandom.current().nextLong(total);
+        for (int i = 0; i < size; i++) {
+            point -= weights[i];
+            if (point < 0) {
+                return providers.get(i);
+            }
+        }
+        return providers.get(size - 1);
+    }
+
+    private static int weight(Service provider) {
+        ProviderStatistics statistics = ProviderStatistics.of(provider);
+        return statistics != null ? statistics.getWeight() : ProviderStatistics.DEFAULT_WEIGHT;
+    }
+}
@@ -1,6 +1,9 @@
 package org.switchyard.internal.transform;
 
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 
 import javax.xml.namespace.QName;
 
@@ -18,7 +21,7 @@ public class BaseTransformResolver implements TransformResolver {
     /**
      * The maximum number of edges to travel in the graph to connect two nodes.
      */
-    public static final int DEFAULT_HOPS = 2;
+    public static final int DEFAULT_HOPS = 3;
     
     private int _hops = DEFAULT_HOPS;
     private TransformerRegistry _registry;
@@ -100,31 +103,45 @@ public class BaseTransformResolver implements TransformResolver {
     }
 
     /**
-     * Recursive depth-first(ish) search for connected types in the transform registry.  There
-     * is no path weighting applied, so the first connection wins. There is no logic to detect 
-     * cycles since the limit parameter prevents infinite loops.
+     * Breadth-first search for connected types in the transform registry, so the
+     * path with the fewest transformations wins, e.g. Reader -> String -> Element
+     * rather than a longer chain through other types.  Each type is visited once,
+     * which also keeps cycles in the graph from being walked again.
      */
-    @SuppressWarnings("rawtypes")
     boolean resolvePath(LinkedList<QName> path, QName fromType, QName toType, int limit) {
-        // check search limit
-        if (limit < 0) {
-            return false;
-        }
-        --limit;
-        
         // have we arrived at our destination?
         if (fromType.equals(toType)) {
             return true;
         }
-        
-        // go fish
-        for (Transformer fromT : _registry.getTransformersFrom(fromType)) {
-            if (resolvePath(path, fromT.getTo(), toType, limit)) {
-                path.addFirst(fromT.getTo());
-                return true;
+
+        // type -> the type it was first reached from
+        Map<QName, QName> reachedFrom = new HashMap<QName, QName>();
+        reachedFrom.put(fromType, null);
+        List<QName> frontier = new LinkedList<QName>();
+        frontier.add(fromType);
+
+        for (int hop = 0; hop < limit && !frontier.isEmpty(); hop++) {
+            List<QName> next = new LinkedList<QName>();
+            for (QName type : frontier) {
+                // go fish
+                for (Transformer<?, ?> fromT : _registry.getTransformersFrom(type)) {
+                    QName reached = fromT.getTo();
+                    if (reached == null || reachedFrom.containsKey(reached)) {
+                        continue;
+                    }
+                    reachedFrom.put(reached, type);
+                    if (reached.equals(toType)) {
+                        for (QName step = reached; step != null && !step.equals(fromType); step = reachedFrom.get(step)) {
+                            path.addFirst(step);
+                        }
+                        return true;
+                    }
+                    next.add(reached);
+                }
             }
+            frontier = next;
         }
-        
+
         return false;
     }
     
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.namespace.QName;
 
@@ -55,6 +56,11 @@ public class BaseTransformerRegistry implements TransformerRegistry {
         new ConcurrentHashMap<NameKey, Transformer<?,?>>();
     private final ConcurrentHashMap<NameKey, Transformer<?,?>> _fallbackTransformers =
         new ConcurrentHashMap<NameKey, Transformer<?,?>>();
+    // resolved sequence types per from/to pair, NO_SEQUENCE if none could be resolved
+    private final ConcurrentHashMap<NameKey, List<QName>> _sequences =
+        new ConcurrentHashMap<NameKey, List<QName>>();
+    // bumped on every change, so resolutions racing with a change are not cached
+    private final AtomicLong _version = new AtomicLong();
 
     private EventPublisher _eventPublisher;
     private TransformResolver _transformResolver = new BaseTransformResolver(this);
@@ -78,17 +84,17 @@ public class BaseTransformerRegistry implements TransformerRegistry {
 
     @Override
     public BaseTransformerRegistry addTransformer(Transformer<?, ?> transformer) {
-        _fallbackTransformers.clear();
         _transformers.put(new NameKey(transformer.getFrom(),
                 transformer.getTo()), transformer);
+        transformerAdded(transformer.getFrom(), transformer.getTo());
         publishEvent(new TransformerAddedEvent(transformer));
         return this;
     }
 
     @Override
     public TransformerRegistry addTransformer(Transformer<?, ?> transformer, QName from, QName to) {
-        _fallbackTransformers.clear();
         _transformers.put(new NameKey(from, to), transformer);
+        transformerAdded(from, to);
         publishEvent(new TransformerAddedEvent(transformer));
         return null;
     }
@@ -124,8 +130,33 @@ public class BaseTransformerRegistry implements TransformerRegistry {
     }
 
     @Override
-    public TransformSequence getTransformSequence(QName from, QName to) {        
-        return _transformResolver.resolveSequence(from, to);
+    public TransformSequence getTransformSequence(QName from, QName to) {
+        if (from == null || to == null) {
+            return _transformResolver.resolveSequence(from, to);
+        }
+
+        NameKey nameKey = new NameKey(from, to);
+        List<QName> types = _sequences.get(nameKey);
+        if (types == null) {
+            long version = _version.get();
+            TransformSequence resolved = _transformResolver.resolveSequence(from, to);
+            types = resolved != null ? resolved.getTypes() : NO_SEQUENCE;
+            _sequences.put(nameKey, types);
+            if (_version.get() != version) {
+                // the registry changed while resolving, the result may be stale
+                _sequences.remove(nameKey, types);
+            }
+        }
+        if (types.isEmpty()) {
+            return null;
+        }
+
+        // sequences are consumed when applied, so each caller gets its own
+        TransformSequence transformSequence = TransformSequence.from(types.get(0));
+        for (int i = 1; i < types.size(); i++) {
+            transformSequence.to(types.get(i));
+        }
+        return transformSequence;
     }
 
     @Override
@@ -194,10 +225,10 @@ public class BaseTransformerRegistry implements TransformerRegistry {
 
     @Override
     public boolean removeTransformer(Transformer<?, ?> transformer) {
-        _fallbackTransformers.clear();
         boolean removed = _transformers.remove(
                 new NameKey(transformer.getFrom(), transformer.getTo())) != null;
         if (removed) {
+            transformerRemoved(transformer.getFrom(), transformer.getTo());
             publishEvent(new TransformerRemovedEvent(transformer));
         }
         
@@ -238,6 +269,44 @@ public class BaseTransformerRegistry implements TransformerRegistry {
     @Override
     public void setTransfomResolver(TransformResolver resolver) {
         this._transformResolver = resolver;        
+        _version.incrementAndGet();
+        _sequences.clear();
+    }
+
+    // Only cached lookups a new transformer can change are dropped: fallbacks
+    // to the same type, and sequences which were unresolved or took more than
+    // one hop, as the new transformer may provide a shorter path.
+    private void transformerAdded(QName from, QName to) {
+        _version.incrementAndGet();
+        invalidateFallbacks(to);
+        for (Map.Entry<NameKey, List<QName>> entry : _sequences.entrySet()) {
+            if (entry.getValue().size() != 2) {
+                _sequences.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    // Only cached lookups which may have used the removed transformer are dropped.
+    private void transformerRemoved(QName from, QName to) {
+        _version.incrementAndGet();
+        invalidateFallbacks(to);
+        for (Map.Entry<NameKey, List<QName>> entry : _sequences.entrySet()) {
+            List<QName> types = entry.getValue();
+            for (int i = 1; i < types.size(); i++) {
+                if (types.get(i - 1).equals(from) && types.get(i).equals(to)) {
+                    _sequences.remove(entry.getKey(), types);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void invalidateFallbacks(QName to) {
+        for (NameKey key : _fallbackTransformers.keySet()) {
+            if (key.getTo() == null ? to == null : key.getTo().equals(to)) {
+                _fallbackTransformers.remove(key);
+            }
+        }
     }
 
     // Convenience method to guard against cases when an event publisher has 
@@ -359,6 +428,11 @@ public class BaseTransformerRegistry implements TransformerRegistry {
     }
     
     
+    /**
+     * NO_SEQUENCE marks from/to pairs no transform sequence could be resolved for.
+     */
+    private static final List<QName> NO_SEQUENCE = Collections.emptyList();
+
     /**
      * NULL_TRANSFORMER is a default validator used to prevent searching for 
      * fallback validators multiple times. Searching for fallback validators is
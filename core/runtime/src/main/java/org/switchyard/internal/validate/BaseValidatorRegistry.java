@@ -110,6 +110,14 @@ public class BaseValidatorRegistry implements ValidatorRegistry {
         return _validators.containsKey(name);
     }
 
+    /**
+     * Checks if any validator is registered.
+     * @return true if no validator is registered
+     */
+    public boolean isEmpty() {
+        return _validators.isEmpty();
+    }
+
     @Override
     public boolean removeValidator(Validator<?> validator) {
         _fallbackValidators.clear();
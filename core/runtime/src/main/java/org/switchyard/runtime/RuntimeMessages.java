@@ -368,4 +368,28 @@ public interface RuntimeMessages {
     @Message(id = 14040, value = "Validator:[class=%s', type='%s', name='%s'] failed")
     String validatorFailed(String clazz, String type, String name, @Cause SwitchYardException cause);
 
+    /**
+     * invalidMessageIdGenerator method definition.
+     * @param generator the configured generator
+     * @return SwitchYardException
+     */
+    @Message(id = 14041, value = "Message id generator '%s' must be 'counter', 'uuid' or the name of a class implementing org.switchyard.MessageIdGenerator")
+    SwitchYardException invalidMessageIdGenerator(String generator);
+
+    /**
+     * invalidAddressingStrategy method definition.
+     * @param strategy the configured strategy
+     * @return SwitchYardException
+     */
+    @Message(id = 14042, value = "Addressing strategy '%s' must be 'first', 'roundRobin', 'leastInFlight', 'weighted' or the name of a class implementing org.switchyard.AddressingStrategy")
+    SwitchYardException invalidAddressingStrategy(String strategy);
+
+    /**
+     * negativeProviderWeight method definition.
+     * @param weight the weight
+     * @return IllegalArgumentException
+     */
+    @Message(id = 14043, value = "Provider weight must not be negative: %d")
+    IllegalArgumentException negativeProviderWeight(int weight);
+
 }
@@ -29,6 +29,11 @@ public class ExchangeCompletionEvent extends EventObject {
      * Exchange property name used to record the duration of a completed exchange.
      */
     public static final String EXCHANGE_DURATION = "org.switchyard.exchangeDurationMS";
+    /**
+     * Exchange property name used to record the duration of a completed exchange
+     * in microseconds.
+     */
+    public static final String EXCHANGE_DURATION_MICROS = "org.switchyard.exchangeDurationMicros";
     /**
      * Exchange property name used to record the name of the gateway being
      * invoked, if any.
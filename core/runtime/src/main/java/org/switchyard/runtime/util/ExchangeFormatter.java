@@ -13,10 +13,8 @@
  */
 package org.switchyard.runtime.util;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Reader;
-import java.io.StringReader;
 import java.util.Comparator;
 import java.util.Set;
 import java.util.TreeSet;
@@ -25,6 +23,7 @@ import org.switchyard.Exchange;
 import org.switchyard.Message;
 import org.switchyard.Property;
 import org.switchyard.Scope;
+import org.switchyard.common.io.RepeatableContent;
 import org.switchyard.common.lang.Strings;
 
 /**
@@ -84,14 +83,21 @@ public final class ExchangeFormatter {
         try {
             // try to convert the payload to a string
             Message msg = exchange.getMessage();
-            content = msg.getContent(String.class);
+            Object payload = msg.getContent();
             
-            // check to see if we have to put content back into the message 
-            // after the conversion to string
-            if (InputStream.class.isAssignableFrom(msg.getContent().getClass())) {
-                msg.setContent(new ByteArrayInputStream(content.getBytes()));
-            } else if (Reader.class.isAssignableFrom(msg.getContent().getClass())) {
-                msg.setContent(new StringReader(content));
+            // streams are buffered so that the content can be put back into
+            // the message after the conversion to string; the stream put back
+            // releases the buffer once it has been read
+            if (payload instanceof InputStream) {
+                RepeatableContent repeatable = RepeatableContent.of((InputStream)payload);
+                msg.setContent(repeatable.getReleasingInputStream());
+                content = repeatable.toString();
+            } else if (payload instanceof Reader) {
+                RepeatableContent repeatable = RepeatableContent.of((Reader)payload);
+                msg.setContent(repeatable.getReleasingReader());
+                content = repeatable.toString();
+            } else {
+                content = msg.getContent(String.class);
             }
         } catch (Exception ex) {
             // conversion failed, fall back on toString()
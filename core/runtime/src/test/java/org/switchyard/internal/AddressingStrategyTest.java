@@ -0,0 +1,81 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.internal;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.switchyard.Service;
+
+/**
+ * Unit tests for the addressing strategies.
+ */
+public class AddressingStrategyTest {
+
+    private static final QName SERVICE_NAME = new QName("Balanced");
+    private ServiceImpl _first;
+    private ServiceImpl _second;
+    private List<Service> _providers;
+
+    @Before
+    public void setUp() {
+        _first = new ServiceImpl(SERVICE_NAME, null, null, null);
+        _second = new ServiceImpl(SERVICE_NAME, null, null, null);
+        _providers = Arrays.<Service>asList(_first, _second);
+    }
+
+    @Test
+    public void testRoundRobin() {
+        RoundRobinAddressingStrategy strategy = new RoundRobinAddressingStrategy();
+        Assert.assertSame(_first, strategy.selectProvider(null, _providers));
+        Assert.assertSame(_second, strategy.selectProvider(null, _providers));
+        Assert.assertSame(_first, strategy.selectProvider(null, _providers));
+    }
+
+    @Test
+    public void testLeastInFlight() {
+        LeastInFlightAddressingStrategy strategy = new LeastInFlightAddressingStrategy();
+        _first.getStatistics().exchangeStarted();
+        for (int i = 0; i < 4; i++) {
+            Assert.assertSame(_second, strategy.selectProvider(null, _providers));
+        }
+        _second.getStatistics().exchangeStarted();
+        _second.getStatistics().exchangeStarted();
+        Assert.assertSame(_first, strategy.selectProvider(null, _providers));
+        _second.getStatistics().exchangeCompleted();
+        _second.getStatistics().exchangeCompleted();
+        Assert.assertSame(_second, strategy.selectProvider(null, _providers));
+    }
+
+    @Test
+    public void testWeighted() {
+        WeightedAddressingStrategy strategy = new WeightedAddressingStrategy();
+        _first.getStatistics().setWeight(0);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertSame(_second, strategy.selectProvider(null, _providers));
+        }
+        _second.getStatistics().setWeight(0);
+        Assert.assertSame(_first, strategy.selectProvider(null, _providers));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        _first.getStatistics().setWeight(-1);
+    }
+}
@@ -126,6 +126,18 @@ public class DefaultContextTest {
         Assert.assertEquals(1, _context.getProperties("foo").size());
     }
     
+    @Test
+    public void testPropertyLabelIsNormalized() {
+        _context.setProperty("a", "a").addLabels("Foo");
+        _context.setProperty("b", "b");
+        Assert.assertEquals(1, _context.getProperties(" FOO ").size());
+        Assert.assertEquals(0, _context.getProperties(" ").size());
+
+        _context.removeProperties("fOo");
+        Assert.assertNull(_context.getProperty("a"));
+        Assert.assertNotNull(_context.getProperty("b"));
+    }
+    
     @Test
     public void testCopyClean() {
         _context.setProperty("a", "a").addLabels(TRANSIENT);
@@ -53,6 +53,27 @@ public class DefaultServiceRegistryTest
         Assert.assertTrue(registry.getServices(serviceName).size() == 0);
     }
     
+    @Test
+    public void testLookupReturnsSnapshot() {
+        final QName serviceName = new QName("Foo");
+        DefaultServiceRegistry registry = new DefaultServiceRegistry();
+        ServiceImpl first = new ServiceImpl(serviceName, null, null, null);
+        ServiceImpl second = new ServiceImpl(serviceName, null, null, null);
+        registry.registerService(first);
+        List<Service> services = registry.getServices(serviceName);
+        registry.registerService(second);
+        Assert.assertThat(services.size(), is(1));
+        Assert.assertThat(registry.getServices(serviceName).size(), is(2));
+        Assert.assertSame(first, registry.getServices(serviceName).get(0));
+        try {
+            services.clear();
+            Assert.fail("Service lookups should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+            e.getMessage();
+        }
+    }
+    
     @Test 
     public void testNullServiceDomainName() {
         Logger logger = Logger.getLogger(DefaultServiceRegistry.class);
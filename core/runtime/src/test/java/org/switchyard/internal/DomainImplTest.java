@@ -15,6 +15,7 @@
 package org.switchyard.internal;
 
 import java.util.EventObject;
+import java.util.List;
 
 import javax.xml.namespace.QName;
 
@@ -28,14 +29,19 @@ import org.switchyard.HandlerException;
 import org.switchyard.MockHandler;
 import org.switchyard.Service;
 import org.switchyard.ServiceReference;
+import org.switchyard.SwitchYardException;
 import org.switchyard.event.EventObserver;
 import org.switchyard.event.ReferenceRegistrationEvent;
 import org.switchyard.extensions.java.JavaService;
+import org.switchyard.internal.transform.BaseTransformerRegistry;
+import org.switchyard.internal.validate.BaseValidatorRegistry;
 import org.switchyard.metadata.InOnlyOperation;
 import org.switchyard.metadata.InOnlyService;
 import org.switchyard.metadata.InOutOperation;
 import org.switchyard.metadata.InOutService;
 import org.switchyard.metadata.ServiceInterface;
+import org.switchyard.security.service.DefaultServiceDomainSecurity;
+import org.switchyard.spi.ServiceRegistry;
 
 /**
  *  Unit tests for the DomainImpl class.
@@ -118,6 +124,128 @@ public class DomainImplTest {
         Assert.assertEquals(1, obs.count);
     }
     
+    @Test
+    public void testProviderBindingInvalidatedOnRegistration() {
+        ServiceReferenceImpl reference = (ServiceReferenceImpl)_inOnlyReference;
+        List<Service> providers = _domain.getServices(IN_ONLY_SERVICE);
+        int generation = reference.getBindingGeneration();
+        reference.bindProviders(providers, generation);
+        Assert.assertSame(providers, reference.getProviderBinding().getServices());
+        
+        // bindings of unrelated references are kept
+        _domain.registerService(new QName("other"), new InOnlyService(), new MockHandler());
+        Assert.assertNotNull(reference.getProviderBinding());
+        
+        providers.get(0).unregister();
+        Assert.assertNull(reference.getProviderBinding());
+        
+        // a binding resolved before the registration change is not used
+        reference.bindProviders(providers, generation);
+        Assert.assertNull(reference.getProviderBinding());
+        
+        _domain.registerService(IN_ONLY_SERVICE, new InOnlyService(), new MockHandler());
+        List<Service> replacement = _domain.getServices(IN_ONLY_SERVICE);
+        reference.bindProviders(replacement, reference.getBindingGeneration());
+        Assert.assertSame(replacement, reference.getProviderBinding().getServices());
+        
+        reference.wire(new QName("other"));
+        Assert.assertNull(reference.getProviderBinding());
+    }
+    
+    @Test
+    public void testAddressingStrategyProperty() {
+        Assert.assertTrue(_domain.getAddressingStrategy() instanceof FirstProviderAddressingStrategy);
+        _domain.setProperty(DomainImpl.ADDRESSING_STRATEGY, "leastInFlight");
+        _domain.init();
+        Assert.assertTrue(_domain.getAddressingStrategy() instanceof LeastInFlightAddressingStrategy);
+        _domain.setProperty(DomainImpl.ADDRESSING_STRATEGY, WeightedAddressingStrategy.class.getName());
+        _domain.init();
+        Assert.assertTrue(_domain.getAddressingStrategy() instanceof WeightedAddressingStrategy);
+    }
+    
+    @Test
+    public void testRoundRobinAddressing() {
+        QName serviceName = new QName("Balanced");
+        CountingHandler first = new CountingHandler();
+        CountingHandler second = new CountingHandler();
+        ServiceImpl firstProvider = (ServiceImpl)_domain.registerService(serviceName, new InOnlyService(), first);
+        ServiceImpl secondProvider = (ServiceImpl)_domain.registerService(serviceName, new InOnlyService(), second);
+        ServiceReference reference = _domain.registerServiceReference(serviceName, new InOnlyService());
+        _domain.setAddressingStrategy(new RoundRobinAddressingStrategy());
+        
+        for (int i = 0; i < 4; i++) {
+            Exchange exchange = reference.createExchange();
+            exchange.send(exchange.createMessage());
+        }
+        Assert.assertEquals(2, first.getCount());
+        Assert.assertEquals(2, second.getCount());
+        Assert.assertEquals(2, firstProvider.getStatistics().getSelectionCount());
+        Assert.assertEquals(2, secondProvider.getStatistics().getSelectionCount());
+        Assert.assertEquals(0, firstProvider.getStatistics().getInFlightCount());
+        Assert.assertEquals(0, secondProvider.getStatistics().getInFlightCount());
+    }
+    
+    @Test
+    public void testInFlightAcrossDomains() {
+        // the provider's domain shares the registry, but not the event manager, with the consumer's
+        ServiceRegistry registry = new DefaultServiceRegistry();
+        DomainImpl consumerDomain = new DomainImpl(new QName("consumer"), registry, new LocalExchangeBus(),
+                new BaseTransformerRegistry(), new BaseValidatorRegistry(), new EventManager(),
+                new DefaultServiceDomainSecurity());
+        consumerDomain.init();
+        DomainImpl providerDomain = new DomainImpl(new QName("provider"), registry, new LocalExchangeBus(),
+                new BaseTransformerRegistry(), new BaseValidatorRegistry(), new EventManager(),
+                new DefaultServiceDomainSecurity());
+        providerDomain.init();
+        
+        QName serviceName = new QName("CrossDomain");
+        CountingHandler handler = new CountingHandler();
+        ServiceImpl provider = (ServiceImpl)providerDomain.registerService(serviceName, new InOnlyService(), handler);
+        ServiceReference reference = consumerDomain.registerServiceReference(serviceName, new InOnlyService());
+        consumerDomain.setAddressingStrategy(new LeastInFlightAddressingStrategy());
+        
+        for (int i = 0; i < 3; i++) {
+            Exchange exchange = reference.createExchange();
+            exchange.send(exchange.createMessage());
+        }
+        Assert.assertEquals(3, handler.getCount());
+        Assert.assertEquals(3, provider.getStatistics().getSelectionCount());
+        Assert.assertEquals(0, provider.getStatistics().getInFlightCount());
+    }
+    
+    @Test
+    public void testDefaultMessageIdGenerator() {
+        Assert.assertTrue(_domain.getMessageIdGenerator() instanceof CounterMessageIdGenerator);
+        String first = _domain.getMessageIdGenerator().nextId();
+        String second = _domain.getMessageIdGenerator().nextId();
+        Assert.assertFalse(first.equals(second));
+    }
+
+    @Test
+    public void testConfiguredMessageIdGenerator() {
+        DomainImpl domain = createUninitializedDomain();
+        domain.setProperty(DomainImpl.MESSAGE_ID_GENERATOR, "uuid");
+        domain.init();
+        Assert.assertTrue(domain.getMessageIdGenerator() instanceof UUIDMessageIdGenerator);
+
+        domain = createUninitializedDomain();
+        domain.setProperty(DomainImpl.MESSAGE_ID_GENERATOR, UUIDMessageIdGenerator.class.getName());
+        domain.init();
+        Assert.assertTrue(domain.getMessageIdGenerator() instanceof UUIDMessageIdGenerator);
+    }
+
+    @Test(expected=SwitchYardException.class)
+    public void testInvalidMessageIdGenerator() {
+        DomainImpl domain = createUninitializedDomain();
+        domain.setProperty(DomainImpl.MESSAGE_ID_GENERATOR, String.class.getName());
+        domain.init();
+    }
+
+    private DomainImpl createUninitializedDomain() {
+        return new DomainImpl(new QName("ids"), new DefaultServiceRegistry(), new LocalExchangeBus(),
+                new BaseTransformerRegistry(), new BaseValidatorRegistry(), new EventManager(),
+                new DefaultServiceDomainSecurity());
+    }
 }
 
 interface MyInterface {
@@ -14,6 +14,7 @@
 
 package org.switchyard.internal.transform;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 
 import javax.xml.namespace.QName;
@@ -121,6 +122,32 @@ public class BaseTransformResolverTest {
         Assert.assertFalse(resolved);
     }
     
+    @Test
+    public void shortestPathWins() {
+        // A -> B -> C -> D and a shortcut A -> E -> D
+        registry.addTransformer(fromAtoB);
+        registry.addTransformer(fromBtoC);
+        registry.addTransformer(fromCtoD);
+        registry.addTransformer(createTransformer(A, E));
+        registry.addTransformer(createTransformer(E, D));
+        
+        LinkedList<QName> list = new LinkedList<QName>();
+        Assert.assertTrue(resolver.resolvePath(list, A, D, 3));
+        Assert.assertEquals(2, list.size());
+        Assert.assertEquals(E, list.pop());
+        Assert.assertEquals(D, list.pop());
+    }
+    
+    @Test
+    public void resolveSequenceWithDefaultHops() {
+        registry.addTransformer(fromAtoB);
+        registry.addTransformer(fromBtoC);
+        registry.addTransformer(fromCtoD);
+        
+        Assert.assertEquals(Arrays.asList(A, B, C, D), resolver.resolveSequence(A, D).getTypes());
+        Assert.assertNull(resolver.resolveSequence(D, A));
+    }
+    
     @SuppressWarnings("rawtypes")
     Transformer createTransformer(QName from, QName to) {
         return new BaseTransformer(from, to) {
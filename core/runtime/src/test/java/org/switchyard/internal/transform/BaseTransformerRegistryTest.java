@@ -15,6 +15,7 @@
 package org.switchyard.internal.transform;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -122,6 +123,35 @@ public class BaseTransformerRegistryTest {
         Assert.assertEquals(C, message.getContent());      
     }
 
+    @Test
+    public void testTransformSequenceCache() throws Exception {
+        final QName A = new QName("a");
+        final QName B = new QName("b");
+        final QName C = new QName("c");
+        
+        BaseTransformerRegistry _registry = new BaseTransformerRegistry();
+        Transformer<?,?> fromAtoB = new TestTransformer2(A, B);
+        Transformer<?,?> fromBtoC = new TestTransformer2(B, C);
+        _registry.addTransformer(fromAtoB);
+        
+        // unresolvable pairs are remembered until a transformer is added
+        Assert.assertNull(_registry.getTransformSequence(A, C));
+        _registry.addTransformer(fromBtoC);
+        TransformSequence first = _registry.getTransformSequence(A, C);
+        Assert.assertEquals(Arrays.asList(A, B, C), first.getTypes());
+        
+        // each caller gets its own sequence, as applying one consumes it
+        DefaultMessage message = new DefaultMessage().setContent(A);
+        first.apply(message, _registry);
+        Assert.assertEquals(C, message.getContent());
+        Assert.assertEquals(Arrays.asList(A, B, C), _registry.getTransformSequence(A, C).getTypes());
+        
+        // removing a transformer on the path drops the cached sequence
+        _registry.removeTransformer(fromBtoC);
+        Assert.assertNull(_registry.getTransformSequence(A, C));
+        Assert.assertEquals(Arrays.asList(A, B), _registry.getTransformSequence(A, B).getTypes());
+    }
+
     private void addTransformer(Class<?> type) {
         QName fromType = getType(type);
         QName toType = new QName("target1");
@@ -36,6 +36,8 @@ public final class Graph implements Serializable {
     private Integer _root;
     private Map<Integer, Object> _references = new LinkedHashMap<Integer, Object>();
     private transient Map<Object, Integer> _ids;
+    // identity index of the references, built on first lookup
+    private transient Map<Object, Integer> _referenceIds;
     private transient AtomicInteger _sequence;
     private transient Queue<Runnable> _resolutions;
 
@@ -82,6 +84,7 @@ public final class Graph implements Serializable {
      */
     public void setReferences(Map<Integer, Object> references) {
         _references = references;
+        _referenceIds = null;
     }
 
     /**
@@ -100,13 +103,26 @@ public final class Graph implements Serializable {
      */
     public Integer getReferenceId(Object obj) {
         if (obj != null) {
+            return getReferenceIds().get(obj);
+        }
+        return null;
+    }
+
+    private Map<Object, Integer> getReferenceIds() {
+        if (_referenceIds == null) {
+            _referenceIds = new IdentityHashMap<Object, Integer>();
             for (Map.Entry<Integer, Object> entry : _references.entrySet()) {
-                if (entry.getValue() == obj) {
-                    return entry.getKey();
-                }
+                indexReference(entry.getKey(), entry.getValue());
             }
         }
-        return null;
+        return _referenceIds;
+    }
+
+    private void indexReference(Integer id, Object obj) {
+        // the first id an object was put under wins, as with a scan in order
+        if (obj != null && !_referenceIds.containsKey(obj)) {
+            _referenceIds.put(obj, id);
+        }
     }
 
     /**
@@ -115,7 +131,13 @@ public final class Graph implements Serializable {
      * @param obj the reference
      */
     public void putReference(Integer id, Object obj) {
-        _references.put(id, obj);
+        Object old = _references.put(id, obj);
+        if (_referenceIds != null) {
+            if (old != null && old != obj && id.equals(_referenceIds.get(old))) {
+                _referenceIds.remove(old);
+            }
+            indexReference(id, obj);
+        }
     }
 
     private Queue<Runnable> getResolutions() {
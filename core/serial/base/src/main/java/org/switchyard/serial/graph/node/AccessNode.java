@@ -59,12 +59,14 @@ public abstract class AccessNode implements Node {
         IGNORED_ACCESS_NAMES = Collections.unmodifiableSet(ignoredAccessNames);
     }
 
+    static final AccessCache ACCESS_CACHE = new AccessCache(IGNORED_ACCESS_NAMES);
+
     /**
-     * Gets the set of ignored access names.
-     * @return the set of ignored access names.
+     * Gets the cache of access lists, which decides the ignored access names.
+     * @return the cache of access lists
      */
-    Set<String> getIgnoredAccessNames() {
-        return IGNORED_ACCESS_NAMES;
+    AccessCache getAccessCache() {
+        return ACCESS_CACHE;
     }
 
     /**
@@ -178,6 +180,11 @@ public abstract class AccessNode implements Node {
 
     @SuppressWarnings("rawtypes")
     private List<Access> getAccessList(Class<?> clazz) {
+        return getAccessCache().get(clazz);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static List<Access> createAccessList(Class<?> clazz, Set<String> ignoredAccessNames) {
         List<Access> accessList = new ArrayList<Access>();
         if (clazz.getAnnotation(Deprecated.class) != null) {
             return accessList;
@@ -227,7 +234,7 @@ public abstract class AccessNode implements Node {
                         if (access == null) {
                             access = new BeanAccess(desc);
                         }
-                        if (access.isReadable() && !getIgnoredAccessNames().contains(access.getName())) {
+                        if (access.isReadable() && !ignoredAccessNames.contains(access.getName())) {
                             accessList.add(access);
                         }
                     }
@@ -252,4 +259,23 @@ public abstract class AccessNode implements Node {
         return accessList;
     }
 
+    /**
+     * Access lists per class, worked out once per class as the reflection
+     * behind them is far more expensive than reading the values.
+     */
+    @SuppressWarnings("rawtypes")
+    static final class AccessCache extends ClassValue<List<Access>> {
+
+        private final Set<String> _ignoredAccessNames;
+
+        AccessCache(Set<String> ignoredAccessNames) {
+            _ignoredAccessNames = ignoredAccessNames;
+        }
+
+        @Override
+        protected List<Access> computeValue(Class<?> type) {
+            return Collections.unmodifiableList(createAccessList(type, _ignoredAccessNames));
+        }
+    }
+
 }
@@ -60,7 +60,7 @@ public final class CollectionNode implements Node {
         for (Object o : coll) {
             Integer id = NodeBuilder.build(o, graph);
             if (!(graph.getReference(id) instanceof NoopNode)) {
-                _ids.add(NodeBuilder.build(o, graph));
+                _ids.add(id);
             }
         }
     }
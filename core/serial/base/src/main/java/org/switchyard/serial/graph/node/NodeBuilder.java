@@ -42,6 +42,14 @@ public final class NodeBuilder {
         Number.class
     };
 
+    // what kind of node represents objects of a class, worked out once per class
+    private static final ClassValue<Kind> KINDS = new ClassValue<Kind>() {
+        @Override
+        protected Kind computeValue(Class<?> clazz) {
+            return kindOf(clazz);
+        }
+    };
+
     /**
      * Builds a node representing the specified object and adds it to the graph.
      * @param obj the specified object
@@ -53,66 +61,83 @@ public final class NodeBuilder {
         if (id == 0 || graph.getReference(id) != null) {
             return id;
         }
-        Class<?> clazz = obj.getClass();
+        Node node;
+        switch (KINDS.get(obj.getClass())) {
+            case SIMPLE:
+                graph.putReference(id, obj);
+                return id;
+            case ARRAY:
+                node = new ArrayNode();
+                break;
+            case CLASS:
+                node = new ClassNode();
+                break;
+            case COLLECTION:
+                node = new CollectionNode();
+                break;
+            case MAP:
+                node = new MapNode();
+                break;
+            case DOM:
+                node = new DOMNode();
+                break;
+            case QNAME:
+                node = new QNameNode();
+                break;
+            case DATA_SOURCE:
+                node = new DataSourceNode();
+                break;
+            case INPUT_STREAM:
+                node = new InputStreamNode();
+                break;
+            case UUID:
+                node = new UUIDNode();
+                break;
+            case STACK_TRACE_ELEMENT:
+                node = new StackTraceElementNode();
+                break;
+            case THROWABLE_ACCESS:
+                node = new ThrowableAccessNode();
+                break;
+            case DEFAULT_ACCESS:
+                node = new DefaultAccessNode();
+                break;
+            default:
+                graph.putReference(id, NoopNode.INSTANCE);
+                return id;
+        }
+        graph.putReference(id, node);
+        node.compose(obj, graph);
+        return id;
+    }
+
+    private static Kind kindOf(Class<?> clazz) {
         if (isSimple(clazz)) {
-            graph.putReference(id, obj);
+            return Kind.SIMPLE;
         } else if (isArray(clazz)) {
-            if (isSimple(clazz.getComponentType())) {
-                graph.putReference(id, obj);
-            } else {
-                Node node = new ArrayNode();
-                graph.putReference(id, node);
-                node.compose(obj, graph);
-            }
+            return isSimple(clazz.getComponentType()) ? Kind.SIMPLE : Kind.ARRAY;
         } else if (isClass(clazz)) {
-            Node node = new ClassNode();
-            graph.putReference(id, node);
-            node.compose(obj, graph);
+            return Kind.CLASS;
         } else if (isCollection(clazz)) {
-            Node node = new CollectionNode();
-            graph.putReference(id, node);
-            node.compose(obj, graph);
+            return Kind.COLLECTION;
         } else if (isMap(clazz)) {
-            Node node = new MapNode();
-            graph.putReference(id, node);
-            node.compose(obj, graph);
+            return Kind.MAP;
         } else if (isDOM(clazz)) {
-            Node node = new DOMNode();
-            graph.putReference(id, node);
-            node.compose(obj, graph);
+            return Kind.DOM;
         } else if (isQName(clazz)) {
-            Node node = new QNameNode();
-            graph.putReference(id, node);
-            node.compose(obj, graph);
+            return Kind.QNAME;
         } else if (isDataSource(clazz)) {
-            Node node = new DataSourceNode();
-            graph.putReference(id, node);
-            node.compose(obj, graph);
+            return Kind.DATA_SOURCE;
         } else if (isInputStream(clazz)) {
-            Node node = new InputStreamNode();
-            graph.putReference(id, node);
-            node.compose(obj, graph);
+            return Kind.INPUT_STREAM;
         } else if (isUUID(clazz)) {
-            Node node = new UUIDNode();
-            graph.putReference(id, node);
-            node.compose(obj, graph);
+            return Kind.UUID;
         } else if (isStackTraceElement(clazz)) {
-            Node node = new StackTraceElementNode();
-            graph.putReference(id, node);
-            node.compose(obj, graph);
+            return Kind.STACK_TRACE_ELEMENT;
         } else if (isAccessible(clazz)) {
-            Node node;
-            if (isThrowable(clazz)) {
-                node = new ThrowableAccessNode();
-            } else {
-                node = new DefaultAccessNode();
-            }
-            graph.putReference(id, node);
-            node.compose(obj, graph);
-        } else {
-            graph.putReference(id, NoopNode.INSTANCE);
+            return isThrowable(clazz) ? Kind.THROWABLE_ACCESS : Kind.DEFAULT_ACCESS;
         }
-        return id;
+        return Kind.NOOP;
     }
 
     static boolean isArray(Class<?> clazz) {
@@ -177,4 +202,21 @@ public final class NodeBuilder {
 
     private NodeBuilder() {}
 
+    private static enum Kind {
+        SIMPLE,
+        ARRAY,
+        CLASS,
+        COLLECTION,
+        MAP,
+        DOM,
+        QNAME,
+        DATA_SOURCE,
+        INPUT_STREAM,
+        UUID,
+        STACK_TRACE_ELEMENT,
+        THROWABLE_ACCESS,
+        DEFAULT_ACCESS,
+        NOOP
+    }
+
 }
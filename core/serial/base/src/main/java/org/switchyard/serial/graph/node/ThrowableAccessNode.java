@@ -41,6 +41,8 @@ public final class ThrowableAccessNode extends AccessNode {
         THROWABLE_IGNORED_ACCESS_NAMES = Collections.unmodifiableSet(throwableIgnoredAccessNames);
     }
 
+    static final AccessCache THROWABLE_ACCESS_CACHE = new AccessCache(THROWABLE_IGNORED_ACCESS_NAMES);
+
     private Integer _clazz;
     private Map<String, Integer> _ids;
     private String _message;
@@ -57,8 +59,8 @@ public final class ThrowableAccessNode extends AccessNode {
      * {@inheritDoc}
      */
     @Override
-    Set<String> getIgnoredAccessNames() {
-        return THROWABLE_IGNORED_ACCESS_NAMES;
+    AccessCache getAccessCache() {
+        return THROWABLE_ACCESS_CACHE;
     }
 
     /**
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,  
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.serial.graph;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests composing and decomposing object graphs, including large ones.
+ */
+public final class GraphTest {
+
+    @Test
+    public void sharedReferences() throws Exception {
+        Owner owner = new Owner();
+        owner.setName("owner");
+        List<Item> items = new ArrayList<Item>();
+        for (int i = 0; i < 3; i++) {
+            items.add(new Item("item" + i, owner));
+        }
+        List<?> copy = (List<?>)new Graph(items).decomposeRoot();
+        Assert.assertEquals(3, copy.size());
+        Item first = (Item)copy.get(0);
+        Assert.assertEquals("item0", first.getName());
+        Assert.assertEquals("owner", first.getOwner().getName());
+        for (Object item : copy) {
+            Assert.assertSame(first.getOwner(), ((Item)item).getOwner());
+        }
+    }
+
+    @Test
+    public void referenceIds() throws Exception {
+        Graph graph = new Graph();
+        Object obj = new Object();
+        Assert.assertNull(graph.getReferenceId(obj));
+        graph.putReference(1, "one");
+        graph.putReference(2, obj);
+        Assert.assertEquals(Integer.valueOf(2), graph.getReferenceId(obj));
+        Assert.assertNull(graph.getReferenceId(new String("one")));
+        Object replacement = new Object();
+        graph.putReference(2, replacement);
+        Assert.assertNull(graph.getReferenceId(obj));
+        Assert.assertEquals(Integer.valueOf(2), graph.getReferenceId(replacement));
+        Assert.assertNull(graph.getReferenceId(null));
+    }
+
+    @Test
+    public void undeclaredThrowable() throws Exception {
+        UndeclaredThrowableException ute = new UndeclaredThrowableException(new IllegalStateException("cause"), "wrapper");
+        List<Object> list = new ArrayList<Object>();
+        list.add(ute);
+        list.add(ute);
+        List<?> copy = (List<?>)new Graph(list).decomposeRoot();
+        UndeclaredThrowableException first = (UndeclaredThrowableException)copy.get(0);
+        Assert.assertEquals("cause", first.getUndeclaredThrowable().getMessage());
+        Assert.assertSame(first, copy.get(1));
+    }
+
+    @Test
+    public void largeCollection() throws Exception {
+        Owner owner = new Owner();
+        owner.setName("owner");
+        List<Item> items = new ArrayList<Item>();
+        for (int i = 0; i < 20000; i++) {
+            items.add(new Item("item" + i, owner));
+        }
+        List<?> copy = (List<?>)new Graph(items).decomposeRoot();
+        Assert.assertEquals(items.size(), copy.size());
+        Assert.assertEquals("item19999", ((Item)copy.get(19999)).getName());
+        Assert.assertSame(((Item)copy.get(0)).getOwner(), ((Item)copy.get(19999)).getOwner());
+    }
+
+    public static final class Owner {
+        private String _name;
+        public String getName() {
+            return _name;
+        }
+        public void setName(String name) {
+            _name = name;
+        }
+    }
+
+    public static final class Item {
+        private String _name;
+        private Owner _owner;
+        public Item() {}
+        public Item(String name, Owner owner) {
+            setName(name);
+            setOwner(owner);
+        }
+        public String getName() {
+            return _name;
+        }
+        public void setName(String name) {
+            _name = name;
+        }
+        public Owner getOwner() {
+            return _owner;
+        }
+        public void setOwner(Owner owner) {
+            _owner = owner;
+        }
+    }
+
+}
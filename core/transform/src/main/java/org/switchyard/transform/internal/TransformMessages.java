@@ -595,4 +595,30 @@ public interface TransformMessages {
      */
     @Message(id=18866, value = "Failed to transform via camel endpoint '%s': %s")
     SwitchYardException failedToTransformViaCamelEndpoint(String endpointUri, String cause);
+
+    /**
+     * errorReadingStAXSource method definition.
+     * @param e e
+     * @return SwitchYardException
+     */
+    @Message(id=16865, value = "Error reading StAX source.")
+    SwitchYardException errorReadingStAXSource(@Cause Exception e);
+
+    /**
+     * failedToReadContentForType method definition.
+     * @param type type
+     * @param e e
+     * @return SwitchYardException
+     */
+    @Message(id=16866, value = "Failed to read message content to unmarshall for type '%s'.")
+    SwitchYardException failedToReadContentForType(String type, @Cause Exception e);
+
+    /**
+     * transformerPoolTimeout method definition.
+     * @param maxSize maxSize
+     * @param timeout timeout
+     * @return SwitchYardException
+     */
+    @Message(id=16867, value = "No XSLT transformer became available within %2$d ms, all %1$d pooled transformers are in use.")
+    SwitchYardException transformerPoolTimeout(int maxSize, long timeout);
 }
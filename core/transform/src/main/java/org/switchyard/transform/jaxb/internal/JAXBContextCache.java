@@ -0,0 +1,67 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.transform.jaxb.internal;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import org.switchyard.common.type.ClassLoaderCache;
+
+/**
+ * Process-wide cache of JAXBContexts, so that transformers for the same context
+ * path or type share one context instead of each building its own.
+ * <p/>
+ * Contexts are cached per class loader: the thread context class loader for
+ * context paths, the type's class loader for types.
+ */
+final class JAXBContextCache {
+
+    private static final ClassLoaderCache<JAXBContext> CONTEXTS = new ClassLoaderCache<JAXBContext>();
+
+    private JAXBContextCache() {
+    }
+
+    /**
+     * Returns the context for a context path.
+     * @param contextPath JAXB context path (Java package)
+     * @return context
+     * @throws JAXBException failed to create the context
+     */
+    static JAXBContext getContext(String contextPath) throws JAXBException {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        String key = "path:" + contextPath;
+        JAXBContext context = CONTEXTS.get(loader, key);
+        if (context == null) {
+            // created outside the lock, contexts can take a while to build
+            context = CONTEXTS.put(loader, key, JAXBContext.newInstance(contextPath));
+        }
+        return context;
+    }
+
+    /**
+     * Returns the context for a type.
+     * @param type bound type
+     * @return context
+     * @throws JAXBException failed to create the context
+     */
+    static JAXBContext getContext(Class<?> type) throws JAXBException {
+        ClassLoader loader = type.getClassLoader();
+        String key = "class:" + type.getName();
+        JAXBContext context = CONTEXTS.get(loader, key);
+        if (context == null) {
+            context = CONTEXTS.put(loader, key, JAXBContext.newInstance(type));
+        }
+        return context;
+    }
+}
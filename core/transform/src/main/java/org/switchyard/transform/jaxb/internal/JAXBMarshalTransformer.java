@@ -37,6 +37,7 @@ import javax.xml.namespace.QName;
 import org.switchyard.Message;
 import org.switchyard.SwitchYardException;
 import org.switchyard.common.type.Classes;
+import org.switchyard.common.util.BoundedPool;
 import org.switchyard.common.xml.QNameUtil;
 import org.switchyard.config.model.Scannable;
 import org.switchyard.transform.BaseTransformer;
@@ -55,6 +56,7 @@ import org.switchyard.transform.internal.TransformMessages;
 public class JAXBMarshalTransformer<F, T> extends BaseTransformer<Message, Message> {
 
     private JAXBContext _jaxbContext;
+    private BoundedPool<Marshaller, JAXBException> _marshallers;
     private boolean _isAttachmentEnabled;
     private boolean _isXOPPackage;
 
@@ -68,18 +70,44 @@ public class JAXBMarshalTransformer<F, T> extends BaseTransformer<Message, Messa
      * @throws SwitchYardException Failed to create JAXBContext.
      */
     public JAXBMarshalTransformer(QName from, QName to, String contextPath, boolean isAttachmentEnabled, boolean isXOPPackage) throws SwitchYardException {
+        this(from, to, contextPath, isAttachmentEnabled, isXOPPackage, JAXBTransformerFactory.DEFAULT_MAX_POOL_SIZE);
+    }
+
+    /**
+     * Public constructor.
+     * @param from From type.
+     * @param to To type.
+     * @param contextPath JAXB context path (Java package).
+     * @param isAttachmentEnabled true if attachment to be enabled.
+     * @param isXOPPackage true if XOP Package to be enabled.
+     * @param maxPoolSize maximum number of idle marshallers kept for reuse
+     * @throws SwitchYardException Failed to create JAXBContext.
+     */
+    public JAXBMarshalTransformer(QName from, QName to, String contextPath, boolean isAttachmentEnabled, boolean isXOPPackage, int maxPoolSize) throws SwitchYardException {
         super(from, to);
         _isAttachmentEnabled = isAttachmentEnabled;
         _isXOPPackage = isXOPPackage;
         try {
             if (contextPath != null) {
-                _jaxbContext = JAXBContext.newInstance(contextPath);
+                _jaxbContext = JAXBContextCache.getContext(contextPath);
             } else {
-                _jaxbContext = JAXBContext.newInstance(QNameUtil.toJavaMessageType(from));
+                _jaxbContext = JAXBContextCache.getContext(QNameUtil.toJavaMessageType(from));
             }
         } catch (JAXBException e) {
             throw TransformMessages.MESSAGES.failedToCreateJAXBContext(from.toString(), e);
         }
+        _marshallers = new BoundedPool<Marshaller, JAXBException>(maxPoolSize) {
+            @Override
+            protected Marshaller create() throws JAXBException {
+                Marshaller marshaller = _jaxbContext.createMarshaller();
+                marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+                return marshaller;
+            }
+            @Override
+            protected void reset(Marshaller marshaller) {
+                marshaller.setAttachmentMarshaller(null);
+            }
+        };
     }
 
     @Override
@@ -87,7 +115,7 @@ public class JAXBMarshalTransformer<F, T> extends BaseTransformer<Message, Messa
         Marshaller marshaller;
 
         try {
-            marshaller = _jaxbContext.createMarshaller();
+            marshaller = _marshallers.take();
             if (_isAttachmentEnabled) {
                 marshaller.setAttachmentMarshaller(new JAXBAttachmentMarshaller(message, _isXOPPackage));
             }
@@ -99,7 +127,6 @@ public class JAXBMarshalTransformer<F, T> extends BaseTransformer<Message, Messa
             StringWriter resultWriter = new StringWriter();
             Object javaObject = message.getContent();
 
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
             try {
                 marshaller.marshal(javaObject, resultWriter);
                 message.setContent(resultWriter.toString());
@@ -137,10 +164,16 @@ public class JAXBMarshalTransformer<F, T> extends BaseTransformer<Message, Messa
         } catch (JAXBException e) {
             throw TransformMessages.MESSAGES.failedToMarshallForType(getFrom().toString(), e);
         }
+        // only marshallers which completed normally are reused
+        _marshallers.give(marshaller);
 
         return message;
     }
 
+    BoundedPool<Marshaller, JAXBException> getMarshallerPool() {
+        return _marshallers;
+    }
+
     private static Class getObjectFactory(Class<?> type) {
         if (type.getAnnotation(XmlType.class) != null) {
             // Get the ObjectFactory, if it exists...
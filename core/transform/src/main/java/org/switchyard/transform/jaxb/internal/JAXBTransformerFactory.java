@@ -29,6 +29,8 @@ import org.switchyard.ServiceDomain;
 import org.switchyard.SwitchYardException;
 import org.switchyard.common.type.Classes;
 import org.switchyard.common.xml.QNameUtil;
+import org.switchyard.config.model.Model;
+import org.switchyard.config.model.switchyard.SwitchYardModel;
 import org.switchyard.metadata.JavaTypes;
 import org.switchyard.transform.Transformer;
 import org.switchyard.transform.config.model.JAXBTransformModel;
@@ -48,16 +50,44 @@ public class JAXBTransformerFactory implements TransformerFactory<JAXBTransformM
      */
     private static Logger _log = Logger.getLogger(JAXBTransformerFactory.class);
 
+    /**
+     * Property used in a domain property to configure the number of idle marshallers
+     * and unmarshallers each JAXB transformer keeps for reuse.
+     */
+    public static final String MAX_POOL_SIZE = "org.switchyard.transform.jaxb.maxPoolSize";
+    /**
+     * Default max size for marshaller and unmarshaller pools.
+     */
+    public static final int DEFAULT_MAX_POOL_SIZE = 16;
+
     @Override
     public Transformer<?, ?> newTransformer(ServiceDomain domain, JAXBTransformModel model) {
         QName fromType = model.getFrom();
         QName toType = model.getTo();
+        int poolSize = getPoolSize(model);
 
         if (toJavaTransformType(fromType, toType) == JavaTransformType.JAVA2XML) {
-            return new JAXBMarshalTransformer(fromType, toType, model.getContextPath(), model.isAttachmentEnabled(), model.isXOPPackageEnabled());
+            return new JAXBMarshalTransformer(fromType, toType, model.getContextPath(), model.isAttachmentEnabled(), model.isXOPPackageEnabled(), poolSize);
         } else {
-            return new JAXBUnmarshalTransformer(fromType, toType, model.getContextPath(), model.isXOPPackageEnabled());
+            return new JAXBUnmarshalTransformer(fromType, toType, model.getContextPath(), model.isXOPPackageEnabled(), poolSize);
+        }
+    }
+
+    // This method looks for the MAX_POOL_SIZE property within switchyard.xml to
+    // configure the marshaller and unmarshaller pool size
+    int getPoolSize(JAXBTransformModel model) {
+        int poolSize = DEFAULT_MAX_POOL_SIZE;
+        Model root = model.getModelRoot();
+        if (root instanceof SwitchYardModel) {
+            SwitchYardModel syModel = (SwitchYardModel)root;
+            if (syModel.getDomain() != null && syModel.getDomain().getProperties() != null) {
+                String poolProp = syModel.getDomain().getProperties().getPropertyValue(MAX_POOL_SIZE);
+                if (poolProp != null) {
+                    poolSize = Integer.parseInt(poolProp);
+                }
+            }
         }
+        return poolSize;
     }
 
     /**
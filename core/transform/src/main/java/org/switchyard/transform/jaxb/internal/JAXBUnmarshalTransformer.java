@@ -15,6 +15,7 @@
 package org.switchyard.transform.jaxb.internal;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 
@@ -25,6 +26,8 @@ import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.attachment.AttachmentUnmarshaller;
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXSource;
@@ -33,7 +36,10 @@ import javax.xml.transform.stax.StAXSource;
 import org.jboss.logging.Logger;
 import org.switchyard.Message;
 import org.switchyard.SwitchYardException;
+import org.switchyard.common.io.RepeatableContent;
+import org.switchyard.common.util.BoundedPool;
 import org.switchyard.common.xml.QNameUtil;
+import org.switchyard.common.xml.XMLHelper;
 import org.switchyard.config.model.Scannable;
 import org.switchyard.transform.BaseTransformer;
 import org.switchyard.transform.internal.TransformMessages;
@@ -52,6 +58,7 @@ public class JAXBUnmarshalTransformer<F, T> extends BaseTransformer<Message, Mes
     private static Logger _logger = Logger.getLogger(JAXBUnmarshalTransformer.class);
 
     private JAXBContext _jaxbContext;
+    private BoundedPool<Unmarshaller, JAXBException> _unmarshallers;
     private boolean _isXOPPackage;
 
     /**
@@ -63,17 +70,40 @@ public class JAXBUnmarshalTransformer<F, T> extends BaseTransformer<Message, Mes
      * @throws SwitchYardException Failed to create JAXBContext.
      */
     public JAXBUnmarshalTransformer(QName from, QName to, String contextPath, boolean isXOPPackage) throws SwitchYardException {
+        this(from, to, contextPath, isXOPPackage, JAXBTransformerFactory.DEFAULT_MAX_POOL_SIZE);
+    }
+
+    /**
+     * Public constructor.
+     * @param from From type.
+     * @param to To type.
+     * @param contextPath JAXB context path (Java package).
+     * @param isXOPPackage true if XOPPackage is to be enabled.
+     * @param maxPoolSize maximum number of idle unmarshallers kept for reuse
+     * @throws SwitchYardException Failed to create JAXBContext.
+     */
+    public JAXBUnmarshalTransformer(QName from, QName to, String contextPath, boolean isXOPPackage, int maxPoolSize) throws SwitchYardException {
         super(from, to);
         _isXOPPackage = isXOPPackage;
         try {
             if (contextPath != null) {
-                _jaxbContext = JAXBContext.newInstance(contextPath);
+                _jaxbContext = JAXBContextCache.getContext(contextPath);
             } else {
-                _jaxbContext = JAXBContext.newInstance(QNameUtil.toJavaMessageType(to));
+                _jaxbContext = JAXBContextCache.getContext(QNameUtil.toJavaMessageType(to));
             }
         } catch (JAXBException e) {
             throw TransformMessages.MESSAGES.failedToCreateJAXBContext(to.toString(), e);
         }
+        _unmarshallers = new BoundedPool<Unmarshaller, JAXBException>(maxPoolSize) {
+            @Override
+            protected Unmarshaller create() throws JAXBException {
+                return _jaxbContext.createUnmarshaller();
+            }
+            @Override
+            protected void reset(Unmarshaller unmarshaller) {
+                unmarshaller.setAttachmentUnmarshaller(null);
+            }
+        };
     }
 
     @Override
@@ -81,32 +111,17 @@ public class JAXBUnmarshalTransformer<F, T> extends BaseTransformer<Message, Mes
         Unmarshaller unmarshaller;
 
         try {
-            unmarshaller = _jaxbContext.createUnmarshaller();
-            unmarshaller.setAttachmentUnmarshaller(new JAXBAttachmentUnmarshaller(message, _isXOPPackage));
+            unmarshaller = _unmarshallers.take();
         } catch (JAXBException e) {
             throw TransformMessages.MESSAGES.failedToCreateMarshaller(getTo().toString(), e);
         }
+        if (_isXOPPackage || !message.getAttachmentMap().isEmpty()) {
+            // nothing to resolve attachments against otherwise
+            unmarshaller.setAttachmentUnmarshaller(new JAXBAttachmentUnmarshaller(message, _isXOPPackage));
+        }
 
         try {
-            byte[] bytes = null;
-            if (InputStream.class.isAssignableFrom(message.getContent().getClass())
-                    || Reader.class.isAssignableFrom(message.getContent().getClass())) {
-                // Convert the stream/reader content to byte array first so it won't exhausted
-                bytes = message.getContent(byte[].class);
-                message.setContent(bytes);
-            }
-            Source source = message.getContent(Source.class);
-            if (source instanceof StAXSource || source instanceof SAXSource) {
-                // SWITCHYARD-2511 - Avoid StAXSource and SAXSource as those have issues on JAXB unmarshal
-                if (bytes != null) {
-                    message.setContent(bytes);
-                }
-                source = message.getContent(DOMSource.class);
-            }
-            if (_logger.isDebugEnabled()) {
-                _logger.debug("Unmarshalling from " + source.getClass() + ", systemId=" + source.getSystemId());
-            }
-            Object unmarshalledObject = unmarshaller.unmarshal(source);
+            Object unmarshalledObject = unmarshal(unmarshaller, message);
 
             if (unmarshalledObject instanceof JAXBElement) {
                 message.setContent(((JAXBElement)unmarshalledObject).getValue());
@@ -115,10 +130,75 @@ public class JAXBUnmarshalTransformer<F, T> extends BaseTransformer<Message, Mes
             }
         } catch (JAXBException e) {
             throw TransformMessages.MESSAGES.failedToUnmarshallForType(getTo().toString(), e);
+        } catch (IOException e) {
+            throw TransformMessages.MESSAGES.failedToReadContentForType(getTo().toString(), e);
+        } catch (XMLStreamException e) {
+            throw TransformMessages.MESSAGES.failedToReadContentForType(getTo().toString(), e);
         }
+        // only unmarshallers which completed normally are reused
+        _unmarshallers.give(unmarshaller);
 
         return message;
     }
+
+    BoundedPool<Unmarshaller, JAXBException> getUnmarshallerPool() {
+        return _unmarshallers;
+    }
+
+    private Object unmarshal(Unmarshaller unmarshaller, Message message) throws JAXBException, IOException, XMLStreamException {
+        Object content = message.getContent();
+        if (content instanceof InputStream || content instanceof Reader) {
+            // Buffer the stream/reader content first so it won't be exhausted
+            RepeatableContent repeatable = content instanceof InputStream
+                    ? RepeatableContent.of((InputStream)content) : RepeatableContent.of((Reader)content);
+            boolean unmarshalled = false;
+            try {
+                Object unmarshalledObject = unmarshal(unmarshaller, repeatable);
+                unmarshalled = true;
+                return unmarshalledObject;
+            } finally {
+                if (unmarshalled) {
+                    repeatable.close();
+                } else {
+                    // the content stays readable, and releases the buffer once read
+                    message.setContent(content instanceof InputStream
+                            ? repeatable.getReleasingInputStream() : repeatable.getReleasingReader());
+                }
+            }
+        }
+
+        if (content instanceof RepeatableContent) {
+            return unmarshal(unmarshaller, (RepeatableContent)content);
+        } else if (content instanceof StAXSource) {
+            StAXSource source = (StAXSource)content;
+            if (source.getXMLStreamReader() != null) {
+                return unmarshaller.unmarshal(source.getXMLStreamReader());
+            }
+            return unmarshaller.unmarshal(source.getXMLEventReader());
+        }
+
+        Source source = message.getContent(Source.class);
+        if (source instanceof StAXSource || source instanceof SAXSource) {
+            source = message.getContent(DOMSource.class);
+        }
+        if (_logger.isDebugEnabled()) {
+            _logger.debug("Unmarshalling from " + source.getClass() + ", systemId=" + source.getSystemId());
+        }
+        return unmarshaller.unmarshal(source);
+    }
+
+    // SWITCHYARD-2511 - Avoid StAXSource and SAXSource as those have issues on JAXB unmarshal,
+    // streamed content is unmarshalled straight from its reader instead
+    private Object unmarshal(Unmarshaller unmarshaller, RepeatableContent content) throws JAXBException, XMLStreamException {
+        XMLStreamReader reader = content.getCharset() != null
+                ? XMLHelper.getXMLStreamReader(content.getReader())
+                : XMLHelper.getXMLStreamReader(content.getInputStream());
+        try {
+            return unmarshaller.unmarshal(reader);
+        } finally {
+            reader.close();
+        }
+    }
     
     class JAXBAttachmentUnmarshaller extends AttachmentUnmarshaller {
 
@@ -15,6 +15,7 @@ package org.switchyard.transform.ootb.io;
 
 import org.jboss.logging.Logger;
 import org.switchyard.annotations.Transformer;
+import org.switchyard.common.io.Buffers;
 import org.xml.sax.InputSource;
 
 import java.io.ByteArrayInputStream;
@@ -139,7 +140,7 @@ public class InputStreamTransforms {
         ByteArrayOutputStream byteBuffer = new ByteArrayOutputStream();
 
         try {
-            byte[] readBuffer = new byte[56];
+            byte[] readBuffer = Buffers.newDefaultBuffer();
             int readCount;
 
             while ((readCount = inStream.read(readBuffer)) != -1) {
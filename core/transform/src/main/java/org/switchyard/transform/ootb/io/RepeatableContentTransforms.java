@@ -0,0 +1,171 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.transform.ootb.io;
+
+import java.io.InputStream;
+import java.io.Reader;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamSource;
+
+import org.switchyard.annotations.Transformer;
+import org.switchyard.common.io.RepeatableContent;
+import org.switchyard.common.xml.XMLHelper;
+import org.switchyard.transform.internal.TransformMessages;
+import org.switchyard.transform.ootb.xml.AbstractDOMTransformer;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+/**
+ * {@link RepeatableContent} Transforms.
+ * <p/>
+ * Unlike stream transforms, these leave the supplied content readable, so the
+ * same message content can be converted any number of times.
+ */
+public class RepeatableContentTransforms {
+
+    /**
+     * Singleton Instance.
+     */
+    public static final RepeatableContentTransforms TRANSFORMER = new RepeatableContentTransforms();
+
+    /**
+     * Transform to String.
+     * @param content Repeatable content.
+     * @return String.
+     */
+    @Transformer
+    public String toString(RepeatableContent content) {
+        return content.toString();
+    }
+
+    /**
+     * Transform to byte[].
+     * @param content Repeatable content.
+     * @return byte[].
+     */
+    @Transformer
+    public byte[] toBytes(RepeatableContent content) {
+        return content.getBytes();
+    }
+
+    /**
+     * Transform to char[].
+     * @param content Repeatable content.
+     * @return char[].
+     */
+    @Transformer
+    public char[] toChars(RepeatableContent content) {
+        return content.toString().toCharArray();
+    }
+
+    /**
+     * Transform to InputStream.
+     * @param content Repeatable content.
+     * @return InputStream.
+     */
+    @Transformer
+    public InputStream toInputStream(RepeatableContent content) {
+        return content.getInputStream();
+    }
+
+    /**
+     * Transform to Reader.
+     * @param content Repeatable content.
+     * @return Reader.
+     */
+    @Transformer
+    public Reader toReader(RepeatableContent content) {
+        return content.getReader();
+    }
+
+    /**
+     * Transform to InputSource.
+     * @param content Repeatable content.
+     * @return InputSource.
+     */
+    @Transformer
+    public InputSource toInputSource(RepeatableContent content) {
+        // characters must not be re-decoded according to the XML declaration
+        return content.getCharset() != null ? new InputSource(content.getReader()) : new InputSource(content.getInputStream());
+    }
+
+    /**
+     * Transform to StreamSource.
+     * @param content Repeatable content.
+     * @return StreamSource.
+     */
+    @Transformer
+    public StreamSource toStreamSource(RepeatableContent content) {
+        return content.getCharset() != null ? new StreamSource(content.getReader()) : new StreamSource(content.getInputStream());
+    }
+
+    /**
+     * Transform to StAXSource.
+     * @param content Repeatable content.
+     * @return StAXSource.
+     */
+    @Transformer
+    public StAXSource toStAXSource(RepeatableContent content) {
+        try {
+            return new StAXSource(XMLHelper.getXMLStreamReader(toStreamSource(content)));
+        } catch (XMLStreamException e) {
+            throw TransformMessages.MESSAGES.errorReadingStAXSource(e);
+        }
+    }
+
+    /**
+     * Transform to Document.
+     * @param content Repeatable content.
+     * @return Document.
+     */
+    @Transformer
+    public Document toDocument(RepeatableContent content) {
+        return AbstractDOMTransformer.parse(toInputSource(content));
+    }
+
+    /**
+     * Transform to Element.
+     * @param content Repeatable content.
+     * @return Element.
+     */
+    @Transformer
+    public Element toElement(RepeatableContent content) {
+        return toDocument(content).getDocumentElement();
+    }
+
+    /**
+     * Transform to Node.
+     * @param content Repeatable content.
+     * @return Node.
+     */
+    @Transformer
+    public Node toNode(RepeatableContent content) {
+        return toElement(content);
+    }
+
+    /**
+     * Transform to DOMSource.
+     * @param content Repeatable content.
+     * @return DOMSource.
+     */
+    @Transformer
+    public DOMSource toDOMSource(RepeatableContent content) {
+        return new DOMSource(toDocument(content));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.switchyard.transform.ootb.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stax.StAXSource;
+
+import org.switchyard.common.xml.XMLHelper;
+import org.switchyard.config.model.Scannable;
+import org.switchyard.transform.internal.TransformMessages;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * StAX source transformations.
+ * <p/>
+ * A {@link StAXSource} is the streaming form of an XML payload: the content is only
+ * read once a consumer asks for it, and a DOM is only built when the consumer
+ * asks for one.
+ */
+@Scannable(false)
+public class StAXSourceTransformer extends AbstractDOMTransformer {
+
+    private static final QName TYPE_DOCUMENT     = toMessageType(Document.class);
+    private static final QName TYPE_ELEMENT      = toMessageType(Element.class);
+    private static final QName TYPE_NODE         = toMessageType(Node.class);
+    private static final QName TYPE_DOMSOURCE    = toMessageType(DOMSource.class);
+    private static final QName TYPE_STRING       = toMessageType(String.class);
+    private static final QName TYPE_STAXSOURCE   = toMessageType(StAXSource.class);
+
+    @Override
+    public Object transform(Object from) {
+        try {
+            if (from instanceof StAXSource) {
+                return transformFromStAXSource((StAXSource) from);
+            } else if (getTo().equals(TYPE_STAXSOURCE)) {
+                if (from instanceof String) {
+                    return new StAXSource(XMLHelper.getXMLStreamReader(new StringReader((String) from)));
+                } else if (from instanceof byte[]) {
+                    return new StAXSource(XMLHelper.getXMLStreamReader(new ByteArrayInputStream((byte[]) from)));
+                } else if (from instanceof Reader) {
+                    return new StAXSource(XMLHelper.getXMLStreamReader((Reader) from));
+                } else if (from instanceof InputStream) {
+                    return new StAXSource(XMLHelper.getXMLStreamReader((InputStream) from));
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw TransformMessages.MESSAGES.errorReadingStAXSource(e);
+        } catch (ParserConfigurationException e) {
+            throw TransformMessages.MESSAGES.unexpectedDOMParserConfigException(e);
+        }
+
+        return null;
+    }
+
+    private Object transformFromStAXSource(StAXSource from) throws XMLStreamException, ParserConfigurationException {
+        if (getTo().equals(TYPE_STRING)) {
+            StringWriter writer = new StringWriter();
+            XMLEventReader reader = XMLHelper.getXMLEventReader(from);
+            try {
+                XMLHelper.copyXMLEventStream(reader, XMLHelper.getXMLEventWriter(writer), true);
+            } finally {
+                reader.close();
+            }
+            return writer.toString();
+        }
+
+        Document document;
+        XMLEventReader reader = XMLHelper.getXMLEventReader(from);
+        try {
+            document = XMLHelper.createDocument(reader);
+        } finally {
+            reader.close();
+        }
+
+        if (getTo().equals(TYPE_DOCUMENT)) {
+            return document;
+        } else if (getTo().equals(TYPE_ELEMENT) || getTo().equals(TYPE_NODE)) {
+            return document.getDocumentElement();
+        } else if (getTo().equals(TYPE_DOMSOURCE)) {
+            return new DOMSource(document);
+        }
+
+        return null;
+    }
+}
@@ -6,38 +6,60 @@
  * You may obtain a copy of the License at
  * http://www.apache.org/licenses/LICENSE-2.0
  * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,  
+ * distributed under the License is distributed on an "AS IS" BASIS,
  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
 package org.switchyard.transform.xslt.internal;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.lang.ref.WeakReference;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.transform.ErrorListener;
 import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 
 import org.jboss.logging.Logger;
+import org.switchyard.transform.TransformerPoolMetrics;
+import org.switchyard.transform.internal.TransformMessages;
 
 /**
  * Provides a pool of javax.xml.transform.Transformer instances which are
  * created on demand and bounded by a pool maxSize.  If a pooled instance
- * is not available, clients block FIFO style until a transformer is returned
- * to the pool.
+ * is not available, clients wait FIFO style, up to the pool timeout, for
+ * a transformer to be returned to the pool.
+ * <p/>
+ * A thread is handed the transformer it used last whenever that one is idle,
+ * otherwise the most recently returned one, so that busy threads keep working
+ * on the same (cache-warm) instances.
  */
-public class TransformerPool {
+public class TransformerPool implements TransformerPoolMetrics {
+
+    /**
+     * Default time in milliseconds a client waits for a transformer.
+     */
+    public static final long DEFAULT_TIMEOUT = 30000;
+
     private Logger _logger = Logger.getLogger(TransformerPool.class);
-    
-    private BlockingQueue<Transformer> _pool;
+
+    private final Deque<Transformer> _idle = new ConcurrentLinkedDeque<Transformer>();
+    private final ThreadLocal<WeakReference<Transformer>> _lastUsed = new ThreadLocal<WeakReference<Transformer>>();
+    private final Semaphore _permits;
     private Templates _templates;
     private AtomicInteger _count = new AtomicInteger(0);
     private int _maxSize;
+    private long _timeout;
     private ErrorListener _errorListener;
-    
+    private final AtomicLong _waitCount = new AtomicLong();
+    private final AtomicLong _waitTime = new AtomicLong();
+    private final AtomicLong _timeoutCount = new AtomicLong();
+
     /**
      * Create a new Transformer pool.
      * @param templates template used to create a new Transformer instance
@@ -46,7 +68,7 @@ public class TransformerPool {
     public TransformerPool(Templates templates, int maxSize) {
         this(templates, maxSize, null);
     }
-    
+
     /**
      * Create a new Transformer pool.
      * @param templates template used to create a new Transformer instance
@@ -54,54 +76,134 @@ public class TransformerPool {
      * @param errorListener error listener
      */
     public TransformerPool(Templates templates, int maxSize, ErrorListener errorListener) {
+        this(templates, maxSize, DEFAULT_TIMEOUT, errorListener);
+    }
+
+    /**
+     * Create a new Transformer pool.
+     * @param templates template used to create a new Transformer instance
+     * @param maxSize maximum size of the pool
+     * @param timeout time in milliseconds a client waits for a transformer, a negative value waits forever
+     * @param errorListener error listener
+     */
+    public TransformerPool(Templates templates, int maxSize, long timeout, ErrorListener errorListener) {
         _templates = templates;
         _maxSize = maxSize;
+        _timeout = timeout;
         _errorListener = errorListener;
-        _pool = new ArrayBlockingQueue<Transformer>(maxSize, true);
-        
+        _permits = new Semaphore(maxSize, true);
     }
 
     /**
      * Asks the pool for an available Transformer instance.  If a pooled
-     * instance is available, then it is returned immediately.  If not, 
-     * a new instance will be created and added to the pool if the pool
-     * has not grown to maxSize yet.  Blocked clients are served in 
-     * FIFO order.
+     * instance is available, then it is returned immediately.  If not,
+     * a new instance will be created if the pool has not grown to maxSize
+     * yet, otherwise the client waits for an instance to be returned.
      * @return Transformer instance
-     * @throws Exception failed during creation of a transformer instance
+     * @throws Exception failed during creation of a transformer instance, or
+     * no transformer was returned to the pool within the timeout
      */
     public Transformer take() throws Exception {
-        Transformer t = _pool.poll();
-        if (t != null) {
-            return t;
-        }
-        
-        // nothing available - so we need to create or wait
-        if (_count.get() < _maxSize) {
-            addTransformer();
+        acquire();
+        try {
+            Transformer transformer = pollIdle();
+            if (transformer == null) {
+                transformer = newTransformer();
+            }
+            _lastUsed.set(new WeakReference<Transformer>(transformer));
+            return transformer;
+        } catch (Exception e) {
+            _permits.release();
+            throw e;
         }
-        return _pool.take();
     }
-    
+
     /**
      * Returns a pooled Transformer instance to the pool.
      * @param transformer pooled transformer
      * @return true if the transformer was added to the pool, false otherwise
      */
     public boolean give(Transformer transformer) {
-        return _pool.offer(transformer);
+        if (transformer == null || _permits.availablePermits() >= _maxSize) {
+            return false;
+        }
+        // most recently used first
+        _idle.offerFirst(transformer);
+        _permits.release();
+        return true;
     }
-    
-    private void addTransformer() throws Exception {
+
+    @Override
+    public int getPoolMaxSize() {
+        return _maxSize;
+    }
+
+    @Override
+    public int getPoolActiveCount() {
+        return _maxSize - _permits.availablePermits();
+    }
+
+    @Override
+    public long getPoolWaitCount() {
+        return _waitCount.get();
+    }
+
+    @Override
+    public long getPoolTotalWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(_waitTime.get());
+    }
+
+    @Override
+    public long getPoolTimeoutCount() {
+        return _timeoutCount.get();
+    }
+
+    /**
+     * The number of transformers created by this pool.
+     * @return created count
+     */
+    int getCreatedCount() {
+        return _count.get();
+    }
+
+    private void acquire() throws InterruptedException {
+        if (_permits.tryAcquire()) {
+            return;
+        }
+        // nothing available - so we need to wait
+        _waitCount.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            if (_timeout < 0) {
+                _permits.acquire();
+            } else if (!_permits.tryAcquire(_timeout, TimeUnit.MILLISECONDS)) {
+                _timeoutCount.incrementAndGet();
+                throw TransformMessages.MESSAGES.transformerPoolTimeout(_maxSize, _timeout);
+            }
+        } finally {
+            _waitTime.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private Transformer pollIdle() {
+        WeakReference<Transformer> lastUsed = _lastUsed.get();
+        Transformer transformer = lastUsed != null ? lastUsed.get() : null;
+        if (transformer != null && _idle.removeFirstOccurrence(transformer)) {
+            return transformer;
+        }
+        return _idle.pollFirst();
+    }
+
+    private Transformer newTransformer() throws Exception {
         Transformer transformer = _templates.newTransformer();
         if (_errorListener != null) {
             transformer.setErrorListener(_errorListener);
         }
-        _count.incrementAndGet();
-        boolean result = _pool.offer(transformer);
-        if ((!result) && (_logger.isDebugEnabled())) {
-            _logger.debug("Unable to add " + transformer.toString() + " to blocking queue");
+        int count = _count.incrementAndGet();
+        if (_logger.isDebugEnabled()) {
+            _logger.debug("Created transformer " + count + " of " + _maxSize + " for pool " + this);
         }
+        return transformer;
     }
-    
+
 }
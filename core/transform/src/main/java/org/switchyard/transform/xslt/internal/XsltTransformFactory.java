@@ -21,9 +21,11 @@ import javax.xml.transform.ErrorListener;
 import javax.xml.transform.Templates;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
+import javax.xml.transform.stax.StAXSource;
 import javax.xml.transform.stream.StreamSource;
 
 import org.switchyard.ServiceDomain;
+import org.switchyard.common.type.ClassLoaderCache;
 import org.switchyard.common.type.Classes;
 import org.switchyard.config.model.Model;
 import org.switchyard.config.model.switchyard.SwitchYardModel;
@@ -46,6 +48,14 @@ public final class XsltTransformFactory implements TransformerFactory<XsltTransf
      * Default max size for transformer pool.
      */
     public static final int DEFAULT_MAX_POOL_SIZE = 50;
+    /**
+     * Property used in a domain property to configure how many milliseconds a
+     * transformation waits for a pooled transformer, a negative value waits forever.
+     */
+    public static final String POOL_TIMEOUT = "org.switchyard.transform.xslt.poolTimeout";
+
+    // compiled stylesheets, per thread context class loader as stylesheets and their imports are resolved from it
+    private static final ClassLoaderCache<Templates> TEMPLATES = new ClassLoaderCache<Templates>();
     
     /**
      * Create a {@link Transformer} instance from the supplied {@link XsltTransformModel}.
@@ -65,17 +75,24 @@ public final class XsltTransformFactory implements TransformerFactory<XsltTransf
         }
 
         try {
-            InputStream stylesheetStream = Classes.getResourceAsStream(xsltFileUri);
-
-            if (stylesheetStream == null) {
-                TransformMessages.MESSAGES.failedToLoadXSLFile(xsltFileUri);
-            }
             javax.xml.transform.TransformerFactory tFactory = javax.xml.transform.TransformerFactory.newInstance();
             tFactory.setErrorListener(new XsltTransformFactoryErrorListener(failOnWarning));
             tFactory.setURIResolver(new XsltUriResolver());
-            Templates templates = tFactory.newTemplates(new StreamSource(stylesheetStream));
+            // transformers using the same stylesheet share the compiled templates
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            String templatesKey = xsltFileUri + (failOnWarning ? "#failOnWarning" : "");
+            Templates templates = TEMPLATES.get(loader, templatesKey);
+            if (templates == null) {
+                InputStream stylesheetStream = Classes.getResourceAsStream(xsltFileUri);
+
+                if (stylesheetStream == null) {
+                    TransformMessages.MESSAGES.failedToLoadXSLFile(xsltFileUri);
+                }
+                templates = TEMPLATES.put(loader, templatesKey, tFactory.newTemplates(new StreamSource(stylesheetStream)));
+            }
             
-            return new XsltTransformer(from, to, templates, failOnWarning, getTransformPoolSize(model));
+            return new XsltTransformer(from, to, templates, failOnWarning, getTransformPoolSize(model),
+                    getTransformPoolTimeout(model), tFactory.getFeature(StAXSource.FEATURE));
         } catch (TransformerConfigurationException e) {
             throw TransformMessages.MESSAGES.unexpectedErrorOcurred(e);
         } catch (IOException e) {
@@ -86,19 +103,27 @@ public final class XsltTransformFactory implements TransformerFactory<XsltTransf
     // This method looks for the MAX_POOL_SIZE property within switchyard.xml to 
     // configure the default transformer pool size
     int getTransformPoolSize(XsltTransformModel model) {
-        int poolSize = DEFAULT_MAX_POOL_SIZE;
+        String poolProp = getDomainProperty(model, MAX_POOL_SIZE);
+        return poolProp != null ? Integer.parseInt(poolProp) : DEFAULT_MAX_POOL_SIZE;
+    }
+    
+    // This method looks for the POOL_TIMEOUT property within switchyard.xml to 
+    // configure how long a transformation waits for a pooled transformer
+    long getTransformPoolTimeout(XsltTransformModel model) {
+        String timeoutProp = getDomainProperty(model, POOL_TIMEOUT);
+        return timeoutProp != null ? Long.parseLong(timeoutProp) : TransformerPool.DEFAULT_TIMEOUT;
+    }
+    
+    private String getDomainProperty(XsltTransformModel model, String name) {
         // attempt to navigate to parent
         Model root = model.getModelRoot();
         if (root instanceof SwitchYardModel) {
             SwitchYardModel syModel = (SwitchYardModel)root;
             if (syModel.getDomain() != null && syModel.getDomain().getProperties() != null) {
-                String poolProp = syModel.getDomain().getProperties().getPropertyValue(MAX_POOL_SIZE);
-                if (poolProp != null) {
-                    poolSize = Integer.parseInt(poolProp);
-                }
+                return syModel.getDomain().getProperties().getPropertyValue(name);
             }
         }
-        return poolSize;
+        return null;
     }
     
     private class XsltTransformFactoryErrorListener implements ErrorListener {
@@ -16,15 +16,21 @@ package org.switchyard.transform.xslt.internal;
 
 import javax.xml.namespace.QName;
 import javax.xml.transform.ErrorListener;
+import javax.xml.transform.Source;
 import javax.xml.transform.Templates;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
 
 import org.jboss.logging.Logger;
 import org.switchyard.Message;
+import org.switchyard.common.io.RepeatableContent;
 import org.switchyard.config.model.Scannable;
 import org.switchyard.transform.BaseTransformer;
+import org.switchyard.transform.TransformerPoolMetrics;
 import org.switchyard.transform.internal.TransformLogger;
 import org.switchyard.transform.internal.TransformMessages;
 import org.w3c.dom.Document;
@@ -37,12 +43,13 @@ import org.w3c.dom.Document;
  * @param <T> To Type.
  */
 @Scannable(false)
-public class XsltTransformer<F, T> extends BaseTransformer<Message, Message> {
+public class XsltTransformer<F, T> extends BaseTransformer<Message, Message> implements TransformerPoolMetrics {
 
     private static final Logger LOGGER = Logger.getLogger(XsltTransformer.class);
     private Templates _templates;
     private TransformerPool _transformerPool;
     private boolean  _failOnWarning;
+    private boolean _staxSourceSupported;
     
     /**
      * Public constructor.
@@ -54,13 +61,44 @@ public class XsltTransformer<F, T> extends BaseTransformer<Message, Message> {
      * @param maxPoolSize maximum size for the transformer pool
      */
     public XsltTransformer(QName from, QName to, Templates templates, boolean failOnWarning, int maxPoolSize) {
+        this(from, to, templates, failOnWarning, maxPoolSize, false);
+    }
+
+    /**
+     * Public constructor.
+     * 
+     * @param from From type.
+     * @param to To type.
+     * @param templates XSL Template instance
+     * @param failOnWarning whether a warning should be reported as an SwitchYardException or just log
+     * @param maxPoolSize maximum size for the transformer pool
+     * @param staxSourceSupported whether the templates accept a {@link StAXSource} as input
+     */
+    public XsltTransformer(QName from, QName to, Templates templates, boolean failOnWarning, int maxPoolSize, boolean staxSourceSupported) {
+        this(from, to, templates, failOnWarning, maxPoolSize, TransformerPool.DEFAULT_TIMEOUT, staxSourceSupported);
+    }
+
+    /**
+     * Public constructor.
+     * 
+     * @param from From type.
+     * @param to To type.
+     * @param templates XSL Template instance
+     * @param failOnWarning whether a warning should be reported as an SwitchYardException or just log
+     * @param maxPoolSize maximum size for the transformer pool
+     * @param poolTimeout milliseconds to wait for a pooled transformer, a negative value waits forever
+     * @param staxSourceSupported whether the templates accept a {@link StAXSource} as input
+     */
+    public XsltTransformer(QName from, QName to, Templates templates, boolean failOnWarning, int maxPoolSize,
+            long poolTimeout, boolean staxSourceSupported) {
         super(from, to);
         this._templates = templates;
         this._failOnWarning = failOnWarning;
+        this._staxSourceSupported = staxSourceSupported;
         // max pool size < 0 indicates that pooling should be disabled
         if (maxPoolSize > 0) {
             _transformerPool = new TransformerPool(
-                    templates, maxPoolSize, new XsltTransformerErrorListener(_failOnWarning));
+                    templates, maxPoolSize, poolTimeout, new XsltTransformerErrorListener(_failOnWarning));
         }
     }
 
@@ -69,8 +107,14 @@ public class XsltTransformer<F, T> extends BaseTransformer<Message, Message> {
         javax.xml.transform.Transformer transformer = null;
         
         try {
-            DOMSource source = message.getContent(DOMSource.class);
-            DOMResult result = new DOMResult();
+            // streamed content is transformed without building a DOM for it
+            Object content = message.getContent();
+            Source source;
+            if (content instanceof StreamSource || (content instanceof StAXSource && _staxSourceSupported)) {
+                source = (Source)content;
+            } else {
+                source = message.getContent(DOMSource.class);
+            }
             
             if (_transformerPool != null) {
                 transformer = _transformerPool.take();
@@ -80,8 +124,17 @@ public class XsltTransformer<F, T> extends BaseTransformer<Message, Message> {
                 transformer.setErrorListener(new XsltTransformerErrorListener(_failOnWarning));
             }
             
-            transformer.transform(source, result);
-            message.setContent(((Document)result.getNode()).getDocumentElement());
+            if (content instanceof StAXSource) {
+                // a StAXSource can only be read once, while validators, tracing and other consumers
+                // read the result again; kept in memory, so the message never holds on to a spilled file
+                RepeatableContent.Builder result = new RepeatableContent.Builder(Integer.MAX_VALUE);
+                transformer.transform(source, new StreamResult(result));
+                message.setContent(result.build());
+            } else {
+                DOMResult result = new DOMResult();
+                transformer.transform(source, result);
+                message.setContent(((Document)result.getNode()).getDocumentElement());
+            }
 
         } catch (Exception e) {
             throw TransformMessages.MESSAGES.errorDuringXsltTransformation(e);
@@ -97,6 +150,31 @@ public class XsltTransformer<F, T> extends BaseTransformer<Message, Message> {
         return _transformerPool;
     }
 
+    @Override
+    public int getPoolMaxSize() {
+        return _transformerPool != null ? _transformerPool.getPoolMaxSize() : 0;
+    }
+
+    @Override
+    public int getPoolActiveCount() {
+        return _transformerPool != null ? _transformerPool.getPoolActiveCount() : 0;
+    }
+
+    @Override
+    public long getPoolWaitCount() {
+        return _transformerPool != null ? _transformerPool.getPoolWaitCount() : 0;
+    }
+
+    @Override
+    public long getPoolTotalWaitTime() {
+        return _transformerPool != null ? _transformerPool.getPoolTotalWaitTime() : 0;
+    }
+
+    @Override
+    public long getPoolTimeoutCount() {
+        return _transformerPool != null ? _transformerPool.getPoolTimeoutCount() : 0;
+    }
+
     private class XsltTransformerErrorListener implements ErrorListener {
         private boolean _failOnWarning;
 
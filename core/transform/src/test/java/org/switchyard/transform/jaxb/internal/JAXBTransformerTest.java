@@ -27,6 +27,7 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.Marshaller;
 import javax.xml.namespace.QName;
+import javax.xml.transform.stax.StAXSource;
 import javax.xml.transform.stream.StreamSource;
 
 import org.custommonkey.xmlunit.SimpleNamespaceContext;
@@ -37,6 +38,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.switchyard.common.codec.Base64;
 import org.switchyard.common.type.Classes;
+import org.switchyard.common.xml.XMLHelper;
 import org.switchyard.config.model.ModelPuller;
 import org.switchyard.config.model.switchyard.SwitchYardModel;
 import org.switchyard.config.model.transform.TransformModel;
@@ -190,6 +192,36 @@ public class JAXBTransformerTest extends AbstractTransformerTestCase {
         }
     }
 
+    @Test
+    public void test_pooledUnmarshallers() throws Exception {
+        JAXBUnmarshalTransformer unmarshalTransformer = new JAXBUnmarshalTransformer(
+                new QName("purchaseOrder"), JavaTypes.toMessageType(POType.class), null, false, 1);
+
+        for (int i = 0; i < 3; i++) {
+            DefaultMessage message = new DefaultMessage();
+            message.setContent(new ByteArrayInputStream(PO_XML_INLINE.getBytes("UTF-8")));
+            unmarshalTransformer.transform(message);
+            Assert.assertEquals("Alice Smith", ((POType)message.getContent()).getShipTo().getToName());
+            Assert.assertEquals(1, unmarshalTransformer.getUnmarshallerPool().getIdleCount());
+        }
+    }
+
+    @Test
+    public void test_unmarshalStAXSource() throws Exception {
+        JAXBUnmarshalTransformer unmarshalTransformer = new JAXBUnmarshalTransformer(
+                new QName("purchaseOrder"), JavaTypes.toMessageType(POType.class), null, false);
+
+        DefaultMessage message = new DefaultMessage();
+        message.setContent(new StAXSource(XMLHelper.getXMLStreamReader(new StringReader(PO_XML_INLINE))));
+        unmarshalTransformer.transform(message);
+        Assert.assertEquals("Alice Smith", ((POType)message.getContent()).getShipTo().getToName());
+    }
+
+    @Test
+    public void test_sharedContext() throws Exception {
+        Assert.assertSame(JAXBContextCache.getContext(POType.class), JAXBContextCache.getContext(POType.class));
+    }
+
     @Test
     public void test_createMissingFactoryMethodMessage() throws IOException, SAXException {
         String message = JAXBTransformerFactory.createMissingFactoryMethodMessage(
@@ -242,4 +274,7 @@ public class JAXBTransformerTest extends AbstractTransformerTestCase {
             "        </item>\n" +
             "    </items>\n" +
             "</purchaseOrder>";
+
+    // PO_XML without the XOP reference, for transformers without attachment support
+    private static final String PO_XML_INLINE = PO_XML.replaceAll("<coverPhoto>.*</coverPhoto>", "");
 }
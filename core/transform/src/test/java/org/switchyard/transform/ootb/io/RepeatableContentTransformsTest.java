@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.switchyard.transform.ootb.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.switchyard.common.io.RepeatableContent;
+import org.switchyard.internal.DefaultMessage;
+import org.switchyard.transform.ootb.AbstractTransformerTest;
+import org.w3c.dom.Element;
+
+/**
+ * Tests for {@link RepeatableContentTransforms}.
+ */
+public class RepeatableContentTransformsTest extends AbstractTransformerTest {
+
+    @Test
+    public void testToString() throws Exception {
+        RepeatableContent content = newContent("Hello SwitchYard");
+        Assert.assertEquals("Hello SwitchYard", RepeatableContentTransforms.TRANSFORMER.toString(content));
+        // the content is not consumed
+        Assert.assertEquals("Hello SwitchYard", RepeatableContentTransforms.TRANSFORMER.toString(content));
+    }
+
+    @Test
+    public void testToBytes() throws Exception {
+        Assert.assertEquals("Hello SwitchYard", new String(RepeatableContentTransforms.TRANSFORMER.toBytes(newContent("Hello SwitchYard"))));
+    }
+
+    @Test
+    public void testCharacterContent() throws Exception {
+        RepeatableContent content = RepeatableContent.of(new StringReader("<x>\u00e9</x>"));
+        Element element = RepeatableContentTransforms.TRANSFORMER.toElement(content);
+        Assert.assertEquals("\u00e9", element.getTextContent());
+    }
+
+    @Test
+    public void testMessageContent() throws Exception {
+        DefaultMessage message = newMessage();
+        message.setContent(newContent("<x><y/></x>"));
+
+        Assert.assertEquals("x", message.getContent(Element.class).getLocalName());
+        Assert.assertEquals("<x><y/></x>", message.getContent(String.class));
+    }
+
+    private RepeatableContent newContent(String string) throws Exception {
+        return RepeatableContent.of(new ByteArrayInputStream(string.getBytes()));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.switchyard.transform.ootb.xml;
+
+import java.io.StringReader;
+
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stax.StAXSource;
+
+import org.custommonkey.xmlunit.XMLAssert;
+import org.junit.Assert;
+import org.junit.Test;
+import org.switchyard.common.xml.XMLHelper;
+import org.switchyard.internal.DefaultMessage;
+import org.switchyard.transform.ootb.AbstractTransformerTest;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Tests for {@link StAXSourceTransformer}.
+ */
+public class StAXSourceTransformerTest extends AbstractTransformerTest {
+
+    @Test
+    public void test_StAXSource2Element() throws Exception {
+        DefaultMessage message = newMessage();
+
+        message.setContent(newStAXSource("<x><y/></x>"));
+        Element elementOut = message.getContent(Element.class);
+
+        Assert.assertEquals("x", elementOut.getLocalName());
+        XMLAssert.assertXMLEqual("<x><y/></x>", XMLHelper.toString(elementOut));
+    }
+
+    @Test
+    public void test_StAXSource2Document() throws Exception {
+        DefaultMessage message = newMessage();
+
+        message.setContent(newStAXSource("<x xmlns='urn:a'><y/></x>"));
+        Document docOut = message.getContent(Document.class);
+
+        Assert.assertEquals("urn:a", docOut.getDocumentElement().getNamespaceURI());
+    }
+
+    @Test
+    public void test_StAXSource2DOMSource() throws Exception {
+        DefaultMessage message = newMessage();
+
+        message.setContent(newStAXSource("<x><y/></x>"));
+        DOMSource sourceOut = message.getContent(DOMSource.class);
+
+        XMLAssert.assertXMLEqual("<x><y/></x>", XMLHelper.toString(sourceOut.getNode()));
+    }
+
+    @Test
+    public void test_StAXSource2String() throws Exception {
+        DefaultMessage message = newMessage();
+
+        message.setContent(newStAXSource("<x><y>z</y></x>"));
+        String stringOut = message.getContent(String.class);
+
+        XMLAssert.assertXMLEqual("<x><y>z</y></x>", stringOut);
+    }
+
+    @Test
+    public void test_String2StAXSource() throws Exception {
+        DefaultMessage message = newMessage();
+
+        message.setContent("<x><y/></x>");
+        StAXSource sourceOut = message.getContent(StAXSource.class);
+        message.setContent(sourceOut);
+
+        XMLAssert.assertXMLEqual("<x><y/></x>", message.getContent(String.class));
+    }
+
+    private StAXSource newStAXSource(String xml) throws Exception {
+        return new StAXSource(XMLHelper.getXMLStreamReader(new StringReader(xml)));
+    }
+}
@@ -14,6 +14,7 @@
 package org.switchyard.transform.xslt.internal;
 
 import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
@@ -23,6 +24,7 @@ import javax.xml.transform.stream.StreamSource;
 import junit.framework.Assert;
 
 import org.junit.Test;
+import org.switchyard.SwitchYardException;
 import org.switchyard.transform.xslt.internal.TransformerPool;
 import org.switchyard.transform.xslt.internal.XsltUriResolver;
 
@@ -75,5 +77,73 @@ public class TransformerPoolTest {
         Transformer t2 = pool.take();
         Assert.assertEquals(t, t2);
     }
-    
+
+    @Test
+    public void timeoutOnTake() throws Exception {
+        TransformerPool pool = new TransformerPool(templates, 1, 100, null);
+        pool.take();
+        try {
+            pool.take();
+            Assert.fail("pool is exhausted");
+        } catch (SwitchYardException e) {
+            Assert.assertTrue(e.getMessage().contains("SWITCHYARD016867"));
+        }
+        Assert.assertEquals(1, pool.getPoolWaitCount());
+        Assert.assertEquals(1, pool.getPoolTimeoutCount());
+        Assert.assertTrue(pool.getPoolTotalWaitTime() >= 90);
+    }
+
+    @Test
+    public void threadAffinity() throws Exception {
+        final TransformerPool pool = new TransformerPool(templates, 3);
+        Transformer mine = pool.take();
+        final AtomicReference<Transformer> theirs = new AtomicReference<Transformer>();
+        Thread other = new Thread() {
+            public void run() {
+                try {
+                    theirs.set(pool.take());
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                }
+            }
+        };
+        other.start();
+        other.join();
+        Assert.assertNotNull(theirs.get());
+        Assert.assertEquals(2, pool.getPoolActiveCount());
+        pool.give(mine);
+        pool.give(theirs.get());
+        Assert.assertEquals(0, pool.getPoolActiveCount());
+        // the other thread's transformer was returned last, but this thread used mine
+        Assert.assertSame(mine, pool.take());
+        Assert.assertEquals(2, pool.getCreatedCount());
+    }
+
+    @Test
+    public void neverOverCreate() throws Exception {
+        final TransformerPool pool = new TransformerPool(templates, 2);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < 50; j++) {
+                            pool.give(pool.take());
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertNull(String.valueOf(failure.get()), failure.get());
+        Assert.assertTrue(pool.getCreatedCount() <= 2);
+        Assert.assertEquals(0, pool.getPoolActiveCount());
+    }
+
 }
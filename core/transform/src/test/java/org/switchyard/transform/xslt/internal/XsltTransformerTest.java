@@ -15,15 +15,22 @@ package org.switchyard.transform.xslt.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 
+import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.SchemaFactory;
 
 import org.custommonkey.xmlunit.Diff;
 import org.custommonkey.xmlunit.XMLUnit;
 import org.junit.Assert;
 import org.junit.Test;
 import org.switchyard.SwitchYardException;
+import org.switchyard.common.io.RepeatableContent;
 import org.switchyard.common.type.Classes;
+import org.switchyard.common.xml.XMLHelper;
 import org.switchyard.config.model.ModelPuller;
 import org.switchyard.config.model.switchyard.SwitchYardModel;
 import org.switchyard.internal.DefaultMessage;
@@ -35,6 +42,7 @@ import org.switchyard.transform.config.model.TransformNamespace;
 import org.switchyard.transform.config.model.XsltTransformModel;
 import org.switchyard.transform.config.model.v1.V1XsltTransformModel;
 import org.switchyard.transform.internal.TransformerRegistryLoader;
+import org.w3c.dom.Element;
 import org.xml.sax.SAXException;
 
 /**
@@ -60,6 +68,11 @@ public class XsltTransformerTest extends AbstractTransformerTestCase {
             + "</tr><tr><td>Drools</td><td>http://www.jboss.org/drools</td></tr><tr><td>JBoss Tools</td><td>http://www.jboss.org/tools</td>"
             + "</tr></table></body></index>";
 
+    private final static String INDEX_SCHEMA = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">"
+            + "<xs:element name=\"index\"><xs:complexType><xs:sequence>"
+            + "<xs:any processContents=\"skip\" maxOccurs=\"unbounded\"/>"
+            + "</xs:sequence></xs:complexType></xs:element></xs:schema>";
+
     public XsltTransformerTest() {
         xformReg = new BaseTransformerRegistry();
         new TransformerRegistryLoader(xformReg).loadOOTBTransforms();
@@ -108,6 +121,51 @@ public class XsltTransformerTest extends AbstractTransformerTestCase {
         Assert.assertTrue(diff.toString(), diff.identical());
     }
 
+    @Test
+    public void test_xslt_streaming_result() throws Exception {
+        Transformer transformer = getTransformer("xslt-config-03.xml");
+        DefaultMessage message = newMessage(new StAXSource(XMLHelper.getXMLStreamReader(new StringReader(INITIAL))));
+        transformer.transform(message);
+
+        // streamed content is passed on without building a DOM
+        Assert.assertTrue(message.getContent() instanceof RepeatableContent);
+        String result = message.getContent(String.class);
+
+        XMLUnit.setIgnoreWhitespace(true);
+        Diff diff = new Diff(EXPECTED, result);
+        Assert.assertTrue(diff.toString(), diff.identical());
+    }
+
+    @Test
+    public void test_xslt_streaming_result_validated_then_read() throws Exception {
+        Transformer transformer = getTransformer("xslt-config-03.xml");
+        DefaultMessage message = newMessage(new StAXSource(XMLHelper.getXMLStreamReader(new StringReader(INITIAL))));
+        transformer.transform(message);
+
+        // a validator reads the content as a String
+        SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+            .newSchema(new StreamSource(new StringReader(INDEX_SCHEMA))).newValidator()
+            .validate(new StreamSource(new StringReader(message.getContent(String.class))));
+
+        // and the next consumer still gets the whole result
+        String result = message.getContent(String.class);
+        XMLUnit.setIgnoreWhitespace(true);
+        Diff diff = new Diff(EXPECTED, result);
+        Assert.assertTrue(diff.toString(), diff.identical());
+    }
+
+    @Test
+    public void test_xslt_stream_source_result() throws Exception {
+        Transformer transformer = getTransformer("xslt-config-03.xml");
+        DefaultMessage message = newMessage(new StreamSource(new StringReader(INITIAL)));
+        transformer.transform(message);
+
+        Assert.assertTrue(message.getContent() instanceof Element);
+        XMLUnit.setIgnoreWhitespace(true);
+        Diff diff = new Diff(EXPECTED, message.getContent(String.class));
+        Assert.assertTrue(diff.toString(), diff.identical());
+    }
+
     @Test
     public void test_local_xslt_file_fail() throws IOException {
         try {
@@ -29,18 +29,24 @@ import java.util.List;
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
 
 import org.jboss.logging.Logger;
 import org.apache.xml.resolver.CatalogManager;
 import org.apache.xml.resolver.tools.CatalogResolver;
 import org.switchyard.Message;
 import org.switchyard.SwitchYardException;
+import org.switchyard.common.io.RepeatableContent;
+import org.switchyard.common.type.ClassLoaderCache;
 import org.switchyard.common.type.Classes;
+import org.switchyard.common.util.BoundedPool;
 import org.switchyard.config.model.Scannable;
 import org.switchyard.validate.BaseValidator;
 import org.switchyard.validate.ValidationResult;
@@ -49,6 +55,9 @@ import org.switchyard.validate.config.model.XmlSchemaType;
 import org.switchyard.validate.config.model.XmlValidateModel;
 import org.switchyard.validate.internal.ValidateLogger;
 import org.switchyard.validate.internal.ValidateMessages;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.w3c.dom.ls.LSInput;
 import org.w3c.dom.ls.LSResourceResolver;
 import org.xml.sax.InputSource;
@@ -66,6 +75,9 @@ import org.xml.sax.helpers.DefaultHandler;
 public class XmlValidator extends BaseValidator<Message> {
 
     private static final Logger LOGGER = Logger.getLogger(XmlValidator.class);
+    private static final String XINCLUDE_NS = "http://www.w3.org/2001/XInclude";
+    // compiled schemas, per thread context class loader as schema files are located with it
+    private static final ClassLoaderCache<Schema> SCHEMAS = new ClassLoaderCache<Schema>();
     private XmlSchemaType _schemaType;
     private String _schemaTypeUri;
     private boolean _failOnWarning;
@@ -77,6 +89,10 @@ public class XmlValidator extends BaseValidator<Message> {
     private XmlValidatorDTDResolver _dtdResolver;
     private List<String> _schemaFileNames = new ArrayList<String>();
     private List<String> _catalogFileNames = new ArrayList<String>();
+    private Schema _schema;
+    private int _maxPoolSize;
+    private BoundedPool<SAXParser, SAXException> _parsers;
+    private BoundedPool<Validator, RuntimeException> _validators;
     
     /**
      * constructor.
@@ -84,7 +100,18 @@ public class XmlValidator extends BaseValidator<Message> {
      * @param model model
      */
     public XmlValidator(QName name, XmlValidateModel model) {
+        this(name, model, XmlValidatorFactory.DEFAULT_MAX_POOL_SIZE);
+    }
+
+    /**
+     * constructor.
+     * @param name name
+     * @param model model
+     * @param maxPoolSize maximum number of idle validating parsers kept for reuse
+     */
+    public XmlValidator(QName name, XmlValidateModel model, int maxPoolSize) {
         super(name);
+        _maxPoolSize = maxPoolSize;
 
         _schemaType = model.getSchemaType();
         if (_schemaType == null) {
@@ -208,13 +235,44 @@ public class XmlValidator extends BaseValidator<Message> {
                 throw ValidateMessages.MESSAGES.noValidSchemaFileFound();
             }
             
-            try {
-                Schema schema = schemaFactory.newSchema(foundSchemas.toArray(new Source[0]));
-                _parserFactory.setSchema(schema);
-            } catch (SAXException e) {
-                throw new SwitchYardException(e);
+            // validators using the same schema files and catalogs share the compiled schema
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            String schemaKey = _schemaTypeUri + " " + _schemaFileNames + " " + _catalogFileNames;
+            _schema = SCHEMAS.get(loader, schemaKey);
+            if (_schema == null) {
+                try {
+                    _schema = SCHEMAS.put(loader, schemaKey, schemaFactory.newSchema(foundSchemas.toArray(new Source[0])));
+                } catch (SAXException e) {
+                    throw new SwitchYardException(e);
+                }
             }
+            _parserFactory.setSchema(_schema);
         }
+
+        _parsers = new BoundedPool<SAXParser, SAXException>(_maxPoolSize) {
+            @Override
+            protected SAXParser create() throws SAXException {
+                try {
+                    return _parserFactory.newSAXParser();
+                } catch (ParserConfigurationException pce) {
+                    throw new SAXException(pce);
+                }
+            }
+            @Override
+            protected void reset(SAXParser parser) {
+                parser.reset();
+            }
+        };
+        _validators = new BoundedPool<Validator, RuntimeException>(_maxPoolSize) {
+            @Override
+            protected Validator create() {
+                return _schema.newValidator();
+            }
+            @Override
+            protected void reset(Validator validator) {
+                validator.reset();
+            }
+        };
     }
     
     @Override
@@ -225,34 +283,87 @@ public class XmlValidator extends BaseValidator<Message> {
         }
 
         try {
-            XMLReader validatingParser = createValidatingParser();
             XmlValidationErrorHandler errorHandler = new XmlValidationErrorHandler(_failOnWarning);
-            validatingParser.setErrorHandler(errorHandler);
-            String input = msg.getContent(String.class);
-
-            if ((_schemaFileNames != null) && (_schemaFileNames.size() > 0)) {
-                validatingParser.setEntityResolver(_dtdResolver);
-            }
-
-            if (InputStream.class.isAssignableFrom(msg.getContent().getClass())) {
-                msg.setContent(new ByteArrayInputStream(input.getBytes()));
-            } else if (Reader.class.isAssignableFrom(msg.getContent().getClass())) {
-                msg.setContent(new StringReader(input));
+            Object content = msg.getContent();
+            if (content instanceof Node && _schema != null && _isNamespaceAware && !hasXInclude((Node)content)) {
+                // already parsed, no need to serialize and parse again; includes are
+                // left to the XInclude-aware parser, the schema validator won't expand them
+                validate(new DOMSource((Node)content), errorHandler);
+            } else {
+                validate(toInputSource(msg), errorHandler);
             }
-            validatingParser.parse(new InputSource(new StringReader(input)));
             if (errorHandler.validationFailed()) {
                 return invalidResult(formatErrorMessage(errorHandler.getErrors()).toString());
             }
         } catch (SAXException e) {
             throw new SwitchYardException(e);
-        } catch (ParserConfigurationException pce) {
-            throw new SwitchYardException(pce);
         } catch (IOException ioe) {
             throw new SwitchYardException(ioe);
         }
         return validResult();
     }
 
+    private void validate(InputSource input, XmlValidationErrorHandler errorHandler)
+            throws SAXException, IOException {
+        SAXParser parser = _parsers.take();
+        XMLReader validatingParser = parser.getXMLReader();
+        if (XMLConstants.XML_DTD_NS_URI.equals(_schemaTypeUri) && _catalogResolver != null) {
+            validatingParser.setEntityResolver(_catalogResolver);
+        }
+        validatingParser.setErrorHandler(errorHandler);
+
+        if ((_schemaFileNames != null) && (_schemaFileNames.size() > 0)) {
+            validatingParser.setEntityResolver(_dtdResolver);
+        }
+        validatingParser.parse(input);
+        // only parsers which completed normally are reused
+        _parsers.give(parser);
+    }
+
+    private void validate(DOMSource source, XmlValidationErrorHandler errorHandler)
+            throws SAXException, IOException {
+        Validator validator = _validators.take();
+        validator.setErrorHandler(errorHandler);
+        if (_catalogResolver != null) {
+            validator.setResourceResolver(_catalogResolver);
+        }
+        validator.validate(source);
+        // only validators which completed normally are reused
+        _validators.give(validator);
+    }
+
+    private static boolean hasXInclude(Node node) {
+        if (node instanceof Document) {
+            return ((Document)node).getElementsByTagNameNS(XINCLUDE_NS, "include").item(0) != null;
+        } else if (node instanceof Element) {
+            Element element = (Element)node;
+            return XINCLUDE_NS.equals(element.getNamespaceURI())
+                    || element.getElementsByTagNameNS(XINCLUDE_NS, "include").item(0) != null;
+        }
+        return true;
+    }
+
+    // Streams are buffered once and handed back re-readable, everything else
+    // which is not already text is serialized by the transformer registry.
+    // The stream handed back releases the buffer once it has been read.
+    private InputSource toInputSource(Message msg) throws IOException {
+        Object content = msg.getContent();
+        if (content instanceof String) {
+            return new InputSource(new StringReader((String)content));
+        } else if (content instanceof byte[]) {
+            return new InputSource(new ByteArrayInputStream((byte[])content));
+        } else if (content instanceof InputStream) {
+            RepeatableContent buffered = RepeatableContent.of((InputStream)content);
+            msg.setContent(buffered.getReleasingInputStream());
+            return new InputSource(buffered.getInputStream());
+        } else if (content instanceof Reader) {
+            RepeatableContent buffered = RepeatableContent.of((Reader)content);
+            msg.setContent(buffered.getReleasingReader());
+            return new InputSource(buffered.getReader());
+        }
+        return new InputSource(new StringReader(msg.getContent(String.class)));
+    }
+
     protected XMLReader createValidatingParser() throws SAXException, ParserConfigurationException {
         XMLReader validatingParser = _parserFactory.newSAXParser().getXMLReader();
         if (XMLConstants.XML_DTD_NS_URI.equals(_schemaTypeUri) && _catalogResolver != null) {
@@ -14,6 +14,8 @@
 package org.switchyard.validate.xml.internal;
 
 import org.jboss.logging.Logger;
+import org.switchyard.config.model.Model;
+import org.switchyard.config.model.switchyard.SwitchYardModel;
 import org.switchyard.validate.Validator;
 import org.switchyard.validate.config.model.XmlValidateModel;
 import org.switchyard.validate.internal.ValidatorFactory;
@@ -23,6 +25,16 @@ import org.switchyard.validate.internal.ValidatorFactory;
  */
 public final class XmlValidatorFactory implements ValidatorFactory<XmlValidateModel>{
 
+    /**
+     * Property used in a domain property to configure how many idle validating
+     * parsers each XML validator keeps for reuse.
+     */
+    public static final String MAX_POOL_SIZE = "org.switchyard.validate.xml.maxPoolSize";
+    /**
+     * Default number of idle validating parsers kept for reuse.
+     */
+    public static final int DEFAULT_MAX_POOL_SIZE = 16;
+
     private static final Logger LOGGER = Logger.getLogger(XmlValidatorFactory.class);
     
     /**
@@ -31,7 +43,25 @@ public final class XmlValidatorFactory implements ValidatorFactory<XmlValidateMo
      * @return the Transformer instance.
      */
     public Validator newValidator(XmlValidateModel model) {
-        return new XmlValidator(model.getName(), model);
+        return new XmlValidator(model.getName(), model, getPoolSize(model));
+    }
+    
+    // This method looks for the MAX_POOL_SIZE property within switchyard.xml to 
+    // configure the validating parser pool size
+    int getPoolSize(XmlValidateModel model) {
+        int poolSize = DEFAULT_MAX_POOL_SIZE;
+        // attempt to navigate to parent
+        Model root = model.getModelRoot();
+        if (root instanceof SwitchYardModel) {
+            SwitchYardModel syModel = (SwitchYardModel)root;
+            if (syModel.getDomain() != null && syModel.getDomain().getProperties() != null) {
+                String poolProp = syModel.getDomain().getProperties().getPropertyValue(MAX_POOL_SIZE);
+                if (poolProp != null) {
+                    poolSize = Integer.parseInt(poolProp);
+                }
+            }
+        }
+        return poolSize;
     }
     
 }
@@ -15,19 +15,37 @@
 package org.switchyard.validate.internal.xml;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
 
 import org.jboss.logging.Logger;
 import org.junit.Assert;
 import org.junit.Test;
 import org.switchyard.SwitchYardException;
 import org.switchyard.internal.DefaultMessage;
+import org.switchyard.internal.transform.BaseTransformerRegistry;
+import org.switchyard.metadata.JavaTypes;
+import org.switchyard.transform.BaseTransformer;
 import org.switchyard.validate.ValidationResult;
 import org.switchyard.validate.Validator;
 import org.switchyard.validate.AbstractValidatorTestCase;
 import org.switchyard.validate.xml.internal.XmlValidator;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 /**
@@ -110,6 +128,72 @@ public class XmlValidatorTest extends AbstractValidatorTestCase {
         Assert.assertNull(result.getDetail());
     }
 
+    @Test
+    public void test_stream_content_stays_readable() throws Exception {
+        Validator validator = getValidator("sw-config-xmlv-01.xml");
+        String source = "<person name='foo' age='50' />";
+        DefaultMessage message = new DefaultMessage().setContent(new ByteArrayInputStream(source.getBytes("UTF-8")));
+        ValidationResult result = validator.validate(message);
+        if (!result.isValid()) {
+            Assert.fail(result.getDetail());
+        }
+        Assert.assertTrue(message.getContent() instanceof InputStream);
+        BufferedReader reader = new BufferedReader(new InputStreamReader((InputStream)message.getContent(), "UTF-8"));
+        Assert.assertEquals(source, reader.readLine());
+
+        message = new DefaultMessage().setContent(new StringReader("<person name='foo'/>"));
+        Assert.assertFalse(validator.validate(message).isValid());
+        Assert.assertTrue(message.getContent() instanceof Reader);
+    }
+
+    @Test
+    public void test_namespaceaware_dom_content() throws Exception {
+        Validator validator = getValidator("sw-config-xmlv-namespace.xml");
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        String source = "<import:person.2 xmlns:import=\"switchyard-validate-test:import:1.0\" firstName='foo' lastName='bar' name='foo bar' age='50' />";
+        Element element = factory.newDocumentBuilder().parse(new InputSource(new StringReader(source))).getDocumentElement();
+        // validated repeatedly with pooled validators
+        for (int i = 0; i < 3; i++) {
+            ValidationResult result = validator.validate(new DefaultMessage().setContent(element));
+            if (!result.isValid()) {
+                Assert.fail(result.getDetail());
+            }
+        }
+        element.removeAttribute("age");
+        Assert.assertFalse(validator.validate(new DefaultMessage().setContent(element)).isValid());
+    }
+
+    @Test
+    public void test_xinclude_dom_content() throws Exception {
+        Validator validator = getValidator("sw-config-xmlv-xinclude.xml");
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        String source = "<note xmlns='switchyard-validate-test:xinclude:1.0'>"
+                + "<xi:include xmlns:xi='http://www.w3.org/2001/XInclude' href='"
+                + getClass().getResource("note-xinclude.txt") + "' parse='text'/></note>";
+        Element element = factory.newDocumentBuilder().parse(new InputSource(new StringReader(source))).getDocumentElement();
+        // the include is only expanded by the parser, so the DOM has to be serialized for it
+        BaseTransformerRegistry registry = new BaseTransformerRegistry();
+        registry.addTransformer(new BaseTransformer<Node, String>(
+                JavaTypes.toMessageType(Node.class), JavaTypes.toMessageType(String.class)) {
+            @Override
+            public String transform(Node from) {
+                try {
+                    StringWriter writer = new StringWriter();
+                    TransformerFactory.newInstance().newTransformer().transform(new DOMSource(from), new StreamResult(writer));
+                    return writer.toString();
+                } catch (TransformerException e) {
+                    throw new SwitchYardException(e);
+                }
+            }
+        });
+        ValidationResult result = validator.validate(new DefaultMessage().setTransformerRegistry(registry).setContent(element));
+        if (!result.isValid()) {
+            Assert.fail(result.getDetail());
+        }
+    }
+
     @Test
     public void test_dtd_valid_xml() throws Exception {
         Validator validator = getValidator("sw-config-xmlv-dtd.xml");
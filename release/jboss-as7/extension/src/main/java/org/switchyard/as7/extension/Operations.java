@@ -138,6 +138,41 @@ interface Operations {
             .setAllowNull(true)
             .build();
 
+    SimpleAttributeDefinition MEDIAN_TIME = SimpleAttributeDefinitionBuilder.create(SwitchYardModelConstants.MEDIAN_TIME, ModelType.BIG_DECIMAL)
+            .setAllowExpression(true)
+            .setAllowNull(true)
+            .build();
+
+    SimpleAttributeDefinition P90_TIME = SimpleAttributeDefinitionBuilder.create(SwitchYardModelConstants.P90_TIME, ModelType.BIG_DECIMAL)
+            .setAllowExpression(true)
+            .setAllowNull(true)
+            .build();
+
+    SimpleAttributeDefinition P99_TIME = SimpleAttributeDefinitionBuilder.create(SwitchYardModelConstants.P99_TIME, ModelType.BIG_DECIMAL)
+            .setAllowExpression(true)
+            .setAllowNull(true)
+            .build();
+
+    SimpleAttributeDefinition P999_TIME = SimpleAttributeDefinitionBuilder.create(SwitchYardModelConstants.P999_TIME, ModelType.BIG_DECIMAL)
+            .setAllowExpression(true)
+            .setAllowNull(true)
+            .build();
+
+    SimpleAttributeDefinition ONE_MINUTE_RATE = SimpleAttributeDefinitionBuilder.create(SwitchYardModelConstants.ONE_MINUTE_RATE, ModelType.BIG_DECIMAL)
+            .setAllowExpression(true)
+            .setAllowNull(true)
+            .build();
+
+    SimpleAttributeDefinition FIVE_MINUTE_RATE = SimpleAttributeDefinitionBuilder.create(SwitchYardModelConstants.FIVE_MINUTE_RATE, ModelType.BIG_DECIMAL)
+            .setAllowExpression(true)
+            .setAllowNull(true)
+            .build();
+
+    SimpleAttributeDefinition FIFTEEN_MINUTE_RATE = SimpleAttributeDefinitionBuilder.create(SwitchYardModelConstants.FIFTEEN_MINUTE_RATE, ModelType.BIG_DECIMAL)
+            .setAllowExpression(true)
+            .setAllowNull(true)
+            .build();
+
     SimpleAttributeDefinition GATEWAY = SimpleAttributeDefinitionBuilder.create(SwitchYardModelConstants.GATEWAY, ModelType.STRING)
             .setAllowExpression(true)
             .setAllowNull(true)
@@ -305,7 +340,8 @@ interface Operations {
             .setReadOnly()
             .setRuntimeOnly()
             .setParameters(SERVICE_NAME, TYPE)
-            .setReplyParameters(SUCCESS_COUNT, FAULT_COUNT, TOTAL_COUNT, AVERAGE_TIME, MIN_TIME, MAX_TIME, TOTAL_TIME)
+            .setReplyParameters(SUCCESS_COUNT, FAULT_COUNT, TOTAL_COUNT, AVERAGE_TIME, MIN_TIME, MAX_TIME, TOTAL_TIME,
+                    MEDIAN_TIME, P90_TIME, P99_TIME, P999_TIME, ONE_MINUTE_RATE, FIVE_MINUTE_RATE, FIFTEEN_MINUTE_RATE)
             .setReplyType(ModelType.LIST)
             .build();
 
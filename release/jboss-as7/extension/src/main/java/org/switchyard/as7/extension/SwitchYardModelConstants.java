@@ -245,6 +245,41 @@ public final class SwitchYardModelConstants {
      */
     public static final String TOTAL_TIME = "totalTime";
 
+    /**
+     * Constant for model key: medianTime.
+     */
+    public static final String MEDIAN_TIME = "medianTime";
+
+    /**
+     * Constant for model key: p90Time.
+     */
+    public static final String P90_TIME = "p90Time";
+
+    /**
+     * Constant for model key: p99Time.
+     */
+    public static final String P99_TIME = "p99Time";
+
+    /**
+     * Constant for model key: p999Time.
+     */
+    public static final String P999_TIME = "p999Time";
+
+    /**
+     * Constant for model key: oneMinuteRate.
+     */
+    public static final String ONE_MINUTE_RATE = "oneMinuteRate";
+
+    /**
+     * Constant for model key: fiveMinuteRate.
+     */
+    public static final String FIVE_MINUTE_RATE = "fiveMinuteRate";
+
+    /**
+     * Constant for model key: fifteenMinuteRate.
+     */
+    public static final String FIFTEEN_MINUTE_RATE = "fifteenMinuteRate";
+
     /**
      * Constant for model key: enabled.
      */
@@ -25,14 +25,21 @@ import static org.switchyard.as7.extension.SwitchYardModelConstants.COMPONENT_SE
 import static org.switchyard.as7.extension.SwitchYardModelConstants.CONFIGURATION;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.ENABLED;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.FAULT_COUNT;
+import static org.switchyard.as7.extension.SwitchYardModelConstants.FIFTEEN_MINUTE_RATE;
+import static org.switchyard.as7.extension.SwitchYardModelConstants.FIVE_MINUTE_RATE;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.FROM;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.GATEWAYS;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.IMPLEMENTATION;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.IMPLEMENTATION_CONFIGURATION;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.MAX_REQUESTS;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.MAX_TIME;
+import static org.switchyard.as7.extension.SwitchYardModelConstants.MEDIAN_TIME;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.MIN_TIME;
+import static org.switchyard.as7.extension.SwitchYardModelConstants.ONE_MINUTE_RATE;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.OPERATIONS;
+import static org.switchyard.as7.extension.SwitchYardModelConstants.P90_TIME;
+import static org.switchyard.as7.extension.SwitchYardModelConstants.P999_TIME;
+import static org.switchyard.as7.extension.SwitchYardModelConstants.P99_TIME;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.PROMOTED_REFERENCE;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.PROMOTED_SERVICE;
 import static org.switchyard.as7.extension.SwitchYardModelConstants.REFERENCES;
@@ -585,7 +592,14 @@ final public class ModelNodeCreationUtil {
      *      "averageTime" =&gt; "averageTime",
      *      "minTime" =&gt; "minTime",
      *      "maxTime" =&gt; "maxTime",
-     *      "totalTime" =&gt; "totalTime"
+     *      "totalTime" =&gt; "totalTime",
+     *      "medianTime" =&gt; "medianTime",
+     *      "p90Time" =&gt; "p90Time",
+     *      "p99Time" =&gt; "p99Time",
+     *      "p999Time" =&gt; "p999Time",
+     *      "oneMinuteRate" =&gt; "oneMinuteRate",
+     *      "fiveMinuteRate" =&gt; "fiveMinuteRate",
+     *      "fifteenMinuteRate" =&gt; "fifteenMinuteRate"
      * </pre></code>
      * 
      * @param node the node to add metrics to
@@ -601,6 +615,13 @@ final public class ModelNodeCreationUtil {
         node.get(MIN_TIME).set(metrics.getMinProcessingTime());
         node.get(MAX_TIME).set(metrics.getMaxProcessingTime());
         node.get(TOTAL_TIME).set(metrics.getTotalProcessingTime());
+        node.get(MEDIAN_TIME).set(BigDecimal.valueOf(metrics.getMedianProcessingTime()));
+        node.get(P90_TIME).set(BigDecimal.valueOf(metrics.get90thPercentileProcessingTime()));
+        node.get(P99_TIME).set(BigDecimal.valueOf(metrics.get99thPercentileProcessingTime()));
+        node.get(P999_TIME).set(BigDecimal.valueOf(metrics.get999thPercentileProcessingTime()));
+        node.get(ONE_MINUTE_RATE).set(BigDecimal.valueOf(metrics.getOneMinuteRate()));
+        node.get(FIVE_MINUTE_RATE).set(BigDecimal.valueOf(metrics.getFiveMinuteRate()));
+        node.get(FIFTEEN_MINUTE_RATE).set(BigDecimal.valueOf(metrics.getFifteenMinuteRate()));
 
         return node;
     }
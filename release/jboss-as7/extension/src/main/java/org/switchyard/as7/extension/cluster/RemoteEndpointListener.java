@@ -100,6 +100,7 @@ public class RemoteEndpointListener implements RemoteEndpointPublisher {
             wrapper.setName(SERVLET_NAME);
             wrapper.setServletClass(SwitchYardRemotingServlet.class.getName());
             wrapper.setLoadOnStartup(1);
+            wrapper.setAsyncSupported(true);
             _serverContext.addChild(wrapper);
             _serverContext.addServletMapping("/*", SERVLET_NAME);
             
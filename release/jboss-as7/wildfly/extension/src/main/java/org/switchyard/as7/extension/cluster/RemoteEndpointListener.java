@@ -98,6 +98,7 @@ public class RemoteEndpointListener implements RemoteEndpointPublisher {
             servletBuilder.setServletName(SERVLET_NAME);
             servletBuilder.setServletClass(SwitchYardRemotingServlet.class);
             servletBuilder.setForceInit(true);
+            servletBuilder.setAsyncSupported(true);
 
             SwitchYardRemotingServlet remotingServlet = new SwitchYardRemotingServlet();
             remotingServlet.setEndpointPublisher(this);
@@ -68,6 +68,13 @@ final public class PrintUtil {
     private static final String MIN_TIME = "minTime";
     private static final String MAX_TIME = "maxTime";
     private static final String TOTAL_TIME = "totalTime";
+    private static final String MEDIAN_TIME = "medianTime";
+    private static final String P90_TIME = "p90Time";
+    private static final String P99_TIME = "p99Time";
+    private static final String P999_TIME = "p999Time";
+    private static final String ONE_MINUTE_RATE = "oneMinuteRate";
+    private static final String FIVE_MINUTE_RATE = "fiveMinuteRate";
+    private static final String FIFTEEN_MINUTE_RATE = "fifteenMinuteRate";
     private static final String ENABLED = "enabled";
     private static final String MAX_REQUESTS = "maxRequests";
     private static final String TIME_PERIOD = "timePeriod";
@@ -576,7 +583,14 @@ final public class PrintUtil {
      *      "averageTime" = "averageTime",
      *      "minTime" = "minTime",
      *      "maxTime" = "maxTime",
-     *      "totalTime" = "totalTime"
+     *      "totalTime" = "totalTime",
+     *      "medianTime" = "medianTime",
+     *      "p90Time" = "p90Time",
+     *      "p99Time" = "p99Time",
+     *      "p999Time" = "p999Time",
+     *      "oneMinuteRate" = "oneMinuteRate",
+     *      "fiveMinuteRate" = "fiveMinuteRate",
+     *      "fifteenMinuteRate" = "fifteenMinuteRate"
      * </pre></code>
      * 
      * @param metrics the metrics to add to the node
@@ -599,6 +613,20 @@ final public class PrintUtil {
                 .append("\n");
         metricsNode.append(indent(indentLevel)).append(TOTAL_TIME).append(" = ")
                 .append(metrics.getTotalProcessingTime()).append("\n");
+        metricsNode.append(indent(indentLevel)).append(MEDIAN_TIME).append(" = ")
+                .append(BigDecimal.valueOf(metrics.getMedianProcessingTime())).append("\n");
+        metricsNode.append(indent(indentLevel)).append(P90_TIME).append(" = ")
+                .append(BigDecimal.valueOf(metrics.get90thPercentileProcessingTime())).append("\n");
+        metricsNode.append(indent(indentLevel)).append(P99_TIME).append(" = ")
+                .append(BigDecimal.valueOf(metrics.get99thPercentileProcessingTime())).append("\n");
+        metricsNode.append(indent(indentLevel)).append(P999_TIME).append(" = ")
+                .append(BigDecimal.valueOf(metrics.get999thPercentileProcessingTime())).append("\n");
+        metricsNode.append(indent(indentLevel)).append(ONE_MINUTE_RATE).append(" = ")
+                .append(BigDecimal.valueOf(metrics.getOneMinuteRate())).append("\n");
+        metricsNode.append(indent(indentLevel)).append(FIVE_MINUTE_RATE).append(" = ")
+                .append(BigDecimal.valueOf(metrics.getFiveMinuteRate())).append("\n");
+        metricsNode.append(indent(indentLevel)).append(FIFTEEN_MINUTE_RATE).append(" = ")
+                .append(BigDecimal.valueOf(metrics.getFifteenMinuteRate())).append("\n");
 
         return metricsNode.toString();
     }